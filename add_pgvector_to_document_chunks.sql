@@ -0,0 +1,26 @@
+-- Add pgvector storage for document chunk embeddings (app.search.vector-store=pgvector)
+-- embedding_f32 (bytea, see migrate_embedding_to_float32.sql) is the source of truth; embedding_pgvector is used for SQL top-k search
+
+-- 1. Enable pgvector extension
+CREATE EXTENSION IF NOT EXISTS vector;
+
+-- 2. Add vector column (text-embedding-3-small = 1536 dims)
+ALTER TABLE document_chunks
+ADD COLUMN IF NOT EXISTS embedding_pgvector vector(1536);
+
+-- 3. Backfill from legacy jsonb embeddings (only while embedding_vector still exists)
+-- Rows stored as embedding_f32 are backfilled by the batched job (ACTIVE_PROFILE=local,pgvector-backfill)
+UPDATE document_chunks
+SET embedding_pgvector = CAST(embedding_vector::text AS vector)
+WHERE embedding_pgvector IS NULL
+  AND embedding_vector IS NOT NULL
+  AND jsonb_typeof(embedding_vector) = 'array'
+  AND jsonb_array_length(embedding_vector) = 1536;
+
+-- 4. Create HNSW index for cosine distance (<=>)
+CREATE INDEX IF NOT EXISTS idx_chunk_embedding_pgvector_hnsw
+ON document_chunks USING hnsw (embedding_pgvector vector_cosine_ops)
+WITH (m = 16, ef_construction = 64);
+
+-- 5. Workspace filter goes through documents.workspace_id
+CREATE INDEX IF NOT EXISTS idx_documents_workspace_id ON documents(workspace_id);
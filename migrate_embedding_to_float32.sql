@@ -0,0 +1,49 @@
+-- Store embeddings as packed float32 (little-endian bytea, 4 bytes per dimension)
+-- jsonb embedding_vector (~20 bytes/dim as text) -> embedding_f32 (4 bytes/dim)
+
+-- 1. Add bytea columns
+ALTER TABLE document_chunks
+ADD COLUMN IF NOT EXISTS embedding_f32 bytea;
+
+ALTER TABLE embedding_cache
+ADD COLUMN IF NOT EXISTS embedding_f32 bytea;
+
+-- 2. jsonb array -> little-endian float32 bytes
+-- float4send() is big-endian, so each 4-byte group is reversed
+CREATE OR REPLACE FUNCTION jsonb_to_float32le(v jsonb) RETURNS bytea AS $$
+    SELECT string_agg(
+               substring(b FROM 4 FOR 1) || substring(b FROM 3 FOR 1) ||
+               substring(b FROM 2 FOR 1) || substring(b FROM 1 FOR 1),
+               '\x'::bytea ORDER BY ord)
+    FROM (SELECT float4send(e::float4) AS b, ord
+          FROM jsonb_array_elements_text(v) WITH ORDINALITY AS t(e, ord)) s
+$$ LANGUAGE sql IMMUTABLE STRICT;
+
+-- 3. Backfill
+UPDATE document_chunks
+SET embedding_f32 = jsonb_to_float32le(embedding_vector)
+WHERE embedding_f32 IS NULL
+  AND embedding_vector IS NOT NULL
+  AND jsonb_typeof(embedding_vector) = 'array'
+  AND jsonb_array_length(embedding_vector) > 0;
+
+-- embedding_cache is a cache: convert what is there, drop the rest
+UPDATE embedding_cache
+SET embedding_f32 = jsonb_to_float32le(embedding_vector)
+WHERE embedding_f32 IS NULL
+  AND embedding_vector IS NOT NULL
+  AND jsonb_typeof(embedding_vector) = 'array';
+
+DELETE FROM embedding_cache WHERE embedding_f32 IS NULL;
+
+ALTER TABLE embedding_cache ALTER COLUMN embedding_f32 SET NOT NULL;
+
+-- 4. Verify (expect 0)
+SELECT COUNT(*) AS unconverted
+FROM document_chunks
+WHERE embedding_vector IS NOT NULL AND embedding_f32 IS NULL;
+
+-- 5. After verification, drop the legacy jsonb columns
+-- ALTER TABLE document_chunks DROP COLUMN embedding_vector;
+-- ALTER TABLE embedding_cache DROP COLUMN embedding_vector;
+-- DROP FUNCTION jsonb_to_float32le(jsonb);
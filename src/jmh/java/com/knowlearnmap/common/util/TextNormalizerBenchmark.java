@@ -0,0 +1,110 @@
+package com.knowlearnmap.common.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 페이지 텍스트 정제: 기존 정규식 체인 vs TextNormalizer (시간 측정 전용)
+ * 출력 동일성은 TextNormalizerTest의 골든 파일 비교로 mvn test에서 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextNormalizerBenchmark {
+
+    private static final String KOREAN_PAGE = "제1장 개요\r\n\r\n  본 문서는   지식 그래프를\n구축하는 방법을 설명한다.\n"
+            + "1. 목적\n- 온톨로지 추출\n정의: 개념과 관계의 명세\n\n\n\n\t표 1. 결과\f\n";
+    private static final String ENGLISH_PAGE = "Chapter 1   Introduction\r\nThe quick brown\tfox jumps over\n"
+            + "the lazy dog.\n2) Scope\n- item one\nNote: see appendix \n\n\n";
+
+    @Param({"ko", "en"})
+    private String language;
+
+    private String page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String sample = "ko".equals(language) ? KOREAN_PAGE : ENGLISH_PAGE;
+        // 약 3천 자 분량의 페이지
+        page = sample.repeat(Math.max(1, 3000 / sample.length()));
+    }
+
+    @Benchmark
+    public String legacyPdfParsing() {
+        return legacyPdfClean(page);
+    }
+
+    @Benchmark
+    public String normalizerPdfParsing() {
+        return TextNormalizer.collapseWhitespace(page);
+    }
+
+    @Benchmark
+    public String legacyTextCleaning() {
+        return legacyTextClean(page);
+    }
+
+    @Benchmark
+    public String normalizerTextCleaning() {
+        return TextNormalizer.cleanExtractedText(page);
+    }
+
+    /**
+     * 기존 PdfParsingService.cleanText
+     */
+    private static String legacyPdfClean(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text
+                .replaceAll("\\s+", " ")
+                .replaceAll("[\\r\\n]+", "\n")
+                .trim();
+    }
+
+    /**
+     * 기존 TextCleaningService.cleanText
+     */
+    private static String legacyTextClean(String text) {
+        if (text == null) {
+            return "";
+        }
+        String clean = text.replace("\0", "");
+        clean = clean.replace("\r\n", "\n").replace("\r", "\n");
+        clean = clean.replaceAll("[ \\t\\f\\v]+", " ");
+
+        StringBuilder sb = new StringBuilder();
+        String[] lines = clean.split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty())
+                continue;
+
+            sb.append(line);
+            if (i < lines.length - 1) {
+                String nextLine = lines[i + 1].trim();
+                boolean endsWithPunctuation = line.matches(".*[\\.\\?!]$");
+                boolean nextStartsNewSection = nextLine.matches("^[0-9]+[\\.\\)].*") ||
+                        nextLine.matches("^[가-힣a-zA-Z]{2,}:.*") ||
+                        nextLine.matches("^[\\-].*");
+                sb.append(endsWithPunctuation || nextStartsNewSection ? "\n" : " ");
+            }
+        }
+        return sb.toString().replaceAll("\n{3,}", "\n\n").trim();
+    }
+}
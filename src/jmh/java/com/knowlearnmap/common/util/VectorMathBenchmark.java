@@ -0,0 +1,128 @@
+package com.knowlearnmap.common.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쿼리 1개 vs 후보 N개 전수 비교 (1536차원, text-embedding-3-small)
+ *
+ * <ul>
+ * <li>legacyListDouble: 기존 SearchDebugService.cosineSimilarity (List&lt;Double&gt;, Math.pow, 후보마다 노름 재계산)</li>
+ * <li>scalarDot / simdDot: 정규화된 float[] 내적</li>
+ * </ul>
+ * 100k 후보의 List&lt;Double&gt;는 수 GB가 필요하므로 legacy는 최대 10k개 후보를 순환하여 같은 횟수만큼 비교함.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+public class VectorMathBenchmark {
+
+    private static final int DIMENSION = 1536;
+    private static final int LEGACY_POOL = 10_000;
+
+    @Param({"10000", "100000"})
+    private int candidates;
+
+    private float[] query;
+    private float[][] vectors;
+    private VectorMath.DotProduct simd;
+
+    private List<Double> legacyQuery;
+    private List<List<Double>> legacyVectors;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        query = VectorMath.normalize(randomVector(random));
+        vectors = new float[candidates][];
+        for (int i = 0; i < candidates; i++) {
+            vectors[i] = VectorMath.normalize(randomVector(random));
+        }
+        simd = VectorMath.simdKernel();
+        if (simd == null) {
+            throw new IllegalStateException("Vector API 커널 없음: -Pbenchmark,vector-api 로 빌드하세요");
+        }
+
+        legacyQuery = toDoubleList(query);
+        legacyVectors = new ArrayList<>(Math.min(candidates, LEGACY_POOL));
+        for (int i = 0; i < Math.min(candidates, LEGACY_POOL); i++) {
+            legacyVectors.add(toDoubleList(vectors[i]));
+        }
+    }
+
+    @Benchmark
+    public double legacyListDouble() {
+        double best = -1.0;
+        int pool = legacyVectors.size();
+        for (int i = 0; i < candidates; i++) {
+            best = Math.max(best, legacyCosineSimilarity(legacyQuery, legacyVectors.get(i % pool)));
+        }
+        return best;
+    }
+
+    @Benchmark
+    public float scalarDot() {
+        float best = -1f;
+        for (float[] vector : vectors) {
+            best = Math.max(best, VectorMath.dotScalar(query, vector));
+        }
+        return best;
+    }
+
+    @Benchmark
+    public float simdDot() {
+        float best = -1f;
+        for (float[] vector : vectors) {
+            best = Math.max(best, simd.dot(query, vector));
+        }
+        return best;
+    }
+
+    private static double legacyCosineSimilarity(List<Double> v1, List<Double> v2) {
+        if (v1.size() != v2.size())
+            return 0.0;
+        double dotProduct = 0.0;
+        double normA = 0.0;
+        double normB = 0.0;
+        for (int i = 0; i < v1.size(); i++) {
+            dotProduct += v1.get(i) * v2.get(i);
+            normA += Math.pow(v1.get(i), 2);
+            normB += Math.pow(v2.get(i), 2);
+        }
+        return dotProduct / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static List<Double> toDoubleList(float[] vector) {
+        List<Double> list = new ArrayList<>(vector.length);
+        for (float v : vector) {
+            list.add((double) v);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,272 @@
+package com.knowlearnmap.llmToOntology.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.knowlearnmap.chunkToLlm.dto.LlmChunkResult;
+import com.knowlearnmap.llmToOntology.domain.OntologyObjectDict;
+import com.knowlearnmap.llmToOntology.domain.OntologyRelationDict;
+import com.knowlearnmap.llmToOntology.dto.OntologyDto;
+import com.knowlearnmap.llmToOntology.service.OntologyLlmResultParser.ParsedOntology;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 약 20KB 청크 LLM 결과: 기존 Gson 트리 파싱 vs LlmChunkResult 타입 바인딩
+ * round trip 벤치마크는 LLM 응답 원소 바인딩 → llm_result 저장 문자열 → Ontology 단계 파싱까지 포함한다.
+ * 시작 시 두 경로의 Ontology 항목이 같은지 확인하고, 다르면 벤치마크를 중단한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OntologyLlmResultParserBenchmark {
+
+    private static final int TARGET_CHARS = 20_000;
+
+    private static final String[][] TERMS = {
+            { "Knowledge Graph", "지식 그래프" }, { "Ontology", "온톨로지" }, { "Entity", "개체" },
+            { "Relation Extraction", "관계 추출" }, { "Embedding", "임베딩" }, { "Vector Index", "벡터 인덱스" },
+            { "Document Chunk", "문서 청크" }, { "Large Language Model", "대규모 언어 모델" },
+            { "Prompt Template", "프롬프트 템플릿" }, { "Workspace", "워크스페이스" } };
+    private static final String[][] RELATIONS = {
+            { "consists of", "구성된다" }, { "uses", "사용한다" }, { "is a type of", "종류이다" },
+            { "produces", "생성한다" }, { "depends on", "의존한다" } };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OntologyLlmResultParser parser = new OntologyLlmResultParser(objectMapper);
+
+    /** LLM 응답 chunks 배열의 원소 하나 */
+    private String llmElement;
+    /** document_chunks.llm_result (LlmChunkResult 직렬화) */
+    private String storedResult;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        llmElement = objectMapper.writeValueAsString(generateElement());
+        storedResult = objectMapper.writeValueAsString(objectMapper.readValue(llmElement, LlmChunkResult.class));
+
+        List<String> legacy = fingerprint(legacyParse(storedResult));
+        if (!legacy.equals(fingerprint(parser.parse(storedResult)))
+                || !legacy.equals(fingerprint(legacyRoundTrip()))
+                || !legacy.equals(fingerprint(typedRoundTrip()))) {
+            throw new IllegalStateException("타입 바인딩 결과가 기존 Gson 파싱과 다릅니다.");
+        }
+    }
+
+    @Benchmark
+    public ParsedOntology legacyGsonParse() {
+        return legacyParse(storedResult);
+    }
+
+    @Benchmark
+    public ParsedOntology typedParse() throws JsonProcessingException {
+        return parser.parse(storedResult);
+    }
+
+    @Benchmark
+    public ParsedOntology legacyRoundTrip() throws JsonProcessingException {
+        LegacyChunkResult result = objectMapper.readValue(llmElement, LegacyChunkResult.class);
+        return legacyParse(objectMapper.writeValueAsString(result));
+    }
+
+    @Benchmark
+    public ParsedOntology typedRoundTrip() throws JsonProcessingException {
+        LlmChunkResult result = objectMapper.readValue(llmElement, LlmChunkResult.class);
+        return parser.parse(objectMapper.writeValueAsString(result));
+    }
+
+    /**
+     * 실제 응답과 비슷한 구성: 항목마다 설명·근거 문장과 정의되지 않은 필드, 일부 문자열 신뢰도
+     */
+    private static Map<String, Object> generateElement() {
+        List<Object> objects = new ArrayList<>();
+        List<Object> relations = new ArrayList<>();
+        List<Object> knowlearns = new ArrayList<>();
+        for (String[] relation : RELATIONS) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("category", "Action");
+            item.put("relation_en", relation[0]);
+            item.put("relation_ko", relation[1]);
+            item.put("description_ko", relation[1] + " 관계는 두 개념 사이의 방향성 있는 연결을 나타낸다.");
+            relations.add(item);
+        }
+
+        Map<String, Object> element = new LinkedHashMap<>();
+        element.put("id", 1024L);
+        element.put("objects_to_add", objects);
+        element.put("relations_to_add", relations);
+        element.put("knowlearns_to_add", knowlearns);
+
+        int length = 0;
+        for (int i = 0; length < TARGET_CHARS; i++) {
+            String[] subject = TERMS[i % TERMS.length];
+            String[] object = TERMS[(i * 7 + 3) % TERMS.length];
+            String[] relation = RELATIONS[i % RELATIONS.length];
+
+            Map<String, Object> obj = new LinkedHashMap<>();
+            obj.put("category", i % 3 == 0 ? "Concept" : "Technology");
+            obj.put("term_en", subject[0] + " " + i);
+            obj.put("term_ko", i % 11 == 0 ? "" : subject[1] + " " + i);
+            obj.put("description_ko", subject[1] + "은(는) 문서에서 추출한 핵심 개념으로, 다른 개념과의 관계를 통해 설명된다.");
+            objects.add(obj);
+
+            Map<String, Object> triple = new LinkedHashMap<>();
+            triple.put("subject_category", "Concept");
+            triple.put("subject_term_en", subject[0] + " " + i);
+            triple.put("subject_term_ko", subject[1] + " " + i);
+            triple.put("relation_category", "Action");
+            triple.put("relation_en", relation[0]);
+            triple.put("relation_ko", relation[1]);
+            triple.put("object_category", "Technology");
+            triple.put("object_term_en", object[0]);
+            triple.put("object_term_ko", object[1]);
+            triple.put("confidence_score", i % 4 == 0 ? String.valueOf(0.5 + (i % 5) / 10.0) : 0.9 - (i % 3) / 10.0);
+            triple.put("evidence_level", i % 2 == 0 ? "explicit" : "implicit");
+            triple.put("source_sentence", subject[1] + "은(는) " + object[1] + "을(를) 바탕으로 " + relation[1] + ".");
+            knowlearns.add(triple);
+
+            length += obj.toString().length() + triple.toString().length() + 40;
+        }
+        return element;
+    }
+
+    private static List<String> fingerprint(ParsedOntology parsed) {
+        List<String> lines = new ArrayList<>();
+        for (OntologyObjectDict dict : parsed.objects()) {
+            lines.add("O|" + dict.getCategory() + "|" + dict.getTermEn() + "|" + dict.getTermKo() + "|"
+                    + dict.getDescription());
+        }
+        for (OntologyRelationDict dict : parsed.relations()) {
+            lines.add("R|" + dict.getCategory() + "|" + dict.getRelationEn() + "|" + dict.getRelationKo() + "|"
+                    + dict.getDescription());
+        }
+        for (OntologyDto dto : parsed.knowlearns()) {
+            lines.add("K|" + dto);
+        }
+        return lines;
+    }
+
+    /**
+     * 기존 ChunkToLlmService.ChunkResult (항목은 Map으로 바인딩)
+     */
+    public static class LegacyChunkResult {
+        public Long id;
+        public List<Object> objects_to_add;
+        public List<Object> relations_to_add;
+        public List<Object> knowlearns_to_add;
+    }
+
+    /**
+     * 기존 OntologyLlmResultParser.parse (Gson 트리)
+     */
+    private static ParsedOntology legacyParse(String llmResult) {
+        JsonObject rootObj = JsonParser.parseString(llmResult).getAsJsonObject();
+        ParsedOntology parsed = new ParsedOntology(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+
+        if (rootObj.has("chunks") && rootObj.get("chunks").isJsonArray()) {
+            for (JsonElement chunkElement : rootObj.getAsJsonArray("chunks")) {
+                legacyParseChunk(chunkElement.getAsJsonObject(), parsed);
+            }
+        } else {
+            legacyParseChunk(rootObj, parsed);
+        }
+        return parsed;
+    }
+
+    private static void legacyParseChunk(JsonObject chunkObj, ParsedOntology parsed) {
+        for (JsonElement element : getArray(chunkObj, "objects_to_add")) {
+            JsonObject obj = element.getAsJsonObject();
+            OntologyObjectDict dict = new OntologyObjectDict();
+            dict.setCategory(getJsonString(obj, "category"));
+            String termEn = getJsonString(obj, "term_en");
+            String termKo = getJsonString(obj, "term_ko");
+            if (termKo == null || termKo.trim().isEmpty()) {
+                termKo = termEn;
+            }
+            if (termKo == null || termKo.trim().isEmpty()) {
+                termKo = "Unknown";
+            }
+            dict.setTermEn(termEn);
+            dict.setTermKo(termKo);
+            dict.setDescription(getJsonString(obj, "description_ko"));
+            parsed.objects().add(dict);
+        }
+
+        for (JsonElement element : getArray(chunkObj, "relations_to_add")) {
+            JsonObject obj = element.getAsJsonObject();
+            OntologyRelationDict dict = new OntologyRelationDict();
+            dict.setCategory(getJsonString(obj, "category"));
+            String relationEn = getJsonString(obj, "relation_en");
+            String relationKo = getJsonString(obj, "relation_ko");
+            if (relationKo == null || relationKo.trim().isEmpty()) {
+                relationKo = relationEn;
+            }
+            if (relationKo == null || relationKo.trim().isEmpty()) {
+                relationKo = "Unknown";
+            }
+            dict.setRelationEn(relationEn);
+            dict.setRelationKo(relationKo);
+            dict.setDescription(getJsonString(obj, "description_ko"));
+            parsed.relations().add(dict);
+        }
+
+        for (JsonElement element : getArray(chunkObj, "knowlearns_to_add")) {
+            JsonObject obj = element.getAsJsonObject();
+            OntologyDto dto = new OntologyDto();
+            dto.setSubjectCategory(getJsonString(obj, "subject_category"));
+            dto.setSubjectTermEn(getJsonString(obj, "subject_term_en"));
+            dto.setSubjectTermKo(getJsonString(obj, "subject_term_ko"));
+            dto.setRelationCategory(getJsonString(obj, "relation_category"));
+            dto.setRelationEn(getJsonString(obj, "relation_en"));
+            dto.setRelationKo(getJsonString(obj, "relation_ko"));
+            dto.setObjectCategory(getJsonString(obj, "object_category"));
+            dto.setObjectTermEn(getJsonString(obj, "object_term_en"));
+            dto.setObjectTermKo(getJsonString(obj, "object_term_ko"));
+            if (obj.has("confidence_score")) {
+                try {
+                    dto.setConfidenceScore(BigDecimal.valueOf(obj.get("confidence_score").getAsDouble()));
+                } catch (Exception e) {
+                    dto.setConfidenceScore(BigDecimal.ZERO);
+                }
+            }
+            dto.setEvidenceLevel(getJsonString(obj, "evidence_level"));
+            parsed.knowlearns().add(dto);
+        }
+    }
+
+    private static JsonArray getArray(JsonObject obj, String memberName) {
+        if (obj.has(memberName) && obj.get(memberName).isJsonArray()) {
+            return obj.getAsJsonArray(memberName);
+        }
+        return new JsonArray();
+    }
+
+    private static String getJsonString(JsonObject obj, String memberName) {
+        if (obj.has(memberName) && !obj.get(memberName).isJsonNull()) {
+            return obj.get(memberName).getAsString();
+        }
+        return null;
+    }
+}
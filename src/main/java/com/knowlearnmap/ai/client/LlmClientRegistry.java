@@ -0,0 +1,173 @@
+package com.knowlearnmap.ai.client;
+
+import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LLM 공급자 클라이언트 레지스트리 (호출마다 클라이언트/모델을 새로 만들지 않도록 재사용)
+ *
+ * <ul>
+ * <li>OkHttp: 공급자(AISTUDIO, OPENAI, ANTHROPIC)별 클라이언트 1개. 모두 하나의 ConnectionPool과
+ * Dispatcher를 공유하여 keep-alive 연결, TLS 세션, HTTP/2 다중화를 재사용</li>
+ * <li>Gemini SDK: 모델명/생성 파라미터 조합별 {@link GoogleAiGeminiChatModel}을 LRU 캐시
+ * (모델마다 내부 HttpClient를 가지므로 인스턴스를 재사용해야 연결이 유지됨)</li>
+ * <li>지표: llm.http.connections{provider, result=new|reused} (counter),
+ * llm.http.pool.connections / llm.http.pool.idle (gauge),
+ * llm.client.model.cache{result=hit|miss} (counter)</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class LlmClientRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final ConnectionPool connectionPool;
+    private final OkHttpClient baseClient;
+    private final Map<String, OkHttpClient> httpClients = new ConcurrentHashMap<>();
+    private final Map<GeminiModelKey, GoogleAiGeminiChatModel> geminiModels;
+    private final Counter modelCacheHit;
+    private final Counter modelCacheMiss;
+
+    @Value("${spring.ai.aistudio.api-key:}")
+    private String geminiApiKey;
+
+    @Value("${app.ai.llm.http.gemini-timeout-ms:300000}")
+    private long geminiTimeoutMs;
+
+    public LlmClientRegistry(MeterRegistry meterRegistry,
+            @Value("${app.ai.llm.http.connect-timeout-ms:30000}") long connectTimeoutMs,
+            @Value("${app.ai.llm.http.write-timeout-ms:30000}") long writeTimeoutMs,
+            @Value("${app.ai.llm.http.read-timeout-ms:60000}") long readTimeoutMs,
+            @Value("${app.ai.llm.http.max-idle-connections:20}") int maxIdleConnections,
+            @Value("${app.ai.llm.http.keep-alive-ms:300000}") long keepAliveMs,
+            @Value("${app.ai.llm.http.model-cache-size:32}") int modelCacheSize) {
+        this.meterRegistry = meterRegistry;
+        this.connectionPool = new ConnectionPool(maxIdleConnections, keepAliveMs, TimeUnit.MILLISECONDS);
+        this.baseClient = new OkHttpClient.Builder()
+                .connectionPool(connectionPool)
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                .writeTimeout(writeTimeoutMs, TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+                .retryOnConnectionFailure(true)
+                .build();
+        this.geminiModels = lruCache(Math.max(1, modelCacheSize));
+
+        Gauge.builder("llm.http.pool.connections", connectionPool, ConnectionPool::connectionCount)
+                .register(meterRegistry);
+        Gauge.builder("llm.http.pool.idle", connectionPool, ConnectionPool::idleConnectionCount)
+                .register(meterRegistry);
+        this.modelCacheHit = Counter.builder("llm.client.model.cache").tag("result", "hit").register(meterRegistry);
+        this.modelCacheMiss = Counter.builder("llm.client.model.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * 공급자용 OkHttpClient (공유 연결 풀 사용)
+     *
+     * @param provider 공급자 키 (지표 태그)
+     */
+    public OkHttpClient httpClient(String provider) {
+        String key = provider.toUpperCase(Locale.ROOT);
+        return httpClients.computeIfAbsent(key, k -> baseClient.newBuilder()
+                .eventListenerFactory(call -> new ConnectionReuseListener(
+                        meterRegistry.counter("llm.http.connections", "provider", k, "result", "new"),
+                        meterRegistry.counter("llm.http.connections", "provider", k, "result", "reused")))
+                .build());
+    }
+
+    /**
+     * 동일 모델/파라미터 조합의 Gemini 모델 인스턴스 (없으면 생성 후 캐시)
+     */
+    public GoogleAiGeminiChatModel geminiModel(String modelName, double temperature, double topP, int topK,
+            int maxOutputTokens) {
+        GeminiModelKey key = new GeminiModelKey(modelName, temperature, topP, topK, maxOutputTokens);
+        synchronized (geminiModels) {
+            GoogleAiGeminiChatModel model = geminiModels.get(key);
+            if (model != null) {
+                modelCacheHit.increment();
+                return model;
+            }
+        }
+
+        // 생성은 잠금 밖에서 (동시에 같은 키를 만들면 하나만 남음)
+        modelCacheMiss.increment();
+        GoogleAiGeminiChatModel created = GoogleAiGeminiChatModel.builder()
+                .apiKey(geminiApiKey)
+                .modelName(modelName)
+                .temperature(temperature)
+                .topP(topP)
+                .topK(topK)
+                .maxOutputTokens(maxOutputTokens)
+                .timeout(Duration.ofMillis(geminiTimeoutMs))
+                .build();
+        synchronized (geminiModels) {
+            return geminiModels.computeIfAbsent(key, k -> created);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        baseClient.dispatcher().executorService().shutdown();
+        connectionPool.evictAll();
+    }
+
+    private record GeminiModelKey(String modelName, double temperature, double topP, int topK,
+            int maxOutputTokens) {
+    }
+
+    private static <K, V> Map<K, V> lruCache(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 호출 1건에서 새 연결을 맺었는지(connectStart) 풀의 연결을 재사용했는지 집계
+     */
+    private static final class ConnectionReuseListener extends EventListener {
+        private final Counter newConnections;
+        private final Counter reusedConnections;
+        private boolean connected;
+
+        private ConnectionReuseListener(Counter newConnections, Counter reusedConnections) {
+            this.newConnections = newConnections;
+            this.reusedConnections = reusedConnections;
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connected = true;
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            (connected ? newConnections : reusedConnections).increment();
+            connected = false;
+        }
+    }
+}
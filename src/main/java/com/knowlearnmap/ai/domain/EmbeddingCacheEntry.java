@@ -0,0 +1,41 @@
+package com.knowlearnmap.ai.domain;
+
+import com.knowlearnmap.common.converter.FloatVectorConverter;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 임베딩 캐시 엔티티 (영구 계층)
+ *
+ * cache_key = 모델명 + ":" + 정규화된 텍스트의 SHA-256
+ */
+@Entity
+@Table(name = "embedding_cache")
+@Getter
+@Setter
+@NoArgsConstructor
+public class EmbeddingCacheEntry {
+
+    @Id
+    @Column(name = "cache_key", length = 200)
+    private String cacheKey;
+
+    @Column(name = "model", length = 100, nullable = false)
+    private String model;
+
+    @Convert(converter = FloatVectorConverter.class)
+    @Column(name = "embedding_f32", columnDefinition = "bytea", nullable = false)
+    private float[] embedding;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,168 @@
+package com.knowlearnmap.ai.limiter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD 방식의 적응형 동시성 제한기 (공급자 1개당 1개)
+ *
+ * <ul>
+ * <li>성공: 지연이 기준(EWMA)의 latencyTolerance배 이내이고 한도를 절반 이상 쓰고 있을 때 한도 +1/limit
+ * (한도만큼 성공하면 +1)</li>
+ * <li>지연 악화: 한도 ×0.95</li>
+ * <li>429/503: 한도 ×0.5, Retry-After 동안 신규 진입 중지. 같은 폭주로 연달아 받은 429에 여러 번
+ * 줄지 않도록 직전 감소 후 max(1초, 기준 지연) 이내의 감소는 무시</li>
+ * </ul>
+ * {@link #acquire()} 후에는 반드시 onSuccess / onOverload / onFailure 중 하나를 호출하여 반환
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double LATENCY_ALPHA = 0.1;
+    private static final double BACKOFF_RATIO = 0.5;
+    private static final double LATENCY_BACKOFF_RATIO = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private double baselineLatencyMs = -1;
+    private long pausedUntilNanos;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance) {
+        this(initialLimit, minLimit, maxLimit, latencyTolerance, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance,
+            LongSupplier nanoClock) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.latencyTolerance = latencyTolerance;
+        this.nanoClock = nanoClock;
+        this.lastDecreaseNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * 한도 내 슬롯이 나고 Retry-After 대기가 끝날 때까지 대기
+     */
+    public void acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            waiting++;
+            try {
+                while (true) {
+                    long pause = pausedUntilNanos - nanoClock.getAsLong();
+                    if (pause > 0) {
+                        changed.awaitNanos(pause);
+                    } else if (inFlight >= (int) limit) {
+                        changed.await();
+                    } else {
+                        break;
+                    }
+                }
+            } finally {
+                waiting--;
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess(long latencyMs) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (baselineLatencyMs < 0) {
+                baselineLatencyMs = latencyMs;
+            } else if (latencyMs > baselineLatencyMs * latencyTolerance) {
+                decrease(LATENCY_BACKOFF_RATIO);
+            } else if (inFlight + 1 >= limit / 2) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            if (baselineLatencyMs >= 0) {
+                baselineLatencyMs += LATENCY_ALPHA * (latencyMs - baselineLatencyMs);
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 429/과부하 응답: 한도 절반, retryAfter 동안 신규 진입 중지
+     */
+    public void onOverload(Duration retryAfter) {
+        lock.lock();
+        try {
+            inFlight--;
+            long now = nanoClock.getAsLong();
+            long window = TimeUnit.MILLISECONDS.toNanos((long) Math.max(1000, baselineLatencyMs));
+            if (now - lastDecreaseNanos > window) {
+                decrease(BACKOFF_RATIO);
+            }
+            if (retryAfter != null && !retryAfter.isNegative()) {
+                pausedUntilNanos = Math.max(pausedUntilNanos, now + retryAfter.toNanos());
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 과부하와 무관한 실패 (한도 유지)
+     */
+    public void onFailure() {
+        lock.lock();
+        try {
+            inFlight--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void decrease(double ratio) {
+        limit = Math.max(minLimit, limit * ratio);
+        lastDecreaseNanos = nanoClock.getAsLong();
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.knowlearnmap.ai.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * LLM 공급자별 적응형 동시성 제한 + 재시도
+ *
+ * <ul>
+ * <li>모든 LLM 호출(DirectLlmCallService 경유: ChunkToLlmService, PromptTestService 포함)이
+ * 공급자 키(AISTUDIO, GEMINI, OPENAI, ANTHROPIC)별 {@link AdaptiveConcurrencyLimiter}를 공유</li>
+ * <li>429/5xx/일시 오류는 max(Retry-After, 지수 백오프 + 지터) 대기 후 재시도.
+ * 429 이외의 4xx는 재시도하지 않음</li>
+ * <li>지표: llm.limiter.limit / llm.limiter.inflight / llm.limiter.queued (gauge),
+ * llm.limiter.throttled{reason=rate_limited|server_error} (counter)</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class LlmConcurrencyLimiterRegistry {
+
+    private static final Pattern OVERLOAD_STATUS = Pattern.compile("\\b(RESOURCE_EXHAUSTED|UNAVAILABLE)\\b");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Value("${app.ai.llm.limiter.initial-limit:4}")
+    private int initialLimit;
+
+    @Value("${app.ai.llm.limiter.min-limit:1}")
+    private int minLimit;
+
+    @Value("${app.ai.llm.limiter.max-limit:20}")
+    private int maxLimit;
+
+    @Value("${app.ai.llm.limiter.latency-tolerance:2.0}")
+    private double latencyTolerance;
+
+    @Value("${app.ai.llm.limiter.max-retries:4}")
+    private int maxRetries;
+
+    @Value("${app.ai.llm.limiter.base-backoff-ms:1000}")
+    private long baseBackoffMs;
+
+    @Value("${app.ai.llm.limiter.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    public LlmConcurrencyLimiterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 공급자 제한기 안에서 호출하고, 재시도 가능한 오류는 백오프 후 재시도
+     *
+     * @param provider 공급자 키
+     * @throws RuntimeException 재시도 소진 또는 재시도 불가 오류 (원인 예외 포함)
+     */
+    public <T> T execute(String provider, Callable<T> call) {
+        String key = provider.toUpperCase(Locale.ROOT);
+        AdaptiveConcurrencyLimiter limiter = limiter(key);
+        Exception lastException = null;
+
+        for (int attempt = 1; attempt <= maxRetries + 1; attempt++) {
+            try {
+                limiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(key + " 호출 대기 중 인터럽트 발생", e);
+            }
+
+            long start = System.nanoTime();
+            Duration retryAfter = null;
+            boolean retryable;
+            boolean released = false;
+            try {
+                T result = call.call();
+                released = true;
+                limiter.onSuccess((System.nanoTime() - start) / 1_000_000);
+                return result;
+            } catch (Exception e) {
+                released = true;
+                lastException = e;
+                LlmHttpException http = findHttpException(e);
+                String sdkStatus = http == null ? findOverloadStatus(e) : null;
+                if (http != null && http.isOverload()) {
+                    retryAfter = http.getRetryAfter();
+                    limiter.onOverload(retryAfter);
+                    throttled(key, http.getStatusCode() == 429 ? "rate_limited" : "server_error");
+                } else if (sdkStatus != null) {
+                    // SDK 경유(Gemini) 호출은 상태 코드 대신 gRPC 상태 이름으로 판별
+                    limiter.onOverload(null);
+                    throttled(key, "RESOURCE_EXHAUSTED".equals(sdkStatus) ? "rate_limited" : "server_error");
+                } else {
+                    limiter.onFailure();
+                }
+                retryable = http == null || http.isRetryable();
+                log.warn("{} 호출 실패 (시도 {}/{}): {}", key, attempt, maxRetries + 1, e.getMessage());
+            } finally {
+                if (!released) {
+                    // Error 등 Exception이 아닌 경우에도 슬롯은 반환 (한도는 유지)
+                    limiter.onFailure();
+                }
+            }
+
+            if (!retryable || attempt > maxRetries) {
+                break;
+            }
+            sleep(backoff(attempt, retryAfter), key);
+        }
+
+        throw new RuntimeException(key + " 호출 실패", lastException);
+    }
+
+    public AdaptiveConcurrencyLimiter limiter(String provider) {
+        return limiters.computeIfAbsent(provider, this::create);
+    }
+
+    private AdaptiveConcurrencyLimiter create(String provider) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                latencyTolerance);
+        Gauge.builder("llm.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("provider", provider).register(meterRegistry);
+        Gauge.builder("llm.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("provider", provider).register(meterRegistry);
+        Gauge.builder("llm.limiter.queued", limiter, AdaptiveConcurrencyLimiter::getWaiting)
+                .tag("provider", provider).register(meterRegistry);
+        log.info("LLM 동시성 제한기 생성: provider={}, initial={}, min={}, max={}",
+                provider, initialLimit, minLimit, maxLimit);
+        return limiter;
+    }
+
+    private void throttled(String provider, String reason) {
+        Counter.builder("llm.limiter.throttled").tag("provider", provider).tag("reason", reason)
+                .register(meterRegistry).increment();
+    }
+
+    /**
+     * base × 2^(attempt-1)에 ±50% 지터, Retry-After가 더 길면 그 값
+     */
+    private long backoff(int attempt, Duration retryAfter) {
+        long exp = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt - 1, 20));
+        long jittered = (long) (exp * (0.5 + ThreadLocalRandom.current().nextDouble()));
+        long hinted = retryAfter != null ? retryAfter.toMillis() : 0;
+        return Math.min(maxBackoffMs, Math.max(jittered, hinted));
+    }
+
+    private void sleep(long millis, String provider) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(provider + " 재시도 대기 중 인터럽트 발생", e);
+        }
+    }
+
+    /**
+     * 공급자 측 일시 오류(과부하·5xx)로 재시도가 소진된 실패인지 여부.
+     * 요청을 나누거나 다시 보내도 공급자 부하만 늘어나므로 호출 측은 재분할하지 않아야 함
+     */
+    public static boolean isProviderFailure(Throwable e) {
+        LlmHttpException http = findHttpException(e);
+        if (http != null) {
+            return http.isRetryable();
+        }
+        return findOverloadStatus(e) != null;
+    }
+
+    private static LlmHttpException findHttpException(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof LlmHttpException http) {
+                return http;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 메시지의 과부하 상태 이름 (RESOURCE_EXHAUSTED / UNAVAILABLE, 없으면 null).
+     * 숫자 "429"/"503"은 토큰 수·ID·크기에도 나타나므로 판별에 쓰지 않음
+     */
+    static String findOverloadStatus(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            String message = t.getMessage();
+            if (message != null) {
+                Matcher matcher = OVERLOAD_STATUS.matcher(message);
+                if (matcher.find()) {
+                    return matcher.group(1);
+                }
+            }
+        }
+        return null;
+    }
+}
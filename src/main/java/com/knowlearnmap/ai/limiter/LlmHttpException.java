@@ -0,0 +1,69 @@
+package com.knowlearnmap.ai.limiter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * LLM 공급자 HTTP 오류 응답 (상태 코드와 Retry-After 보존)
+ */
+public class LlmHttpException extends IOException {
+
+    private final int statusCode;
+    private final Duration retryAfter;
+
+    public LlmHttpException(String message, int statusCode, Duration retryAfter) {
+        super(message);
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * 공급자가 지정한 대기 시간 (없으면 null)
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * 429 또는 과부하성 5xx (공급자 측 동시성 축소 대상)
+     */
+    public boolean isOverload() {
+        return statusCode == 429 || statusCode == 503 || statusCode == 529;
+    }
+
+    /**
+     * 재시도해도 결과가 같은 오류 (429/408을 제외한 4xx)
+     */
+    public boolean isRetryable() {
+        return statusCode >= 500 || statusCode == 429 || statusCode == 408;
+    }
+
+    /**
+     * retry-after-ms(OpenAI) 우선, 없으면 Retry-After(초 또는 HTTP-date)
+     */
+    public static Duration parseRetryAfter(String retryAfterMs, String retryAfter) {
+        try {
+            if (retryAfterMs != null && !retryAfterMs.isBlank()) {
+                return Duration.ofMillis((long) Double.parseDouble(retryAfterMs.trim()));
+            }
+            if (retryAfter == null || retryAfter.isBlank()) {
+                return null;
+            }
+            String value = retryAfter.trim();
+            if (value.chars().allMatch(c -> Character.isDigit(c) || c == '.')) {
+                return Duration.ofMillis((long) (Double.parseDouble(value) * 1000));
+            }
+            Duration until = Duration.between(ZonedDateTime.now(),
+                    ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+            return until.isNegative() ? Duration.ZERO : until;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.knowlearnmap.ai.repository;
+
+import com.knowlearnmap.ai.domain.EmbeddingCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmbeddingCacheRepository extends JpaRepository<EmbeddingCacheEntry, String> {
+
+    /**
+     * 동시 저장 시 PK 충돌을 피하기 위해 upsert(무시) 사용
+     */
+    @Modifying
+    @Query(value = "INSERT INTO embedding_cache (cache_key, model, embedding_f32, created_at) " +
+            "VALUES (:cacheKey, :model, :vector, now()) " +
+            "ON CONFLICT (cache_key) DO NOTHING", nativeQuery = true)
+    int insertIgnore(@Param("cacheKey") String cacheKey, @Param("model") String model,
+            @Param("vector") byte[] vector);
+}
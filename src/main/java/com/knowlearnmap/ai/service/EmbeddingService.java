@@ -12,9 +12,9 @@ public interface EmbeddingService {
      * 텍스트를 벡터로 변환 (임베딩)
      *
      * @param text 임베딩할 텍스트
-     * @return 임베딩 벡터 (List<Double>)
+     * @return 임베딩 벡터 (float32)
      */
-    List<Double> embed(String text);
+    float[] embed(String text);
 
     /**
      * 여러 텍스트를 한 번에 벡터로 변환 (배치 임베딩)
@@ -23,5 +23,11 @@ public interface EmbeddingService {
      * @param texts 임베딩할 텍스트 리스트
      * @return 각 텍스트에 대한 임베딩 벡터 리스트
      */
-    List<List<Double>> embedBatch(List<String> texts);
+    List<float[]> embedBatch(List<String> texts);
+
+    /**
+     * 임베딩 모델명 (캐시 키 구성에 사용)
+     * 모델이 바뀌면 벡터 공간이 달라지므로 구현체마다 고유해야 함
+     */
+    String getModelName();
 }
@@ -0,0 +1,29 @@
+package com.knowlearnmap.ai.service;
+
+/**
+ * 토크나이저 없이 사용하는 보수적인 토큰 수 추정기
+ * - ASCII: 약 4자당 1토큰
+ * - 한글 등 비ASCII: 1자당 1토큰
+ * 배치 크기 산정용이므로 실제보다 약간 크게 추정하는 쪽을 택함.
+ */
+public final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int ascii = 0;
+        int nonAscii = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 0x80) {
+                ascii++;
+            } else {
+                nonAscii++;
+            }
+        }
+        return (ascii + 3) / 4 + nonAscii;
+    }
+}
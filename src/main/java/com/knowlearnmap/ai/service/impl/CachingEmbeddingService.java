@@ -0,0 +1,206 @@
+package com.knowlearnmap.ai.service.impl;
+
+import com.knowlearnmap.ai.domain.EmbeddingCacheEntry;
+import com.knowlearnmap.ai.repository.EmbeddingCacheRepository;
+import com.knowlearnmap.ai.service.EmbeddingService;
+import com.knowlearnmap.common.util.HashUtils;
+import com.knowlearnmap.common.util.VectorCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 콘텐츠 주소 기반 임베딩 캐시 (EmbeddingService 데코레이터)
+ *
+ * <ul>
+ * <li>키: 모델명 + 정규화된 텍스트(앞뒤 공백 제거, 연속 공백 1칸)의 SHA-256</li>
+ * <li>1차: 힙 내 LRU (float[] 보관), 2차: Postgres embedding_cache 테이블</li>
+ * <li>embedBatch는 두 계층 모두 미스인 텍스트만 (중복 제거 후) 실제 구현체로 전달</li>
+ * <li>지표: embedding.cache.requests{result=memory_hit|db_hit|miss}</li>
+ * <li>반환되는 float[]는 캐시와 공유되므로 호출 측에서 수정하지 않음</li>
+ * </ul>
+ *
+ * app.ai.embedding.cache.enabled=false 설정 시 비활성화되어 구현체가 직접 주입됨
+ */
+@Slf4j
+@Service
+@Primary
+@ConditionalOnProperty(name = "app.ai.embedding.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingEmbeddingService implements EmbeddingService {
+
+    private final EmbeddingService delegate;
+    private final EmbeddingCacheRepository cacheRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, float[]> memoryCache;
+    private final boolean persistent;
+
+    private final Counter memoryHits;
+    private final Counter dbHits;
+    private final Counter misses;
+
+    /**
+     * @param delegate 실제 임베딩 구현체 (자기 자신은 후보에서 제외되므로 provider 설정에 맞는 구현체가 주입됨)
+     */
+    public CachingEmbeddingService(EmbeddingService delegate,
+            EmbeddingCacheRepository cacheRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.ai.embedding.cache.max-memory-entries:5000}") int maxMemoryEntries,
+            @Value("${app.ai.embedding.cache.persistent:true}") boolean persistent) {
+        this.delegate = delegate;
+        this.cacheRepository = cacheRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.persistent = persistent;
+        this.memoryCache = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+                return size() > maxMemoryEntries;
+            }
+        });
+
+        this.memoryHits = Counter.builder("embedding.cache.requests").tag("result", "memory_hit")
+                .register(meterRegistry);
+        this.dbHits = Counter.builder("embedding.cache.requests").tag("result", "db_hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("embedding.cache.requests").tag("result", "miss")
+                .register(meterRegistry);
+
+        log.info("CachingEmbeddingService 초기화 완료 (delegate: {}, memory: {}, persistent: {})",
+                delegate.getClass().getSimpleName(), maxMemoryEntries, persistent);
+    }
+
+    @Override
+    public float[] embed(String text) {
+        return embedBatch(List.of(text)).get(0);
+    }
+
+    @Override
+    public List<float[]> embedBatch(List<String> texts) {
+        if (texts == null || texts.isEmpty()) {
+            return List.of();
+        }
+
+        String[] keys = new String[texts.size()];
+        Map<String, float[]> found = new HashMap<>();
+        Set<String> lookupKeys = new LinkedHashSet<>();
+
+        // 1. 메모리 계층
+        for (int i = 0; i < texts.size(); i++) {
+            keys[i] = cacheKey(texts.get(i));
+            if (found.containsKey(keys[i])) {
+                continue;
+            }
+            float[] cached = memoryCache.get(keys[i]);
+            if (cached != null) {
+                found.put(keys[i], cached);
+                memoryHits.increment();
+            } else {
+                lookupKeys.add(keys[i]);
+            }
+        }
+
+        // 2. DB 계층
+        if (persistent && !lookupKeys.isEmpty()) {
+            try {
+                for (EmbeddingCacheEntry entry : cacheRepository.findAllById(lookupKeys)) {
+                    float[] vector = entry.getEmbedding();
+                    found.put(entry.getCacheKey(), vector);
+                    memoryCache.put(entry.getCacheKey(), vector);
+                    dbHits.increment();
+                }
+            } catch (Exception e) {
+                log.warn("임베딩 캐시 DB 조회 실패, 미스로 처리: {}", e.getMessage());
+            }
+        }
+
+        // 3. 미스만 실제 호출 (배치 내 중복 텍스트는 한 번만)
+        Map<String, String> missTexts = new LinkedHashMap<>();
+        for (int i = 0; i < texts.size(); i++) {
+            if (!found.containsKey(keys[i])) {
+                missTexts.putIfAbsent(keys[i], texts.get(i));
+            }
+        }
+
+        if (!missTexts.isEmpty()) {
+            misses.increment(missTexts.size());
+            List<String> missKeys = new ArrayList<>(missTexts.keySet());
+            List<float[]> vectors = delegate.embedBatch(new ArrayList<>(missTexts.values()));
+
+            for (int i = 0; i < missKeys.size(); i++) {
+                float[] vector = vectors.get(i);
+                found.put(missKeys.get(i), vector);
+                memoryCache.put(missKeys.get(i), vector);
+            }
+            if (persistent) {
+                persist(missKeys, vectors);
+            }
+        }
+
+        List<float[]> result = new ArrayList<>(texts.size());
+        for (String key : keys) {
+            result.add(found.get(key));
+        }
+        return result;
+    }
+
+    @Override
+    public String getModelName() {
+        return delegate.getModelName();
+    }
+
+    private void persist(List<String> keys, List<float[]> vectors) {
+        try {
+            String model = delegate.getModelName();
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < keys.size(); i++) {
+                    cacheRepository.insertIgnore(keys.get(i), model, VectorCodec.encode(vectors.get(i)));
+                }
+            });
+        } catch (Exception e) {
+            log.warn("임베딩 캐시 DB 저장 실패 (임베딩 결과는 정상 반환): {}", e.getMessage());
+        }
+    }
+
+    private String cacheKey(String text) {
+        return delegate.getModelName() + ":" + HashUtils.sha256Hex(normalize(text));
+    }
+
+    /**
+     * 앞뒤 공백 제거 + 연속 공백(개행 포함)을 공백 1칸으로
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    sb.append(' ');
+                    pendingSpace = false;
+                }
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
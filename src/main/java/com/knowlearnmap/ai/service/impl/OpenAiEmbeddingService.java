@@ -24,6 +24,8 @@ import java.util.stream.Collectors;
 @ConditionalOnProperty(name = "app.ai.embedding.provider", havingValue = "openai", matchIfMissing = true)
 public class OpenAiEmbeddingService implements EmbeddingService {
 
+    private static final String MODEL_NAME = "text-embedding-3-small"; // 최신, 가성비 모델
+
     @Value("${spring.ai.openai.api-key}")
     private String apiKey;
 
@@ -38,27 +40,27 @@ public class OpenAiEmbeddingService implements EmbeddingService {
 
         this.embeddingModel = OpenAiEmbeddingModel.builder()
                 .apiKey(apiKey)
-                .modelName("text-embedding-3-small") // 최신, 가성비 모델
+                .modelName(MODEL_NAME)
                 .timeout(Duration.ofSeconds(60))
                 .build();
 
-        log.info("OpenAiEmbeddingService 초기화 완료 (Model: text-embedding-3-small)");
+        log.info("OpenAiEmbeddingService 초기화 완료 (Model: {})", MODEL_NAME);
+    }
+
+    @Override
+    public String getModelName() {
+        return "openai/" + MODEL_NAME;
     }
 
     @Override
-    public List<Double> embed(String text) {
+    public float[] embed(String text) {
         if (embeddingModel == null) {
             throw new IllegalStateException("OpenAI Embedding Model이 초기화되지 않았습니다. API Key를 확인하세요.");
         }
 
         try {
             Response<Embedding> response = embeddingModel.embed(text);
-            List<Float> floatVector = response.content().vectorAsList();
-
-            // Convert Float to Double (Java List<Double> is common for JPA/Calculation)
-            return floatVector.stream()
-                    .map(Float::doubleValue)
-                    .collect(Collectors.toList());
+            return response.content().vector();
 
         } catch (Exception e) {
             log.error("OpenAI 임베딩 생성 실패", e);
@@ -67,7 +69,7 @@ public class OpenAiEmbeddingService implements EmbeddingService {
     }
 
     @Override
-    public List<List<Double>> embedBatch(List<String> texts) {
+    public List<float[]> embedBatch(List<String> texts) {
         if (embeddingModel == null) {
             throw new IllegalStateException("OpenAI Embedding Model이 초기화되지 않았습니다. API Key를 확인하세요.");
         }
@@ -87,11 +89,8 @@ public class OpenAiEmbeddingService implements EmbeddingService {
             // Single API call for all texts
             Response<List<Embedding>> response = embeddingModel.embedAll(segments);
 
-            // Convert Float to Double for each embedding
-            List<List<Double>> result = response.content().stream()
-                    .map(embedding -> embedding.vectorAsList().stream()
-                            .map(Float::doubleValue)
-                            .collect(Collectors.toList()))
+            List<float[]> result = response.content().stream()
+                    .map(Embedding::vector)
                     .collect(Collectors.toList());
 
             log.debug("Successfully generated {} embeddings in batch", result.size());
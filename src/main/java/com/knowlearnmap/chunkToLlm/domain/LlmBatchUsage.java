@@ -0,0 +1,83 @@
+package com.knowlearnmap.chunkToLlm.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 청크 배치 LLM 호출 1회의 토큰 사용량 기록
+ *
+ * 토큰 수는 TokenEstimator 기준 추정치 (입력: 프롬프트 + 청크, 출력: 응답 텍스트)
+ */
+@Entity
+@Table(name = "llm_batch_usage", indexes = {
+        @Index(name = "idx_llm_batch_usage_document", columnList = "document_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class LlmBatchUsage {
+
+    public enum Status {
+        /** 결과 저장 완료 */
+        COMPLETED,
+        /** 스트리밍 응답이 중간에 끊김 (완료된 청크는 저장, 나머지는 재처리) */
+        PARTIAL,
+        /** 실패하여 절반으로 나눠 재시도 */
+        SPLIT,
+        /** 최종 실패 */
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "prompt_code", nullable = false, length = 100)
+    private String promptCode;
+
+    @Column(name = "model", length = 100)
+    private String model;
+
+    @Column(name = "document_id")
+    private Long documentId;
+
+    @Column(name = "chunk_count", nullable = false)
+    private int chunkCount;
+
+    @Column(name = "input_tokens", nullable = false)
+    private int inputTokens;
+
+    /**
+     * 배치 구성 시 예상한 출력 토큰
+     */
+    @Column(name = "expected_output_tokens", nullable = false)
+    private int expectedOutputTokens;
+
+    @Column(name = "output_tokens")
+    private Integer outputTokens;
+
+    @Column(name = "max_output_tokens")
+    private Integer maxOutputTokens;
+
+    @Column(name = "latency_ms")
+    private Long latencyMs;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
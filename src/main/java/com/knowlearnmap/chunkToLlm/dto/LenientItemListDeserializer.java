@@ -0,0 +1,75 @@
+package com.knowlearnmap.chunkToLlm.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LLM 결과 항목 배열 바인딩 (잘못된 원소는 건너뜀)
+ *
+ * <p>
+ * 객체가 아닌 원소나 필드 타입이 맞지 않는 원소 하나 때문에 배치 응답 전체가 파싱 실패로 처리되면
+ * 배치 분할·재시도로 LLM 호출이 다시 발생하므로, 해당 원소만 로그를 남기고 제외합니다.
+ * 배열이 아닌 값은 항목 없음(null)으로 처리합니다.
+ * </p>
+ */
+@Slf4j
+public class LenientItemListDeserializer extends JsonDeserializer<List<Object>> implements ContextualDeserializer {
+
+    private final JavaType itemType;
+
+    public LenientItemListDeserializer() {
+        this(null);
+    }
+
+    private LenientItemListDeserializer(JavaType itemType) {
+        this.itemType = itemType;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+            throws JsonMappingException {
+        JavaType type = property != null ? property.getType() : ctxt.getContextualType();
+        return new LenientItemListDeserializer(type.getContentType());
+    }
+
+    @Override
+    public List<Object> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartArrayToken()) {
+            log.warn("LLM 결과 항목이 배열이 아님, 무시: {}", p.currentName());
+            p.skipChildren();
+            return null;
+        }
+
+        List<Object> items = new ArrayList<>();
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                if (token != JsonToken.VALUE_NULL) {
+                    log.warn("LLM 결과 항목이 객체가 아님, 건너뜀: {}", p.getText());
+                }
+                p.skipChildren();
+                continue;
+            }
+            // 원소 단위로 버퍼링해 두어야 바인딩 실패 후에도 다음 원소부터 이어서 읽을 수 있음
+            TokenBuffer buffer = ctxt.bufferAsCopyOfValue(p);
+            try (JsonParser itemParser = buffer.asParserOnFirstToken()) {
+                items.add(ctxt.readValue(itemParser, itemType));
+            } catch (JsonMappingException e) {
+                log.warn("LLM 결과 항목 바인딩 실패, 건너뜀: {}", e.getOriginalMessage());
+            }
+        }
+        return items;
+    }
+}
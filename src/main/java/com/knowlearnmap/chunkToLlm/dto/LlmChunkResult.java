@@ -0,0 +1,162 @@
+package com.knowlearnmap.chunkToLlm.dto;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 청크 하나의 LLM 추출 결과 (document_chunks.llm_result 저장 형태)
+ *
+ * <p>
+ * ChunkToLlmService가 LLM 응답을 이 타입으로 바로 바인딩해 한 번 직렬화하여 저장하고,
+ * Ontology 단계(OntologyLlmResultParser)가 같은 타입으로 읽습니다.
+ * 항목에 정의되지 않은 필드는 버리지 않고 저장 시 그대로 씁니다.
+ * 잘못된 항목은 {@link LenientItemListDeserializer}가 건너뛰므로 배치 응답 전체를 실패시키지 않습니다.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonPropertyOrder({ "id", "objects_to_add", "relations_to_add", "knowlearns_to_add" })
+public class LlmChunkResult {
+
+    private Long id;
+
+    @JsonProperty("objects_to_add")
+    @JsonDeserialize(using = LenientItemListDeserializer.class)
+    private List<ObjectItem> objectsToAdd;
+
+    @JsonProperty("relations_to_add")
+    @JsonDeserialize(using = LenientItemListDeserializer.class)
+    private List<RelationItem> relationsToAdd;
+
+    @JsonProperty("knowlearns_to_add")
+    @JsonDeserialize(using = LenientItemListDeserializer.class)
+    private List<KnowlearnItem> knowlearnsToAdd;
+
+    /**
+     * 항목 공통: 정의되지 않은 필드 보관
+     */
+    public abstract static class Item {
+        private Map<String, Object> extra;
+
+        @JsonAnySetter
+        public void setExtra(String name, Object value) {
+            if (extra == null) {
+                extra = new LinkedHashMap<>();
+            }
+            extra.put(name, value);
+        }
+
+        @JsonAnyGetter
+        public Map<String, Object> getExtra() {
+            return extra;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @EqualsAndHashCode(callSuper = false)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ObjectItem extends Item {
+        private String category;
+
+        @JsonProperty("term_en")
+        private String termEn;
+
+        @JsonProperty("term_ko")
+        private String termKo;
+
+        @JsonProperty("description_ko")
+        private String descriptionKo;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @EqualsAndHashCode(callSuper = false)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RelationItem extends Item {
+        private String category;
+
+        @JsonProperty("relation_en")
+        private String relationEn;
+
+        @JsonProperty("relation_ko")
+        private String relationKo;
+
+        @JsonProperty("description_ko")
+        private String descriptionKo;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @EqualsAndHashCode(callSuper = false)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class KnowlearnItem extends Item {
+        @JsonProperty("subject_category")
+        private String subjectCategory;
+
+        @JsonProperty("subject_term_en")
+        private String subjectTermEn;
+
+        @JsonProperty("subject_term_ko")
+        private String subjectTermKo;
+
+        @JsonProperty("relation_category")
+        private String relationCategory;
+
+        @JsonProperty("relation_en")
+        private String relationEn;
+
+        @JsonProperty("relation_ko")
+        private String relationKo;
+
+        @JsonProperty("object_category")
+        private String objectCategory;
+
+        @JsonProperty("object_term_en")
+        private String objectTermEn;
+
+        @JsonProperty("object_term_ko")
+        private String objectTermKo;
+
+        @JsonProperty("confidence_score")
+        @Setter(AccessLevel.NONE)
+        private BigDecimal confidenceScore;
+
+        @JsonProperty("evidence_level")
+        private String evidenceLevel;
+
+        /**
+         * 숫자가 아닌 값(null, 문자열 등)은 0 (기존 Ontology 생성 규칙)
+         */
+        @JsonProperty("confidence_score")
+        public void setConfidenceScore(Object value) {
+            if (value instanceof BigDecimal decimal) {
+                confidenceScore = decimal;
+                return;
+            }
+            try {
+                confidenceScore = value instanceof Number number
+                        ? BigDecimal.valueOf(number.doubleValue())
+                        : BigDecimal.valueOf(Double.parseDouble(String.valueOf(value)));
+            } catch (NumberFormatException e) {
+                confidenceScore = BigDecimal.ZERO;
+            }
+        }
+    }
+}
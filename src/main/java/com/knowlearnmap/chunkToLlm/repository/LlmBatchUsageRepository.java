@@ -0,0 +1,13 @@
+package com.knowlearnmap.chunkToLlm.repository;
+
+import com.knowlearnmap.chunkToLlm.domain.LlmBatchUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LlmBatchUsageRepository extends JpaRepository<LlmBatchUsage, Long> {
+
+    List<LlmBatchUsage> findByDocumentIdOrderByCreatedAtAsc(Long documentId);
+}
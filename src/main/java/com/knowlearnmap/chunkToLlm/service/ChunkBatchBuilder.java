@@ -0,0 +1,114 @@
+package com.knowlearnmap.chunkToLlm.service;
+
+import com.knowlearnmap.ai.limiter.LlmConcurrencyLimiterRegistry;
+import com.knowlearnmap.ai.service.TokenEstimator;
+import com.knowlearnmap.document.domain.DocumentChunk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 청크를 토큰 예산에 맞춰 배치로 묶음 (CHUNKLIST_TO_ONTOLOGY 등 배치 프롬프트용)
+ *
+ * <ul>
+ * <li>입력: 프롬프트 본문 + 청크들(JSON 래핑 포함)이 maxInputTokens 이내</li>
+ * <li>출력: 청크별 예상 출력(입력 토큰 × outputPerInputToken + outputOverheadPerChunk)의 합이
+ * 모델 maxOutputTokens × outputSafetyRatio 이내 (응답이 잘려 JSON 파싱에 실패하지 않도록)</li>
+ * <li>예산을 혼자 넘는 청크는 단독 배치</li>
+ * </ul>
+ */
+final class ChunkBatchBuilder {
+
+    /**
+     * {"id":..,"text":".."} 래핑 추정치
+     */
+    private static final int CHUNK_WRAPPER_TOKENS = 12;
+
+    private ChunkBatchBuilder() {
+    }
+
+    /**
+     * @param promptTokens         프롬프트 본문 토큰
+     * @param maxInputTokens       요청 1회 입력 토큰 상한
+     * @param maxOutputTokens      모델 설정의 출력 토큰 상한
+     * @param outputSafetyRatio    출력 상한 중 계획에 쓰는 비율
+     * @param outputPerInputToken  입력 토큰당 예상 출력 토큰
+     * @param outputOverheadPerChunk 청크당 고정 출력 토큰 (id, 빈 배열 등)
+     * @param maxChunks            배치당 최대 청크 수
+     */
+    record Budget(int promptTokens, int maxInputTokens, int maxOutputTokens, double outputSafetyRatio,
+            double outputPerInputToken, int outputOverheadPerChunk, int maxChunks) {
+
+        int inputTokens(DocumentChunk chunk) {
+            return TokenEstimator.estimate(chunk.getContent()) + CHUNK_WRAPPER_TOKENS;
+        }
+
+        int expectedOutputTokens(int inputTokens) {
+            return (int) Math.ceil(inputTokens * outputPerInputToken) + outputOverheadPerChunk;
+        }
+    }
+
+    /**
+     * 청크 배치와 계획 시점의 토큰 추정치
+     */
+    record Batch(List<DocumentChunk> chunks, int inputTokens, int expectedOutputTokens) {
+    }
+
+    static List<Batch> build(List<DocumentChunk> chunks, Budget budget) {
+        int inputLimit = Math.max(1, budget.maxInputTokens() - budget.promptTokens());
+        int outputLimit = Math.max(1, (int) (budget.maxOutputTokens() * budget.outputSafetyRatio()));
+
+        List<Batch> batches = new ArrayList<>();
+        List<DocumentChunk> current = new ArrayList<>();
+        int currentInput = 0;
+        int currentOutput = 0;
+
+        for (DocumentChunk chunk : chunks) {
+            int input = budget.inputTokens(chunk);
+            int output = budget.expectedOutputTokens(input);
+            if (!current.isEmpty() && (currentInput + input > inputLimit
+                    || currentOutput + output > outputLimit
+                    || current.size() >= budget.maxChunks())) {
+                batches.add(new Batch(current, budget.promptTokens() + currentInput, currentOutput));
+                current = new ArrayList<>();
+                currentInput = 0;
+                currentOutput = 0;
+            }
+            current.add(chunk);
+            currentInput += input;
+            currentOutput += output;
+        }
+        if (!current.isEmpty()) {
+            batches.add(new Batch(current, budget.promptTokens() + currentInput, currentOutput));
+        }
+        return batches;
+    }
+
+    /**
+     * 실패한 배치를 나눠 다시 보낼지 여부. 파싱 오류·결과 누락·MAX_TOKENS 잘림처럼 배치 크기나 내용에 따른 실패만 분할.
+     * 429/5xx는 LlmConcurrencyLimiterRegistry에서 이미 재시도했으므로 나누면 같은 공급자 호출만 늘어남
+     */
+    static boolean shouldSplit(Batch batch, Throwable failure) {
+        return batch.chunks().size() > 1 && !LlmConcurrencyLimiterRegistry.isProviderFailure(failure);
+    }
+
+    /**
+     * 실패한 배치를 절반으로 나눔 (재분할 시 토큰 추정치 재계산)
+     */
+    static List<Batch> split(Batch batch, Budget budget) {
+        List<DocumentChunk> chunks = batch.chunks();
+        int mid = chunks.size() / 2;
+        return List.of(of(chunks.subList(0, mid), budget), of(chunks.subList(mid, chunks.size()), budget));
+    }
+
+    static Batch of(List<DocumentChunk> chunks, Budget budget) {
+        int input = 0;
+        int output = 0;
+        for (DocumentChunk chunk : chunks) {
+            int tokens = budget.inputTokens(chunk);
+            input += tokens;
+            output += budget.expectedOutputTokens(tokens);
+        }
+        return new Batch(new ArrayList<>(chunks), budget.promptTokens() + input, output);
+    }
+}
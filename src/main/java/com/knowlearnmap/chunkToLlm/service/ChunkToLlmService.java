@@ -3,27 +3,40 @@ package com.knowlearnmap.chunkToLlm.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import com.knowlearnmap.ai.limiter.LlmConcurrencyLimiterRegistry;
+import com.knowlearnmap.ai.limiter.LlmHttpException;
+import com.knowlearnmap.ai.service.TokenEstimator;
+import com.knowlearnmap.chunkToLlm.domain.LlmBatchUsage;
+import com.knowlearnmap.chunkToLlm.dto.LlmChunkResult;
+import com.knowlearnmap.chunkToLlm.repository.LlmBatchUsageRepository;
+import com.knowlearnmap.prompt.dto.LlmConfigDto;
 import com.knowlearnmap.prompt.dto.LlmDirectCallResponse;
 import com.knowlearnmap.prompt.dto.SimpleLlmCallRequest;
+import com.knowlearnmap.prompt.service.LlmStreamListener;
 import com.knowlearnmap.prompt.service.PromptTestService;
 import com.knowlearnmap.document.domain.DocumentChunk;
 import com.knowlearnmap.document.repository.DocumentChunkRepository;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -34,14 +47,18 @@ import java.util.stream.Collectors;
  * 
  * <pre>
  * 1. Chunk 테이블에서 llm_status = null 조회
- * 2. Domain별 PromptCode로 그룹화 후 10개씩(BATCH_SIZE) 묶음
- * 3. PromptTestService로 LLM 호출 (배치 단위)
+ * 2. Domain별 PromptCode로 그룹화 후 토큰 예산 기준으로 묶음 (ChunkBatchBuilder)
+ *    - 입력: 프롬프트 + 청크 추정 토큰 ≤ app.ai.llm.batching.max-input-tokens
+ *    - 출력: 예상 출력 토큰 ≤ 프롬프트 모델 설정의 maxOutputTokens × output-safety-ratio
+ * 3. PromptTestService로 LLM 호출 (배치 단위, 실패 시 배치를 절반으로 나눠 재처리)
  * 4. LLM 결과(JSON)를 파싱하여 각 Chunk의 llm_result에 저장
- * 5. llm_status = 'COMPLETED' 업데이트
+ * 5. llm_status = 'COMPLETED' 업데이트, 배치별 토큰 사용량은 llm_batch_usage에 기록
  * </pre>
+ *
+ * 배치 호출은 모든 문서가 공유하는 llmExecutor(pipeline.llm.max-concurrency)에서 실행되어
+ * 동시 업로드 수와 무관하게 LLM 동시 요청 수가 제한됨
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ChunkToLlmService {
 
@@ -49,11 +66,52 @@ public class ChunkToLlmService {
     private final TransactionTemplate transactionTemplate;
     private final PromptTestService promptTestService;
     private final ObjectMapper objectMapper; // JSON 처리를 위해 주입 필요
+    private final Executor llmExecutor;
+    private final LlmBatchUsageRepository batchUsageRepository;
 
     private static final int MAX_RETRY = 3;
-    private static final int THREAD_POOL_SIZE = 5; // 배치 처리이므로 스레드 수 조정
     private static final String DEFAULT_PROMPT_CODE = "CHUNKLIST_TO_ONTOLOGY";
-    private static final int BATCH_SIZE = 10; // 배치 크기 상수
+    private static final int DEFAULT_MAX_OUTPUT_TOKENS = 2000;
+    private static final double OUTPUT_RATIO_ALPHA = 0.3;
+    private static final double MIN_OUTPUT_RATIO = 0.1;
+    private static final String RESULT_ARRAY_FIELD = "chunks";
+
+    @Value("${app.ai.llm.streaming.enabled:false}")
+    private boolean streamingEnabled;
+
+    @Value("${app.ai.llm.batching.max-input-tokens:12000}")
+    private int maxInputTokens;
+
+    @Value("${app.ai.llm.batching.max-chunks:40}")
+    private int maxChunksPerBatch;
+
+    @Value("${app.ai.llm.batching.output-tokens-per-input-token:1.0}")
+    private double outputPerInputToken;
+
+    @Value("${app.ai.llm.batching.output-overhead-per-chunk:100}")
+    private int outputOverheadPerChunk;
+
+    @Value("${app.ai.llm.batching.output-safety-ratio:0.8}")
+    private double outputSafetyRatio;
+
+    /**
+     * 프롬프트 코드별 관측된 출력/입력 토큰 비율 (성공 배치 기준으로 보정)
+     */
+    private final Map<String, Double> outputRatios = new ConcurrentHashMap<>();
+
+    public ChunkToLlmService(DocumentChunkRepository chunkRepository,
+            TransactionTemplate transactionTemplate,
+            PromptTestService promptTestService,
+            ObjectMapper objectMapper,
+            @Qualifier("llmExecutor") Executor llmExecutor,
+            LlmBatchUsageRepository batchUsageRepository) {
+        this.batchUsageRepository = batchUsageRepository;
+        this.chunkRepository = chunkRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.promptTestService = promptTestService;
+        this.objectMapper = objectMapper;
+        this.llmExecutor = llmExecutor;
+    }
 
     // ==========================================
     // Inner DTOs for Batch Processing
@@ -70,76 +128,90 @@ public class ChunkToLlmService {
     @Data
     @NoArgsConstructor
     private static class BatchLlmResponse {
-        private List<ChunkResult> chunks;
-    }
-
-    @Data
-    @NoArgsConstructor
-    private static class ChunkResult {
-        private Long id;
-        private List<Object> objects_to_add;
-        private List<Object> relations_to_add;
-        private List<Object> knowlearns_to_add;
-        // LLM이 반환하는 기타 필드들...
+        private List<LlmChunkResult> chunks;
     }
 
     /**
      * Chunk를 LLM으로 처리하여 결과 저장 (단건 처리 - 호환성 유지)
      */
     public void processChunkWithLlm(Long chunkId, String llmModel) {
-        // 단건 처리도 내부적으로는 리스트로 감싸서 배치 로직 활용 가능하나,
-        // 기존 로직과 다르게 배치 프롬프트를 쓰게 되므로 주의 필요.
-        // 여기서는 단건 요청도 배치 프롬프트 형식에 맞춰서 처리하도록 변경함.
+        // 단건 요청도 배치 프롬프트 형식에 맞춰서 처리
         DocumentChunk chunk = chunkRepository.findById(chunkId)
                 .orElseThrow(() -> new RuntimeException("Chunk를 찾을 수 없습니다: " + chunkId));
 
-        processBatchWithLlm(List.of(chunk));
+        if (processChunksParallel(List.of(chunk)) == 0) {
+            throw new RuntimeException("Batch LLM 처리 실패");
+        }
     }
 
     /**
-     * 청크 목록을 비동기 배치 병렬 처리
+     * 청크 목록을 토큰 예산 기준 배치로 묶어 비동기 병렬 처리
+     *
+     * @return COMPLETED 처리된 청크 수
      */
     public int processChunksParallel(List<DocumentChunk> chunks) {
-        log.info("배치 청크 처리 시작 (대상: {}개, 배치크기: {}, 스레드: {})", chunks.size(), BATCH_SIZE, THREAD_POOL_SIZE);
+        log.info("배치 청크 처리 시작 (대상: {}개)", chunks.size());
 
-        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
         List<CompletableFuture<Void>> futures = new ArrayList<>();
         AtomicInteger successCount = new AtomicInteger(0);
 
         // 1. Group chunks by Prompt Code
         Map<String, List<DocumentChunk>> groups = groupChunksByPromptCode(chunks);
 
-        // 2. Create batches from groups
-        List<List<DocumentChunk>> batches = new ArrayList<>();
+        // 2. 프롬프트별 모델 설정에 맞춰 토큰 예산 기준 배치 구성
         for (Map.Entry<String, List<DocumentChunk>> entry : groups.entrySet()) {
-            List<DocumentChunk> groupChunks = entry.getValue();
-            for (int i = 0; i < groupChunks.size(); i += BATCH_SIZE) {
-                batches.add(groupChunks.subList(i, Math.min(groupChunks.size(), i + BATCH_SIZE)));
-            }
-        }
-
-        log.info("총 {} 개의 배치가 생성되었습니다.", batches.size());
+            BatchPlan plan = planFor(entry.getKey());
+            List<ChunkBatchBuilder.Batch> batches = ChunkBatchBuilder.build(entry.getValue(), plan.budget());
+            log.info("프롬프트 {}: 청크 {}개 → 배치 {}개 (model: {}, maxOutputTokens: {})", entry.getKey(),
+                    entry.getValue().size(), batches.size(), plan.model(), plan.budget().maxOutputTokens());
 
-        for (List<DocumentChunk> batch : batches) {
-            CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                try {
-                    processBatchWithLlm(batch);
-                    successCount.addAndGet(batch.size());
-                } catch (Exception e) {
-                    log.error("배치 처리 중 오류 발생 (First Chunk ID: {}): {}", batch.get(0).getId(), e.getMessage());
-                    // 실패 시 별도 카운팅 하지 않음
-                }
-            }, executorService);
-            futures.add(future);
+            for (ChunkBatchBuilder.Batch batch : batches) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        markProcessing(batch.chunks());
+                        successCount.addAndGet(processBatch(batch, plan));
+                    } catch (Exception e) {
+                        log.error("배치 처리 중 오류 발생 (First Chunk ID: {}): {}",
+                                batch.chunks().get(0).getId(), e.getMessage());
+                    }
+                }, llmExecutor));
+            }
         }
 
         CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-        executorService.shutdown();
 
         log.info("배치 청크 처리 완료. 성공: {}/{}", successCount.get(), chunks.size());
         return successCount.get();
     }
 
+    /**
+     * 프롬프트 코드별 모델 설정과 토큰 예산
+     */
+    private record BatchPlan(String promptCode, String model, ChunkBatchBuilder.Budget budget) {
+    }
+
+    private BatchPlan planFor(String promptCode) {
+        String model = null;
+        int maxOutputTokens = DEFAULT_MAX_OUTPUT_TOKENS;
+        int promptTokens = 0;
+        try {
+            LlmConfigDto config = promptTestService.getPublishedLlmConfig(promptCode);
+            model = config.getModel();
+            if (config.getMaxOutputTokens() != null && config.getMaxOutputTokens() > 0) {
+                maxOutputTokens = config.getMaxOutputTokens();
+            }
+            promptTokens = TokenEstimator.estimate(promptTestService.getPublishedContent(promptCode));
+        } catch (Exception e) {
+            log.warn("프롬프트 {} 설정 조회 실패, 기본 예산 사용: {}", promptCode, e.getMessage());
+        }
+
+        ChunkBatchBuilder.Budget budget = new ChunkBatchBuilder.Budget(promptTokens, maxInputTokens,
+                maxOutputTokens, outputSafetyRatio,
+                outputRatios.getOrDefault(promptCode, outputPerInputToken),
+                outputOverheadPerChunk, maxChunksPerBatch);
+        return new BatchPlan(promptCode, model, budget);
+    }
+
     private Map<String, List<DocumentChunk>> groupChunksByPromptCode(List<DocumentChunk> chunks) {
         Map<String, List<DocumentChunk>> groups = new HashMap<>();
 
@@ -172,7 +244,7 @@ public class ChunkToLlmService {
                 // Add the *original* chunk object to the group (to preserve the list passed in)
                 // or just use the attached one if that helps. Let's use original to minimize
                 // confusion in outer scope,
-                // but processBatchWithLlm re-fetches anyway.
+                // but processBatch re-fetches anyway.
                 DocumentChunk original = originalMap.get(chunk.getId());
                 if (original != null) {
                     groups.computeIfAbsent(promptCode, k -> new ArrayList<>()).add(original);
@@ -185,100 +257,191 @@ public class ChunkToLlmService {
     }
 
     /**
-     * 배치 단위 LLM 호출 및 결과 저장
+     * 배치 1회 호출 및 결과 저장. 실패하면 절반으로 나눠 각각 다시 처리하고,
+     * 청크 1개짜리 배치만 MAX_RETRY회까지 재시도. 응답에서 누락된 청크는 그 청크들만 다시 배치로 처리.
+     * 공급자 과부하·5xx로 제한기 재시도가 소진된 경우는 나누지 않고 배치 전체를 실패 처리.
+     *
+     * @return COMPLETED 처리된 청크 수
      */
-    private void processBatchWithLlm(List<DocumentChunk> batch) {
-        List<Long> chunkIds = batch.stream().map(DocumentChunk::getId).toList();
-        log.info("=== Batch LLM 처리 시작 (Ids: {}) ===", chunkIds);
-
+    private int processBatch(ChunkBatchBuilder.Batch batch, BatchPlan plan) {
+        List<DocumentChunk> chunks = batch.chunks();
         int attempt = 0;
-        boolean success = false;
-        String lastErrorMessage = null;
 
-        while (attempt < MAX_RETRY && !success) {
+        while (true) {
             attempt++;
+            long start = System.currentTimeMillis();
+            String responseText = null;
+            StreamedBatchResults streamed = streamingEnabled ? new StreamedBatchResults(chunks) : null;
             try {
-                // Determine Prompt Code (Expect ALL chunks in batch to have same code)
-                // We re-fetch inside transaction to get Prompt Code safely again
-                final String[] batchPromptCode = { DEFAULT_PROMPT_CODE };
-
-                // 1. 상태 업데이트 (PROCESSING) & Resolve Prompt Code
-                transactionTemplate.execute(status -> {
-                    List<DocumentChunk> targets = chunkRepository.findAllById(chunkIds);
-
-                    if (!targets.isEmpty()) {
-                        DocumentChunk first = targets.get(0);
-                        try {
-                            if (first.getDocument() != null &&
-                                    first.getDocument().getWorkspace() != null &&
-                                    first.getDocument().getWorkspace().getDomain() != null) {
-                                String p = first.getDocument().getWorkspace().getDomain().getChunkToLlmPrompt();
-                                if (p != null && !p.isBlank()) {
-                                    batchPromptCode[0] = p;
-                                }
-                            }
-                        } catch (Exception e) {
-                            // Ignore, use default
-                        }
-                    }
-
-                    targets.forEach(c -> c.setLlmStatus("PROCESSING"));
-                    chunkRepository.saveAllAndFlush(targets);
-                    return null;
-                });
-
-                // 2. 요청 데이터(JSON) 생성
-                List<ChunkRequest> requests = batch.stream()
+                List<ChunkRequest> requests = chunks.stream()
                         .map(c -> new ChunkRequest(c.getId(), c.getContent()))
                         .collect(Collectors.toList());
                 String jsonInput = objectMapper.writeValueAsString(requests);
 
-                log.info("LLM 호출 시도 {}/{} - Batch Size: {}, Prompt: {}",
-                        attempt, MAX_RETRY, batch.size(), batchPromptCode[0]);
-
-                // 3. LLM 호출
-                String llmResultJson = callLlm(jsonInput, batchPromptCode[0]);
+                log.info("LLM 배치 호출 - 청크: {}, 예상 토큰(입력/출력): {}/{}, Prompt: {}",
+                        chunks.size(), batch.inputTokens(), batch.expectedOutputTokens(), plan.promptCode());
+
+                List<DocumentChunk> missing;
+                if (streamed != null) {
+                    // 재시도는 캐시된 응답이 원인일 수 있으므로 응답 캐시를 우회
+                    responseText = streamLlm(jsonInput, plan.promptCode(), attempt > 1, streamed);
+                    // 증분 파서가 원소를 하나도 못 찾은 경우에만 전체 응답 파싱으로 대체
+                    missing = streamed.committedCount() > 0
+                            ? streamed.remaining()
+                            : parseAndSaveBatchResult(chunks, responseText);
+                } else {
+                    responseText = callLlm(jsonInput, plan.promptCode(), attempt > 1);
+                    missing = parseAndSaveBatchResult(chunks, responseText);
+                }
 
-                // 4. 결과 파싱 및 저장
-                parseAndSaveBatchResult(batch, llmResultJson);
+                // 사용량 기록 전에 실패 처리 (catch에서 SPLIT/FAILED 한 건만 기록되도록)
+                if (missing.size() == chunks.size()) {
+                    throw new RuntimeException("배치 응답에 요청한 청크 결과가 없습니다.");
+                }
+                recordUsage(batch, plan, responseText, System.currentTimeMillis() - start,
+                        LlmBatchUsage.Status.COMPLETED, null);
+                learnOutputRatio(plan, batch, responseText);
 
-                success = true;
-                log.info("Batch LLM 처리 완료 - 시도: {}/{}", attempt, MAX_RETRY);
+                int completed = chunks.size() - missing.size();
+                if (missing.isEmpty()) {
+                    return completed;
+                }
+                log.warn("배치 응답에서 청크 {}개 누락, 누락분만 재처리", missing.size());
+                return completed + processBatch(ChunkBatchBuilder.of(missing, plan.budget()), plan);
 
             } catch (Exception e) {
-                lastErrorMessage = String.format("LLM Batch 호출 실패 (시도 %d/%d): %s", attempt, MAX_RETRY, e.getMessage());
-                log.error(lastErrorMessage, e);
+                String error = String.format("LLM Batch 호출 실패 (청크 %d개, 시도 %d): %s",
+                        chunks.size(), attempt, e.getMessage());
+                log.error(error, e);
+
+                // 429/5xx 재시도는 LlmConcurrencyLimiterRegistry에서 이미 수행됨 (소진 시 나누거나 재시도하지 않음).
+                // 재시도 불가 HTTP 오류(4xx)는 나누거나 재시도해도 같으므로 즉시 실패 처리
+                boolean nonRetryable = isNonRetryable(e) || LlmConcurrencyLimiterRegistry.isProviderFailure(e);
+
+                // 스트리밍 중 끊긴 경우: 이미 저장된 청크는 유지하고 나머지만 새 배치로
+                if (streamed != null && streamed.committedCount() > 0) {
+                    List<DocumentChunk> remaining = streamed.remaining();
+                    recordUsage(batch, plan, null, System.currentTimeMillis() - start,
+                            LlmBatchUsage.Status.PARTIAL, e.getMessage());
+                    log.warn("스트리밍 응답 중단 - 저장 {}개 유지, 나머지 {}개 재처리",
+                            streamed.committedCount(), remaining.size());
+                    if (nonRetryable) {
+                        markFailed(remaining, error);
+                        return streamed.committedCount();
+                    }
+                    return streamed.committedCount() + processBatch(ChunkBatchBuilder.of(remaining, plan.budget()), plan);
+                }
 
-                if (attempt < MAX_RETRY) {
-                    try {
-                        Thread.sleep(1000L * attempt);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("재시도 중 인터럽트", ie);
+                boolean split = !nonRetryable && ChunkBatchBuilder.shouldSplit(batch, e);
+                recordUsage(batch, plan, responseText, System.currentTimeMillis() - start,
+                        split ? LlmBatchUsage.Status.SPLIT : LlmBatchUsage.Status.FAILED, e.getMessage());
+
+                if (split) {
+                    int completed = 0;
+                    for (ChunkBatchBuilder.Batch half : ChunkBatchBuilder.split(batch, plan.budget())) {
+                        completed += processBatch(half, plan);
                     }
+                    return completed;
+                }
+                if (nonRetryable || attempt >= MAX_RETRY) {
+                    markFailed(chunks, error);
+                    log.error("Batch LLM 처리 최종 실패 - Ids: {}", chunks.stream().map(DocumentChunk::getId).toList());
+                    return 0;
+                }
+                try {
+                    Thread.sleep(retryDelayMs(attempt));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("재시도 중 인터럽트", ie);
                 }
             }
         }
+    }
 
-        // 최종 실패 처리
-        if (!success) {
-            String finalError = lastErrorMessage;
-            transactionTemplate.execute(status -> {
-                List<DocumentChunk> targets = chunkRepository.findAllById(chunkIds);
-                targets.forEach(c -> {
-                    c.setLlmStatus("FAILED");
-                    c.setLlmErrorMessage(finalError);
-                });
-                chunkRepository.saveAll(targets);
-                return null;
+    private void markProcessing(List<DocumentChunk> chunks) {
+        List<Long> chunkIds = chunks.stream().map(DocumentChunk::getId).toList();
+        transactionTemplate.execute(status -> {
+            List<DocumentChunk> targets = chunkRepository.findAllById(chunkIds);
+            targets.forEach(c -> c.setLlmStatus("PROCESSING"));
+            chunkRepository.saveAllAndFlush(targets);
+            return null;
+        });
+    }
+
+    private void markFailed(List<DocumentChunk> chunks, String error) {
+        String message = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        List<Long> chunkIds = chunks.stream().map(DocumentChunk::getId).toList();
+        transactionTemplate.execute(status -> {
+            List<DocumentChunk> targets = chunkRepository.findAllById(chunkIds);
+            targets.forEach(c -> {
+                c.setLlmStatus("FAILED");
+                c.setLlmErrorMessage(message);
             });
-            log.error("Batch LLM 처리 최종 실패 - Ids: {}", chunkIds);
-            throw new RuntimeException("Batch LLM 처리 실패");
+            chunkRepository.saveAll(targets);
+            return null;
+        });
+    }
+
+    /**
+     * 배치 호출 1회의 토큰 사용량 기록 (기록 실패는 처리에 영향 없음)
+     */
+    private void recordUsage(ChunkBatchBuilder.Batch batch, BatchPlan plan, String responseText, long latencyMs,
+            LlmBatchUsage.Status status, String error) {
+        try {
+            LlmBatchUsage usage = new LlmBatchUsage();
+            usage.setPromptCode(plan.promptCode());
+            usage.setModel(plan.model());
+            DocumentChunk first = batch.chunks().get(0);
+            usage.setDocumentId(first.getDocument() != null ? first.getDocument().getId() : null);
+            usage.setChunkCount(batch.chunks().size());
+            usage.setInputTokens(batch.inputTokens());
+            usage.setExpectedOutputTokens(batch.expectedOutputTokens());
+            usage.setOutputTokens(responseText != null ? TokenEstimator.estimate(responseText) : null);
+            usage.setMaxOutputTokens(plan.budget().maxOutputTokens());
+            usage.setLatencyMs(latencyMs);
+            usage.setStatus(status);
+            usage.setErrorMessage(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+            batchUsageRepository.save(usage);
+        } catch (Exception e) {
+            log.warn("배치 토큰 사용량 기록 실패: {}", e.getMessage());
         }
     }
 
-    private void parseAndSaveBatchResult(List<DocumentChunk> batch, String llmResultJson)
-            throws JsonProcessingException {
+    /**
+     * 성공한 배치의 실제 출력/입력 비율로 프롬프트별 예상 비율 보정 (EWMA)
+     */
+    private void learnOutputRatio(BatchPlan plan, ChunkBatchBuilder.Batch batch, String responseText) {
+        int chunkInput = batch.inputTokens() - plan.budget().promptTokens();
+        if (responseText == null || chunkInput <= 0) {
+            return;
+        }
+        int output = TokenEstimator.estimate(responseText) - plan.budget().outputOverheadPerChunk() * batch.chunks().size();
+        double observed = Math.max(MIN_OUTPUT_RATIO, (double) output / chunkInput);
+        outputRatios.merge(plan.promptCode(), observed,
+                (current, sample) -> current + OUTPUT_RATIO_ALPHA * (sample - current));
+    }
+
+    /**
+     * 1초 × 2^(attempt-1), ±50% 지터 (동시에 실패한 배치가 같은 시점에 몰리지 않도록)
+     */
+    private static long retryDelayMs(int attempt) {
+        long base = 1000L << (attempt - 1);
+        return (long) (base * (0.5 + ThreadLocalRandom.current().nextDouble()));
+    }
+
+    private static boolean isNonRetryable(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof LlmHttpException http) {
+                return !http.isRetryable();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return 응답에 결과가 없는 청크 (상태 변경 없이 반환, 호출 측에서 재처리)
+     */
+    private List<DocumentChunk> parseAndSaveBatchResult(List<DocumentChunk> batch, String llmResultJson) {
         // LLM 응답이 {"chunks": [...]} 형태라고 가정
         // 혹은 최상위가 배열일 수도 있음. 프롬프트에 따라 다름.
         // 현재 프롬프트 예시는 {"chunks": [...]} 구조임.
@@ -289,8 +452,8 @@ public class ChunkToLlmService {
         } catch (Exception e) {
             // 만약 배열로 바로 들어오는 경우 대응
             try {
-                List<ChunkResult> list = objectMapper.readValue(llmResultJson,
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, ChunkResult.class));
+                List<LlmChunkResult> list = objectMapper.readValue(llmResultJson,
+                        objectMapper.getTypeFactory().constructCollectionType(List.class, LlmChunkResult.class));
                 response = new BatchLlmResponse();
                 response.setChunks(list);
             } catch (Exception e2) {
@@ -302,56 +465,148 @@ public class ChunkToLlmService {
             throw new RuntimeException("LLM 응답에 chunks 데이터가 없습니다.");
         }
 
-        Map<Long, ChunkResult> resultMap = response.getChunks().stream()
+        Map<Long, LlmChunkResult> resultMap = response.getChunks().stream()
                 .filter(r -> r.getId() != null)
-                .collect(Collectors.toMap(ChunkResult::getId, r -> r, (a, b) -> a));
+                .collect(Collectors.toMap(LlmChunkResult::getId, r -> r, (a, b) -> a));
+
+        List<DocumentChunk> missing = batch.stream()
+                .filter(c -> !resultMap.containsKey(c.getId()))
+                .toList();
 
+        Map<Long, LlmChunkResult> requested = new HashMap<>();
+        batch.forEach(c -> {
+            if (resultMap.containsKey(c.getId())) {
+                requested.put(c.getId(), resultMap.get(c.getId()));
+            }
+        });
+        saveResults(requested);
+        return missing;
+    }
+
+    /**
+     * 청크별 결과를 llm_result에 저장하고 COMPLETED 처리
+     */
+    private void saveResults(Map<Long, LlmChunkResult> results) {
         transactionTemplate.execute(status -> {
-            List<DocumentChunk> targets = chunkRepository
-                    .findAllById(batch.stream().map(DocumentChunk::getId).toList());
+            List<DocumentChunk> targets = chunkRepository.findAllById(results.keySet());
 
             for (DocumentChunk chunk : targets) {
-                ChunkResult result = resultMap.get(chunk.getId());
-                if (result != null) {
-                    // 결과 JSON으로 변환하여 저장
-                    try {
-                        String resultJson = objectMapper.writeValueAsString(result);
-                        chunk.setLlmResult(resultJson);
-                        chunk.setLlmStatus("COMPLETED");
-                        chunk.setLlmProcessedAt(LocalDateTime.now());
-                        chunk.setLlmErrorMessage(null);
-                    } catch (JsonProcessingException e) {
-                        chunk.setLlmStatus("FAILED");
-                        chunk.setLlmErrorMessage("결과 JSON 변환 실패");
-                    }
-                } else {
+                LlmChunkResult result = results.get(chunk.getId());
+                // 결과 JSON으로 변환하여 저장
+                try {
+                    String resultJson = objectMapper.writeValueAsString(result);
+                    chunk.setLlmResult(resultJson);
+                    chunk.setLlmStatus("COMPLETED");
+                    chunk.setLlmProcessedAt(LocalDateTime.now());
+                    chunk.setLlmErrorMessage(null);
+                } catch (JsonProcessingException e) {
                     chunk.setLlmStatus("FAILED");
-                    chunk.setLlmErrorMessage("배치 응답에 해당 ID 결과가 누락됨");
+                    chunk.setLlmErrorMessage("결과 JSON 변환 실패");
                 }
             }
             chunkRepository.saveAll(targets);
 
-            // 단순 로그 처리
-            log.info("Batch Process Success: Processed {} chunks", targets.size());
-
+            log.debug("청크 결과 저장: {}개", targets.size());
             return null;
         });
     }
 
     /**
-     * LLM API 호출
+     * 스트리밍 응답에서 청크 결과 객체가 닫힐 때마다 즉시 저장 (응답이 끊겨도 저장분 유지)
+     */
+    private final class StreamedBatchResults implements LlmStreamListener {
+        private final Map<Long, DocumentChunk> requested = new LinkedHashMap<>();
+        private final Set<Long> committed = new HashSet<>();
+        private JsonArrayElementStreamParser parser = newParser();
+
+        private StreamedBatchResults(List<DocumentChunk> chunks) {
+            chunks.forEach(c -> requested.put(c.getId(), c));
+        }
+
+        @Override
+        public void onRestart() {
+            // 재시도 응답은 처음부터 다시 오므로 파서만 새로 만들고 저장분은 유지 (중복 id는 무시)
+            parser = newParser();
+        }
+
+        @Override
+        public void onDelta(String text) {
+            parser.feed(text);
+        }
+
+        private JsonArrayElementStreamParser newParser() {
+            return new JsonArrayElementStreamParser(RESULT_ARRAY_FIELD, this::onElement);
+        }
+
+        private void onElement(String json) {
+            LlmChunkResult result;
+            try {
+                result = objectMapper.readValue(json, LlmChunkResult.class);
+            } catch (JsonProcessingException e) {
+                log.warn("스트리밍 결과 원소 파싱 실패, 건너뜀: {}", e.getOriginalMessage());
+                return;
+            }
+            Long id = result.getId();
+            if (id == null || !requested.containsKey(id) || committed.contains(id)) {
+                return;
+            }
+            saveResults(Map.of(id, result));
+            committed.add(id);
+        }
+
+        int committedCount() {
+            return committed.size();
+        }
+
+        List<DocumentChunk> remaining() {
+            return requested.values().stream()
+                    .filter(c -> !committed.contains(c.getId()))
+                    .toList();
+        }
+    }
+
+    /**
+     * LLM 스트리밍 호출 (응답 조각은 listener로 전달)
      */
-    private String callLlm(String jsonInput, String promptCode) {
+    private String streamLlm(String jsonInput, String promptCode, boolean bypassCache, LlmStreamListener listener) {
         try {
-            Map<String, Object> variables = new HashMap<>();
-            variables.put("CHUNK_LIST", jsonInput);
+            LlmDirectCallResponse result = promptTestService
+                    .streamLlmWithPublishedPrompt(promptCode, chunkListRequest(jsonInput, bypassCache), listener);
 
-            SimpleLlmCallRequest request = new SimpleLlmCallRequest();
-            request.setVariables(variables);
+            if (result == null || result.getSuccess() == null || !result.getSuccess()) {
+                throw new RuntimeException("LLM 호출 실패: 응답 없음");
+            }
 
+            String llmResult = result.getText();
+            if (llmResult != null) {
+                llmResult = llmResult.replaceAll("^```json\\s*", "").replaceAll("\\s*```$", "");
+            }
+            return llmResult;
+
+        } catch (Exception e) {
+            log.error("LLM 스트리밍 호출 실패", e);
+            throw new RuntimeException("LLM 스트리밍 호출 실패: " + e.getMessage(), e);
+        }
+    }
+
+    private SimpleLlmCallRequest chunkListRequest(String jsonInput, boolean bypassCache) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("CHUNK_LIST", jsonInput);
+
+        SimpleLlmCallRequest request = new SimpleLlmCallRequest();
+        request.setVariables(variables);
+        request.setBypassCache(bypassCache);
+        return request;
+    }
+
+    /**
+     * LLM API 호출
+     */
+    private String callLlm(String jsonInput, String promptCode, boolean bypassCache) {
+        try {
             // PromptTestService 호출
             LlmDirectCallResponse result = promptTestService
-                    .callLlmWithPublishedPrompt(promptCode, request);
+                    .callLlmWithPublishedPrompt(promptCode, chunkListRequest(jsonInput, bypassCache));
 
             if (result == null || result.getSuccess() == null || !result.getSuccess()) {
                 throw new RuntimeException("LLM 호출 실패: 응답 없음");
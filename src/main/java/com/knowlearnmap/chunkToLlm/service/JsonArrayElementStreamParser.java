@@ -0,0 +1,150 @@
+package com.knowlearnmap.chunkToLlm.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * 스트리밍 응답에서 결과 배열의 원소 객체를 닫히는 즉시 잘라내는 증분 파서
+ *
+ * <ul>
+ * <li>대상 배열: 최상위 배열({@code [{..},{..}]}) 또는 최상위 객체의 지정 필드 배열
+ * ({@code {"chunks":[{..},{..}]}})</li>
+ * <li>첫 '{' 또는 '[' 이전 텍스트(```json 펜스 등)와 최상위 값이 닫힌 뒤의 텍스트는 무시</li>
+ * <li>원소 객체의 JSON 문자열만 전달하며 역직렬화는 호출 측 담당.
+ * 응답이 잘려도 이미 닫힌 원소는 전달된 상태로 남음</li>
+ * </ul>
+ *
+ * 스레드 안전하지 않음 (응답 1건당 인스턴스 1개)
+ */
+final class JsonArrayElementStreamParser {
+
+    /**
+     * 스택 표식: 객체, 일반 배열, 대상 배열
+     */
+    private static final char OBJECT = '{';
+    private static final char ARRAY = '[';
+    private static final char TARGET_ARRAY = 'T';
+
+    private final String arrayField;
+    private final Consumer<String> onElement;
+
+    private final Deque<Character> stack = new ArrayDeque<>();
+    private final StringBuilder element = new StringBuilder();
+    private final StringBuilder rootString = new StringBuilder();
+    private boolean started;
+    private boolean finished;
+    private boolean inString;
+    private boolean escaped;
+    private String pendingKey;
+    private String currentKey;
+    private int elementDepth = -1;
+    private int elementCount;
+
+    /**
+     * @param arrayField 최상위가 객체일 때 원소를 꺼낼 배열 필드명
+     * @param onElement  닫힌 원소 객체의 JSON 문자열을 받는 콜백
+     */
+    JsonArrayElementStreamParser(String arrayField, Consumer<String> onElement) {
+        this.arrayField = arrayField;
+        this.onElement = onElement;
+    }
+
+    void feed(CharSequence text) {
+        for (int i = 0; i < text.length() && !finished; i++) {
+            accept(text.charAt(i));
+        }
+    }
+
+    int elementCount() {
+        return elementCount;
+    }
+
+    private void accept(char c) {
+        if (!started) {
+            if (c != '{' && c != '[') {
+                return;
+            }
+            started = true;
+        }
+        if (elementDepth >= 0) {
+            element.append(c);
+        }
+
+        if (inString) {
+            if (escaped) {
+                escaped = false;
+                appendRootString(c);
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                inString = false;
+                if (isRootObjectLevel()) {
+                    pendingKey = rootString.toString();
+                }
+            } else {
+                appendRootString(c);
+            }
+            return;
+        }
+
+        switch (c) {
+            case '"' -> {
+                inString = true;
+                rootString.setLength(0);
+            }
+            case ':' -> {
+                if (isRootObjectLevel()) {
+                    currentKey = pendingKey;
+                }
+            }
+            case ',' -> {
+                if (isRootObjectLevel()) {
+                    currentKey = null;
+                }
+            }
+            case '{' -> {
+                if (elementDepth < 0 && !stack.isEmpty() && stack.peek() == TARGET_ARRAY) {
+                    elementDepth = stack.size();
+                    element.setLength(0);
+                    element.append(c);
+                }
+                stack.push(OBJECT);
+            }
+            case '[' -> {
+                boolean target = stack.isEmpty()
+                        || (isRootObjectLevel() && arrayField.equals(currentKey));
+                stack.push(target ? TARGET_ARRAY : ARRAY);
+            }
+            case '}', ']' -> {
+                if (stack.isEmpty()) {
+                    return;
+                }
+                stack.pop();
+                if (c == '}' && elementDepth == stack.size()) {
+                    elementDepth = -1;
+                    elementCount++;
+                    onElement.accept(element.toString());
+                }
+                if (stack.isEmpty()) {
+                    finished = true;
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * 최상위 객체 레벨 문자열(필드명 후보)만 보관
+     */
+    private void appendRootString(char c) {
+        if (isRootObjectLevel()) {
+            rootString.append(c);
+        }
+    }
+
+    private boolean isRootObjectLevel() {
+        return stack.size() == 1 && stack.peek() == OBJECT;
+    }
+}
@@ -0,0 +1,22 @@
+package com.knowlearnmap.common.converter;
+
+import com.knowlearnmap.common.util.VectorCodec;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * float[] 임베딩 ↔ bytea (little-endian float32) 변환
+ */
+@Converter
+public class FloatVectorConverter implements AttributeConverter<float[], byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(float[] attribute) {
+        return attribute == null ? null : VectorCodec.encode(attribute);
+    }
+
+    @Override
+    public float[] convertToEntityAttribute(byte[] dbData) {
+        return dbData == null ? null : VectorCodec.decode(dbData);
+    }
+}
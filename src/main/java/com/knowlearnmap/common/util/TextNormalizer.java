@@ -0,0 +1,85 @@
+package com.knowlearnmap.common.util;
+
+/**
+ * 추출 텍스트 정규화 (정규식 없이 문자 배열 한 번 순회)
+ *
+ * <p>
+ * 공백 문자 연속 구간을 공백 1칸으로 줄이고 앞뒤의 제어문자/공백(&lt;= U+0020)을 제거한다.
+ * 두 메서드는 각각 기존 정규식 체인과 동일한 결과를 내도록 공백 문자 집합만 다르다.
+ * </p>
+ */
+public final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * PDF 페이지 텍스트 정규화 (기존 PdfParsingService.cleanText와 동일 결과)
+     * - 공백 문자: \s (space, \t, \n, \x0B, \f, \r)
+     */
+    public static String collapseWhitespace(String text) {
+        return normalize(text, false);
+    }
+
+    /**
+     * 문서 텍스트 정제 (기존 TextCleaningService.cleanText와 동일 결과)
+     * - NULL 문자 제거
+     * - 공백 문자: space, \t, \f 및 세로 공백(\n, \x0B, \r, U+0085, U+2028, U+2029)
+     * <p>
+     * 기존 구현은 "[ \t\f\v]+" 치환 단계에서 Java 정규식의 \v(세로 공백 전체)가 줄바꿈까지 공백으로 바꾸었기 때문에
+     * 이후의 줄 단위 문장 연결/섹션 판별 단계는 항상 한 줄만 보게 되어 결과에 영향이 없었다.
+     * 여기서는 그 실제 결과를 그대로 재현한다.
+     * </p>
+     */
+    public static String cleanExtractedText(String text) {
+        return normalize(text, true);
+    }
+
+    private static String normalize(String text, boolean extended) {
+        if (text == null) {
+            return "";
+        }
+
+        int length = text.length();
+        char[] out = new char[length];
+        int n = 0;
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (extended && c == '\0') {
+                continue;
+            }
+            if (isWhitespace(c, extended)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace) {
+                out[n++] = ' ';
+                pendingSpace = false;
+            }
+            out[n++] = c;
+        }
+
+        // String.trim()과 같은 기준 (<= U+0020)
+        int start = 0;
+        while (start < n && out[start] <= ' ') {
+            start++;
+        }
+        while (n > start && out[n - 1] <= ' ') {
+            n--;
+        }
+        return new String(out, start, n - start);
+    }
+
+    private static boolean isWhitespace(char c, boolean extended) {
+        switch (c) {
+            case ' ', '\t', '\n', '\u000B', '\f', '\r':
+                return true;
+            case '\u0085', '\u2028', '\u2029':
+                return extended;
+            default:
+                return false;
+        }
+    }
+}
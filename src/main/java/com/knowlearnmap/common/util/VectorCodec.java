@@ -0,0 +1,60 @@
+package com.knowlearnmap.common.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * float32 임베딩 벡터 바이너리 인코딩 (little-endian, 4바이트 * 차원)
+ * - DB(bytea) 저장에 사용
+ */
+public final class VectorCodec {
+
+    private VectorCodec() {
+    }
+
+    public static byte[] encode(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    public static float[] decode(byte[] bytes) {
+        if (bytes.length % Float.BYTES != 0) {
+            throw new IllegalArgumentException("벡터 바이트 길이가 4의 배수가 아닙니다: " + bytes.length);
+        }
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    /**
+     * 텍스트 형식 "[0.1,0.2,...]" (pgvector 입력 / JSON 배열 호환)
+     */
+    public static String toText(float[] vector) {
+        StringBuilder sb = new StringBuilder(vector.length * 12);
+        sb.append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(vector[i]);
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * NaN/Infinity가 없는 유효한 벡터인지 확인
+     */
+    public static boolean isValid(float[] vector) {
+        if (vector == null || vector.length == 0) {
+            return false;
+        }
+        for (float v : vector) {
+            if (!Float.isFinite(v)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,138 @@
+package com.knowlearnmap.common.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 임베딩 벡터 연산 유틸리티 (L2 정규화된 float[] 기준)
+ *
+ * <ul>
+ * <li>정규화된 벡터끼리는 코사인 유사도 = 내적이므로 후보마다 노름을 다시 계산하지 않음</li>
+ * <li>-Pvector-api로 빌드하고 JVM이 --add-modules jdk.incubator.vector 로 기동되면 Vector API(SIMD) 커널 사용,
+ * 아니면 스칼라 커널로 대체 (기본 빌드에는 SIMD 커널이 포함되지 않음)</li>
+ * <li>-Dknowlearnmap.vector.simd=false 로 SIMD 커널 강제 비활성화 가능</li>
+ * </ul>
+ */
+@Slf4j
+public final class VectorMath {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final String VECTOR_KERNEL_CLASS = "com.knowlearnmap.common.util.VectorApiDotProduct";
+
+    private static final DotProduct KERNEL = selectKernel();
+
+    private VectorMath() {
+    }
+
+    /**
+     * 내적 커널
+     */
+    interface DotProduct {
+        float dot(float[] a, float[] b);
+    }
+
+    /**
+     * 내적 (정규화된 벡터라면 코사인 유사도)
+     */
+    public static float dot(float[] a, float[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("벡터 차원이 다릅니다: " + a.length + " != " + b.length);
+        }
+        return KERNEL.dot(a, b);
+    }
+
+    /**
+     * 정규화되지 않은 벡터의 코사인 유사도 (한 번만 비교할 때 사용)
+     */
+    public static double cosine(float[] a, float[] b) {
+        double normA = Math.sqrt(dot(a, a));
+        double normB = Math.sqrt(dot(b, b));
+        if (normA == 0.0 || normB == 0.0) {
+            return 0.0;
+        }
+        return dot(a, b) / (normA * normB);
+    }
+
+    /**
+     * L2 정규화된 복사본 반환 (원본은 변경하지 않음)
+     *
+     * @return 정규화된 벡터, 노름이 0이면 null
+     */
+    public static float[] normalize(float[] embedding) {
+        float[] vector = embedding.clone();
+        double norm = 0.0;
+        for (float v : vector) {
+            norm += (double) v * v;
+        }
+        if (norm == 0.0) {
+            return null;
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= inv;
+        }
+        return vector;
+    }
+
+    /**
+     * 현재 사용 중인 커널 이름 (simd / scalar)
+     */
+    public static String kernelName() {
+        return KERNEL instanceof ScalarDotProduct ? "scalar" : "simd";
+    }
+
+    /**
+     * 스칼라 내적 - 누산기 4개로 나눠 루프 의존성을 줄임
+     */
+    static float dotScalar(float[] a, float[] b) {
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        int bound = a.length & ~3;
+        for (; i < bound; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < a.length; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Vector API 커널 (빌드에 포함되지 않았거나 모듈이 로드되지 않았으면 null)
+     */
+    static DotProduct simdKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            return (DotProduct) Class.forName(VECTOR_KERNEL_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Vector API 커널 초기화 실패, scalar 커널 사용: {}", e.toString());
+            return null;
+        }
+    }
+
+    private static DotProduct selectKernel() {
+        DotProduct simd = Boolean.parseBoolean(System.getProperty("knowlearnmap.vector.simd", "true"))
+                ? simdKernel()
+                : null;
+        if (simd == null) {
+            log.info("벡터 내적 커널: scalar");
+            return new ScalarDotProduct();
+        }
+        log.info("벡터 내적 커널: simd ({})", simd);
+        return simd;
+    }
+
+    static final class ScalarDotProduct implements DotProduct {
+        @Override
+        public float dot(float[] a, float[] b) {
+            return dotScalar(a, b);
+        }
+    }
+}
@@ -4,13 +4,11 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import com.knowlearnmap.common.converter.FloatVectorConverter;
 import org.hibernate.annotations.JdbcTypeCode;
 
-import org.hibernate.type.SqlTypes;
-
 import java.sql.Types;
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * DocumentChunk 엔티티
@@ -22,7 +20,8 @@ import java.util.List;
 @Entity
 @Table(name = "document_chunks", indexes = {
         @Index(name = "idx_chunk_document", columnList = "document_id"),
-        @Index(name = "idx_chunk_llm_status", columnList = "llm_status")
+        @Index(name = "idx_chunk_llm_status", columnList = "llm_status"),
+        @Index(name = "idx_chunk_content_hash", columnList = "content_hash")
 })
 @Getter
 @Setter
@@ -44,6 +43,13 @@ public class DocumentChunk {
     @Column(nullable = false, length = 32600)
     private String content;
 
+    /**
+     * content의 SHA-256 해시
+     * 같은 워크스페이스의 동일 청크에서 LLM 결과/임베딩을 재사용할 때 조회 키
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "chunk_index")
     private Integer chunkIndex;
 
@@ -56,12 +62,19 @@ public class DocumentChunk {
     // ===== Vector Embedding =====
 
     /**
-     * 벡터 임베딩 데이터 (JSON 형식으로 저장)
-     * pgvector 사용 시 vector 타입으로 캐스팅하여 사용 가능
+     * 벡터 임베딩 데이터 (float32 little-endian bytea)
+     * 기존 jsonb embedding_vector 컬럼은 migrate_embedding_to_float32.sql로 이관
+     */
+    @Convert(converter = FloatVectorConverter.class)
+    @Column(name = "embedding_f32", columnDefinition = "bytea")
+    private float[] embedding;
+
+    /**
+     * 임베딩 생성 당시 content의 SHA-256 해시
+     * content가 바뀌지 않았다면 재임베딩을 건너뜀
      */
-    @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "embedding_vector", columnDefinition = "jsonb")
-    private List<Double> embedding;
+    @Column(name = "embedding_content_hash", length = 64)
+    private String embeddingContentHash;
 
     // ===== LLM 처리 관련 =====
 
@@ -16,7 +16,9 @@ import java.util.List;
  * 워크스페이스에 업로드된 소스(파일, URL, YouTube 등)를 표현
  */
 @Entity
-@Table(name = "documents")
+@Table(name = "documents", indexes = {
+        @Index(name = "idx_document_workspace_content_hash", columnList = "workspace_id, content_hash")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -56,6 +58,12 @@ public class DocumentEntity {
     @Column(name = "status")
     private IngestionStatus status;
 
+    /**
+     * 업로드 파일의 SHA-256 해시 (동일 파일 재업로드 감지)
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "version")
     private Integer version = 1;
 
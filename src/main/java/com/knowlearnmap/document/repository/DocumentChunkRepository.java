@@ -2,10 +2,13 @@ package com.knowlearnmap.document.repository;
 
 import com.knowlearnmap.document.domain.DocumentChunk;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -56,10 +59,96 @@ public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, Lo
 
         List<DocumentChunk> findByDocumentId(Long documentId, org.springframework.data.domain.Pageable pageable);
 
+        @Query("SELECT c.id FROM DocumentChunk c WHERE c.document.id = :documentId")
+        List<Long> findIdsByDocumentId(@Param("documentId") Long documentId);
+
+        /**
+         * 문서의 청크 일괄 삭제 (CHUNK 스테이지 재실행 시)
+         */
+        @Modifying
+        @Query("DELETE FROM DocumentChunk c WHERE c.document.id = :documentId")
+        int deleteByDocumentId(@Param("documentId") Long documentId);
+
         @Query("SELECT c.id, c.document.id FROM DocumentChunk c")
         List<Object[]> findAllChunkIdAndDocumentId();
 
         List<DocumentChunk> findByDocumentWorkspaceId(Long workspaceId);
 
         List<DocumentChunk> findByDocumentIdIn(List<Long> documentIds);
+
+        /**
+         * 벡터 인덱스 구축용 (chunkId, documentId, embedding)만 조회
+         * content, llm_result 등 대용량 컬럼은 읽지 않음
+         */
+        @Query("SELECT c.id, c.document.id, c.embedding FROM DocumentChunk c " +
+                        "WHERE c.document.workspace.id = :workspaceId AND c.embedding IS NOT NULL")
+        List<Object[]> findEmbeddingsByWorkspaceId(@Param("workspaceId") Long workspaceId);
+
+        /**
+         * 임베딩 컬럼만 갱신 (병렬로 실행되는 LLM 처리 결과를 덮어쓰지 않도록 엔티티 전체 merge 대신 사용)
+         */
+        @Modifying
+        @Query("UPDATE DocumentChunk c SET c.embedding = :embedding, c.embeddingContentHash = :contentHash " +
+                        "WHERE c.id = :id")
+        int updateEmbedding(@Param("id") Long id, @Param("embedding") float[] embedding,
+                        @Param("contentHash") String contentHash);
+
+        /**
+         * 같은 워크스페이스의 다른 활성 문서에서 내용 해시가 같고 재사용할 결과(LLM 완료 또는 임베딩)가 있는 청크
+         */
+        @Query("SELECT c FROM DocumentChunk c WHERE c.document.workspace.id = :workspaceId " +
+                        "AND c.document.id <> :documentId AND c.document.isActive = true " +
+                        "AND c.contentHash IN :contentHashes " +
+                        "AND (c.llmStatus = 'COMPLETED' OR c.embedding IS NOT NULL)")
+        List<DocumentChunk> findReusableByContentHashes(@Param("workspaceId") Long workspaceId,
+                        @Param("documentId") Long documentId,
+                        @Param("contentHashes") Collection<String> contentHashes);
+
+        /**
+         * 다른 청크의 LLM 결과를 그대로 복사하여 완료 처리
+         */
+        @Modifying
+        @Query("UPDATE DocumentChunk c SET c.llmResult = :llmResult, c.llmStatus = 'COMPLETED', " +
+                        "c.llmProcessedAt = :processedAt, c.llmErrorMessage = NULL WHERE c.id = :id")
+        int updateReusedLlmResult(@Param("id") Long id, @Param("llmResult") String llmResult,
+                        @Param("processedAt") LocalDateTime processedAt);
+
+        // ===== pgvector (app.search.vector-store=pgvector) =====
+        // embedding_pgvector 컬럼은 엔티티에 매핑하지 않으며 add_pgvector_to_document_chunks.sql로 생성
+
+        /**
+         * 워크스페이스 내 코사인 유사도 top-k (chunkId, documentId, score)
+         */
+        @Query(value = "SELECT c.id, c.document_id, 1 - (c.embedding_pgvector <=> CAST(:vector AS vector)) AS score " +
+                        "FROM document_chunks c JOIN documents d ON d.id = c.document_id " +
+                        "WHERE d.workspace_id = :workspaceId AND c.embedding_pgvector IS NOT NULL " +
+                        "ORDER BY c.embedding_pgvector <=> CAST(:vector AS vector) " +
+                        "LIMIT :k", nativeQuery = true)
+        List<Object[]> findTopKByPgvector(@Param("workspaceId") Long workspaceId,
+                        @Param("vector") String vector, @Param("k") int k);
+
+        /**
+         * 지정 문서 내 코사인 유사도 top-k (chunkId, documentId, score)
+         */
+        @Query(value = "SELECT c.id, c.document_id, 1 - (c.embedding_pgvector <=> CAST(:vector AS vector)) AS score " +
+                        "FROM document_chunks c " +
+                        "WHERE c.document_id IN (:documentIds) AND c.embedding_pgvector IS NOT NULL " +
+                        "ORDER BY c.embedding_pgvector <=> CAST(:vector AS vector) " +
+                        "LIMIT :k", nativeQuery = true)
+        List<Object[]> findTopKByPgvectorInDocuments(@Param("documentIds") List<Long> documentIds,
+                        @Param("vector") String vector, @Param("k") int k);
+
+        @Modifying
+        @Query(value = "UPDATE document_chunks SET embedding_pgvector = CAST(:vector AS vector) WHERE id = :id",
+                        nativeQuery = true)
+        int updatePgvector(@Param("id") Long id, @Param("vector") String vector);
+
+        /**
+         * embedding_pgvector 백필 대상 조회 (id, embedding_f32) - 1536차원(6144바이트)만
+         */
+        @Query(value = "SELECT c.id, c.embedding_f32 FROM document_chunks c " +
+                        "WHERE c.embedding_pgvector IS NULL AND c.embedding_f32 IS NOT NULL " +
+                        "AND octet_length(c.embedding_f32) = 6144 " +
+                        "ORDER BY c.id LIMIT :batchSize", nativeQuery = true)
+        List<Object[]> findPgvectorBackfillBatch(@Param("batchSize") int batchSize);
 }
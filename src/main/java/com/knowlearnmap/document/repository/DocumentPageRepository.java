@@ -2,6 +2,9 @@ package com.knowlearnmap.document.repository;
 
 import com.knowlearnmap.document.domain.DocumentPage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -28,4 +31,11 @@ public interface DocumentPageRepository extends JpaRepository<DocumentPage, Long
      * 문서의 특정 상태 페이지 조회
      */
     List<DocumentPage> findByDocumentIdAndStatus(Long documentId, DocumentPage.PageStatus status);
+
+    /**
+     * 문서의 모든 페이지 삭제 (PARSE 재시도 시 부분 저장분 정리)
+     */
+    @Modifying
+    @Query("DELETE FROM DocumentPage p WHERE p.document.id = :documentId")
+    int deleteByDocumentId(@Param("documentId") Long documentId);
 }
@@ -28,4 +28,10 @@ public interface DocumentRepository extends JpaRepository<DocumentEntity, Long>
      * 워크스페이스의 활성 문서 개수 조회
      */
     int countByWorkspaceIdAndIsActiveTrue(Long workspaceId);
+
+    /**
+     * 워크스페이스 내 같은 내용(파일 해시)의 활성 문서 조회 (최신순)
+     */
+    List<DocumentEntity> findByWorkspaceIdAndContentHashAndIsActiveTrueOrderByCreatedAtDesc(Long workspaceId,
+            String contentHash);
 }
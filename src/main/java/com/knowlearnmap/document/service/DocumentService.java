@@ -1,5 +1,6 @@
 package com.knowlearnmap.document.service;
 
+import com.knowlearnmap.common.util.HashUtils;
 import com.knowlearnmap.document.domain.DocumentChunk;
 import com.knowlearnmap.document.domain.DocumentEntity;
 import com.knowlearnmap.document.dto.DocumentPageDto;
@@ -7,7 +8,7 @@ import com.knowlearnmap.document.dto.DocumentResponseDto;
 import com.knowlearnmap.document.repository.DocumentChunkRepository;
 import com.knowlearnmap.document.repository.DocumentPageRepository;
 import com.knowlearnmap.document.repository.DocumentRepository;
-import com.knowlearnmap.pipeline.orchestration.PipelineOrchestrator;
+import com.knowlearnmap.pipeline.scheduling.PipelineJobScheduler;
 import com.knowlearnmap.workspace.domain.WorkspaceEntity;
 import com.knowlearnmap.workspace.repository.WorkspaceRepository;
 import lombok.RequiredArgsConstructor;
@@ -37,10 +38,11 @@ public class DocumentService {
     private final DocumentPageRepository documentPageRepository;
     private final DocumentChunkRepository documentChunkRepository;
     private final WorkspaceRepository workspaceRepository;
-    private final PipelineOrchestrator pipelineOrchestrator;
+    private final PipelineJobScheduler pipelineJobScheduler;
     private final com.knowlearnmap.llmToOntology.service.OntologyPersistenceService ontologyPersistenceService;
     private final com.knowlearnmap.member.repository.MemberRepository memberRepository;
     private final com.knowlearnmap.ontologyToArango.service.OntologyArangoCleanupService arangoCleanupService;
+    private final com.knowlearnmap.search.index.ChunkVectorStore chunkVectorStore;
 
     @Value("${app.document.upload-directory:./uploads}")
     private String uploadDirectory;
@@ -75,6 +77,27 @@ public class DocumentService {
         WorkspaceEntity workspace = workspaceRepository.findById(workspaceId)
                 .orElseThrow(() -> new IllegalArgumentException("워크스페이스를 찾을 수 없습니다: " + workspaceId));
 
+        // 2-1. 같은 워크스페이스에 동일한 파일이 이미 있으면 새 문서/파이프라인 없이 기존 문서 반환
+        String contentHash;
+        try (java.io.InputStream in = file.getInputStream()) {
+            contentHash = HashUtils.sha256Hex(in);
+        } catch (IOException e) {
+            throw new RuntimeException("파일 읽기 실패: " + e.getMessage(), e);
+        }
+        java.util.Optional<DocumentEntity> duplicate = documentRepository
+                .findByWorkspaceIdAndContentHashAndIsActiveTrueOrderByCreatedAtDesc(workspaceId, contentHash)
+                .stream()
+                .filter(d -> d.getPipelineStatus() != DocumentEntity.PipelineStatus.FAILED)
+                .findFirst();
+        if (duplicate.isPresent()) {
+            DocumentEntity existing = duplicate.get();
+            log.info("동일 파일이 이미 업로드되어 기존 문서 재사용: filename={}, documentId={}, hash={}",
+                    filename, existing.getId(), contentHash);
+            return DocumentResponseDto.from(existing,
+                    documentPageRepository.countByDocumentId(existing.getId()),
+                    documentChunkRepository.countByDocumentId(existing.getId()));
+        }
+
         // 3. Document 개수 제한 체크
         if (member.getRole() != com.knowlearnmap.member.domain.Member.Role.ADMIN
                 && member.getGrade() != com.knowlearnmap.member.domain.Member.Grade.MAX) {
@@ -110,6 +133,7 @@ public class DocumentService {
         DocumentEntity document = new DocumentEntity();
         document.setFilename(filename);
         document.setFilePath(filePath.toString());
+        document.setContentHash(contentHash);
         document.setWorkspace(workspace);
         document.setSourceType(DocumentEntity.SourceType.FILE);
         document.setStatus(DocumentEntity.IngestionStatus.PENDING);
@@ -118,9 +142,9 @@ public class DocumentService {
         DocumentEntity savedDocument = documentRepository.save(document);
         log.info("Document 생성 완료: id={}", savedDocument.getId());
 
-        // 7. 파이프라인 자동 시작 (비동기) - 페이지 제한(maxPages) 전달
+        // 7. 파이프라인 작업 등록 (전역 스케줄러가 상한 내에서 실행) - 페이지 제한(maxPages) 전달
         try {
-            log.info("파이프라인 실행 시작: workspaceId={}, documentId={}", workspaceId, savedDocument.getId());
+            log.info("파이프라인 작업 등록: workspaceId={}, documentId={}", workspaceId, savedDocument.getId());
 
             java.util.Map<String, Object> metadata = new java.util.HashMap<>();
             if (member.getRole() != com.knowlearnmap.member.domain.Member.Role.ADMIN
@@ -128,8 +152,8 @@ public class DocumentService {
                 metadata.put("maxPages", member.getGrade().getMaxPagesPerDocument());
             }
 
-            pipelineOrchestrator.executeAsync(workspaceId, savedDocument.getId(), metadata);
-            log.info("파이프라인 실행 요청 완료 (Limit: {})", metadata.get("maxPages"));
+            pipelineJobScheduler.submit(workspaceId, savedDocument.getId(), member, metadata);
+            log.info("파이프라인 작업 등록 완료 (Limit: {})", metadata.get("maxPages"));
         } catch (Exception e) {
             log.error("파이프라인 시작 실패 (문서는 저장됨): documentId={}", savedDocument.getId(), e);
         }
@@ -224,6 +248,7 @@ public class DocumentService {
 
         // Hard delete - JPA cascade 설정에 따라 document_page, document_chunk도 삭제됨
         documentRepository.delete(document);
+        chunkVectorStore.removeDocument(workspace.getId(), documentId);
         log.info("Document 삭제 완료 (hard delete): id={}, user={}", documentId, username);
     }
 
@@ -52,4 +52,22 @@ public interface OntologyKnowlearnTypeRepository extends JpaRepository<OntologyK
      */
     List<OntologyKnowlearnType> findByWorkspaceIdAndRelationId(Long workspaceId, Long relationId);
 
+    /**
+     * 없을 때만 트리플 저장 (uk_knowlearn_workspace_triple 충돌 시 무시, 기존 점수/증거 수준 유지)
+     *
+     * @return 저장된 행 수 (0: 이미 존재)
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO ontology_knowlearn_type "
+            + "(workspace_id, subject_id, relation_id, object_id, confidence_score, evidence_level, status, "
+            + "created_at, updated_at) VALUES (:workspaceId, :subjectId, :relationId, :objectId, "
+            + "CAST(:confidenceScore AS numeric), COALESCE(CAST(:evidenceLevel AS varchar), 'standard'), 'active', "
+            + "LOCALTIMESTAMP, LOCALTIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@org.springframework.data.repository.query.Param("workspaceId") Long workspaceId,
+            @org.springframework.data.repository.query.Param("subjectId") Long subjectId,
+            @org.springframework.data.repository.query.Param("relationId") Long relationId,
+            @org.springframework.data.repository.query.Param("objectId") Long objectId,
+            @org.springframework.data.repository.query.Param("confidenceScore") java.math.BigDecimal confidenceScore,
+            @org.springframework.data.repository.query.Param("evidenceLevel") String evidenceLevel);
 }
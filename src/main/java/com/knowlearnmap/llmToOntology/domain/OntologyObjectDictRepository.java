@@ -78,4 +78,29 @@ public interface OntologyObjectDictRepository extends JpaRepository<OntologyObje
                         @org.springframework.data.repository.query.Param("workspaceId") Long workspaceId,
                         @org.springframework.data.repository.query.Param("keyword") String keyword,
                         org.springframework.data.domain.Pageable pageable);
+
+        /**
+         * 없을 때만 저장 (workspace + category + term_en / term_ko 충돌 시 무시)
+         * 동시에 같은 용어를 저장하면 DB가 한쪽을 기다리게 하므로 JVM 잠금 없이 중복이 생기지 않음
+         *
+         * @return 저장된 행 수 (0: 이미 존재)
+         */
+        @org.springframework.data.jpa.repository.Modifying
+        @org.springframework.transaction.annotation.Transactional
+        @org.springframework.data.jpa.repository.Query(value = "INSERT INTO ontology_object_dict "
+                        + "(workspace_id, category, term_en, term_ko, description, status, created_at, updated_at) "
+                        + "VALUES (:workspaceId, :category, :termEn, :termKo, CAST(:description AS text), 'active', "
+                        + "LOCALTIMESTAMP, LOCALTIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+        int insertIfAbsent(@org.springframework.data.repository.query.Param("workspaceId") Long workspaceId,
+                        @org.springframework.data.repository.query.Param("category") String category,
+                        @org.springframework.data.repository.query.Param("termEn") String termEn,
+                        @org.springframework.data.repository.query.Param("termKo") String termKo,
+                        @org.springframework.data.repository.query.Param("description") String description);
+
+        /**
+         * 용어 색인 적재용 (id, category, termEn, termKo)만 조회
+         */
+        @org.springframework.data.jpa.repository.Query("SELECT o.id, o.category, o.termEn, o.termKo FROM OntologyObjectDict o WHERE o.workspaceId = :workspaceId")
+        List<Object[]> findTermsByWorkspaceId(
+                        @org.springframework.data.repository.query.Param("workspaceId") Long workspaceId);
 }
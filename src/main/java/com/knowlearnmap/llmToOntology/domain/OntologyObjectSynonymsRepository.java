@@ -30,4 +30,26 @@ public interface OntologyObjectSynonymsRepository extends JpaRepository<Ontology
     List<OntologyObjectSynonyms> findByObjectId(Long objectId);
 
     void deleteByObjectId(Long objectId);
+
+    /**
+     * 없을 때만 동의어 저장 (workspace + category + synonym 충돌 시 무시)
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO ontology_object_synonyms "
+            + "(workspace_id, category, synonym, object_id, language, status, created_at, updated_at) "
+            + "VALUES (:workspaceId, :category, :synonym, :objectId, :language, 'active', "
+            + "LOCALTIMESTAMP, LOCALTIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@org.springframework.data.repository.query.Param("workspaceId") Long workspaceId,
+            @org.springframework.data.repository.query.Param("category") String category,
+            @org.springframework.data.repository.query.Param("synonym") String synonym,
+            @org.springframework.data.repository.query.Param("objectId") Long objectId,
+            @org.springframework.data.repository.query.Param("language") String language);
+
+    /**
+     * 용어 색인 적재용 (objectId, category, synonym)만 조회
+     */
+    @org.springframework.data.jpa.repository.Query("SELECT s.objectId, s.category, s.synonym FROM OntologyObjectSynonyms s WHERE s.workspaceId = :workspaceId")
+    List<Object[]> findTermsByWorkspaceId(
+            @org.springframework.data.repository.query.Param("workspaceId") Long workspaceId);
 }
@@ -78,4 +78,28 @@ public interface OntologyRelationDictRepository extends JpaRepository<OntologyRe
                         @org.springframework.data.repository.query.Param("workspaceId") Long workspaceId,
                         @org.springframework.data.repository.query.Param("keyword") String keyword,
                         org.springframework.data.domain.Pageable pageable);
+
+        /**
+         * 없을 때만 저장 (workspace + category + relation_en / relation_ko 충돌 시 무시)
+         *
+         * @return 저장된 행 수 (0: 이미 존재)
+         */
+        @org.springframework.data.jpa.repository.Modifying
+        @org.springframework.transaction.annotation.Transactional
+        @org.springframework.data.jpa.repository.Query(value = "INSERT INTO ontology_relation_dict "
+                        + "(workspace_id, category, relation_en, relation_ko, description, status, created_at, updated_at) "
+                        + "VALUES (:workspaceId, :category, :relationEn, :relationKo, CAST(:description AS text), "
+                        + "'active', LOCALTIMESTAMP, LOCALTIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+        int insertIfAbsent(@org.springframework.data.repository.query.Param("workspaceId") Long workspaceId,
+                        @org.springframework.data.repository.query.Param("category") String category,
+                        @org.springframework.data.repository.query.Param("relationEn") String relationEn,
+                        @org.springframework.data.repository.query.Param("relationKo") String relationKo,
+                        @org.springframework.data.repository.query.Param("description") String description);
+
+        /**
+         * 용어 색인 적재용 (id, category, relationEn, relationKo)만 조회
+         */
+        @org.springframework.data.jpa.repository.Query("SELECT r.id, r.category, r.relationEn, r.relationKo FROM OntologyRelationDict r WHERE r.workspaceId = :workspaceId")
+        List<Object[]> findTermsByWorkspaceId(
+                        @org.springframework.data.repository.query.Param("workspaceId") Long workspaceId);
 }
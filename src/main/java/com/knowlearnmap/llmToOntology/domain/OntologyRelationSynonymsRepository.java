@@ -29,4 +29,26 @@ public interface OntologyRelationSynonymsRepository extends JpaRepository<Ontolo
     List<OntologyRelationSynonyms> findByRelationId(Long relationId);
 
     void deleteByRelationId(Long relationId);
+
+    /**
+     * 없을 때만 동의어 저장 (workspace + category + synonym 충돌 시 무시)
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO ontology_relation_synonyms "
+            + "(workspace_id, category, synonym, relation_id, language, status, created_at, updated_at) "
+            + "VALUES (:workspaceId, :category, :synonym, :relationId, :language, 'active', "
+            + "LOCALTIMESTAMP, LOCALTIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@org.springframework.data.repository.query.Param("workspaceId") Long workspaceId,
+            @org.springframework.data.repository.query.Param("category") String category,
+            @org.springframework.data.repository.query.Param("synonym") String synonym,
+            @org.springframework.data.repository.query.Param("relationId") Long relationId,
+            @org.springframework.data.repository.query.Param("language") String language);
+
+    /**
+     * 용어 색인 적재용 (relationId, category, synonym)만 조회
+     */
+    @org.springframework.data.jpa.repository.Query("SELECT s.relationId, s.category, s.synonym FROM OntologyRelationSynonyms s WHERE s.workspaceId = :workspaceId")
+    List<Object[]> findTermsByWorkspaceId(
+            @org.springframework.data.repository.query.Param("workspaceId") Long workspaceId);
 }
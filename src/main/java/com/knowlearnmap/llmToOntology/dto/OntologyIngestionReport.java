@@ -0,0 +1,58 @@
+package com.knowlearnmap.llmToOntology.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 문서 단위 Ontology 생성 결과
+ *
+ * @param mode            "bulk" (일괄 저장), "per-chunk" (청크별 트랜잭션), 배치마다 다르면 "mixed"
+ * @param chunks          대상 청크 수 (LLM 완료)
+ * @param skipped         이미 Ontology 생성이 완료되어 건너뛴 청크 수
+ * @param succeeded       Ontology 생성 완료 청크 수
+ * @param failedChunkIds  실패 청크 ID (JSON 파싱 오류 등, 사유는 chunk.ontology_error_message)
+ * @param newTerms        새로 저장된 Object/Relation 사전 수 (per-chunk 경로에서는 0)
+ * @param newTriples      새로 저장된 트리플 수 (per-chunk 경로에서는 0)
+ * @param newReferences   새로 저장된 Object/Relation/Triple 참조 수 (per-chunk 경로에서는 0)
+ * @param elapsedMs       소요 시간 (병렬 배치 합산 시 가장 오래 걸린 배치)
+ */
+public record OntologyIngestionReport(String mode, int chunks, int skipped, int succeeded, List<Long> failedChunkIds,
+        int newTerms, int newTriples, int newReferences, long elapsedMs) {
+
+    public static final OntologyIngestionReport EMPTY = new OntologyIngestionReport(null, 0, 0, 0, List.of(), 0, 0,
+            0, 0);
+
+    public OntologyIngestionReport plus(OntologyIngestionReport other) {
+        List<Long> failed = new ArrayList<>(failedChunkIds);
+        failed.addAll(other.failedChunkIds);
+        String merged = mode == null ? other.mode
+                : other.mode == null || mode.equals(other.mode) ? mode : "mixed";
+        return new OntologyIngestionReport(merged, chunks + other.chunks, skipped + other.skipped,
+                succeeded + other.succeeded, failed, newTerms + other.newTerms, newTriples + other.newTriples,
+                newReferences + other.newReferences, Math.max(elapsedMs, other.elapsedMs));
+    }
+
+    public OntologyIngestionReport withElapsedMs(long elapsedMs) {
+        return new OntologyIngestionReport(mode, chunks, skipped, succeeded, failedChunkIds, newTerms, newTriples,
+                newReferences, elapsedMs);
+    }
+
+    /**
+     * 파이프라인 컨텍스트 메타데이터 형태 ({@code ontology_ingestion})
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("mode", mode);
+        map.put("chunks", chunks);
+        map.put("skipped", skipped);
+        map.put("succeeded", succeeded);
+        map.put("failedChunkIds", failedChunkIds);
+        map.put("newTerms", newTerms);
+        map.put("newTriples", newTriples);
+        map.put("newReferences", newReferences);
+        map.put("elapsedMs", elapsedMs);
+        return map;
+    }
+}
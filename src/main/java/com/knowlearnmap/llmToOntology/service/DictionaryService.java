@@ -31,6 +31,7 @@ public class DictionaryService {
     private final com.fasterxml.jackson.databind.ObjectMapper objectMapper;
     private final com.knowlearnmap.member.repository.MemberRepository memberRepository;
     private final com.knowlearnmap.workspace.service.WorkspaceService workspaceService;
+    private final OntologyTermIndex termIndex;
 
     private void checkPermission(Long workspaceId, String username) {
         com.knowlearnmap.workspace.domain.WorkspaceEntity workspace = workspaceRepository.findById(workspaceId)
@@ -565,5 +566,7 @@ public class DictionaryService {
 
     private void markWorkspaceSyncNeeded(Long workspaceId) {
         workspaceService.markSyncNeeded(workspaceId);
+        // 사전 편집/병합/삭제는 용어 색인에 반영되지 않으므로 커밋 후 다시 적재
+        termIndex.evict(workspaceId);
     }
 }
@@ -1,24 +1,28 @@
 package com.knowlearnmap.llmToOntology.service;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.knowlearnmap.llmToOntology.domain.OntologyObjectDict;
 import com.knowlearnmap.llmToOntology.domain.OntologyRelationDict;
 import com.knowlearnmap.llmToOntology.dto.OntologyDto;
+import com.knowlearnmap.llmToOntology.dto.OntologyIngestionReport;
 import com.knowlearnmap.document.domain.DocumentChunk;
 import com.knowlearnmap.document.repository.DocumentChunkRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * LLM 결과 → Ontology 생성 서비스
@@ -30,6 +34,13 @@ import java.util.List;
  * 2. chunk.llm_result JSON 파싱
  * 3. Ontology 엔티티 생성 및 저장
  * </pre>
+ *
+ * <p>
+ * 문서 단위 생성은 Ontology 생성이 끝나지 않은 청크를 pipeline.ontology.batch-size 단위로 나눠
+ * ontologyExecutor에서 병렬로 처리합니다. 배치는 {@link OntologyBulkIngestionService}로 한 번에 저장하고
+ * (app.ontology.bulk-ingestion.enabled), 교착 상태로 롤백되면 한 번 더 시도하며,
+ * 그 밖의 실패는 그 배치만 청크별 트랜잭션으로 다시 처리합니다.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
@@ -39,6 +50,9 @@ public class LlmToOntologyService {
 
     private final DocumentChunkRepository chunkRepository;
     private final OntologyPersistenceService ontologyPersistenceService;
+    private final OntologyBulkIngestionService bulkIngestionService;
+    private final OntologyLlmResultParser llmResultParser;
+    private final OntologyTermIndex termIndex;
     private final com.knowlearnmap.workspace.repository.WorkspaceRepository workspaceRepository;
     private final com.knowlearnmap.member.repository.MemberRepository memberRepository;
 
@@ -63,6 +77,16 @@ public class LlmToOntologyService {
     @Autowired
     private LlmToOntologyService self;
 
+    @Autowired
+    @Qualifier("ontologyExecutor")
+    private Executor ontologyExecutor;
+
+    @Value("${app.ontology.bulk-ingestion.enabled:true}")
+    private boolean bulkIngestionEnabled;
+
+    @Value("${pipeline.ontology.batch-size:50}")
+    private int extractionBatchSize;
+
     /**
      * Chunk의 LLM 결과로 Ontology 생성
      */
@@ -80,10 +104,10 @@ public class LlmToOntologyService {
             log.info("Ontology 생성 시작 - Chunk ID: {}", chunk.getId());
 
             // JSON 파싱
-            JsonObject rootObj = JsonParser.parseString(chunk.getLlmResult()).getAsJsonObject();
+            OntologyLlmResultParser.ParsedOntology parsed = llmResultParser.parse(chunk.getLlmResult());
 
             // Ontology 처리
-            processOntologies(workspaceId, chunk, rootObj);
+            processOntologies(workspaceId, chunk, parsed);
 
             // 성공 처리
             chunk.setOntologyStatus("COMPLETED");
@@ -93,7 +117,7 @@ public class LlmToOntologyService {
 
             log.info("Ontology 생성 완료 - Chunk ID: {}", chunk.getId());
 
-        } catch (JsonSyntaxException e) {
+        } catch (JsonProcessingException e) {
             // JSON 파싱 실패
             String errorMsg = e.getMessage();
             if (errorMsg != null && errorMsg.length() > 500) {
@@ -124,161 +148,160 @@ public class LlmToOntologyService {
         }
     }
 
-    private void processOntologies(Long workspaceId, DocumentChunk chunk, JsonObject rootObj) {
-        if (rootObj.has("chunks") && rootObj.get("chunks").isJsonArray()) {
-            JsonArray chunksArray = rootObj.getAsJsonArray("chunks");
-            for (JsonElement chunkElement : chunksArray) {
-                processSingleChunkJson(workspaceId, chunk, chunkElement.getAsJsonObject());
-            }
-        } else {
-            // 단일 객체인 경우 (구조에 따라 다름)
-            processSingleChunkJson(workspaceId, chunk, rootObj);
-        }
-    }
-
-    private void processSingleChunkJson(Long workspaceId, DocumentChunk chunk, JsonObject chunkObj) {
+    private void processOntologies(Long workspaceId, DocumentChunk chunk,
+            OntologyLlmResultParser.ParsedOntology parsed) {
         // 1. Objects 처리
-        if (chunkObj.has("objects_to_add") && chunkObj.get("objects_to_add").isJsonArray()) {
-            JsonArray objectsArray = chunkObj.getAsJsonArray("objects_to_add");
-            for (JsonElement element : objectsArray) {
-                processObject(workspaceId, chunk, element.getAsJsonObject());
-            }
+        for (OntologyObjectDict dict : parsed.objects()) {
+            ontologyPersistenceService.findAndSaveObjectDict(workspaceId, chunk, dict);
         }
 
         // 2. Relations 처리
-        if (chunkObj.has("relations_to_add") && chunkObj.get("relations_to_add").isJsonArray()) {
-            JsonArray relationsArray = chunkObj.getAsJsonArray("relations_to_add");
-            for (JsonElement element : relationsArray) {
-                processRelation(workspaceId, chunk, element.getAsJsonObject());
-            }
+        for (OntologyRelationDict dict : parsed.relations()) {
+            ontologyPersistenceService.findAndSaveRelationDict(workspaceId, chunk, dict);
         }
 
         // 3. Knowlearns (Triples) 처리
-        if (chunkObj.has("knowlearns_to_add") && chunkObj.get("knowlearns_to_add").isJsonArray()) {
-            JsonArray knowlearnsArray = chunkObj.getAsJsonArray("knowlearns_to_add");
-            for (JsonElement element : knowlearnsArray) {
-                processKnowlearn(workspaceId, chunk, element.getAsJsonObject());
-            }
+        for (OntologyDto dto : parsed.knowlearns()) {
+            ontologyPersistenceService.findAndSaveKnowlearnType(workspaceId, chunk, dto);
         }
     }
 
-    private void processObject(Long workspaceId, DocumentChunk chunk, JsonObject obj) {
-        OntologyObjectDict dict = new OntologyObjectDict();
-        dict.setCategory(getJsonString(obj, "category"));
-
-        String termEn = getJsonString(obj, "term_en");
-        String termKo = getJsonString(obj, "term_ko");
-
-        // Fallback logic for term_ko
-        if (termKo == null || termKo.trim().isEmpty()) {
-            termKo = termEn;
-        }
-        if (termKo == null || termKo.trim().isEmpty()) {
-            termKo = "Unknown";
-        }
-
-        dict.setTermEn(termEn);
-        dict.setTermKo(termKo);
-        dict.setDescription(getJsonString(obj, "description_ko"));
-
-        ontologyPersistenceService.findAndSaveObjectDict(workspaceId, chunk, dict);
+    /**
+     * 특정 문서의 모든 Chunk에 대해 Ontology 생성 (Internal Use)
+     */
+    public int createOntologyFromDocument(Long workspaceId, Long documentId) {
+        return createOntologyFromDocument(workspaceId, documentId, null);
     }
 
-    private void processRelation(Long workspaceId, DocumentChunk chunk, JsonObject obj) {
-        OntologyRelationDict dict = new OntologyRelationDict();
-        dict.setCategory(getJsonString(obj, "category"));
-
-        String relationEn = getJsonString(obj, "relation_en");
-        String relationKo = getJsonString(obj, "relation_ko");
-
-        // Fallback logic for relation_ko
-        if (relationKo == null || relationKo.trim().isEmpty()) {
-            relationKo = relationEn;
-        }
-        if (relationKo == null || relationKo.trim().isEmpty()) {
-            relationKo = "Unknown";
-        }
-
-        dict.setRelationEn(relationEn);
-        dict.setRelationKo(relationKo);
-        dict.setDescription(getJsonString(obj, "description_ko"));
-
-        ontologyPersistenceService.findAndSaveRelationDict(workspaceId, chunk, dict);
+    /**
+     * 특정 문서의 모든 Chunk에 대해 Ontology 생성
+     * 
+     * @return 처리된 청크 개수
+     */
+    public int createOntologyFromDocument(Long workspaceId, Long documentId, String username) {
+        return ingestDocument(workspaceId, documentId, username).succeeded();
     }
 
-    private void processKnowlearn(Long workspaceId, DocumentChunk chunk, JsonObject obj) {
-        OntologyDto dto = new OntologyDto();
-        dto.setSubjectCategory(getJsonString(obj, "subject_category"));
-        dto.setSubjectTermEn(getJsonString(obj, "subject_term_en"));
-        dto.setSubjectTermKo(getJsonString(obj, "subject_term_ko"));
-
-        dto.setRelationCategory(getJsonString(obj, "relation_category"));
-        dto.setRelationEn(getJsonString(obj, "relation_en"));
-        dto.setRelationKo(getJsonString(obj, "relation_ko"));
+    /**
+     * 특정 문서의 모든 Chunk에 대해 Ontology 생성 (청크별 성공/실패 포함)
+     */
+    // @Transactional 없음: 배치별로 트랜잭션을 분리하기 위함
+    public OntologyIngestionReport ingestDocument(Long workspaceId, Long documentId, String username) {
+        checkPermission(workspaceId, username);
 
-        dto.setObjectCategory(getJsonString(obj, "object_category"));
-        dto.setObjectTermEn(getJsonString(obj, "object_term_en"));
-        dto.setObjectTermKo(getJsonString(obj, "object_term_ko"));
+        // 1. 해당 문서의 LLM 완료된 청크 조회
+        List<DocumentChunk> targetChunks = chunkRepository.findByDocumentIdAndLlmStatus(documentId, "COMPLETED");
 
-        if (obj.has("confidence_score")) {
-            try {
-                dto.setConfidenceScore(java.math.BigDecimal.valueOf(obj.get("confidence_score").getAsDouble()));
-            } catch (Exception e) {
-                dto.setConfidenceScore(java.math.BigDecimal.ZERO);
-            }
-        }
-        dto.setEvidenceLevel(getJsonString(obj, "evidence_level"));
+        log.info("Found {} completed chunks for document {}", targetChunks.size(), documentId);
 
-        ontologyPersistenceService.findAndSaveKnowlearnType(workspaceId, chunk, dto);
+        return extract(workspaceId, documentId, targetChunks).join();
     }
 
-    private String getJsonString(JsonObject obj, String memberName) {
-        if (obj.has(memberName) && !obj.get(memberName).isJsonNull()) {
-            return obj.get(memberName).getAsString();
-        }
-        return null;
+    /**
+     * LLM 결과가 커밋된 청크부터 Ontology 생성 (스트리밍 실행에서 LLM 배치마다 호출)
+     *
+     * @param chunkIds 같은 문서의 청크 ID (LLM 미완료 청크는 건너뜀)
+     */
+    public CompletableFuture<OntologyIngestionReport> ingestChunks(Long workspaceId, Long documentId,
+            List<Long> chunkIds) {
+        List<DocumentChunk> chunks = chunkRepository.findAllById(chunkIds).stream()
+                .filter(chunk -> "COMPLETED".equals(chunk.getLlmStatus()))
+                .sorted(Comparator.comparing(DocumentChunk::getId))
+                .toList();
+        return extract(workspaceId, documentId, chunks);
     }
 
     /**
-     * 특정 문서의 모든 Chunk에 대해 Ontology 생성 (Internal Use)
+     * ontology_status가 COMPLETED가 아닌 청크를 batch-size 단위로 나눠 ontologyExecutor에서 병렬 처리
+     * (배치마다 별도 트랜잭션, 한 배치의 실패는 다른 배치에 영향 없음)
      */
-    public int createOntologyFromDocument(Long workspaceId, Long documentId) {
-        return createOntologyFromDocument(workspaceId, documentId, null);
+    private CompletableFuture<OntologyIngestionReport> extract(Long workspaceId, Long documentId,
+            List<DocumentChunk> chunks) {
+        long start = System.currentTimeMillis();
+        List<DocumentChunk> pending = chunks.stream()
+                .filter(chunk -> !"COMPLETED".equals(chunk.getOntologyStatus()))
+                .toList();
+        OntologyIngestionReport skipped = new OntologyIngestionReport(null, 0, chunks.size() - pending.size(), 0,
+                List.of(), 0, 0, 0, 0);
+
+        List<CompletableFuture<OntologyIngestionReport>> futures = new ArrayList<>();
+        int batchSize = Math.max(1, extractionBatchSize);
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<DocumentChunk> batch = pending.subList(from, Math.min(pending.size(), from + batchSize));
+            futures.add(CompletableFuture.supplyAsync(() -> ingestBatch(workspaceId, documentId, batch),
+                    ontologyExecutor));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(done -> futures.stream()
+                        .map(CompletableFuture::join)
+                        .reduce(skipped, OntologyIngestionReport::plus)
+                        .withElapsedMs(System.currentTimeMillis() - start));
     }
 
     /**
-     * 특정 문서의 모든 Chunk에 대해 Ontology 생성
-     * 
-     * @return 처리된 청크 개수
+     * 일괄 저장. 동시 배치와 교착 상태(40P01)가 되어 롤백되면 한 번 더 시도
+     * (사전 유일 키가 en/ko 두 개라 저장 순서만으로는 잠금 순서를 맞출 수 없음)
      */
-    // @Transactional 제거: 각 청크별로 트랜잭션을 분리하기 위함
-    public int createOntologyFromDocument(Long workspaceId, Long documentId, String username) {
-        checkPermission(workspaceId, username);
+    private OntologyIngestionReport ingestBulk(Long workspaceId, Long documentId, List<DocumentChunk> batch) {
+        try {
+            return bulkIngestionService.ingest(workspaceId, documentId, batch);
+        } catch (RuntimeException e) {
+            if (!isDeadlock(e)) {
+                throw e;
+            }
+            log.warn("Ontology 일괄 저장 교착 상태, 재시도 - document={}", documentId);
+            return bulkIngestionService.ingest(workspaceId, documentId, batch);
+        }
+    }
 
-        // 1. 해당 문서의 LLM 완료된 청크 조회 (Repository 최적화)
-        // TODO: ontology_status가 'COMPLETED'가 아닌 것만 조회하는 것이 효율적일 수 있음.
-        // 하지만 요구사항에 따라 전체 스캔 혹은 재처리 로직이 필요할 수 있음.
-        List<DocumentChunk> targetChunks = chunkRepository.findByDocumentIdAndLlmStatus(documentId, "COMPLETED");
+    private static boolean isDeadlock(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql) {
+                // JDBC batch 오류는 원인 예외가 getNextException()에 있음
+                for (SQLException next = sql; next != null; next = next.getNextException()) {
+                    if ("40P01".equals(next.getSQLState())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
 
-        log.info("Found {} completed chunks for document {}", targetChunks.size(), documentId);
+    private OntologyIngestionReport ingestBatch(Long workspaceId, Long documentId, List<DocumentChunk> batch) {
+        // 1. 일괄 저장 (기존 사전 해석에 용어 색인 사용)
+        if (bulkIngestionEnabled && termIndex.isEnabled()) {
+            try {
+                bulkIngestionService.markProcessing(batch);
+                return ingestBulk(workspaceId, documentId, batch);
+            } catch (Exception e) {
+                log.warn("Ontology 일괄 저장 실패, 청크별 처리로 전환 - document={}: {}", documentId, e.getMessage(), e);
+            }
+        }
 
-        // 3. 각 청크에 대해 Ontology 생성 수행
+        // 2. 각 청크에 대해 Ontology 생성 수행
+        long start = System.currentTimeMillis();
         int successCount = 0;
-        for (DocumentChunk chunk : targetChunks) {
+        List<Long> failedChunkIds = new ArrayList<>();
+        for (DocumentChunk chunk : batch) {
             try {
-                // 이미 성공한 것은 건너뛸 수도 있으나, 여기서는 상태가 없는 경우도 있으므로 강제 재실행을 막지는 않음
-                // 필요 시 if ("COMPLETED".equals(chunk.getOntologyStatus())) continue; 추가 가능
-
                 // self 참조를 통해 프록시를 경유하여 트랜잭션 적용
                 self.createOntologyFromLlmResult(workspaceId, chunk);
-                successCount++;
+                if ("FAILED".equals(chunk.getOntologyStatus())) {
+                    failedChunkIds.add(chunk.getId());
+                } else {
+                    successCount++;
+                }
             } catch (Exception e) {
                 log.error("Failed to create ontology for chunk {}", chunk.getId(), e);
+                failedChunkIds.add(chunk.getId());
                 // 개별 실패는 로그 남기고 계속 진행
             }
         }
 
-        return successCount;
+        return new OntologyIngestionReport("per-chunk", batch.size(), 0, successCount, failedChunkIds, 0, 0, 0,
+                System.currentTimeMillis() - start);
     }
 
     /**
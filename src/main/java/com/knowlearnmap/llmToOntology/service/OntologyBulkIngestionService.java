@@ -0,0 +1,564 @@
+package com.knowlearnmap.llmToOntology.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.knowlearnmap.document.domain.DocumentChunk;
+import com.knowlearnmap.llmToOntology.domain.OntologyObjectDict;
+import com.knowlearnmap.llmToOntology.domain.OntologyRelationDict;
+import com.knowlearnmap.llmToOntology.dto.OntologyDto;
+import com.knowlearnmap.llmToOntology.dto.OntologyIngestionReport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Ontology 일괄 저장 서비스 (pipeline.ontology.batch-size 청크 단위)
+ *
+ * <h3>처리 흐름 (배치당 한 트랜잭션)</h3>
+ *
+ * <pre>
+ * 1. 배치 청크의 llm_result를 모두 파싱 (파싱 실패 청크는 FAILED)
+ * 2. 용어/관계/트리플을 메모리에서 해석·중복 제거
+ *    (기존 사전: {@link OntologyTermIndex}, 이번 배치에서 새로 나온 사전: 임시 색인)
+ * 3. 사전 → 동의어 → 트리플 → 참조 3종 순서로 JDBC batch INSERT
+ *    (사전/동의어/트리플은 ON CONFLICT DO NOTHING 후 ID 재조회, 참조는 대상 청크의 기존 참조를 한 번 읽어 제외)
+ * 4. 청크 ontology_status 일괄 갱신
+ * </pre>
+ *
+ * <p>
+ * 같은 워크스페이스의 여러 청크 배치가 동시에 실행될 수 있습니다. 트리플은 키 순서로 정렬해 저장하므로
+ * 배치끼리 반대 순서로 잠그지 않습니다. 사전은 (category, en)과 (category, ko) 두 유일 키를 가지므로
+ * 한 가지 순서로 정렬해도 다른 키 기준으로는 순서가 어긋날 수 있어 교착 상태(40P01)가 날 수 있고,
+ * 이 경우 호출 측({@link LlmToOntologyService})이 배치를 한 번 더 시도합니다.
+ * 참조는 배치의 청크로만 조회·저장하므로 배치 간에 겹치지 않습니다.
+ * </p>
+ *
+ * <p>
+ * 용어 해석 순서와 기본값(Unknown, 공백 제거 동의어)은 청크별 경로
+ * ({@link OntologyPersistenceService})와 같습니다. 중간에 예외가 나면 배치 전체가 롤백되고
+ * 호출 측({@link LlmToOntologyService})이 청크별 경로로 다시 처리합니다.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OntologyBulkIngestionService {
+
+    /**
+     * 재조회 IN 목록 크기 (PostgreSQL 바인드 파라미터 한도 이내)
+     */
+    private static final int SELECT_SLICE = 1000;
+
+    private static final TermTable OBJECTS = new TermTable("ontology_object_dict", "term_en", "term_ko",
+            "ontology_object_synonyms", "object_id", "ontology_object_reference", "ontology_object_id");
+    private static final TermTable RELATIONS = new TermTable("ontology_relation_dict", "relation_en", "relation_ko",
+            "ontology_relation_synonyms", "relation_id", "ontology_relation_reference", "ontology_relation_id");
+
+    /**
+     * 사전 저장 순서 ((category, en) 키 기준 잠금 순서만 맞춤, ko 키 충돌은 교착 시 재시도로 처리)
+     */
+    private static final Comparator<NewTerm> TERM_ORDER = Comparator
+            .comparing((NewTerm term) -> term.category)
+            .thenComparing(term -> term.termEn)
+            .thenComparing(term -> term.termKo);
+    private static final Comparator<TripleKey> TRIPLE_ORDER = Comparator
+            .comparingLong(TripleKey::subjectId)
+            .thenComparingLong(TripleKey::relationId)
+            .thenComparingLong(TripleKey::objectId);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final OntologyLlmResultParser parser;
+    private final OntologyTermIndex termIndex;
+
+    /**
+     * 처리 시작 표시 (일괄 저장 트랜잭션과 별도로 커밋되어 진행 중 상태가 보이도록)
+     */
+    @Transactional
+    public void markProcessing(List<DocumentChunk> chunks) {
+        jdbcTemplate.update("UPDATE document_chunks SET ontology_status = 'PROCESSING' WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", chunks.stream().map(DocumentChunk::getId).toList()));
+        chunks.forEach(chunk -> chunk.setOntologyStatus("PROCESSING"));
+    }
+
+    @Transactional
+    public OntologyIngestionReport ingest(Long workspaceId, Long documentId, List<DocumentChunk> chunks) {
+        long start = System.currentTimeMillis();
+
+        TermBatch objects = new TermBatch(termIndex.objects(workspaceId));
+        TermBatch relations = new TermBatch(termIndex.relations(workspaceId));
+        List<ChunkTerms> parsedChunks = new ArrayList<>();
+        Map<DocumentChunk, String> failures = new LinkedHashMap<>();
+
+        // 1~2. 파싱 및 메모리 해석
+        for (DocumentChunk chunk : chunks) {
+            OntologyLlmResultParser.ParsedOntology parsed;
+            try {
+                parsed = parser.parse(chunk.getLlmResult());
+            } catch (JsonProcessingException e) {
+                failures.put(chunk, "JSON Parsing Error: " + truncate(e.getMessage()));
+                log.warn("JSON 파싱 실패 (건너뜀) - Chunk ID: {}. Error: {}", chunk.getId(), e.getMessage());
+                continue;
+            } catch (Exception e) {
+                failures.put(chunk, truncate(e.getMessage()));
+                log.error("Ontology 생성 실패 - Chunk ID: {}", chunk.getId(), e);
+                continue;
+            }
+            parsedChunks.add(resolve(chunk, parsed, objects, relations));
+        }
+
+        // 3. 사전 / 동의어
+        int newTerms = objects.flush(workspaceId, OBJECTS) + relations.flush(workspaceId, RELATIONS);
+        for (NewTerm term : objects.created) {
+            termIndex.registerObject(workspaceId, term.id, term.category, term.termEn, term.termKo);
+        }
+        for (NewTerm term : relations.created) {
+            termIndex.registerRelation(workspaceId, term.id, term.category, term.termEn, term.termKo);
+        }
+        insertSynonyms(workspaceId, objects, OBJECTS, true);
+        insertSynonyms(workspaceId, relations, RELATIONS, false);
+
+        // 3. 트리플
+        Map<TripleKey, OntologyDto> triples = new LinkedHashMap<>();
+        for (ChunkTerms chunkTerms : parsedChunks) {
+            for (PendingTriple triple : chunkTerms.triples) {
+                TripleKey key = new TripleKey(objects.id(triple.subjectId), relations.id(triple.relationId),
+                        objects.id(triple.objectId));
+                chunkTerms.tripleKeys.add(key);
+                triples.putIfAbsent(key, triple.dto);
+            }
+        }
+        int newTriples = insertTriples(workspaceId, triples);
+        Map<TripleKey, Long> tripleIds = findTripleIds(workspaceId, triples.keySet());
+
+        // 3. 참조
+        int newReferences = insertReferences(workspaceId, documentId, OBJECTS.referenceTable,
+                OBJECTS.referenceIdColumn, parsedChunks, chunkTerms -> map(chunkTerms.objectIds, objects));
+        newReferences += insertReferences(workspaceId, documentId, RELATIONS.referenceTable,
+                RELATIONS.referenceIdColumn, parsedChunks, chunkTerms -> map(chunkTerms.relationIds, relations));
+        newReferences += insertReferences(workspaceId, documentId, "ontology_knowlearn_reference",
+                "ontology_knowlearn_id", parsedChunks, chunkTerms -> {
+                    Set<Long> ids = new LinkedHashSet<>();
+                    for (TripleKey key : chunkTerms.tripleKeys) {
+                        Long id = tripleIds.get(key);
+                        if (id == null) {
+                            throw new IllegalStateException("Triple 저장 후 조회 실패: " + key);
+                        }
+                        ids.add(id);
+                    }
+                    return ids;
+                });
+
+        // 4. 청크 상태
+        updateChunkStatuses(parsedChunks, failures);
+
+        List<Long> failedChunkIds = failures.keySet().stream().map(DocumentChunk::getId).toList();
+        OntologyIngestionReport report = new OntologyIngestionReport("bulk", chunks.size(), 0, parsedChunks.size(),
+                failedChunkIds, newTerms, newTriples, newReferences, System.currentTimeMillis() - start);
+        log.info("Ontology 일괄 저장 완료 - document={}: {}", documentId, report);
+        return report;
+    }
+
+    /**
+     * 청크 하나의 항목을 사전 ID(기존: 양수, 신규: 임시 음수)로 해석
+     */
+    private ChunkTerms resolve(DocumentChunk chunk, OntologyLlmResultParser.ParsedOntology parsed,
+            TermBatch objects, TermBatch relations) {
+        ChunkTerms chunkTerms = new ChunkTerms(chunk);
+
+        for (OntologyObjectDict dict : parsed.objects()) {
+            chunkTerms.objectIds.add(objects.resolve(dict.getCategory(), dict.getTermEn(), dict.getTermKo(),
+                    dict.getDescription()));
+        }
+        for (OntologyRelationDict dict : parsed.relations()) {
+            chunkTerms.relationIds.add(relations.resolve(dict.getCategory(), dict.getRelationEn(),
+                    dict.getRelationKo(), dict.getDescription()));
+        }
+        for (OntologyDto dto : parsed.knowlearns()) {
+            // 트리플의 주어/목적어/관계도 청크 참조 대상 (청크별 경로와 동일)
+            long subjectId = objects.resolve(dto.getSubjectCategory(), dto.getSubjectTermEn(),
+                    fallbackKo(dto.getSubjectTermKo(), dto.getSubjectTermEn()), null);
+            long objectId = objects.resolve(dto.getObjectCategory(), dto.getObjectTermEn(),
+                    fallbackKo(dto.getObjectTermKo(), dto.getObjectTermEn()), null);
+            long relationId = relations.resolve(dto.getRelationCategory(), dto.getRelationEn(), dto.getRelationKo(),
+                    null);
+            chunkTerms.objectIds.add(subjectId);
+            chunkTerms.objectIds.add(objectId);
+            chunkTerms.relationIds.add(relationId);
+            chunkTerms.triples.add(new PendingTriple(subjectId, relationId, objectId, dto));
+        }
+        return chunkTerms;
+    }
+
+    private void insertSynonyms(Long workspaceId, TermBatch batch, TermTable table, boolean objects) {
+        List<SqlParameterSource> params = new ArrayList<>();
+        List<NewTerm> owners = new ArrayList<>();
+        List<Synonym> synonyms = new ArrayList<>();
+        for (NewTerm term : batch.created) {
+            for (Synonym synonym : term.synonyms) {
+                params.add(new MapSqlParameterSource()
+                        .addValue("workspaceId", workspaceId)
+                        .addValue("category", term.category)
+                        .addValue("synonym", synonym.synonym())
+                        .addValue("termId", term.id)
+                        .addValue("language", synonym.language()));
+                owners.add(term);
+                synonyms.add(synonym);
+            }
+        }
+        if (params.isEmpty()) {
+            return;
+        }
+
+        int[] results = jdbcTemplate.batchUpdate("INSERT INTO " + table.synonymTable
+                + " (workspace_id, category, synonym, " + table.synonymIdColumn
+                + ", language, status, created_at, updated_at) VALUES (:workspaceId, :category, :synonym, :termId, "
+                + ":language, 'active', LOCALTIMESTAMP, LOCALTIMESTAMP) ON CONFLICT DO NOTHING",
+                params.toArray(SqlParameterSource[]::new));
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == 0) {
+                continue;
+            }
+            NewTerm term = owners.get(i);
+            if (objects) {
+                termIndex.registerObjectSynonym(workspaceId, term.id, term.category, synonyms.get(i).synonym());
+            } else {
+                termIndex.registerRelationSynonym(workspaceId, term.id, term.category, synonyms.get(i).synonym());
+            }
+        }
+    }
+
+    /**
+     * 없는 트리플만 저장 (이미 있으면 기존 score/evidence 유지, 배치 안 중복은 처음 나온 값 사용)
+     */
+    private int insertTriples(Long workspaceId, Map<TripleKey, OntologyDto> triples) {
+        if (triples.isEmpty()) {
+            return 0;
+        }
+        List<SqlParameterSource> params = new ArrayList<>(triples.size());
+        Map<TripleKey, OntologyDto> ordered = new TreeMap<>(TRIPLE_ORDER);
+        ordered.putAll(triples);
+        ordered.forEach((key, dto) -> params.add(new MapSqlParameterSource()
+                .addValue("workspaceId", workspaceId)
+                .addValue("subjectId", key.subjectId())
+                .addValue("relationId", key.relationId())
+                .addValue("objectId", key.objectId())
+                .addValue("confidenceScore", dto.getConfidenceScore(), Types.NUMERIC)
+                .addValue("evidenceLevel", dto.getEvidenceLevel(), Types.VARCHAR)));
+
+        return countInserted(jdbcTemplate.batchUpdate("INSERT INTO ontology_knowlearn_type "
+                + "(workspace_id, subject_id, relation_id, object_id, confidence_score, evidence_level, status, "
+                + "created_at, updated_at) VALUES (:workspaceId, :subjectId, :relationId, :objectId, "
+                + "CAST(:confidenceScore AS numeric), COALESCE(CAST(:evidenceLevel AS varchar), 'standard'), "
+                + "'active', LOCALTIMESTAMP, LOCALTIMESTAMP) ON CONFLICT DO NOTHING",
+                params.toArray(SqlParameterSource[]::new)));
+    }
+
+    private Map<TripleKey, Long> findTripleIds(Long workspaceId, Set<TripleKey> keys) {
+        Map<TripleKey, Long> ids = new HashMap<>();
+        List<Long> subjectIds = keys.stream().map(TripleKey::subjectId).distinct().toList();
+        for (List<Long> slice : slices(subjectIds)) {
+            jdbcTemplate.query("SELECT id, subject_id, relation_id, object_id FROM ontology_knowlearn_type "
+                    + "WHERE workspace_id = :workspaceId AND subject_id IN (:subjectIds)",
+                    new MapSqlParameterSource("workspaceId", workspaceId).addValue("subjectIds", slice),
+                    rs -> {
+                        TripleKey key = new TripleKey(rs.getLong("subject_id"), rs.getLong("relation_id"),
+                                rs.getLong("object_id"));
+                        if (keys.contains(key)) {
+                            ids.put(key, rs.getLong("id"));
+                        }
+                    });
+        }
+        return ids;
+    }
+
+    /**
+     * 대상 청크의 기존 참조를 한 번 읽어 (사전/트리플 ID, 청크 ID) 중복을 제외하고 저장
+     */
+    private int insertReferences(Long workspaceId, Long documentId, String table, String idColumn,
+            List<ChunkTerms> parsedChunks, Function<ChunkTerms, Set<Long>> idsOf) {
+        if (parsedChunks.isEmpty()) {
+            return 0;
+        }
+        Set<List<Long>> existing = new HashSet<>();
+        jdbcTemplate.query("SELECT " + idColumn + ", chunk_id FROM " + table
+                + " WHERE document_id = :documentId AND chunk_id IN (:chunkIds)",
+                new MapSqlParameterSource("documentId", documentId)
+                        .addValue("chunkIds", parsedChunks.stream().map(chunkTerms -> chunkTerms.chunk.getId()).toList()),
+                rs -> {
+                    existing.add(List.of(rs.getLong(1), rs.getLong(2)));
+                });
+
+        List<SqlParameterSource> params = new ArrayList<>();
+        for (ChunkTerms chunkTerms : parsedChunks) {
+            Long chunkId = chunkTerms.chunk.getId();
+            for (Long id : idsOf.apply(chunkTerms)) {
+                if (existing.add(List.of(id, chunkId))) {
+                    params.add(new MapSqlParameterSource()
+                            .addValue("refId", id)
+                            .addValue("workspaceId", workspaceId)
+                            .addValue("documentId", documentId)
+                            .addValue("chunkId", chunkId));
+                }
+            }
+        }
+        if (params.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO " + table + " (" + idColumn
+                + ", workspace_id, document_id, chunk_id) VALUES (:refId, :workspaceId, :documentId, :chunkId)",
+                params.toArray(SqlParameterSource[]::new));
+        return params.size();
+    }
+
+    private void updateChunkStatuses(List<ChunkTerms> parsedChunks, Map<DocumentChunk, String> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!parsedChunks.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE document_chunks SET ontology_status = 'COMPLETED', "
+                    + "ontology_processed_at = :processedAt, ontology_error_message = NULL WHERE id = :id",
+                    parsedChunks.stream()
+                            .map(chunkTerms -> new MapSqlParameterSource("id", chunkTerms.chunk.getId())
+                                    .addValue("processedAt", Timestamp.valueOf(now)))
+                            .toArray(SqlParameterSource[]::new));
+            for (ChunkTerms chunkTerms : parsedChunks) {
+                chunkTerms.chunk.setOntologyStatus("COMPLETED");
+                chunkTerms.chunk.setOntologyProcessedAt(now);
+                chunkTerms.chunk.setOntologyErrorMessage(null);
+            }
+        }
+        if (!failures.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE document_chunks SET ontology_status = 'FAILED', "
+                    + "ontology_error_message = :errorMessage WHERE id = :id",
+                    failures.entrySet().stream()
+                            .map(failure -> new MapSqlParameterSource("id", failure.getKey().getId())
+                                    .addValue("errorMessage", failure.getValue(), Types.VARCHAR))
+                            .toArray(SqlParameterSource[]::new));
+            failures.forEach((chunk, errorMessage) -> {
+                chunk.setOntologyStatus("FAILED");
+                chunk.setOntologyErrorMessage(errorMessage);
+            });
+        }
+    }
+
+    private static Set<Long> map(Set<Long> resolvedIds, TermBatch batch) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Long resolvedId : resolvedIds) {
+            ids.add(batch.id(resolvedId));
+        }
+        return ids;
+    }
+
+    private static String fallbackKo(String termKo, String termEn) {
+        if (termKo == null || termKo.trim().isEmpty()) {
+            termKo = termEn;
+        }
+        if (termKo == null || termKo.trim().isEmpty()) {
+            termKo = "Unknown";
+        }
+        return termKo;
+    }
+
+    private static String removeSpaces(String str) {
+        return str == null ? "" : str.replaceAll("\\s", "");
+    }
+
+    private static String truncate(String errorMsg) {
+        if (errorMsg != null && errorMsg.length() > 500) {
+            return errorMsg.substring(0, 500);
+        }
+        return errorMsg;
+    }
+
+    private static int countInserted(int[] results) {
+        int inserted = 0;
+        for (int result : results) {
+            // SUCCESS_NO_INFO(-2)는 드라이버가 행 수를 알려주지 않은 경우이므로 저장된 것으로 셈
+            if (result != 0) {
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+
+    private static <T> List<List<T>> slices(List<T> values) {
+        List<List<T>> slices = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += SELECT_SLICE) {
+            slices.add(values.subList(from, Math.min(values.size(), from + SELECT_SLICE)));
+        }
+        return slices;
+    }
+
+    /**
+     * 사전 종류별 테이블/컬럼 이름
+     */
+    private record TermTable(String table, String enColumn, String koColumn, String synonymTable,
+            String synonymIdColumn, String referenceTable, String referenceIdColumn) {
+    }
+
+    private record TripleKey(long subjectId, long relationId, long objectId) {
+    }
+
+    private record Synonym(String synonym, String language) {
+    }
+
+    private record PendingTriple(long subjectId, long relationId, long objectId, OntologyDto dto) {
+    }
+
+    /**
+     * 청크 하나에서 참조할 사전/트리플
+     */
+    private static final class ChunkTerms {
+        private final DocumentChunk chunk;
+        private final Set<Long> objectIds = new LinkedHashSet<>();
+        private final Set<Long> relationIds = new LinkedHashSet<>();
+        private final List<PendingTriple> triples = new ArrayList<>();
+        private final Set<TripleKey> tripleKeys = new LinkedHashSet<>();
+
+        private ChunkTerms(DocumentChunk chunk) {
+            this.chunk = chunk;
+        }
+    }
+
+    /**
+     * 이번 배치에서 새로 저장할 사전 (id: 저장 후 채움)
+     */
+    private static final class NewTerm {
+        private final long tempId;
+        private final String category;
+        private final String termEn;
+        private final String termKo;
+        private final String description;
+        private final List<Synonym> synonyms = new ArrayList<>();
+        private Long id;
+
+        private NewTerm(long tempId, String category, String termEn, String termKo, String description) {
+            this.tempId = tempId;
+            this.category = category;
+            this.termEn = termEn;
+            this.termKo = termKo;
+            this.description = description;
+        }
+    }
+
+    /**
+     * 한 사전 종류(Object 또는 Relation)의 해석 상태
+     *
+     * <p>
+     * 기존 사전은 용어 색인으로, 이번 배치에서 처음 나온 사전은 임시 색인으로 찾으므로
+     * 배치 안에서 같은 용어가 반복돼도 한 번만 저장됩니다.
+     * </p>
+     */
+    private final class TermBatch {
+        private final OntologyTermIndex.Terms known;
+        private final OntologyTermIndex.Terms pending = new OntologyTermIndex.Terms();
+        private final List<NewTerm> created = new ArrayList<>();
+
+        private TermBatch(OntologyTermIndex.Terms known) {
+            this.known = known;
+        }
+
+        /**
+         * @return 기존 사전 ID 또는 신규 사전의 임시 ID (음수)
+         */
+        private long resolve(String rawCategory, String termEn, String termKo, String description) {
+            String category = removeSpaces(rawCategory);
+            Long id = known.resolve(category, termEn, termKo);
+            if (id == null) {
+                id = pending.resolve(category, termEn, termKo);
+            }
+            if (id != null) {
+                return id;
+            }
+
+            // NOT NULL 컬럼은 비어 있으면 Unknown
+            NewTerm term = new NewTerm(-(created.size() + 1L), category,
+                    termEn == null || termEn.trim().isEmpty() ? "Unknown" : termEn,
+                    termKo == null || termKo.trim().isEmpty() ? "Unknown" : termKo,
+                    description);
+            // 띄어쓰기 제거해서 Sym 에 추가
+            String safeEn = removeSpaces(termEn);
+            if (!safeEn.equals(term.termEn)) {
+                term.synonyms.add(new Synonym(safeEn, "en"));
+            }
+            String safeKo = removeSpaces(termKo);
+            if (!safeKo.equals(term.termKo)) {
+                term.synonyms.add(new Synonym(safeKo, "ko"));
+            }
+
+            created.add(term);
+            pending.putTerm(term.tempId, category, term.termEn, term.termKo);
+            for (Synonym synonym : term.synonyms) {
+                pending.putSynonym(term.tempId, category, synonym.synonym());
+            }
+            return term.tempId;
+        }
+
+        private long id(long resolvedId) {
+            return resolvedId < 0 ? created.get((int) (-resolvedId - 1)).id : resolvedId;
+        }
+
+        /**
+         * 신규 사전 저장 후 ID 채움 (동시에 먼저 저장된 같은 용어가 있으면 그 행의 ID)
+         *
+         * @return 실제로 저장된 행 수
+         */
+        private int flush(Long workspaceId, TermTable table) {
+            if (created.isEmpty()) {
+                return 0;
+            }
+
+            int inserted = countInserted(jdbcTemplate.batchUpdate("INSERT INTO " + table.table
+                    + " (workspace_id, category, " + table.enColumn + ", " + table.koColumn
+                    + ", description, status, created_at, updated_at) VALUES (:workspaceId, :category, :termEn, "
+                    + ":termKo, CAST(:description AS text), 'active', LOCALTIMESTAMP, LOCALTIMESTAMP) "
+                    + "ON CONFLICT DO NOTHING",
+                    created.stream()
+                            .sorted(TERM_ORDER)
+                            .map(term -> new MapSqlParameterSource()
+                                    .addValue("workspaceId", workspaceId)
+                                    .addValue("category", term.category)
+                                    .addValue("termEn", term.termEn)
+                                    .addValue("termKo", term.termKo)
+                                    .addValue("description", term.description, Types.VARCHAR))
+                            .toArray(SqlParameterSource[]::new)));
+
+            for (List<NewTerm> slice : slices(created)) {
+                OntologyTermIndex.Terms stored = new OntologyTermIndex.Terms();
+                jdbcTemplate.query("SELECT id, category, " + table.enColumn + ", " + table.koColumn + " FROM "
+                        + table.table + " WHERE workspace_id = :workspaceId AND (" + table.enColumn
+                        + " IN (:termEns) OR " + table.koColumn + " IN (:termKos))",
+                        new MapSqlParameterSource("workspaceId", workspaceId)
+                                .addValue("termEns", slice.stream().map(term -> term.termEn).toList())
+                                .addValue("termKos", slice.stream().map(term -> term.termKo).toList()),
+                        rs -> {
+                            stored.putTerm(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4));
+                        });
+                for (NewTerm term : slice) {
+                    Long id = stored.findByEn(term.category, term.termEn);
+                    term.id = id != null ? id : stored.findByKo(term.category, term.termKo);
+                    if (term.id == null) {
+                        throw new IllegalStateException(table.table + " 저장 후 조회 실패: " + term.termEn);
+                    }
+                }
+            }
+            return inserted;
+        }
+    }
+}
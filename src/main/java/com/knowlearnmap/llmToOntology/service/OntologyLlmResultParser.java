@@ -0,0 +1,176 @@
+package com.knowlearnmap.llmToOntology.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.knowlearnmap.chunkToLlm.dto.LenientItemListDeserializer;
+import com.knowlearnmap.chunkToLlm.dto.LlmChunkResult;
+import com.knowlearnmap.chunkToLlm.dto.LlmChunkResult.KnowlearnItem;
+import com.knowlearnmap.chunkToLlm.dto.LlmChunkResult.ObjectItem;
+import com.knowlearnmap.chunkToLlm.dto.LlmChunkResult.RelationItem;
+import com.knowlearnmap.llmToOntology.domain.OntologyObjectDict;
+import com.knowlearnmap.llmToOntology.domain.OntologyRelationDict;
+import com.knowlearnmap.llmToOntology.dto.OntologyDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * chunk.llm_result JSON → 저장 전 Ontology 항목 변환
+ *
+ * <p>
+ * objects_to_add / relations_to_add / knowlearns_to_add 배열을 읽어 사전·트리플 후보로 만듭니다.
+ * 최상위에 chunks 배열이 있으면 각 원소를 같은 방식으로 읽습니다. DB에는 접근하지 않으므로
+ * 청크별 저장 경로와 일괄 저장 경로가 같은 결과를 사용합니다.
+ * </p>
+ *
+ * <p>
+ * 저장 형태는 LLM 단계가 쓴 {@link LlmChunkResult}와 같으므로 JSON 트리를 만들지 않고 같은 타입으로 바로 바인딩합니다.
+ * 잘못된 항목을 건너뛰는 규칙({@link LenientItemListDeserializer})도 LLM 단계와 공유합니다.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class OntologyLlmResultParser {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 한 청크에서 추출된 항목 (JSON 순서 유지)
+     */
+    public record ParsedOntology(List<OntologyObjectDict> objects, List<OntologyRelationDict> relations,
+            List<OntologyDto> knowlearns) {
+    }
+
+    /**
+     * 배치 결과 형태 ({"chunks": [...]}) 또는 단일 청크 결과
+     */
+    @Getter
+    @Setter
+    static class StoredLlmResult extends LlmChunkResult {
+        @JsonDeserialize(using = LenientItemListDeserializer.class)
+        private List<LlmChunkResult> chunks;
+    }
+
+    /**
+     * @throws JsonProcessingException JSON 문법 오류
+     */
+    public ParsedOntology parse(String llmResult) throws JsonProcessingException {
+        if (llmResult == null) {
+            throw new IllegalStateException("llm_result가 비어 있습니다.");
+        }
+        StoredLlmResult root;
+        try (JsonParser parser = objectMapper.createParser(llmResult)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("llm_result 최상위가 JSON 객체가 아닙니다.");
+            }
+            root = objectMapper.readValue(parser, StoredLlmResult.class);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            // 문자열 입력이므로 실제 I/O 오류는 없음
+            throw new IllegalStateException(e);
+        }
+
+        ParsedOntology parsed = new ParsedOntology(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        if (root.getChunks() != null) {
+            for (LlmChunkResult chunk : root.getChunks()) {
+                addChunk(chunk, parsed);
+            }
+        } else {
+            // 단일 객체인 경우 (구조에 따라 다름)
+            addChunk(root, parsed);
+        }
+        return parsed;
+    }
+
+    private void addChunk(LlmChunkResult chunk, ParsedOntology parsed) {
+        // 1. Objects
+        for (ObjectItem item : nullToEmpty(chunk.getObjectsToAdd())) {
+            parsed.objects().add(toObjectDict(item));
+        }
+
+        // 2. Relations
+        for (RelationItem item : nullToEmpty(chunk.getRelationsToAdd())) {
+            parsed.relations().add(toRelationDict(item));
+        }
+
+        // 3. Knowlearns (Triples)
+        for (KnowlearnItem item : nullToEmpty(chunk.getKnowlearnsToAdd())) {
+            parsed.knowlearns().add(toKnowlearn(item));
+        }
+    }
+
+    private OntologyObjectDict toObjectDict(ObjectItem item) {
+        OntologyObjectDict dict = new OntologyObjectDict();
+        dict.setCategory(item.getCategory());
+
+        String termEn = item.getTermEn();
+        String termKo = item.getTermKo();
+
+        // Fallback logic for term_ko
+        if (termKo == null || termKo.trim().isEmpty()) {
+            termKo = termEn;
+        }
+        if (termKo == null || termKo.trim().isEmpty()) {
+            termKo = "Unknown";
+        }
+
+        dict.setTermEn(termEn);
+        dict.setTermKo(termKo);
+        dict.setDescription(item.getDescriptionKo());
+        return dict;
+    }
+
+    private OntologyRelationDict toRelationDict(RelationItem item) {
+        OntologyRelationDict dict = new OntologyRelationDict();
+        dict.setCategory(item.getCategory());
+
+        String relationEn = item.getRelationEn();
+        String relationKo = item.getRelationKo();
+
+        // Fallback logic for relation_ko
+        if (relationKo == null || relationKo.trim().isEmpty()) {
+            relationKo = relationEn;
+        }
+        if (relationKo == null || relationKo.trim().isEmpty()) {
+            relationKo = "Unknown";
+        }
+
+        dict.setRelationEn(relationEn);
+        dict.setRelationKo(relationKo);
+        dict.setDescription(item.getDescriptionKo());
+        return dict;
+    }
+
+    private OntologyDto toKnowlearn(KnowlearnItem item) {
+        OntologyDto dto = new OntologyDto();
+        dto.setSubjectCategory(item.getSubjectCategory());
+        dto.setSubjectTermEn(item.getSubjectTermEn());
+        dto.setSubjectTermKo(item.getSubjectTermKo());
+
+        dto.setRelationCategory(item.getRelationCategory());
+        dto.setRelationEn(item.getRelationEn());
+        dto.setRelationKo(item.getRelationKo());
+
+        dto.setObjectCategory(item.getObjectCategory());
+        dto.setObjectTermEn(item.getObjectTermEn());
+        dto.setObjectTermKo(item.getObjectTermKo());
+
+        // 숫자가 아닌 값은 바인딩 시 0으로 변환됨 (KnowlearnItem.setConfidenceScore)
+        dto.setConfidenceScore(item.getConfidenceScore());
+        dto.setEvidenceLevel(item.getEvidenceLevel());
+        return dto;
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> items) {
+        return items == null ? List.of() : items;
+    }
+}
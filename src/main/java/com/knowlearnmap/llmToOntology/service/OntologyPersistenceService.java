@@ -18,6 +18,12 @@ import java.util.Optional;
  * Ontology 관련 엔티티들의 저장 및 조회를 담당합니다.
  * 정규화된 테이블 구조(Reference Tables)를 사용하여 Document 및 Chunk 참조를 관리합니다.
  * </p>
+ *
+ * <p>
+ * 사전/트리플 신규 저장은 INSERT ... ON CONFLICT DO NOTHING 후 재조회합니다.
+ * 같은 (workspace, category, 용어)를 동시에 저장할 때만 DB 행 단위로 대기하므로
+ * 다른 워크스페이스나 다른 용어의 Ontology 추출은 병렬로 진행됩니다 (여러 인스턴스 간에도 동일).
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
@@ -45,6 +51,7 @@ public class OntologyPersistenceService {
     private final OntologyRelationSynonymsRepository relationSynonymsRepository;
 
     private final OntologySynonymService synonymService;
+    private final OntologyTermIndex termIndex;
 
     public String SpaceRemover(String str) {
         if (str == null)
@@ -52,14 +59,11 @@ public class OntologyPersistenceService {
         return str.replaceAll("\\s", "");
     }
 
-    /**
-     * Object Dictionary 저장 또는 조회
-     */
     /**
      * Object Dictionary 저장 또는 조회
      */
     @Transactional
-    public synchronized OntologyObjectDict findAndSaveObjectDict(Long workspaceId, DocumentChunk chunk,
+    public OntologyObjectDict findAndSaveObjectDict(Long workspaceId, DocumentChunk chunk,
             OntologyObjectDict dict) {
         Long docId = chunk.getDocument().getId();
         Long chunkId = chunk.getId();
@@ -71,7 +75,7 @@ public class OntologyPersistenceService {
                 dict.getTermKo());
 
         if (foundDict != null) {
-            saveObjectReference(foundDict, docId, chunkId);
+            saveObjectReference(foundDict, workspaceId, docId, chunkId);
             return foundDict;
         }
 
@@ -87,8 +91,9 @@ public class OntologyPersistenceService {
             dict.setTermKo(termKo.isEmpty() ? "Unknown" : termKo);
         }
 
-        OntologyObjectDict newDict = objectDictRepository.save(dict);
-        saveObjectReference(newDict, docId, chunkId);
+        OntologyObjectDict newDict = insertObjectDict(workspaceId, category, dict);
+        termIndex.registerObject(workspaceId, newDict.getId(), category, newDict.getTermEn(), newDict.getTermKo());
+        saveObjectReference(newDict, workspaceId, docId, chunkId);
 
         // 띄어쓰기 제거해서 Sym 에 추가
         synonymService.saveObjectSynonymIfNecessary(workspaceId, category, newDict.getId(), dict.getTermEn(),
@@ -99,7 +104,24 @@ public class OntologyPersistenceService {
         return newDict;
     }
 
+    /**
+     * 신규 저장 (동시에 먼저 저장된 같은 용어가 있으면 그 행을 반환)
+     */
+    private OntologyObjectDict insertObjectDict(Long workspaceId, String category, OntologyObjectDict dict) {
+        objectDictRepository.insertIfAbsent(workspaceId, category, dict.getTermEn(), dict.getTermKo(),
+                dict.getDescription());
+        return objectDictRepository.findByWorkspaceIdAndCategoryAndTermEn(workspaceId, category, dict.getTermEn())
+                .or(() -> objectDictRepository.findByWorkspaceIdAndCategoryAndTermKo(workspaceId, category,
+                        dict.getTermKo()))
+                .orElseThrow(() -> new IllegalStateException("Object Dictionary 저장 후 조회 실패: " + dict.getTermEn()));
+    }
+
     private OntologyObjectDict findExistingObjectDict(Long workspaceId, String category, String termEn, String termKo) {
+        if (termIndex.isEnabled()) {
+            Long id = termIndex.objects(workspaceId).resolve(category, termEn, termKo);
+            return id == null ? null : objectDictRepository.getReferenceById(id);
+        }
+
         // 1. TermEn Search
         Optional<OntologyObjectDict> existing = objectDictRepository
                 .findByWorkspaceIdAndCategoryAndTermEn(workspaceId, category, termEn);
@@ -153,7 +175,7 @@ public class OntologyPersistenceService {
         return null;
     }
 
-    private void saveObjectReference(OntologyObjectDict dict, Long docId, Long chunkId) {
+    private void saveObjectReference(OntologyObjectDict dict, Long workspaceId, Long docId, Long chunkId) {
         // Check for duplicate reference to avoid unique constraint violations if we had
         // one
         // Ideally we should just save. If index exists, use ignore or check.
@@ -161,7 +183,7 @@ public class OntologyPersistenceService {
         if (!objectReferenceRepository.existsByOntologyObjectDictAndDocumentIdAndChunkId(dict, docId, chunkId)) {
             OntologyObjectReference ref = OntologyObjectReference.builder()
                     .ontologyObjectDict(dict)
-                    .workspaceId(dict.getWorkspaceId())
+                    .workspaceId(workspaceId)
                     .documentId(docId)
                     .chunkId(chunkId)
                     .build();
@@ -169,14 +191,11 @@ public class OntologyPersistenceService {
         }
     }
 
-    /**
-     * Relation Dictionary 저장 또는 조회
-     */
     /**
      * Relation Dictionary 저장 또는 조회
      */
     @Transactional
-    public synchronized OntologyRelationDict findAndSaveRelationDict(Long workspaceId, DocumentChunk chunk,
+    public OntologyRelationDict findAndSaveRelationDict(Long workspaceId, DocumentChunk chunk,
             OntologyRelationDict dict) {
         Long docId = chunk.getDocument().getId();
         Long chunkId = chunk.getId();
@@ -188,7 +207,7 @@ public class OntologyPersistenceService {
                 dict.getRelationKo());
 
         if (foundDict != null) {
-            saveRelationReference(foundDict, docId, chunkId);
+            saveRelationReference(foundDict, workspaceId, docId, chunkId);
             return foundDict;
         }
 
@@ -204,8 +223,10 @@ public class OntologyPersistenceService {
             dict.setRelationKo(relationKo.isEmpty() ? "Unknown" : relationKo);
         }
 
-        OntologyRelationDict newDict = relationDictRepository.save(dict);
-        saveRelationReference(newDict, docId, chunkId);
+        OntologyRelationDict newDict = insertRelationDict(workspaceId, category, dict);
+        termIndex.registerRelation(workspaceId, newDict.getId(), category, newDict.getRelationEn(),
+                newDict.getRelationKo());
+        saveRelationReference(newDict, workspaceId, docId, chunkId);
 
         // 띠어쓰기 제거해서 Sym 에 추가
         synonymService.saveRelationSynonymIfNecessary(workspaceId, category, newDict.getId(), dict.getRelationEn(),
@@ -216,8 +237,24 @@ public class OntologyPersistenceService {
         return newDict;
     }
 
+    private OntologyRelationDict insertRelationDict(Long workspaceId, String category, OntologyRelationDict dict) {
+        relationDictRepository.insertIfAbsent(workspaceId, category, dict.getRelationEn(), dict.getRelationKo(),
+                dict.getDescription());
+        return relationDictRepository
+                .findByWorkspaceIdAndCategoryAndRelationEn(workspaceId, category, dict.getRelationEn())
+                .or(() -> relationDictRepository.findByWorkspaceIdAndCategoryAndRelationKo(workspaceId, category,
+                        dict.getRelationKo()))
+                .orElseThrow(() -> new IllegalStateException(
+                        "Relation Dictionary 저장 후 조회 실패: " + dict.getRelationEn()));
+    }
+
     private OntologyRelationDict findExistingRelationDict(Long workspaceId, String category, String relationEn,
             String relationKo) {
+        if (termIndex.isEnabled()) {
+            Long id = termIndex.relations(workspaceId).resolve(category, relationEn, relationKo);
+            return id == null ? null : relationDictRepository.getReferenceById(id);
+        }
+
         // Similar Logic to ObjectDict but for Relations
         Optional<OntologyRelationDict> existing = relationDictRepository
                 .findByWorkspaceIdAndCategoryAndRelationEn(workspaceId, category, relationEn);
@@ -271,11 +308,11 @@ public class OntologyPersistenceService {
         return null;
     }
 
-    private void saveRelationReference(OntologyRelationDict dict, Long docId, Long chunkId) {
+    private void saveRelationReference(OntologyRelationDict dict, Long workspaceId, Long docId, Long chunkId) {
         if (!relationReferenceRepository.existsByOntologyRelationDictAndDocumentIdAndChunkId(dict, docId, chunkId)) {
             OntologyRelationReference ref = OntologyRelationReference.builder()
                     .ontologyRelationDict(dict)
-                    .workspaceId(dict.getWorkspaceId())
+                    .workspaceId(workspaceId)
                     .documentId(docId)
                     .chunkId(chunkId)
                     .build();
@@ -283,14 +320,11 @@ public class OntologyPersistenceService {
         }
     }
 
-    /**
-     * Knowlearn Type (Triple) 저장
-     */
     /**
      * Knowlearn Type (Triple) 저장
      */
     @Transactional
-    public synchronized void findAndSaveKnowlearnType(Long workspaceId, DocumentChunk chunk, OntologyDto dto) {
+    public void findAndSaveKnowlearnType(Long workspaceId, DocumentChunk chunk, OntologyDto dto) {
         try {
             // 1. Subject 처리
             OntologyObjectDict subjectDict = new OntologyObjectDict();
@@ -331,26 +365,21 @@ public class OntologyPersistenceService {
             relationDict.setRelationKo(dto.getRelationKo());
             relationDict = findAndSaveRelationDict(workspaceId, chunk, relationDict);
 
-            // 4. Triple 저장
+            // 4. Triple 저장 (이미 있으면 기존 score/evidence 유지)
             Optional<OntologyKnowlearnType> existing = knowlearnTypeRepository
                     .findByWorkspaceIdAndSubjectIdAndRelationIdAndObjectId(
                             workspaceId, subjectDict.getId(), relationDict.getId(), objectDict.getId());
 
             OntologyKnowlearnType triple;
             if (existing.isEmpty()) {
-                triple = OntologyKnowlearnType.builder()
-                        .workspaceId(workspaceId)
-                        .subjectId(subjectDict.getId())
-                        .relationId(relationDict.getId())
-                        .objectId(objectDict.getId())
-                        .confidenceScore(dto.getConfidenceScore())
-                        .evidenceLevel(dto.getEvidenceLevel())
-                        .build();
-
-                triple = knowlearnTypeRepository.save(triple);
+                knowlearnTypeRepository.insertIfAbsent(workspaceId, subjectDict.getId(), relationDict.getId(),
+                        objectDict.getId(), dto.getConfidenceScore(), dto.getEvidenceLevel());
+                triple = knowlearnTypeRepository
+                        .findByWorkspaceIdAndSubjectIdAndRelationIdAndObjectId(
+                                workspaceId, subjectDict.getId(), relationDict.getId(), objectDict.getId())
+                        .orElseThrow(() -> new IllegalStateException("Triple 저장 후 조회 실패"));
             } else {
                 triple = existing.get();
-                // Update score/evidence if needed? For now we just keep existing.
             }
 
             saveKnowlearnReference(triple, chunk.getDocument().getId(), chunk.getId());
@@ -407,5 +436,8 @@ public class OntologyPersistenceService {
         // Must delete Synonyms first
         relationDictRepository.deleteOrphanSynonyms();
         relationDictRepository.deleteOrphans();
+
+        // 고아 정리는 워크스페이스 구분 없이 삭제하므로 전체 색인 무효화
+        termIndex.evictAll();
     }
 }
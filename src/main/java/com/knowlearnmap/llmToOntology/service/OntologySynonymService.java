@@ -1,13 +1,10 @@
 package com.knowlearnmap.llmToOntology.service;
 
-import com.knowlearnmap.llmToOntology.domain.OntologyObjectSynonyms;
 import com.knowlearnmap.llmToOntology.domain.OntologyObjectSynonymsRepository;
-import com.knowlearnmap.llmToOntology.domain.OntologyRelationSynonyms;
 import com.knowlearnmap.llmToOntology.domain.OntologyRelationSynonymsRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -17,46 +14,30 @@ public class OntologySynonymService {
 
     private final OntologyObjectSynonymsRepository objectSynonymsRepository;
     private final OntologyRelationSynonymsRepository relationSynonymsRepository;
+    private final OntologyTermIndex termIndex;
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    /**
+     * 정규화(공백 제거)된 용어가 원문과 다르면 동의어로 저장
+     * 중복은 INSERT ... ON CONFLICT DO NOTHING으로 무시하므로 호출 측 트랜잭션에 그대로 참여
+     */
+    @Transactional
     public void saveObjectSynonymIfNecessary(Long workspaceId, String category, Long objectId, String originalTerm,
             String normalizedTerm, String language) {
         if (originalTerm != null && !normalizedTerm.equals(originalTerm)) {
-            try {
-                if (objectSynonymsRepository
-                        .findByWorkspaceIdAndCategoryAndSynonym(workspaceId, category, normalizedTerm).isEmpty()) {
-                    OntologyObjectSynonyms sym = new OntologyObjectSynonyms();
-                    sym.setWorkspaceId(workspaceId);
-                    sym.setCategory(category);
-                    sym.setSynonym(normalizedTerm);
-                    sym.setObjectId(objectId);
-                    sym.setLanguage(language);
-                    objectSynonymsRepository.save(sym);
-                }
-            } catch (Exception e) {
-                // 중복 저장 등 실패하더라도 전체 로직에는 영향 주지 않음 (로그만 기록)
-                log.warn("Object Synonym 저장 실패 (무시됨): {} - {}", normalizedTerm, e.getMessage());
+            if (objectSynonymsRepository.insertIfAbsent(workspaceId, category, normalizedTerm, objectId,
+                    language) > 0) {
+                termIndex.registerObjectSynonym(workspaceId, objectId, category, normalizedTerm);
             }
         }
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     public void saveRelationSynonymIfNecessary(Long workspaceId, String category, Long relationId, String originalTerm,
             String normalizedTerm, String language) {
         if (originalTerm != null && !normalizedTerm.equals(originalTerm)) {
-            try {
-                if (relationSynonymsRepository
-                        .findByWorkspaceIdAndCategoryAndSynonym(workspaceId, category, normalizedTerm).isEmpty()) {
-                    OntologyRelationSynonyms sym = new OntologyRelationSynonyms();
-                    sym.setWorkspaceId(workspaceId);
-                    sym.setCategory(category);
-                    sym.setSynonym(normalizedTerm);
-                    sym.setRelationId(relationId);
-                    sym.setLanguage(language);
-                    relationSynonymsRepository.save(sym);
-                }
-            } catch (Exception e) {
-                log.warn("Relation Synonym 저장 실패 (무시됨): {} - {}", normalizedTerm, e.getMessage());
+            if (relationSynonymsRepository.insertIfAbsent(workspaceId, category, normalizedTerm, relationId,
+                    language) > 0) {
+                termIndex.registerRelationSynonym(workspaceId, relationId, category, normalizedTerm);
             }
         }
     }
@@ -0,0 +1,256 @@
+package com.knowlearnmap.llmToOntology.service;
+
+import com.knowlearnmap.llmToOntology.domain.OntologyObjectDictRepository;
+import com.knowlearnmap.llmToOntology.domain.OntologyObjectSynonymsRepository;
+import com.knowlearnmap.llmToOntology.domain.OntologyRelationDictRepository;
+import com.knowlearnmap.llmToOntology.domain.OntologyRelationSynonymsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 워크스페이스별 Ontology 용어 색인 (용어/동의어 → Object·Relation Dictionary ID)
+ *
+ * <ul>
+ * <li>적재: 워크스페이스의 첫 조회 시 사전/동의어 테이블에서 (id, category, 용어)만 한 번 읽음.
+ * 이후 용어 해석은 DB 조회 없이 메모리 조회</li>
+ * <li>갱신: 새 사전/동의어는 저장 트랜잭션 커밋 후 등록 (롤백된 ID는 들어가지 않음)</li>
+ * <li>무효화: 사전 편집/병합/삭제, 문서 삭제에 따른 고아 정리 시 커밋 후 evict,
+ * app.ontology.term-index.idle-ttl-ms 동안 사용되지 않은 워크스페이스도 evict</li>
+ * <li>다른 인스턴스에서 추가된 용어는 색인에 없으므로 신규 저장 경로(ON CONFLICT 후 재조회)로 처리됨</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class OntologyTermIndex {
+
+    /**
+     * 용어 종류 하나(Object 또는 Relation)의 조회 맵 (키: category + '\0' + 용어)
+     */
+    public static final class Terms {
+        private final Map<String, Long> byEn = new ConcurrentHashMap<>();
+        private final Map<String, Long> byKo = new ConcurrentHashMap<>();
+        private final Map<String, Long> bySynonym = new ConcurrentHashMap<>();
+
+        public Long findByEn(String category, String term) {
+            return term == null ? null : byEn.get(key(category, term));
+        }
+
+        public Long findByKo(String category, String term) {
+            return term == null ? null : byKo.get(key(category, term));
+        }
+
+        public Long findBySynonym(String category, String synonym) {
+            return synonym == null ? null : bySynonym.get(key(category, synonym));
+        }
+
+        /**
+         * 기존 사전 ID 조회 (DB 조회와 같은 순서: 영문 → 영문 동의어 → 공백 제거 영문 →
+         * 한글 → 한글 동의어 → 공백 제거 한글)
+         */
+        public Long resolve(String category, String termEn, String termKo) {
+            Long id = findTermOrSynonym(category, termEn, true);
+            return id != null ? id : findTermOrSynonym(category, termKo, false);
+        }
+
+        private Long findTermOrSynonym(String category, String term, boolean english) {
+            Long id = english ? findByEn(category, term) : findByKo(category, term);
+            if (id == null) {
+                id = findBySynonym(category, term);
+            }
+            String safeTerm = term == null ? "" : term.replaceAll("\\s", "");
+            if (id == null && !safeTerm.equals(term)) {
+                id = english ? findByEn(category, safeTerm) : findByKo(category, safeTerm);
+                if (id == null) {
+                    id = findBySynonym(category, safeTerm);
+                }
+            }
+            return id;
+        }
+
+        void putTerm(Long id, String category, String en, String ko) {
+            if (en != null) {
+                byEn.putIfAbsent(key(category, en), id);
+            }
+            if (ko != null) {
+                byKo.putIfAbsent(key(category, ko), id);
+            }
+        }
+
+        void putSynonym(Long id, String category, String synonym) {
+            if (synonym != null) {
+                bySynonym.putIfAbsent(key(category, synonym), id);
+            }
+        }
+
+        private int size() {
+            return byEn.size() + bySynonym.size();
+        }
+
+        private static String key(String category, String term) {
+            return (category == null ? "" : category) + '\u0000' + term;
+        }
+    }
+
+    private final class WorkspaceTerms {
+        private final Long workspaceId;
+        private final Terms objects = new Terms();
+        private final Terms relations = new Terms();
+        private volatile boolean loaded;
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        private WorkspaceTerms(Long workspaceId) {
+            this.workspaceId = workspaceId;
+        }
+
+        private WorkspaceTerms ensureLoaded() {
+            lastAccessNanos = System.nanoTime();
+            if (!loaded) {
+                synchronized (this) {
+                    if (!loaded) {
+                        load();
+                        loaded = true;
+                    }
+                }
+            }
+            return this;
+        }
+
+        private void load() {
+            long start = System.currentTimeMillis();
+            for (Object[] row : objectDictRepository.findTermsByWorkspaceId(workspaceId)) {
+                objects.putTerm((Long) row[0], (String) row[1], (String) row[2], (String) row[3]);
+            }
+            for (Object[] row : objectSynonymsRepository.findTermsByWorkspaceId(workspaceId)) {
+                objects.putSynonym((Long) row[0], (String) row[1], (String) row[2]);
+            }
+            for (Object[] row : relationDictRepository.findTermsByWorkspaceId(workspaceId)) {
+                relations.putTerm((Long) row[0], (String) row[1], (String) row[2], (String) row[3]);
+            }
+            for (Object[] row : relationSynonymsRepository.findTermsByWorkspaceId(workspaceId)) {
+                relations.putSynonym((Long) row[0], (String) row[1], (String) row[2]);
+            }
+            log.info("Ontology 용어 색인 적재: workspaceId={}, objects={}, relations={} ({}ms)", workspaceId,
+                    objects.size(), relations.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    private final OntologyObjectDictRepository objectDictRepository;
+    private final OntologyRelationDictRepository relationDictRepository;
+    private final OntologyObjectSynonymsRepository objectSynonymsRepository;
+    private final OntologyRelationSynonymsRepository relationSynonymsRepository;
+
+    private final Map<Long, WorkspaceTerms> workspaces = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long idleTtlNanos;
+
+    public OntologyTermIndex(OntologyObjectDictRepository objectDictRepository,
+            OntologyRelationDictRepository relationDictRepository,
+            OntologyObjectSynonymsRepository objectSynonymsRepository,
+            OntologyRelationSynonymsRepository relationSynonymsRepository,
+            @Value("${app.ontology.term-index.enabled:true}") boolean enabled,
+            @Value("${app.ontology.term-index.idle-ttl-ms:600000}") long idleTtlMs) {
+        this.objectDictRepository = objectDictRepository;
+        this.relationDictRepository = relationDictRepository;
+        this.objectSynonymsRepository = objectSynonymsRepository;
+        this.relationSynonymsRepository = relationSynonymsRepository;
+        this.enabled = enabled;
+        this.idleTtlNanos = Duration.ofMillis(idleTtlMs).toNanos();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Object 용어 조회 맵 (필요 시 적재)
+     */
+    public Terms objects(Long workspaceId) {
+        return workspace(workspaceId).objects;
+    }
+
+    /**
+     * Relation 용어 조회 맵 (필요 시 적재)
+     */
+    public Terms relations(Long workspaceId) {
+        return workspace(workspaceId).relations;
+    }
+
+    public void registerObject(Long workspaceId, Long id, String category, String termEn, String termKo) {
+        afterCommit(workspaceId, terms -> terms.objects.putTerm(id, category, termEn, termKo));
+    }
+
+    public void registerObjectSynonym(Long workspaceId, Long id, String category, String synonym) {
+        afterCommit(workspaceId, terms -> terms.objects.putSynonym(id, category, synonym));
+    }
+
+    public void registerRelation(Long workspaceId, Long id, String category, String relationEn, String relationKo) {
+        afterCommit(workspaceId, terms -> terms.relations.putTerm(id, category, relationEn, relationKo));
+    }
+
+    public void registerRelationSynonym(Long workspaceId, Long id, String category, String synonym) {
+        afterCommit(workspaceId, terms -> terms.relations.putSynonym(id, category, synonym));
+    }
+
+    /**
+     * 워크스페이스 색인 제거 (트랜잭션 안이면 커밋 후 한 번 더 제거)
+     */
+    public void evict(Long workspaceId) {
+        workspaces.remove(workspaceId);
+        runAfterCommit(() -> workspaces.remove(workspaceId));
+    }
+
+    public void evictAll() {
+        workspaces.clear();
+        runAfterCommit(workspaces::clear);
+    }
+
+    @Scheduled(fixedDelayString = "${app.ontology.term-index.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        workspaces.values().removeIf(terms -> {
+            boolean idle = now - terms.lastAccessNanos > idleTtlNanos;
+            if (idle) {
+                log.debug("유휴 Ontology 용어 색인 제거: workspaceId={}", terms.workspaceId);
+            }
+            return idle;
+        });
+    }
+
+    private WorkspaceTerms workspace(Long workspaceId) {
+        return workspaces.computeIfAbsent(workspaceId, WorkspaceTerms::new).ensureLoaded();
+    }
+
+    /**
+     * 커밋 후 이미 적재된 색인에만 반영 (적재 전이면 이후 적재 시 DB에서 읽힘)
+     */
+    private void afterCommit(Long workspaceId, Consumer<WorkspaceTerms> update) {
+        runAfterCommit(() -> {
+            WorkspaceTerms terms = workspaces.get(workspaceId);
+            if (terms != null) {
+                update.accept(terms);
+            }
+        });
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import okhttp3.*;
 import org.springframework.beans.factory.annotation.Value;
 import java.io.IOException;
 
+import com.knowlearnmap.common.util.VectorCodec;
 import com.knowlearnmap.llmToOntology.domain.*;
 import com.knowlearnmap.workspace.domain.WorkspaceEntity;
 import com.knowlearnmap.workspace.repository.WorkspaceRepository;
@@ -408,7 +409,7 @@ public class OntologyToArangoService {
             }
 
             // 2. Generate all embeddings in one API call (FAST!)
-            List<List<Double>> embeddings = null;
+            List<float[]> embeddings = null;
             try {
                 embeddings = embeddingService.embedBatch(textsToEmbed);
                 log.debug("Generated {} embeddings for ObjectNodes batch", embeddings.size());
@@ -452,7 +453,7 @@ public class OntologyToArangoService {
 
                 // Add embedding from batch result
                 if (embeddings != null && i < embeddings.size()) {
-                    List<Double> vector = embeddings.get(i);
+                    float[] vector = embeddings.get(i);
                     if (isValidVector(vector)) {
                         doc.put("embedding_vector", vector);
                     }
@@ -580,7 +581,7 @@ public class OntologyToArangoService {
             }
 
             // 2. Generate all embeddings in one API call (FAST!)
-            List<List<Double>> embeddings = null;
+            List<float[]> embeddings = null;
             try {
                 if (!sentencesToEmbed.isEmpty()) {
                     embeddings = embeddingService.embedBatch(sentencesToEmbed);
@@ -652,7 +653,7 @@ public class OntologyToArangoService {
 
                     // Add embedding from batch result
                     if (validSentences.get(i) && embeddings != null && embeddingIndex < embeddings.size()) {
-                        List<Double> vector = embeddings.get(embeddingIndex);
+                        float[] vector = embeddings.get(embeddingIndex);
                         if (isValidVector(vector)) {
                             edge.put("embedding_vector", vector);
                         }
@@ -719,13 +720,7 @@ public class OntologyToArangoService {
                 .collect(Collectors.toList());
     }
 
-    private boolean isValidVector(List<Double> vector) {
-        if (vector == null || vector.isEmpty())
-            return false;
-        for (Double d : vector) {
-            if (d == null || d.isNaN() || d.isInfinite())
-                return false;
-        }
-        return true;
+    private boolean isValidVector(float[] vector) {
+        return VectorCodec.isValid(vector);
     }
 }
@@ -0,0 +1,38 @@
+package com.knowlearnmap.pipeline.chunking;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * What {@link ChunkReuseService} copied from identical chunks of other documents.
+ *
+ * @param chunks           chunks examined
+ * @param duplicates       chunks whose content matched a chunk of another document
+ * @param llmResultsReused chunks that took over a COMPLETED LLM result
+ * @param embeddingsReused chunks that took over an embedding
+ * @param tokensSaved      estimated provider tokens not spent (LLM input + output, embedding input)
+ */
+public record ChunkReuseReport(int chunks, int duplicates, int llmResultsReused, int embeddingsReused,
+        long tokensSaved) {
+
+    public static final ChunkReuseReport EMPTY = new ChunkReuseReport(0, 0, 0, 0, 0);
+
+    public ChunkReuseReport plus(ChunkReuseReport other) {
+        return new ChunkReuseReport(chunks + other.chunks, duplicates + other.duplicates,
+                llmResultsReused + other.llmResultsReused, embeddingsReused + other.embeddingsReused,
+                tokensSaved + other.tokensSaved);
+    }
+
+    /**
+     * Form stored in the pipeline context metadata ({@code chunk_reuse}).
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("chunks", chunks);
+        map.put("duplicates", duplicates);
+        map.put("llmResultsReused", llmResultsReused);
+        map.put("embeddingsReused", embeddingsReused);
+        map.put("estimatedTokensSaved", tokensSaved);
+        return map;
+    }
+}
@@ -0,0 +1,146 @@
+package com.knowlearnmap.pipeline.chunking;
+
+import com.knowlearnmap.ai.service.TokenEstimator;
+import com.knowlearnmap.document.domain.DocumentChunk;
+import com.knowlearnmap.document.repository.DocumentChunkRepository;
+import com.knowlearnmap.search.index.ChunkVectorStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reuses the work already done for identical chunks.
+ *
+ * <p>
+ * Freshly saved chunks are matched by {@code contentHash} against chunks of
+ * the other active documents of the same workspace. A match hands over its
+ * COMPLETED {@code llmResult} and its embedding, so LLM_PROCESSING and
+ * VECTORIZE skip the chunk instead of calling a provider. Ontology references
+ * are not copied: ONTOLOGY rebuilds them from the reused {@code llmResult}
+ * without a provider call.
+ * </p>
+ *
+ * <p>
+ * Matching stays inside one workspace because the prompt used for a chunk
+ * depends on the workspace domain. Enabled with
+ * {@code pipeline.chunk-reuse.enabled} (default true).
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChunkReuseService {
+
+    private final DocumentChunkRepository documentChunkRepository;
+    private final ChunkVectorStore chunkVectorStore;
+
+    @Value("${pipeline.chunk-reuse.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Copies LLM results and embeddings from identical chunks onto {@code chunks}
+     * (both in the database and on the given instances).
+     *
+     * @param chunks saved chunks of {@code documentId}
+     */
+    @Transactional
+    public ChunkReuseReport reuse(Long workspaceId, Long documentId, List<DocumentChunk> chunks) {
+        if (!enabled || chunks.isEmpty()) {
+            return new ChunkReuseReport(chunks.size(), 0, 0, 0, 0);
+        }
+
+        Set<String> hashes = chunks.stream()
+                .map(DocumentChunk::getContentHash)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (hashes.isEmpty()) {
+            return new ChunkReuseReport(chunks.size(), 0, 0, 0, 0);
+        }
+
+        Map<String, Donor> donors = new HashMap<>();
+        for (DocumentChunk candidate : documentChunkRepository.findReusableByContentHashes(workspaceId, documentId,
+                hashes)) {
+            donors.computeIfAbsent(candidate.getContentHash(), h -> new Donor()).offer(candidate);
+        }
+        if (donors.isEmpty()) {
+            return new ChunkReuseReport(chunks.size(), 0, 0, 0, 0);
+        }
+
+        int duplicates = 0;
+        int llmReused = 0;
+        int embeddingsReused = 0;
+        long tokensSaved = 0;
+        List<DocumentChunk> embedded = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (DocumentChunk chunk : chunks) {
+            Donor donor = donors.get(chunk.getContentHash());
+            if (donor == null) {
+                continue;
+            }
+            duplicates++;
+            int contentTokens = TokenEstimator.estimate(chunk.getContent());
+
+            if (donor.llm != null && !"COMPLETED".equals(chunk.getLlmStatus())) {
+                String llmResult = donor.llm.getLlmResult();
+                documentChunkRepository.updateReusedLlmResult(chunk.getId(), llmResult, now);
+                chunk.setLlmResult(llmResult);
+                chunk.setLlmStatus("COMPLETED");
+                chunk.setLlmProcessedAt(now);
+                chunk.setLlmErrorMessage(null);
+                llmReused++;
+                tokensSaved += contentTokens + TokenEstimator.estimate(llmResult);
+            }
+
+            if (donor.embedding != null && chunk.getEmbedding() == null) {
+                float[] vector = donor.embedding.getEmbedding();
+                documentChunkRepository.updateEmbedding(chunk.getId(), vector, chunk.getContentHash());
+                chunk.setEmbedding(vector);
+                chunk.setEmbeddingContentHash(chunk.getContentHash());
+                embedded.add(chunk);
+                embeddingsReused++;
+                tokensSaved += contentTokens;
+            }
+        }
+
+        // VECTORIZE skips chunks that already carry a current embedding, so index them here
+        if (!embedded.isEmpty()) {
+            chunkVectorStore.addChunks(workspaceId, embedded);
+        }
+
+        ChunkReuseReport report = new ChunkReuseReport(chunks.size(), duplicates, llmReused, embeddingsReused,
+                tokensSaved);
+        log.info("Chunk reuse for document={}: {}", documentId, report);
+        return report;
+    }
+
+    /**
+     * Best source per content hash: any COMPLETED LLM result, and an embedding
+     * whose hash still matches the content it was computed from.
+     */
+    private static final class Donor {
+        private DocumentChunk llm;
+        private DocumentChunk embedding;
+
+        private void offer(DocumentChunk candidate) {
+            if (llm == null && "COMPLETED".equals(candidate.getLlmStatus()) && candidate.getLlmResult() != null) {
+                llm = candidate;
+            }
+            if (embedding == null && candidate.getEmbedding() != null && candidate.getEmbedding().length > 0
+                    && candidate.getContentHash().equals(candidate.getEmbeddingContentHash())) {
+                embedding = candidate;
+            }
+        }
+    }
+}
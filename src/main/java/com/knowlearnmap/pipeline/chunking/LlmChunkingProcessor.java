@@ -1,14 +1,17 @@
 package com.knowlearnmap.pipeline.chunking;
 
 import com.knowlearnmap.document.domain.DocumentChunk;
+import com.knowlearnmap.document.domain.DocumentEntity;
 import com.knowlearnmap.document.domain.DocumentPage;
 import com.knowlearnmap.document.repository.DocumentChunkRepository;
 import com.knowlearnmap.document.repository.DocumentPageRepository;
+import com.knowlearnmap.llmToOntology.service.OntologyPersistenceService;
 import com.knowlearnmap.pipeline.core.PipelineContext;
 import com.knowlearnmap.pipeline.core.PipelineException;
 import com.knowlearnmap.pipeline.core.PipelineStage;
 import com.knowlearnmap.pipeline.core.StageProcessor;
 import com.knowlearnmap.rag.service.SimpleChunkingService;
+import com.knowlearnmap.search.index.ChunkVectorStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,6 +25,18 @@ import java.util.List;
  * <p>
  * Creates intelligent chunks from document using LLM.
  * </p>
+ *
+ * <p>
+ * Re-running the stage replaces the document's chunks: chunks left by an
+ * earlier run are removed first, together with their ontology references and
+ * vector index entries, so a rerun never duplicates chunks.
+ * </p>
+ *
+ * <p>
+ * Chunks identical to chunks of other documents in the workspace take over
+ * their LLM results and embeddings ({@link ChunkReuseService}); the outcome is
+ * published as {@code chunk_reuse} in the context metadata.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
@@ -31,6 +46,9 @@ public class LlmChunkingProcessor implements StageProcessor {
     private final DocumentPageRepository documentPageRepository;
     private final DocumentChunkRepository documentChunkRepository;
     private final SimpleChunkingService simpleChunkingService;
+    private final OntologyPersistenceService ontologyPersistenceService;
+    private final ChunkVectorStore chunkVectorStore;
+    private final ChunkReuseService chunkReuseService;
 
     @Override
     @Transactional
@@ -52,15 +70,21 @@ public class LlmChunkingProcessor implements StageProcessor {
 
             log.info("Found {} pages for chunking", pages.size());
 
+            clearChunks(context.getWorkspaceId(), context.getDocumentId());
+
             // SimpleChunkingService를 사용하여 청킹
             List<DocumentChunk> chunks = simpleChunkingService.chunkPages(pages, context.getDocumentId());
 
             // 청크 저장
             documentChunkRepository.saveAll(chunks);
 
+            ChunkReuseReport reuse = chunkReuseService.reuse(context.getWorkspaceId(), context.getDocumentId(),
+                    chunks);
+
             // 컨텍스트 업데이트
             context.addMetadata("chunks_created", true);
             context.addMetadata("chunk_count", chunks.size());
+            context.addMetadata("chunk_reuse", reuse.toMap());
             context.setProgress(50);
 
             log.info("LLM chunking completed successfully: {} chunks created", chunks.size());
@@ -70,6 +94,39 @@ public class LlmChunkingProcessor implements StageProcessor {
         }
     }
 
+    /**
+     * Removes chunks left by an earlier run of this stage, with the ontology
+     * references and vector index entries that point at them.
+     *
+     * @return number of chunks removed
+     */
+    @Transactional
+    public int clearChunks(Long workspaceId, Long documentId) {
+        List<Long> chunkIds = documentChunkRepository.findIdsByDocumentId(documentId);
+        if (chunkIds.isEmpty()) {
+            return 0;
+        }
+
+        ontologyPersistenceService.removeDocumentSource(documentId, chunkIds);
+        int removed = documentChunkRepository.deleteByDocumentId(documentId);
+        chunkVectorStore.removeDocument(workspaceId, documentId);
+
+        log.info("Removed {} chunks left by a previous CHUNK run for document={}", removed, documentId);
+        return removed;
+    }
+
+    /**
+     * Chunks one batch of pages and saves the chunks (streaming execution).
+     *
+     * @param startIndex chunkIndex assigned to the first chunk of this batch
+     * @return saved chunks, in chunkIndex order
+     */
+    @Transactional
+    public List<DocumentChunk> chunkAndSave(List<DocumentPage> pages, DocumentEntity document, int startIndex) {
+        List<DocumentChunk> chunks = simpleChunkingService.chunkPages(pages, document, startIndex);
+        return documentChunkRepository.saveAll(chunks);
+    }
+
     @Override
     public PipelineStage getStage() {
         return PipelineStage.CHUNK;
@@ -1,24 +1,50 @@
 package com.knowlearnmap.pipeline.config;
 
+import com.knowlearnmap.pipeline.streaming.StreamingStageRunner;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
 /**
  * Configuration for pipeline components.
+ *
+ * <p>
+ * With {@code pipeline.virtual-threads.enabled=true} (Java 21+, see the
+ * {@code java21} Maven profile and the {@code virtual-threads} Spring profile)
+ * the pipeline, embedding, LLM, ontology and streaming executors start a virtual thread
+ * per task and bound concurrency with a semaphore instead of a fixed pool, so
+ * LLM/embedding calls blocked on I/O no longer hold platform threads. The
+ * existing max-concurrency settings become the semaphore permits.
+ * </p>
  */
 @Configuration
 @EnableAsync
+@EnableScheduling
 public class PipelineConfig {
 
+    @Value("${pipeline.virtual-threads.enabled:false}")
+    private boolean virtualThreads;
+
     /**
      * Thread pool executor for parallel pipeline stages.
+     * Primary {@link TaskExecutor} so that unqualified {@code @Async} (e.g. MailService)
+     * resolves to this pool in both modes; Spring's default lookup is by
+     * {@code TaskExecutor}, so a plain {@code Executor} would be skipped.
      */
     @Bean(name = "pipelineExecutor")
-    public Executor pipelineExecutor() {
+    @Primary
+    public TaskExecutor pipelineExecutor(@Value("${pipeline.virtual-threads.stage-concurrency:200}") int stageConcurrency) {
+        if (virtualThreads) {
+            return new VirtualThreadLimitedExecutor("pipeline-vt-", stageConcurrency,
+                    VirtualThreadLimitedExecutor.OnLimit.WAIT);
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(10);
         executor.setMaxPoolSize(20);
@@ -29,4 +55,125 @@ public class PipelineConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Thread pool executor for concurrent embedding batches (VECTORIZE stage).
+     * Pool size bounds the number of in-flight embedding API calls.
+     */
+    @Bean(name = "embeddingExecutor")
+    public Executor embeddingExecutor(@Value("${pipeline.embedding.max-concurrency:4}") int maxConcurrency) {
+        if (virtualThreads) {
+            return new VirtualThreadLimitedExecutor("embedding-vt-", maxConcurrency,
+                    VirtualThreadLimitedExecutor.OnLimit.WAIT);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("embedding-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Shared pool for chunk LLM batch calls (LLM_PROCESSING stage) across all
+     * running documents. Pool size bounds in-flight LLM requests process-wide.
+     */
+    @Bean(name = "llmExecutor")
+    public Executor llmExecutor(@Value("${pipeline.llm.max-concurrency:10}") int maxConcurrency) {
+        if (virtualThreads) {
+            return new VirtualThreadLimitedExecutor("llm-vt-", maxConcurrency,
+                    VirtualThreadLimitedExecutor.OnLimit.WAIT);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("llm-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Shared pool for ontology chunk batches (ONTOLOGY stage) across all running
+     * documents. Every batch holds a database connection for its transaction,
+     * so the pool size should stay well below the connection pool size.
+     */
+    @Bean(name = "ontologyExecutor")
+    public Executor ontologyExecutor(@Value("${pipeline.ontology.max-concurrency:4}") int maxConcurrency) {
+        if (virtualThreads) {
+            return new VirtualThreadLimitedExecutor("ontology-vt-", maxConcurrency,
+                    VirtualThreadLimitedExecutor.OnLimit.WAIT);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("ontology-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread pool executor for page-range PDF text extraction (PARSE stage).
+     * Each task opens its own PDDocument, so the pool size bounds open documents.
+     */
+    @Bean(name = "pdfParseExecutor")
+    public Executor pdfParseExecutor(@Value("${pipeline.pdf.parse-concurrency:4}") int parseConcurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parseConcurrency);
+        executor.setMaxPoolSize(parseConcurrency);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("pdf-parse-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Threads for the consumer stages of streaming execution (CHUNK, VECTORIZE,
+     * LLM_PROCESSING, ONTOLOGY; four per running document). No queue: those
+     * stages wait on each other, so a queued consumer could deadlock its
+     * producer. When the pool is exhausted the execution fails fast and can be
+     * retried (same with virtual threads, where max-stage-threads caps the
+     * permits).
+     *
+     * <p>
+     * {@code max-stage-threads} defaults to enough threads for every document
+     * the job scheduler may run at once; a smaller explicit value is rejected at
+     * startup because the last admitted documents could never start their consumers.
+     * </p>
+     */
+    @Bean(name = "pipelineStreamExecutor")
+    public Executor pipelineStreamExecutor(@Value("${pipeline.streaming.max-stage-threads:0}") int maxStageThreads,
+            @Value("${pipeline.scheduler.max-concurrent:8}") int maxConcurrentDocuments) {
+        int required = StreamingStageRunner.CONSUMER_THREADS * maxConcurrentDocuments;
+        if (maxStageThreads > 0 && maxStageThreads < required) {
+            throw new IllegalStateException("pipeline.streaming.max-stage-threads=" + maxStageThreads
+                    + " is below " + required + " (" + StreamingStageRunner.CONSUMER_THREADS
+                    + " consumers x pipeline.scheduler.max-concurrent=" + maxConcurrentDocuments + ")");
+        }
+        int maxThreads = maxStageThreads > 0 ? maxStageThreads : required;
+
+        if (virtualThreads) {
+            return new VirtualThreadLimitedExecutor("pipeline-stream-vt-", maxThreads,
+                    VirtualThreadLimitedExecutor.OnLimit.REJECT);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(StreamingStageRunner.CONSUMER_THREADS);
+        executor.setMaxPoolSize(maxThreads);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("pipeline-stream-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
 }
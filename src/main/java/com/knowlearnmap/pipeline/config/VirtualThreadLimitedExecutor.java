@@ -0,0 +1,76 @@
+package com.knowlearnmap.pipeline.config;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs each task on its own virtual thread, with a semaphore in place of a
+ * fixed pool size (virtual thread mode, Java 21+).
+ *
+ * <p>
+ * In {@code WAIT} mode a task over the limit parks its virtual thread on the
+ * semaphore until a permit frees up, which is the virtual-thread equivalent of
+ * an unbounded queue in front of a fixed pool. In {@code REJECT} mode
+ * {@link #execute} throws {@link RejectedExecutionException} instead, for
+ * callers that must not queue (streaming stage consumers).
+ * </p>
+ *
+ * <p>
+ * A {@link TaskExecutor} so that {@code @Async} can resolve it like the
+ * thread pool it replaces.
+ * </p>
+ */
+final class VirtualThreadLimitedExecutor implements TaskExecutor {
+
+    enum OnLimit {
+        WAIT, REJECT
+    }
+
+    private final String name;
+    private final VirtualThreadTaskExecutor delegate;
+    private final Semaphore permits;
+    private final OnLimit onLimit;
+
+    VirtualThreadLimitedExecutor(String threadNamePrefix, int maxConcurrency, OnLimit onLimit) {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("pipeline.virtual-threads.enabled requires Java 21+, running on "
+                    + Runtime.version());
+        }
+        this.name = threadNamePrefix;
+        this.delegate = new VirtualThreadTaskExecutor(threadNamePrefix);
+        this.permits = new Semaphore(Math.max(1, maxConcurrency), true);
+        this.onLimit = onLimit;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (onLimit == OnLimit.REJECT) {
+            if (!permits.tryAcquire()) {
+                throw new RejectedExecutionException(name + " is at its concurrency limit");
+            }
+            delegate.execute(() -> runAndRelease(task));
+            return;
+        }
+
+        delegate.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            runAndRelease(task);
+        });
+    }
+
+    private void runAndRelease(Runnable task) {
+        try {
+            task.run();
+        } finally {
+            permits.release();
+        }
+    }
+}
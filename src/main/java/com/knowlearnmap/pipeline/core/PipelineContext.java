@@ -4,8 +4,8 @@ import lombok.Builder;
 import lombok.Data;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Pipeline execution context carrying state through pipeline stages.
@@ -50,10 +50,11 @@ public class PipelineContext {
     private Integer progress;
 
     /**
-     * Additional metadata for stage-specific data
+     * Additional metadata for stage-specific data.
+     * Concurrent because parallel and streamed stages write to it at the same time.
      */
     @Builder.Default
-    private Map<String, Object> metadata = new HashMap<>();
+    private Map<String, Object> metadata = new ConcurrentHashMap<>();
 
     /**
      * Error message if status is FAILED
@@ -64,7 +65,11 @@ public class PipelineContext {
      * Add metadata entry
      */
     public void addMetadata(String key, Object value) {
-        this.metadata.put(key, value);
+        if (value == null) {
+            this.metadata.remove(key);
+        } else {
+            this.metadata.put(key, value);
+        }
     }
 
     /**
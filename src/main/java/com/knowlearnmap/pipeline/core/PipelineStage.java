@@ -1,5 +1,8 @@
 package com.knowlearnmap.pipeline.core;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Pipeline stages enum defining all stages in the hybrid RAG pipeline.
  * 
@@ -15,6 +18,8 @@ package com.knowlearnmap.pipeline.core;
  * 
  * <p>
  * VECTORIZE and ONTOLOGY run in parallel but are independent completion paths.
+ * The orchestrator schedules stages from {@link #getDependencies()}; the order
+ * value is kept for display and sorting only.
  * </p>
  */
 public enum PipelineStage {
@@ -55,4 +60,20 @@ public enum PipelineStage {
     public boolean isTerminalStage() {
         return terminalStage;
     }
+
+    /**
+     * Stages whose output this stage consumes; it may start as soon as all of them complete.
+     */
+    public Set<PipelineStage> getDependencies() {
+        return switch (this) {
+            case WORKSPACE -> EnumSet.noneOf(PipelineStage.class);
+            case UPLOAD -> EnumSet.of(WORKSPACE);
+            case PARSE -> EnumSet.of(UPLOAD);
+            case CHUNK -> EnumSet.of(PARSE);
+            case VECTORIZE, LLM_PROCESSING -> EnumSet.of(CHUNK);
+            case ONTOLOGY -> EnumSet.of(LLM_PROCESSING);
+            case ARANGO_SYNC -> EnumSet.of(ONTOLOGY);
+            case EMBED -> EnumSet.of(ARANGO_SYNC);
+        };
+    }
 }
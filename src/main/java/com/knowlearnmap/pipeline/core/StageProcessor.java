@@ -1,5 +1,7 @@
 package com.knowlearnmap.pipeline.core;
 
+import java.util.Set;
+
 /**
  * Interface for all pipeline stage processors.
  * 
@@ -26,6 +28,15 @@ public interface StageProcessor {
      */
     PipelineStage getStage();
 
+    /**
+     * Get the stages that must complete before this one starts.
+     *
+     * @return Dependencies (empty for the first stage)
+     */
+    default Set<PipelineStage> getDependencies() {
+        return getStage().getDependencies();
+    }
+
     /**
      * Get the execution order within the pipeline.
      * 
@@ -51,20 +51,9 @@ public class LlmProcessingProcessor implements StageProcessor {
             // 하지만 현재 ChunkToLlmService는 'findByLlmStatusIsNull'를 주로 사용하므로,
             // 여기서는 명시적으로 필터링 후 넘겨주는 것이 안전함.
 
-            // 스트림으로 미처리 청크만 필터링
-            List<DocumentChunk> pendingChunks = chunks.stream()
-                    .filter(c -> !"COMPLETED".equals(c.getLlmStatus()))
-                    .toList();
-
-            if (pendingChunks.isEmpty()) {
-                log.info("All chunks already processed.");
-            } else {
-                int successCount = chunkToLlmService.processChunksParallel(pendingChunks);
-                log.info("LLM processing completed. Success: {}/{}", successCount, pendingChunks.size());
-
-                if (successCount < pendingChunks.size()) {
-                    throw new PipelineException("Some chunks failed LLM processing", getStage(), null, false);
-                }
+            int failed = processChunks(chunks);
+            if (failed > 0) {
+                throw new PipelineException("Some chunks failed LLM processing", getStage(), null, false);
             }
 
             // 3. 컨텍스트 업데이트
@@ -76,6 +65,28 @@ public class LlmProcessingProcessor implements StageProcessor {
         }
     }
 
+    /**
+     * Runs the LLM over the chunks that are not COMPLETED yet.
+     * Also used by streaming execution for each incoming batch of chunks.
+     *
+     * @return number of chunks that failed
+     */
+    public int processChunks(List<DocumentChunk> chunks) {
+        // 스트림으로 미처리 청크만 필터링
+        List<DocumentChunk> pendingChunks = chunks.stream()
+                .filter(c -> !"COMPLETED".equals(c.getLlmStatus()))
+                .toList();
+
+        if (pendingChunks.isEmpty()) {
+            log.info("All chunks already processed.");
+            return 0;
+        }
+
+        int successCount = chunkToLlmService.processChunksParallel(pendingChunks);
+        log.info("LLM processing completed. Success: {}/{}", successCount, pendingChunks.size());
+        return pendingChunks.size() - successCount;
+    }
+
     @Override
     public PipelineStage getStage() {
         return PipelineStage.LLM_PROCESSING;
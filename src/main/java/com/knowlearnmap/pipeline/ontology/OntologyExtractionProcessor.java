@@ -1,5 +1,7 @@
 package com.knowlearnmap.pipeline.ontology;
 
+import com.knowlearnmap.document.domain.DocumentChunk;
+import com.knowlearnmap.llmToOntology.dto.OntologyIngestionReport;
 import com.knowlearnmap.pipeline.core.PipelineContext;
 import com.knowlearnmap.pipeline.core.PipelineException;
 import com.knowlearnmap.pipeline.core.PipelineStage;
@@ -8,6 +10,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Ontology extraction stage processor.
  * 
@@ -15,6 +20,13 @@ import org.springframework.stereotype.Service;
  * Extracts ontology from chunks using LLM.
  * Runs in parallel with vector embedding.
  * </p>
+ *
+ * <p>
+ * Chunks whose ontology is already COMPLETED are skipped; the rest are split
+ * into batches that run concurrently on the shared {@code ontologyExecutor}.
+ * In streaming execution {@link #extractChunks} is fed each LLM batch as soon
+ * as it is committed instead of waiting for the whole LLM_PROCESSING stage.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
@@ -29,14 +41,12 @@ public class OntologyExtractionProcessor implements StageProcessor {
 
         try {
             // LlmProcessingProcessor가 선행되었으므로 LLM 결과가 준비되어 있다고 가정
-            int processedCount = llmToOntologyService.createOntologyFromDocument(
+            OntologyIngestionReport report = llmToOntologyService.ingestDocument(
                     context.getWorkspaceId(),
-                    context.getDocumentId());
+                    context.getDocumentId(),
+                    null);
 
-            log.info("Ontology extraction completed. Processed chunks: {}", processedCount);
-
-            context.addMetadata("ontology_extracted", true);
-            context.addMetadata("ontology_count", processedCount);
+            recordResult(context, report);
             context.setProgress(70); // 순차적이므로 진행률 증가
 
         } catch (Exception e) {
@@ -44,6 +54,28 @@ public class OntologyExtractionProcessor implements StageProcessor {
         }
     }
 
+    /**
+     * Extracts ontology for chunks whose LLM results were just committed.
+     * Also used by streaming execution for each processed LLM batch.
+     */
+    public CompletableFuture<OntologyIngestionReport> extractChunks(PipelineContext context,
+            List<DocumentChunk> chunks) {
+        return llmToOntologyService.ingestChunks(context.getWorkspaceId(), context.getDocumentId(),
+                chunks.stream().map(DocumentChunk::getId).toList());
+    }
+
+    /**
+     * Publishes the stage result in the context metadata.
+     */
+    public void recordResult(PipelineContext context, OntologyIngestionReport report) {
+        log.info("Ontology extraction completed. Processed chunks: {} (skipped: {}, failed: {}, mode: {})",
+                report.succeeded(), report.skipped(), report.failedChunkIds().size(), report.mode());
+
+        context.addMetadata("ontology_extracted", true);
+        context.addMetadata("ontology_count", report.succeeded());
+        context.addMetadata("ontology_ingestion", report.toMap());
+    }
+
     @Override
     public PipelineStage getStage() {
         return PipelineStage.ONTOLOGY;
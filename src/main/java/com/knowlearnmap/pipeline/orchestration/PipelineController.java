@@ -1,17 +1,22 @@
 package com.knowlearnmap.pipeline.orchestration;
 
-import com.knowlearnmap.pipeline.core.PipelineContext;
-import com.knowlearnmap.pipeline.core.PipelineException;
+import com.knowlearnmap.member.domain.Member;
+import com.knowlearnmap.member.repository.MemberRepository;
+import com.knowlearnmap.pipeline.core.PipelineStage;
+import com.knowlearnmap.pipeline.core.PipelineStatus;
+import com.knowlearnmap.pipeline.scheduling.PipelineJobEntity;
+import com.knowlearnmap.pipeline.scheduling.PipelineJobRepository;
+import com.knowlearnmap.pipeline.scheduling.PipelineJobScheduler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * REST Controller for pipeline orchestration and monitoring.
@@ -20,7 +25,9 @@ import java.util.concurrent.CompletableFuture;
  * Endpoints:
  * </p>
  * <ul>
- * <li>POST /api/pipeline/start - Start pipeline execution</li>
+ * <li>POST /api/pipeline/start - Queue pipeline execution</li>
+ * <li>POST /api/pipeline/resume/{documentId}?fromStage= - Queue resume from
+ * checkpoints, or re-run from a stage</li>
  * <li>GET /api/pipeline/status/{documentId} - Get current status</li>
  * <li>GET /api/pipeline/progress/{documentId} - Get detailed progress</li>
  * <li>GET /api/pipeline/executions/{workspaceId} - Get all executions for
@@ -33,8 +40,10 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class PipelineController {
 
-    private final PipelineOrchestrator orchestrator;
+    private final PipelineJobScheduler jobScheduler;
+    private final PipelineJobRepository jobRepository;
     private final PipelineExecutionRepository executionRepository;
+    private final MemberRepository memberRepository;
 
     /**
      * Start pipeline execution for a document.
@@ -43,18 +52,23 @@ public class PipelineController {
      * @return Execution response
      */
     @PostMapping("/start")
-    public ResponseEntity<Map<String, Object>> startPipeline(@RequestBody PipelineStartRequest request) {
+    public ResponseEntity<Map<String, Object>> startPipeline(@RequestBody PipelineStartRequest request,
+            Principal principal) {
         log.info("Starting pipeline for workspace={}, document={}",
                 request.getWorkspaceId(), request.getDocumentId());
 
         try {
-            // Start async execution
-            CompletableFuture<PipelineContext> future = orchestrator.executeAsync(
+            // Queue for the global scheduler (runs once within concurrency caps)
+            Member member = principal != null ? memberRepository.findByEmail(principal.getName()).orElse(null) : null;
+            PipelineJobEntity job = jobScheduler.submit(
                     request.getWorkspaceId(),
-                    request.getDocumentId());
+                    request.getDocumentId(),
+                    member,
+                    null);
 
             Map<String, Object> response = new HashMap<>();
-            response.put("message", "Pipeline started successfully");
+            response.put("message", "Pipeline queued successfully");
+            response.put("jobId", job.getId());
             response.put("workspaceId", request.getWorkspaceId());
             response.put("documentId", request.getDocumentId());
 
@@ -68,6 +82,44 @@ public class PipelineController {
         }
     }
 
+    /**
+     * Resume the document's pipeline from its last checkpoints, or re-run from a stage.
+     *
+     * @param documentId Document ID
+     * @param fromStage  Optional stage to re-run from (it and its downstream stages run again)
+     * @return Queued job response
+     */
+    @PostMapping("/resume/{documentId}")
+    public ResponseEntity<Map<String, Object>> resumePipeline(@PathVariable Long documentId,
+            @RequestParam(required = false) PipelineStage fromStage,
+            Principal principal) {
+        Optional<PipelineExecutionEntity> execution = executionRepository
+                .findTopByDocumentIdOrderByCreatedAtDesc(documentId);
+        if (execution.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        PipelineExecutionEntity exec = execution.get();
+        if (exec.getStatus() == PipelineStatus.PROCESSING || exec.getStatus() == PipelineStatus.PENDING
+                || jobRepository.existsByDocumentIdAndStatus(documentId, PipelineJobEntity.Status.QUEUED)) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Pipeline is already running or queued for document " + documentId);
+            return ResponseEntity.status(409).body(error);
+        }
+
+        log.info("Resuming pipeline for document={} (fromStage={})", documentId, fromStage);
+        Member member = principal != null ? memberRepository.findByEmail(principal.getName()).orElse(null) : null;
+        PipelineJobEntity job = jobScheduler.submitResume(exec.getWorkspaceId(), documentId, member, fromStage);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Pipeline resume queued successfully");
+        response.put("jobId", job.getId());
+        response.put("documentId", documentId);
+        response.put("resumedFromExecutionId", exec.getId());
+        response.put("fromStage", fromStage);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get current pipeline status for a document.
      * 
@@ -80,7 +132,17 @@ public class PipelineController {
                 .findTopByDocumentIdOrderByCreatedAtDesc(documentId);
 
         if (execution.isEmpty()) {
-            return ResponseEntity.notFound().build();
+            // Not started yet: report the queued job, if any
+            Optional<PipelineJobEntity> job = jobRepository.findTopByDocumentIdOrderByCreatedAtDesc(documentId);
+            if (job.isEmpty() || job.get().getStatus() != PipelineJobEntity.Status.QUEUED) {
+                return ResponseEntity.notFound().build();
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("documentId", documentId);
+            response.put("workspaceId", job.get().getWorkspaceId());
+            response.put("status", PipelineStatus.PENDING);
+            response.put("queuedAt", job.get().getCreatedAt());
+            return ResponseEntity.ok(response);
         }
 
         PipelineExecutionEntity exec = execution.get();
@@ -93,6 +155,12 @@ public class PipelineController {
         response.put("startTime", exec.getStartTime());
         response.put("endTime", exec.getEndTime());
         response.put("errorMessage", exec.getErrorMessage());
+        response.put("stageTimings", exec.getStageTimings());
+        response.put("resumedFromId", exec.getResumedFromId());
+        if (exec.getContextMetadata() != null) {
+            response.put("chunkReuse", exec.getContextMetadata().get("chunk_reuse"));
+            response.put("ontologyIngestion", exec.getContextMetadata().get("ontology_ingestion"));
+        }
 
         return ResponseEntity.ok(response);
     }
@@ -3,8 +3,12 @@ package com.knowlearnmap.pipeline.orchestration;
 import com.knowlearnmap.pipeline.core.PipelineStatus;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * JPA Entity for tracking pipeline execution.
@@ -43,6 +47,27 @@ public class PipelineExecutionEntity {
     @Column(name = "error_message", length = 2000)
     private String errorMessage;
 
+    /**
+     * Per-stage timing keyed by stage name, in start order.
+     * COMPLETED entries are the checkpoints a resumed execution skips.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "stage_timings", columnDefinition = "jsonb")
+    private Map<String, StageTiming> stageTimings = new LinkedHashMap<>();
+
+    /**
+     * Snapshot of the context metadata, restored when the execution is resumed
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "context_metadata", columnDefinition = "jsonb")
+    private Map<String, Object> contextMetadata = new LinkedHashMap<>();
+
+    /**
+     * Execution whose checkpoints this one resumed from
+     */
+    @Column(name = "resumed_from_id")
+    private Long resumedFromId;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
@@ -28,6 +28,8 @@ public interface PipelineExecutionRepository extends JpaRepository<PipelineExecu
      */
     List<PipelineExecutionEntity> findByStatus(PipelineStatus status);
 
+    List<PipelineExecutionEntity> findByStatusIn(List<PipelineStatus> statuses);
+
     /**
      * Find running executions for a document.
      */
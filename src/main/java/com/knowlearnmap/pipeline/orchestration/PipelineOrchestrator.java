@@ -5,16 +5,26 @@ import com.knowlearnmap.pipeline.core.PipelineException;
 import com.knowlearnmap.pipeline.core.PipelineStage;
 import com.knowlearnmap.pipeline.core.PipelineStatus;
 import com.knowlearnmap.pipeline.core.StageProcessor;
+import com.knowlearnmap.pipeline.streaming.StreamingStageRunner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -24,11 +34,19 @@ import java.util.stream.Collectors;
  * Responsibilities:
  * </p>
  * <ul>
- * <li>Execute pipeline stages in correct order</li>
- * <li>Handle parallel execution for stages marked as parallelExecutable</li>
+ * <li>Execute pipeline stages as a dependency graph ({@link StageDagScheduler}):
+ * each stage starts as soon as the stages it depends on complete</li>
+ * <li>Record per-stage timing on the execution record; completed stages are
+ * checkpoints that {@link #resume} skips</li>
  * <li>Manage error handling and retry logic</li>
  * <li>Persist pipeline execution state</li>
  * </ul>
+ *
+ * <p>
+ * With {@code pipeline.streaming.enabled=true}, PARSE, CHUNK, VECTORIZE,
+ * LLM_PROCESSING and ONTOLOGY are handed to {@link StreamingStageRunner} and
+ * overlap on a page/chunk basis; the remaining stages run as usual afterwards.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
@@ -40,6 +58,16 @@ public class PipelineOrchestrator {
 
     private final PipelineMonitor pipelineMonitor;
     private final com.knowlearnmap.workspace.repository.WorkspaceRepository workspaceRepository;
+    private final StreamingStageRunner streamingStageRunner;
+    private final StageDagScheduler stageDagScheduler;
+
+    /**
+     * Scheduler node id for the stages run together by {@link StreamingStageRunner}
+     */
+    private static final String STREAMED_NODE = "STREAMED";
+
+    @Value("${pipeline.streaming.enabled:false}")
+    private boolean streamingEnabled;
 
     /**
      * Execute the full pipeline asynchronously.
@@ -56,26 +84,138 @@ public class PipelineOrchestrator {
      * @param metadata    Optional initial metadata (e.g. limits)
      * @return CompletableFuture of the execution result
      */
-    @Async
+    @Async("pipelineExecutor")
     public CompletableFuture<PipelineContext> executeAsync(Long workspaceId, Long documentId,
             Map<String, Object> metadata) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                return execute(workspaceId, documentId, metadata);
-            } catch (PipelineException e) {
-                log.error("Pipeline execution failed for workspace={}, document={}",
-                        workspaceId, documentId, e);
-                throw new RuntimeException("Pipeline execution failed", e);
-            }
-        });
+        // Already on a pipelineExecutor thread (@Async); run here instead of hopping to the common pool
+        try {
+            return CompletableFuture.completedFuture(execute(workspaceId, documentId, metadata));
+        } catch (PipelineException e) {
+            log.error("Pipeline execution failed for workspace={}, document={}",
+                    workspaceId, documentId, e);
+            return CompletableFuture.failedFuture(new RuntimeException("Pipeline execution failed", e));
+        }
     }
 
     // Overload for backward compatibility if needed, using empty map
-    @Async
+    @Async("pipelineExecutor")
     public CompletableFuture<PipelineContext> executeAsync(Long workspaceId, Long documentId) {
         return executeAsync(workspaceId, documentId, null);
     }
 
+    /**
+     * Resume asynchronously; see {@link #resume}.
+     */
+    @Async("pipelineExecutor")
+    public CompletableFuture<PipelineContext> resumeAsync(Long workspaceId, Long documentId,
+            PipelineStage fromStage, Map<String, Object> metadata) {
+        try {
+            return CompletableFuture.completedFuture(resume(workspaceId, documentId, fromStage, metadata));
+        } catch (PipelineException e) {
+            log.error("Pipeline resume failed for workspace={}, document={}", workspaceId, documentId, e);
+            return CompletableFuture.failedFuture(new RuntimeException("Pipeline resume failed", e));
+        }
+    }
+
+    /**
+     * Start a new execution that reuses the checkpoints of the document's latest
+     * execution. Stages completed there are skipped; every other stage runs, and
+     * so does everything downstream of a stage that runs.
+     *
+     * @param fromStage if set, this stage and its downstream stages run again even
+     *                  if they were completed; null resumes from the checkpoints
+     * @param metadata  extra initial metadata, overriding the restored snapshot
+     */
+    public PipelineContext resume(Long workspaceId, Long documentId, PipelineStage fromStage,
+            Map<String, Object> metadata) throws PipelineException {
+        PipelineExecutionEntity previous = executionRepository
+                .findTopByDocumentIdOrderByCreatedAtDesc(documentId).orElse(null);
+
+        Map<String, StageTiming> completed = new LinkedHashMap<>();
+        Map<String, Object> initialMetadata = new HashMap<>();
+        if (previous != null) {
+            previous.getStageTimings().forEach((stage, timing) -> {
+                if (timing.getStatus() == StageTiming.Status.COMPLETED) {
+                    completed.put(stage, timing);
+                }
+            });
+            if (previous.getContextMetadata() != null) {
+                initialMetadata.putAll(previous.getContextMetadata());
+            }
+        }
+        if (metadata != null) {
+            initialMetadata.putAll(metadata);
+        }
+
+        Set<PipelineStage> toRun = stagesToRun(completed.keySet(), fromStage);
+        Map<String, StageTiming> checkpoints = new LinkedHashMap<>();
+        completed.forEach((stage, timing) -> {
+            if (!toRun.contains(PipelineStage.valueOf(stage))) {
+                checkpoints.put(stage, timing.reusedFrom(previous.getId()));
+            }
+        });
+
+        log.info("Resuming pipeline for document={} from execution={} (fromStage={}, skipping {})",
+                documentId, previous != null ? previous.getId() : null, fromStage, checkpoints.keySet());
+        return run(workspaceId, documentId, initialMetadata, checkpoints,
+                previous != null ? previous.getId() : null);
+    }
+
+    /**
+     * Marks executions left PENDING/PROCESSING by a process that is gone as failed.
+     *
+     * @param liveDocumentIds documents whose job is still heartbeating on some
+     *                        instance; their executions are left alone
+     * @return the interrupted executions
+     */
+    @Transactional
+    public List<PipelineExecutionEntity> failInterruptedExecutions(Collection<Long> liveDocumentIds) {
+        List<PipelineExecutionEntity> interrupted = executionRepository
+                .findByStatusIn(List.of(PipelineStatus.PENDING, PipelineStatus.PROCESSING)).stream()
+                .filter(execution -> !liveDocumentIds.contains(execution.getDocumentId()))
+                .toList();
+        for (PipelineExecutionEntity execution : interrupted) {
+            execution.setStatus(PipelineStatus.FAILED);
+            execution.setErrorMessage("Interrupted by application restart");
+            execution.setEndTime(LocalDateTime.now());
+            execution.getStageTimings().values().forEach(timing -> {
+                if (timing.getStatus() == StageTiming.Status.RUNNING) {
+                    timing.finish(StageTiming.Status.FAILED);
+                }
+            });
+        }
+        executionRepository.saveAll(interrupted);
+        return interrupted;
+    }
+
+    /**
+     * Stages not yet completed, plus {@code fromStage}, plus everything downstream of those.
+     */
+    private Set<PipelineStage> stagesToRun(Set<String> completed, PipelineStage fromStage) {
+        Set<PipelineStage> toRun = EnumSet.noneOf(PipelineStage.class);
+        for (StageProcessor processor : stageProcessors) {
+            if (!completed.contains(processor.getStage().name())) {
+                toRun.add(processor.getStage());
+            }
+        }
+        if (fromStage != null) {
+            toRun.add(fromStage);
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (StageProcessor processor : stageProcessors) {
+                if (!toRun.contains(processor.getStage())
+                        && processor.getDependencies().stream().anyMatch(toRun::contains)) {
+                    toRun.add(processor.getStage());
+                    changed = true;
+                }
+            }
+        }
+        return toRun;
+    }
+
     /**
      * Execute the full pipeline synchronously.
      * 
@@ -87,6 +227,14 @@ public class PipelineOrchestrator {
      */
     public PipelineContext execute(Long workspaceId, Long documentId, Map<String, Object> initialMetadata)
             throws PipelineException {
+        return run(workspaceId, documentId, initialMetadata, Map.of(), null);
+    }
+
+    /**
+     * @param checkpoints completed stages carried over from an earlier execution; these are skipped
+     */
+    private PipelineContext run(Long workspaceId, Long documentId, Map<String, Object> initialMetadata,
+            Map<String, StageTiming> checkpoints, Long resumedFromId) throws PipelineException {
         log.info("=== Starting Pipeline Execution for workspace={}, document={} ===",
                 workspaceId, documentId);
 
@@ -99,34 +247,29 @@ public class PipelineOrchestrator {
                 .progress(0);
 
         if (initialMetadata != null) {
-            builder.metadata(new java.util.HashMap<>(initialMetadata));
+            Map<String, Object> metadata = new ConcurrentHashMap<>();
+            initialMetadata.forEach((key, value) -> {
+                if (value != null) {
+                    metadata.put(key, value);
+                }
+            });
+            builder.metadata(metadata);
         }
 
         PipelineContext context = builder.build();
 
         // Create execution record
-        PipelineExecutionEntity execution = createExecutionRecord(context);
+        PipelineExecutionEntity execution = createExecutionRecord(context, checkpoints, resumedFromId);
+        Set<PipelineStage> skipped = checkpoints.keySet().stream()
+                .map(PipelineStage::valueOf)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(PipelineStage.class)));
 
         try {
             context.setStatus(PipelineStatus.PROCESSING);
             updateExecutionRecord(execution, context);
 
-            // Group processors by order for parallel execution
-            Map<Integer, List<StageProcessor>> processorsByOrder = stageProcessors.stream()
-                    .collect(Collectors.groupingBy(StageProcessor::getOrder));
-
-            // Execute stages in order
-            for (Integer order : processorsByOrder.keySet().stream().sorted().toList()) {
-                List<StageProcessor> processors = processorsByOrder.get(order);
-
-                if (processors.size() == 1) {
-                    // Single processor - execute sequentially
-                    executeStage(processors.get(0), context, execution);
-                } else {
-                    // Multiple processors at same order - execute in parallel
-                    executeParallelStages(processors, context, execution);
-                }
-            }
+            // Run stages as a dependency graph; independent paths overlap
+            stageDagScheduler.run(buildStageNodes(context, execution, skipped));
 
             // Mark as completed
             context.setStatus(PipelineStatus.COMPLETED);
@@ -165,6 +308,52 @@ public class PipelineOrchestrator {
         }
     }
 
+    /**
+     * Build one scheduler node per stage processor. In streaming mode the
+     * streamed stages collapse into a single node that inherits their external
+     * dependencies and dependents. Skipped (checkpointed) stages become no-op
+     * nodes so their dependents still wait on them; streaming is only used when
+     * none of the streamed stages is skipped.
+     */
+    private List<StageDagScheduler.StageNode> buildStageNodes(PipelineContext context,
+            PipelineExecutionEntity execution, Set<PipelineStage> skipped) {
+        Set<PipelineStage> present = stageProcessors.stream()
+                .map(StageProcessor::getStage)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(PipelineStage.class)));
+        boolean streaming = streamingEnabled && present.containsAll(StreamingStageRunner.STREAMED_STAGES)
+                && StreamingStageRunner.STREAMED_STAGES.stream().noneMatch(skipped::contains);
+
+        List<StageDagScheduler.StageNode> nodes = new ArrayList<>();
+        Set<String> streamedDeps = new LinkedHashSet<>();
+
+        for (StageProcessor processor : stageProcessors) {
+            PipelineStage stage = processor.getStage();
+            Set<String> deps = new LinkedHashSet<>();
+            for (PipelineStage dep : processor.getDependencies()) {
+                deps.add(streaming && StreamingStageRunner.STREAMED_STAGES.contains(dep) ? STREAMED_NODE : dep.name());
+            }
+
+            if (streaming && StreamingStageRunner.STREAMED_STAGES.contains(stage)) {
+                streamedDeps.addAll(deps);
+                continue;
+            }
+            if (skipped.contains(stage)) {
+                nodes.add(new StageDagScheduler.StageNode(stage.name(), stage, deps,
+                        () -> log.info(">>> Skipping Stage (checkpoint): {}", stage.getDisplayName())));
+            } else {
+                nodes.add(new StageDagScheduler.StageNode(stage.name(), stage, deps,
+                        () -> executeStage(processor, context, execution)));
+            }
+        }
+
+        if (streaming) {
+            streamedDeps.remove(STREAMED_NODE);
+            nodes.add(new StageDagScheduler.StageNode(STREAMED_NODE, PipelineStage.PARSE, streamedDeps,
+                    () -> executeStreamedStages(context, execution)));
+        }
+        return nodes;
+    }
+
     /**
      * Execute a single stage.
      */
@@ -174,54 +363,62 @@ public class PipelineOrchestrator {
         log.info(">>> Executing Stage: {} [{}]", stage.getDisplayName(), stage.name());
 
         context.setCurrentStage(stage);
-        updateExecutionRecord(execution, context);
+        recordStageStart(execution, context, stage);
 
         pipelineMonitor.publishStageStart(context, stage);
 
         try {
             processor.process(context);
             log.info(">>> Stage Completed: {}", stage.getDisplayName());
+            recordStageEnd(execution, context, stage, StageTiming.Status.COMPLETED);
             pipelineMonitor.publishStageComplete(context, stage);
         } catch (Exception e) {
             log.error("Stage failed: {}", stage.getDisplayName(), e);
+            recordStageEnd(execution, context, stage, StageTiming.Status.FAILED);
             pipelineMonitor.publishStageFailure(context, stage, e);
             throw new PipelineException("Stage failed: " + stage.getDisplayName(), stage, e);
         }
     }
 
     /**
-     * Execute multiple stages in parallel.
+     * Execute PARSE, CHUNK, VECTORIZE, LLM_PROCESSING and ONTOLOGY as overlapping streamed stages.
      */
-    private void executeParallelStages(List<StageProcessor> processors, PipelineContext context,
-            PipelineExecutionEntity execution) throws PipelineException {
-        log.info(">>> Executing Parallel Stages: {}",
-                processors.stream().map(p -> p.getStage().name()).collect(Collectors.joining(", ")));
-
-        List<CompletableFuture<Void>> futures = processors.stream()
-                .map(processor -> CompletableFuture.runAsync(() -> {
-                    try {
-                        PipelineStage stage = processor.getStage();
-                        context.setCurrentStage(stage);
-                        pipelineMonitor.publishStageStart(context, stage);
-
-                        processor.process(context);
-
-                        log.info(">>> Parallel Stage Completed: {}", stage.getDisplayName());
-                        pipelineMonitor.publishStageComplete(context, stage);
-                    } catch (Exception e) {
-                        log.error("Parallel stage failed", e);
-                        throw new RuntimeException(e);
-                    }
-                }))
-                .toList();
+    private void executeStreamedStages(PipelineContext context, PipelineExecutionEntity execution)
+            throws PipelineException {
+        streamingStageRunner.run(context, new StreamingStageRunner.StageListener() {
+            @Override
+            public void onStart(PipelineStage stage) {
+                recordStageStart(execution, context, stage);
+            }
 
-        // Wait for all parallel stages to complete
-        try {
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-            log.info(">>> All Parallel Stages Completed");
-        } catch (Exception e) {
-            throw new PipelineException("Parallel stage execution failed",
-                    context.getCurrentStage(), e);
+            @Override
+            public void onComplete(PipelineStage stage) {
+                recordStageEnd(execution, context, stage, StageTiming.Status.COMPLETED);
+            }
+
+            @Override
+            public void onFailure(PipelineStage stage, Exception error) {
+                recordStageEnd(execution, context, stage, StageTiming.Status.FAILED);
+            }
+        });
+    }
+
+    private void recordStageStart(PipelineExecutionEntity execution, PipelineContext context, PipelineStage stage) {
+        synchronized (execution) {
+            execution.getStageTimings().put(stage.name(), StageTiming.started());
+            execution.setCurrentStage(stage.name());
+            updateExecutionRecord(execution, context);
+        }
+    }
+
+    private void recordStageEnd(PipelineExecutionEntity execution, PipelineContext context, PipelineStage stage,
+            StageTiming.Status status) {
+        synchronized (execution) {
+            StageTiming timing = execution.getStageTimings().get(stage.name());
+            if (timing != null) {
+                timing.finish(status);
+            }
+            updateExecutionRecord(execution, context);
         }
     }
 
@@ -229,8 +426,12 @@ public class PipelineOrchestrator {
      * Create initial execution record.
      */
     @Transactional
-    protected PipelineExecutionEntity createExecutionRecord(PipelineContext context) {
+    protected PipelineExecutionEntity createExecutionRecord(PipelineContext context,
+            Map<String, StageTiming> checkpoints, Long resumedFromId) {
         PipelineExecutionEntity execution = new PipelineExecutionEntity();
+        execution.getStageTimings().putAll(checkpoints);
+        execution.setResumedFromId(resumedFromId);
+        execution.setContextMetadata(new LinkedHashMap<>(context.getMetadata()));
         execution.setWorkspaceId(context.getWorkspaceId());
         execution.setDocumentId(context.getDocumentId());
         execution.setStatus(context.getStatus());
@@ -246,16 +447,20 @@ public class PipelineOrchestrator {
      */
     @Transactional
     protected void updateExecutionRecord(PipelineExecutionEntity execution, PipelineContext context) {
-        execution.setStatus(context.getStatus());
-        execution.setCurrentStage(context.getCurrentStage() != null ? context.getCurrentStage().name() : null);
-        execution.setProgress(context.getProgress());
-        execution.setErrorMessage(context.getErrorMessage());
+        // Stages of one execution run concurrently and share this entity
+        synchronized (execution) {
+            execution.setStatus(context.getStatus());
+            execution.setCurrentStage(context.getCurrentStage() != null ? context.getCurrentStage().name() : null);
+            execution.setProgress(context.getProgress());
+            execution.setErrorMessage(context.getErrorMessage());
+            execution.setContextMetadata(new LinkedHashMap<>(context.getMetadata()));
+
+            if (context.getStatus() == PipelineStatus.COMPLETED ||
+                    context.getStatus() == PipelineStatus.FAILED) {
+                execution.setEndTime(LocalDateTime.now());
+            }
 
-        if (context.getStatus() == PipelineStatus.COMPLETED ||
-                context.getStatus() == PipelineStatus.FAILED) {
-            execution.setEndTime(LocalDateTime.now());
+            executionRepository.save(execution);
         }
-
-        executionRepository.save(execution);
     }
 }
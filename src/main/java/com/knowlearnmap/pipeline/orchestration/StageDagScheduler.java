@@ -0,0 +1,255 @@
+package com.knowlearnmap.pipeline.orchestration;
+
+import com.knowlearnmap.pipeline.core.PipelineException;
+import com.knowlearnmap.pipeline.core.PipelineStage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs a set of stage nodes as a dependency graph on the {@code pipelineExecutor}.
+ *
+ * <p>
+ * Each node is submitted as soon as all of its dependencies have completed, by
+ * the thread that completed the last one, so independent paths (e.g. VECTORIZE
+ * and LLM_PROCESSING → ONTOLOGY) overlap. The calling thread does not just block:
+ * it claims and runs any submitted node the pool has not picked up yet, so the
+ * execution still makes progress when the pool is saturated by other pipelines.
+ * </p>
+ *
+ * <p>
+ * After the first failure no new nodes are started; nodes already running
+ * finish, then the first failure is rethrown.
+ * </p>
+ *
+ * <p>
+ * Waiting uses a {@link ReentrantLock} rather than a monitor so that a waiting
+ * virtual thread does not pin its carrier.
+ * </p>
+ */
+@Component
+@Slf4j
+public class StageDagScheduler {
+
+    private static final long WAIT_MILLIS = 100;
+
+    private final Executor pipelineExecutor;
+
+    public StageDagScheduler(@Qualifier("pipelineExecutor") Executor pipelineExecutor) {
+        this.pipelineExecutor = pipelineExecutor;
+    }
+
+    /**
+     * A unit of scheduling: usually one stage, or several stages run together
+     * (streaming execution).
+     *
+     * @param id        unique node id
+     * @param stage     stage reported when the node fails with a non-pipeline error
+     * @param dependsOn ids of nodes that must complete first (unknown ids are ignored)
+     * @param body      work to run
+     */
+    public record StageNode(String id, PipelineStage stage, Set<String> dependsOn, NodeBody body) {
+    }
+
+    @FunctionalInterface
+    public interface NodeBody {
+        void run() throws PipelineException;
+    }
+
+    /**
+     * Runs all nodes respecting dependencies and waits for them to finish.
+     *
+     * @throws PipelineException first node failure, or if the graph has a cycle
+     */
+    public void run(List<StageNode> nodes) throws PipelineException {
+        new Execution(nodes).run();
+    }
+
+    private final class Execution {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition progress = lock.newCondition();
+        private final Map<String, StageNode> nodesById = new LinkedHashMap<>();
+        private final Map<String, Integer> pendingDeps = new HashMap<>();
+        private final Map<String, List<StageNode>> dependents = new HashMap<>();
+        private final Queue<NodeTask> unclaimed = new ConcurrentLinkedQueue<>();
+
+        private int launched;
+        private int finished;
+        private PipelineException failure;
+
+        private Execution(List<StageNode> nodes) throws PipelineException {
+            for (StageNode node : nodes) {
+                nodesById.put(node.id(), node);
+            }
+            for (StageNode node : nodes) {
+                int count = 0;
+                for (String dep : node.dependsOn()) {
+                    if (nodesById.containsKey(dep) && !dep.equals(node.id())) {
+                        dependents.computeIfAbsent(dep, k -> new ArrayList<>()).add(node);
+                        count++;
+                    }
+                }
+                pendingDeps.put(node.id(), count);
+            }
+            checkAcyclic();
+        }
+
+        private void run() throws PipelineException {
+            lock.lock();
+            try {
+                for (StageNode node : nodesById.values()) {
+                    if (pendingDeps.get(node.id()) == 0) {
+                        launch(node);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            while (true) {
+                // 풀이 아직 가져가지 않은 노드는 호출 스레드가 직접 실행
+                NodeTask task;
+                while ((task = unclaimed.poll()) != null) {
+                    task.run();
+                }
+
+                lock.lock();
+                try {
+                    if (finished == launched && (failure != null || launched == nodesById.size())) {
+                        break;
+                    }
+                    progress.await(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new PipelineException("Interrupted while waiting for stages", null, e);
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        /**
+         * Must hold {@link #lock}.
+         */
+        private void launch(StageNode node) {
+            launched++;
+            NodeTask task = new NodeTask(node);
+            unclaimed.add(task);
+            try {
+                pipelineExecutor.execute(task);
+            } catch (RejectedExecutionException e) {
+                log.debug("pipelineExecutor rejected stage {}, running on the orchestrating thread", node.id());
+            }
+        }
+
+        private void onFinished(StageNode node, PipelineException error) {
+            lock.lock();
+            try {
+                finished++;
+                if (error != null) {
+                    if (failure == null) {
+                        failure = error;
+                    }
+                } else if (failure == null) {
+                    for (StageNode next : dependents.getOrDefault(node.id(), List.of())) {
+                        if (pendingDeps.merge(next.id(), -1, Integer::sum) == 0) {
+                            launch(next);
+                        }
+                    }
+                }
+                progress.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void checkAcyclic() throws PipelineException {
+            Map<String, Integer> remaining = new HashMap<>(pendingDeps);
+            Deque<String> ready = new ArrayDeque<>();
+            remaining.forEach((id, count) -> {
+                if (count == 0) {
+                    ready.add(id);
+                }
+            });
+            int visited = 0;
+            while (!ready.isEmpty()) {
+                String id = ready.poll();
+                visited++;
+                for (StageNode next : dependents.getOrDefault(id, List.of())) {
+                    if (remaining.merge(next.id(), -1, Integer::sum) == 0) {
+                        ready.add(next.id());
+                    }
+                }
+            }
+            if (visited != nodesById.size()) {
+                throw new PipelineException("Stage dependencies contain a cycle: " + nodesById.keySet(), null);
+            }
+        }
+
+        /**
+         * Runs at most once, on whichever thread claims it first.
+         */
+        private final class NodeTask implements Runnable {
+            private final StageNode node;
+            private final AtomicBoolean claimed = new AtomicBoolean();
+
+            private NodeTask(StageNode node) {
+                this.node = node;
+            }
+
+            @Override
+            public void run() {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+
+                boolean skip;
+                lock.lock();
+                try {
+                    skip = failure != null;
+                } finally {
+                    lock.unlock();
+                }
+                if (skip) {
+                    log.info("Skipping stage {} after an earlier failure", node.id());
+                    onFinished(node, null);
+                    return;
+                }
+
+                // Errors (OOM, linkage) are recorded as well: every launched node must be counted
+                // as finished or the orchestrating thread waits forever.
+                PipelineException error = null;
+                try {
+                    node.body().run();
+                } catch (PipelineException e) {
+                    error = e;
+                } catch (Throwable e) {
+                    error = new PipelineException("Stage failed: " + node.id(), node.stage(), e);
+                } finally {
+                    onFinished(node, error);
+                }
+            }
+        }
+    }
+}
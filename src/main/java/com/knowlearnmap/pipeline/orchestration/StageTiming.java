@@ -0,0 +1,58 @@
+package com.knowlearnmap.pipeline.orchestration;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Start/end time of one stage within a pipeline execution
+ * (stored in {@link PipelineExecutionEntity#getStageTimings()}).
+ */
+@Data
+@NoArgsConstructor
+public class StageTiming {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private Status status;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long durationMs;
+
+    /**
+     * Set when the stage was not run but taken from the checkpoint of an earlier execution
+     */
+    private Long reusedFromExecutionId;
+
+    public static StageTiming started() {
+        StageTiming timing = new StageTiming();
+        timing.setStatus(Status.RUNNING);
+        timing.setStartTime(LocalDateTime.now());
+        return timing;
+    }
+
+    /**
+     * Copy of a completed timing carried over as a checkpoint from the given execution.
+     */
+    public StageTiming reusedFrom(Long executionId) {
+        StageTiming copy = new StageTiming();
+        copy.setStatus(status);
+        copy.setStartTime(startTime);
+        copy.setEndTime(endTime);
+        copy.setDurationMs(durationMs);
+        copy.setReusedFromExecutionId(reusedFromExecutionId != null ? reusedFromExecutionId : executionId);
+        return copy;
+    }
+
+    public void finish(Status status) {
+        this.status = status;
+        this.endTime = LocalDateTime.now();
+        if (startTime != null) {
+            this.durationMs = Duration.between(startTime, endTime).toMillis();
+        }
+    }
+}
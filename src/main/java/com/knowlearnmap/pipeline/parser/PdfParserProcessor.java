@@ -11,10 +11,12 @@ import com.knowlearnmap.pipeline.core.StageProcessor;
 import com.knowlearnmap.rag.service.PdfParsingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * PDF parsing stage processor.
@@ -31,12 +33,35 @@ public class PdfParserProcessor implements StageProcessor {
     private final DocumentRepository documentRepository;
     private final DocumentPageRepository documentPageRepository;
     private final PdfParsingService pdfParsingService;
+    private final TransactionTemplate transactionTemplate;
 
+    @Value("${pipeline.pdf.persist-batch-size:50}")
+    private int persistBatchSize;
+
+    /**
+     * Pages are streamed from the parser and committed in batches of
+     * {@code pipeline.pdf.persist-batch-size}, so neither the page list nor the
+     * persistence context grows with the document size.
+     */
     @Override
-    @Transactional
     public void process(PipelineContext context) throws PipelineException {
         log.info("Processing PDF parsing for document={}", context.getDocumentId());
 
+        int pageCount = parse(context, batch -> {
+        });
+        context.setProgress(25);
+
+        log.info("PDF parsing completed successfully: {} pages extracted", pageCount);
+    }
+
+    /**
+     * Parses the document and persists pages batch by batch.
+     *
+     * @param onBatchSaved called on the calling thread after each batch commits
+     *                     (used by streaming execution to hand pages to CHUNK)
+     * @return number of pages extracted
+     */
+    public int parse(PipelineContext context, Consumer<List<DocumentPage>> onBatchSaved) throws PipelineException {
         try {
             // 문서 조회
             DocumentEntity document = documentRepository.findById(context.getDocumentId())
@@ -46,21 +71,26 @@ public class PdfParserProcessor implements StageProcessor {
                             null,
                             false));
 
-            // PDF 파싱
+            // 재시도 시 이전 시도에서 일부 커밋된 페이지 정리
+            Integer removed = transactionTemplate.execute(
+                    status -> documentPageRepository.deleteByDocumentId(document.getId()));
+            if (removed != null && removed > 0) {
+                log.info("Removed {} pages left by a previous PARSE attempt", removed);
+            }
+
+            // PDF 파싱 + 배치 저장
             Integer maxPages = context.getMetadata("maxPages", Integer.class);
             int pageLimit = (maxPages != null) ? maxPages : 0;
 
-            List<DocumentPage> pages = pdfParsingService.extractPages(document, pageLimit);
-
-            // 페이지 저장
-            documentPageRepository.saveAll(pages);
+            int pageCount = pdfParsingService.extractPages(document, pageLimit, persistBatchSize, batch -> {
+                transactionTemplate.executeWithoutResult(status -> documentPageRepository.saveAll(batch));
+                onBatchSaved.accept(batch);
+            });
 
             // 컨텍스트 업데이트
             context.addMetadata("pdf_parsed", true);
-            context.addMetadata("page_count", pages.size());
-            context.setProgress(25);
-
-            log.info("PDF parsing completed successfully: {} pages extracted", pages.size());
+            context.addMetadata("page_count", pageCount);
+            return pageCount;
 
         } catch (Exception e) {
             throw new PipelineException("PDF parsing failed", getStage(), e, true);
@@ -0,0 +1,104 @@
+package com.knowlearnmap.pipeline.scheduling;
+
+import com.knowlearnmap.member.domain.Member;
+import com.knowlearnmap.pipeline.core.PipelineStage;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Persistent pipeline job queued by {@link PipelineJobScheduler}.
+ * A job survives restarts until it is dispatched to the orchestrator.
+ */
+@Entity
+@Table(name = "pipeline_job", indexes = {
+        @Index(name = "idx_pipeline_job_status", columnList = "status, created_at")
+})
+@Data
+public class PipelineJobEntity {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "workspace_id", nullable = false)
+    private Long workspaceId;
+
+    @Column(name = "document_id", nullable = false)
+    private Long documentId;
+
+    /**
+     * Member the job is accounted to for fair-share ordering
+     */
+    @Column(name = "requested_by", nullable = false)
+    private String requestedBy;
+
+    /**
+     * Effective grade for concurrency caps (admins count as MAX)
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "grade", nullable = false, length = 20)
+    private Member.Grade grade;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    /**
+     * Initial pipeline context metadata (e.g. maxPages)
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "metadata", columnDefinition = "jsonb")
+    private Map<String, Object> metadata = new HashMap<>();
+
+    /**
+     * true: resume from the document's last checkpoints instead of a fresh run
+     */
+    @Column(name = "resume", nullable = false, columnDefinition = "boolean default false")
+    private boolean resume;
+
+    /**
+     * With {@link #resume}: stage to re-run from even if it was completed (null = from checkpoints)
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_stage", length = 30)
+    private PipelineStage fromStage;
+
+    /**
+     * Instance that claimed the job ({@code pipeline.scheduler.instance-id}); null while QUEUED
+     */
+    @Column(name = "owner", length = 100)
+    private String owner;
+
+    /**
+     * Refreshed by the owner while RUNNING; other instances recover the job once it goes stale
+     */
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "error_message", length = 2000)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,76 @@
+package com.knowlearnmap.pipeline.scheduling;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for queued and running pipeline jobs.
+ */
+@Repository
+public interface PipelineJobRepository extends JpaRepository<PipelineJobEntity, Long> {
+
+    String QUEUED = "com.knowlearnmap.pipeline.scheduling.PipelineJobEntity.Status.QUEUED";
+    String RUNNING = "com.knowlearnmap.pipeline.scheduling.PipelineJobEntity.Status.RUNNING";
+
+    /**
+     * Oldest jobs first in the given status.
+     */
+    List<PipelineJobEntity> findByStatusOrderByCreatedAtAsc(PipelineJobEntity.Status status, Pageable pageable);
+
+    List<PipelineJobEntity> findByStatus(PipelineJobEntity.Status status);
+
+    Optional<PipelineJobEntity> findTopByDocumentIdOrderByCreatedAtDesc(Long documentId);
+
+    long countByStatus(PipelineJobEntity.Status status);
+
+    /**
+     * Moves a job from QUEUED to RUNNING owned by {@code owner}. Returns 0 if another dispatcher claimed it first.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PipelineJobEntity j SET j.status = " + RUNNING + ", j.owner = :owner, j.startedAt = :now, " +
+            "j.heartbeatAt = :now WHERE j.id = :id AND j.status = " + QUEUED)
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /**
+     * Refreshes the heartbeat of every job this instance is running.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PipelineJobEntity j SET j.heartbeatAt = :now WHERE j.owner = :owner AND j.status = " + RUNNING)
+    int heartbeat(@Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /**
+     * Puts RUNNING jobs whose owner stopped heartbeating (or that are owned by {@code owner},
+     * i.e. left by this instance's previous process) back in the queue as resume jobs.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PipelineJobEntity j SET j.status = " + QUEUED + ", j.resume = true, j.startedAt = null, " +
+            "j.owner = null, j.heartbeatAt = null WHERE j.status = " + RUNNING + " AND " +
+            "(j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore OR j.owner = :owner)")
+    int requeueStaleForResume(@Param("staleBefore") LocalDateTime staleBefore, @Param("owner") String owner);
+
+    /**
+     * Documents of RUNNING jobs whose owner is still heartbeating.
+     */
+    @Query("SELECT j.documentId FROM PipelineJobEntity j WHERE j.status = " + RUNNING +
+            " AND j.heartbeatAt >= :staleBefore")
+    List<Long> findLiveDocumentIds(@Param("staleBefore") LocalDateTime staleBefore);
+
+    boolean existsByDocumentIdAndStatus(Long documentId, PipelineJobEntity.Status status);
+
+    /**
+     * Records the outcome, unless the job was recovered by another instance in the meantime.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PipelineJobEntity j SET j.status = :status, j.finishedAt = :now, j.errorMessage = :error " +
+            "WHERE j.id = :id AND j.owner = :owner")
+    int finish(@Param("id") Long id, @Param("owner") String owner, @Param("status") PipelineJobEntity.Status status,
+            @Param("error") String error, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,340 @@
+package com.knowlearnmap.pipeline.scheduling;
+
+import com.knowlearnmap.member.domain.Member;
+import com.knowlearnmap.pipeline.core.PipelineStage;
+import com.knowlearnmap.pipeline.orchestration.PipelineExecutionEntity;
+import com.knowlearnmap.pipeline.orchestration.PipelineOrchestrator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 파이프라인 전역 스케줄러 (문서 간 수용 제어)
+ *
+ * <ul>
+ * <li>업로드/시작 요청은 pipeline_job 테이블에 QUEUED로 저장 (재시작 후에도 유지)</li>
+ * <li>전체 / 워크스페이스별 / 등급별 동시 실행 상한을 넘지 않는 범위에서만 오케스트레이터로 디스패치</li>
+ * <li>디스패치 순서는 공정 분배: 실행 중인 작업이 가장 적은 회원의 가장 오래된 작업부터</li>
+ * <li>작업 완료 시, 그리고 poll-interval-ms 주기로 큐를 다시 확인</li>
+ * <li>중단된 실행은 체크포인트부터 재개하는 작업으로 다시 큐에 등록</li>
+ * </ul>
+ *
+ * 상한 집계는 RUNNING 행 기준이므로 여러 인스턴스가 같은 DB를 쓰더라도 공유되며,
+ * QUEUED → RUNNING 전환은 조건부 UPDATE로 한 인스턴스만 성공함.
+ * 가져간 작업에는 인스턴스 ID(owner)를 기록하고 heartbeat-interval-ms마다 heartbeat_at을 갱신하며,
+ * 복구는 heartbeat가 stale-after-ms 이상 끊긴 작업(과 고정 instance-id 사용 시 자기 이전 프로세스의 작업)만 대상으로 함
+ */
+@Slf4j
+@Service
+public class PipelineJobScheduler {
+
+    private final PipelineJobRepository jobRepository;
+    private final PipelineOrchestrator pipelineOrchestrator;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxConcurrent;
+    private final int perWorkspace;
+    private final int scanLimit;
+    private final String instanceId;
+    private final long staleAfterMillis;
+    private final Map<Member.Grade, Integer> perGrade = new EnumMap<>(Member.Grade.class);
+
+    private final AtomicLong queuedGauge = new AtomicLong();
+    private final AtomicLong runningGauge = new AtomicLong();
+
+    public PipelineJobScheduler(PipelineJobRepository jobRepository,
+            PipelineOrchestrator pipelineOrchestrator,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${pipeline.scheduler.max-concurrent:8}") int maxConcurrent,
+            @Value("${pipeline.scheduler.per-workspace:2}") int perWorkspace,
+            @Value("${pipeline.scheduler.grade-concurrency.free:1}") int freeConcurrency,
+            @Value("${pipeline.scheduler.grade-concurrency.pro:3}") int proConcurrency,
+            @Value("${pipeline.scheduler.grade-concurrency.max:6}") int maxGradeConcurrency,
+            @Value("${pipeline.scheduler.scan-limit:200}") int scanLimit,
+            @Value("${pipeline.scheduler.instance-id:}") String instanceId,
+            @Value("${pipeline.scheduler.heartbeat-interval-ms:10000}") long heartbeatIntervalMillis,
+            @Value("${pipeline.scheduler.stale-after-ms:60000}") long staleAfterMillis) {
+        if (staleAfterMillis <= 2 * heartbeatIntervalMillis) {
+            throw new IllegalStateException("pipeline.scheduler.stale-after-ms=" + staleAfterMillis
+                    + " must be more than twice heartbeat-interval-ms=" + heartbeatIntervalMillis);
+        }
+        this.jobRepository = jobRepository;
+        this.pipelineOrchestrator = pipelineOrchestrator;
+        this.transactionTemplate = transactionTemplate;
+        this.maxConcurrent = maxConcurrent;
+        this.perWorkspace = perWorkspace;
+        this.scanLimit = scanLimit;
+        // 미지정 시 프로세스마다 새 ID (이전 프로세스의 작업은 heartbeat가 끊긴 뒤 복구됨)
+        this.instanceId = instanceId.isBlank() ? defaultInstanceId() : instanceId;
+        this.staleAfterMillis = staleAfterMillis;
+        log.info("파이프라인 스케줄러 인스턴스 ID: {}", this.instanceId);
+        perGrade.put(Member.Grade.FREE, freeConcurrency);
+        perGrade.put(Member.Grade.PRO, proConcurrency);
+        perGrade.put(Member.Grade.MAX, maxGradeConcurrency);
+
+        Gauge.builder("pipeline.jobs", queuedGauge, AtomicLong::get).tag("status", "queued")
+                .register(meterRegistry);
+        Gauge.builder("pipeline.jobs", runningGauge, AtomicLong::get).tag("status", "running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 파이프라인 작업 등록
+     * 호출 측 트랜잭션 안에서 저장되며, 디스패치는 커밋 이후에 수행 (문서가 보이기 전에 실행되지 않도록)
+     *
+     * @param member   요청 회원 (null이면 system, MAX 등급으로 집계)
+     * @param metadata 초기 컨텍스트 메타데이터
+     */
+    public PipelineJobEntity submit(Long workspaceId, Long documentId, Member member, Map<String, Object> metadata) {
+        return enqueue(workspaceId, documentId, member, metadata, false, null);
+    }
+
+    /**
+     * 체크포인트 재개 작업 등록 (완료된 스테이지는 건너뜀)
+     *
+     * @param fromStage 완료 여부와 무관하게 다시 실행할 시작 스테이지 (null이면 체크포인트부터)
+     */
+    public PipelineJobEntity submitResume(Long workspaceId, Long documentId, Member member, PipelineStage fromStage) {
+        return enqueue(workspaceId, documentId, member, null, true, fromStage);
+    }
+
+    private PipelineJobEntity enqueue(Long workspaceId, Long documentId, Member member, Map<String, Object> metadata,
+            boolean resume, PipelineStage fromStage) {
+        PipelineJobEntity job = new PipelineJobEntity();
+        job.setResume(resume);
+        job.setFromStage(fromStage);
+        job.setWorkspaceId(workspaceId);
+        job.setDocumentId(documentId);
+        job.setRequestedBy(member != null ? member.getEmail() : "system");
+        job.setGrade(effectiveGrade(member));
+        job.setStatus(PipelineJobEntity.Status.QUEUED);
+        if (metadata != null) {
+            job.setMetadata(new HashMap<>(metadata));
+        }
+        PipelineJobEntity saved = jobRepository.save(job);
+        log.info("파이프라인 작업 등록: jobId={}, documentId={}, member={}, grade={}, resume={}",
+                saved.getId(), documentId, saved.getRequestedBy(), saved.getGrade(), resume);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch();
+                }
+            });
+        } else {
+            dispatch();
+        }
+        return saved;
+    }
+
+    /**
+     * 큐에서 상한 내 실행 가능한 작업을 공정 분배 순서로 디스패치
+     */
+    @Scheduled(fixedDelayString = "${pipeline.scheduler.poll-interval-ms:5000}")
+    public synchronized void dispatch() {
+        List<PipelineJobEntity> running = jobRepository.findByStatus(PipelineJobEntity.Status.RUNNING);
+        List<PipelineJobEntity> queued = new ArrayList<>(jobRepository.findByStatusOrderByCreatedAtAsc(
+                PipelineJobEntity.Status.QUEUED, PageRequest.of(0, scanLimit)));
+        runningGauge.set(running.size());
+        queuedGauge.set(jobRepository.countByStatus(PipelineJobEntity.Status.QUEUED));
+
+        if (queued.isEmpty() || running.size() >= maxConcurrent) {
+            return;
+        }
+
+        Map<Long, Integer> byWorkspace = new HashMap<>();
+        Map<Member.Grade, Integer> byGrade = new EnumMap<>(Member.Grade.class);
+        Map<String, Integer> byMember = new HashMap<>();
+        for (PipelineJobEntity job : running) {
+            count(job, byWorkspace, byGrade, byMember);
+        }
+
+        int total = running.size();
+        while (total < maxConcurrent) {
+            PipelineJobEntity next = pickNext(queued, byWorkspace, byGrade, byMember);
+            if (next == null) {
+                break;
+            }
+            queued.remove(next);
+
+            if (!claim(next)) {
+                continue; // 다른 인스턴스가 먼저 가져감
+            }
+            count(next, byWorkspace, byGrade, byMember);
+            total++;
+            start(next);
+        }
+        runningGauge.set(total);
+    }
+
+    /**
+     * 시작 시 복구: 자기 이전 프로세스(고정 instance-id)와 heartbeat가 끊긴 인스턴스의 작업을 재개 대상으로 전환
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        recover(instanceId);
+        dispatch();
+    }
+
+    /**
+     * 실행 중인 작업의 heartbeat 갱신 후, 다른 인스턴스가 남긴 stale 작업 복구
+     */
+    @Scheduled(fixedDelayString = "${pipeline.scheduler.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        transactionTemplate.executeWithoutResult(
+                status -> jobRepository.heartbeat(instanceId, LocalDateTime.now()));
+        if (recover(null) > 0) {
+            dispatch();
+        }
+    }
+
+    /**
+     * 중단된 실행을 FAILED로 정리하고 체크포인트 재개 작업으로 다시 큐에 등록
+     * <ul>
+     * <li>heartbeat가 끊긴 RUNNING 작업은 회원/등급 집계를 유지한 채 재개 작업으로 QUEUED 전환</li>
+     * <li>살아 있는 작업이 없는 문서의 PENDING/PROCESSING 실행은 FAILED 처리하고,
+     * 대기 중인 작업이 없으면 system 재개 작업을 새로 등록</li>
+     * </ul>
+     *
+     * @param ownerToRecover heartbeat와 무관하게 복구할 owner (시작 시 자기 인스턴스 ID, 주기 복구 시 null)
+     * @return 재등록/신규 등록한 작업 수
+     */
+    private synchronized int recover(String ownerToRecover) {
+        LocalDateTime staleBefore = LocalDateTime.now().minusNanos(staleAfterMillis * 1_000_000);
+        Integer requeued = transactionTemplate.execute(
+                status -> jobRepository.requeueStaleForResume(staleBefore, ownerToRecover));
+        List<Long> liveDocumentIds = jobRepository.findLiveDocumentIds(staleBefore);
+        List<PipelineExecutionEntity> interrupted = pipelineOrchestrator
+                .failInterruptedExecutions(new HashSet<>(liveDocumentIds));
+
+        int submitted = 0;
+        for (PipelineExecutionEntity execution : interrupted) {
+            if (!jobRepository.existsByDocumentIdAndStatus(execution.getDocumentId(), PipelineJobEntity.Status.QUEUED)) {
+                submitResume(execution.getWorkspaceId(), execution.getDocumentId(), null, null);
+                submitted++;
+            }
+        }
+        int recovered = (requeued != null ? requeued : 0) + submitted;
+        if (!interrupted.isEmpty() || recovered > 0) {
+            log.warn("중단 작업 복구: 중단된 실행 {}건, 재개 작업 재등록 {}건, 신규 재개 작업 {}건",
+                    interrupted.size(), requeued, submitted);
+        }
+        return recovered;
+    }
+
+    /**
+     * 실행 중인 작업이 가장 적은 회원 → 가장 오래된 작업 순으로, 상한에 걸리지 않는 첫 작업
+     * (queued는 생성 순 정렬이므로 회원별 첫 항목이 그 회원의 가장 오래된 작업)
+     */
+    private PipelineJobEntity pickNext(List<PipelineJobEntity> queued, Map<Long, Integer> byWorkspace,
+            Map<Member.Grade, Integer> byGrade, Map<String, Integer> byMember) {
+        Map<String, PipelineJobEntity> oldestPerMember = new LinkedHashMap<>();
+        for (PipelineJobEntity job : queued) {
+            if (byWorkspace.getOrDefault(job.getWorkspaceId(), 0) >= perWorkspace
+                    || byGrade.getOrDefault(job.getGrade(), 0) >= perGrade.getOrDefault(job.getGrade(), 1)) {
+                continue;
+            }
+            oldestPerMember.putIfAbsent(job.getRequestedBy(), job);
+        }
+
+        PipelineJobEntity best = null;
+        int bestRunning = Integer.MAX_VALUE;
+        for (PipelineJobEntity job : oldestPerMember.values()) {
+            int memberRunning = byMember.getOrDefault(job.getRequestedBy(), 0);
+            if (memberRunning < bestRunning
+                    || (memberRunning == bestRunning && job.getCreatedAt().isBefore(best.getCreatedAt()))) {
+                best = job;
+                bestRunning = memberRunning;
+            }
+        }
+        return best;
+    }
+
+    private void count(PipelineJobEntity job, Map<Long, Integer> byWorkspace,
+            Map<Member.Grade, Integer> byGrade, Map<String, Integer> byMember) {
+        byWorkspace.merge(job.getWorkspaceId(), 1, Integer::sum);
+        byGrade.merge(job.getGrade(), 1, Integer::sum);
+        byMember.merge(job.getRequestedBy(), 1, Integer::sum);
+    }
+
+    private boolean claim(PipelineJobEntity job) {
+        Integer updated = transactionTemplate.execute(status -> jobRepository.claim(job.getId(), instanceId, LocalDateTime.now()));
+        return updated != null && updated == 1;
+    }
+
+    private void start(PipelineJobEntity job) {
+        log.info("파이프라인 작업 디스패치: jobId={}, workspaceId={}, documentId={}, member={}",
+                job.getId(), job.getWorkspaceId(), job.getDocumentId(), job.getRequestedBy());
+        try {
+            (job.isResume()
+                    ? pipelineOrchestrator.resumeAsync(job.getWorkspaceId(), job.getDocumentId(), job.getFromStage(),
+                            job.getMetadata())
+                    : pipelineOrchestrator.executeAsync(job.getWorkspaceId(), job.getDocumentId(), job.getMetadata()))
+                    .whenComplete((context, error) -> {
+                        if (error != null) {
+                            finish(job.getId(), PipelineJobEntity.Status.FAILED, error.getMessage());
+                        } else {
+                            finish(job.getId(), PipelineJobEntity.Status.COMPLETED, null);
+                        }
+                        dispatch();
+                    });
+        } catch (Exception e) {
+            log.error("파이프라인 작업 시작 실패: jobId={}", job.getId(), e);
+            finish(job.getId(), PipelineJobEntity.Status.FAILED, e.getMessage());
+        }
+    }
+
+    private void finish(Long jobId, PipelineJobEntity.Status status, String error) {
+        String message = error != null && error.length() > 2000 ? error.substring(0, 2000) : error;
+        try {
+            Integer updated = transactionTemplate.execute(
+                    tx -> jobRepository.finish(jobId, instanceId, status, message, LocalDateTime.now()));
+            if (updated == null || updated == 0) {
+                log.warn("다른 인스턴스가 복구한 작업, 결과 저장 생략: jobId={}, status={}", jobId, status);
+            }
+        } catch (Exception e) {
+            log.error("파이프라인 작업 상태 저장 실패: jobId={}, status={}", jobId, status, e);
+        }
+    }
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private Member.Grade effectiveGrade(Member member) {
+        if (member == null || member.getRole() == Member.Role.ADMIN || member.getGrade() == null) {
+            return Member.Grade.MAX;
+        }
+        return member.getGrade();
+    }
+}
@@ -0,0 +1,102 @@
+package com.knowlearnmap.pipeline.streaming;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded hand-off queue between two streamed stages.
+ *
+ * <p>
+ * {@link #put} blocks while the queue is full, which is what applies
+ * backpressure to the upstream stage. The producer calls {@link #close()} when
+ * it is done; any stage calls {@link #abort()} on failure so that blocked
+ * producers and consumers on either side give up instead of waiting forever.
+ * </p>
+ */
+public class StageQueue<T> {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final String name;
+    private final BlockingQueue<T> queue;
+    private volatile boolean closed;
+    private volatile boolean aborted;
+
+    public StageQueue(String name, int capacity) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Adds an item, waiting while the queue is full.
+     *
+     * @throws CancellationException if the queue was aborted
+     */
+    public void put(T item) throws InterruptedException {
+        while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            checkAborted();
+        }
+        checkAborted();
+    }
+
+    /**
+     * Waits for at least one item, then keeps collecting until {@code maxItems}
+     * are gathered or {@code lingerMillis} passes without a full batch.
+     *
+     * @return next batch, or an empty list once the queue is closed and drained
+     * @throws CancellationException if the queue was aborted
+     */
+    public List<T> takeBatch(int maxItems, long lingerMillis) throws InterruptedException {
+        List<T> batch = new ArrayList<>(Math.min(maxItems, 64));
+
+        T first;
+        while ((first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+            checkAborted();
+            if (closed && queue.isEmpty()) {
+                return batch;
+            }
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        while (batch.size() < maxItems) {
+            queue.drainTo(batch, maxItems - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxItems || remaining <= 0 || closed) {
+                break;
+            }
+            T next = queue.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_MILLIS)),
+                    TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+            checkAborted();
+        }
+        return batch;
+    }
+
+    /**
+     * No more items will be added.
+     */
+    public void close() {
+        closed = true;
+    }
+
+    /**
+     * Stops both sides; pending items are dropped.
+     */
+    public void abort() {
+        aborted = true;
+        queue.clear();
+    }
+
+    private void checkAborted() {
+        if (aborted) {
+            throw new CancellationException("Stage queue aborted: " + name);
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.knowlearnmap.pipeline.streaming;
+
+import com.knowlearnmap.document.domain.DocumentChunk;
+import com.knowlearnmap.document.domain.DocumentEntity;
+import com.knowlearnmap.document.domain.DocumentPage;
+import com.knowlearnmap.document.repository.DocumentRepository;
+import com.knowlearnmap.llmToOntology.dto.OntologyIngestionReport;
+import com.knowlearnmap.pipeline.chunking.ChunkReuseReport;
+import com.knowlearnmap.pipeline.chunking.ChunkReuseService;
+import com.knowlearnmap.pipeline.chunking.LlmChunkingProcessor;
+import com.knowlearnmap.pipeline.core.PipelineContext;
+import com.knowlearnmap.pipeline.core.PipelineException;
+import com.knowlearnmap.pipeline.core.PipelineStage;
+import com.knowlearnmap.pipeline.llm.LlmProcessingProcessor;
+import com.knowlearnmap.pipeline.ontology.OntologyExtractionProcessor;
+import com.knowlearnmap.pipeline.orchestration.PipelineMonitor;
+import com.knowlearnmap.pipeline.parser.PdfParserProcessor;
+import com.knowlearnmap.pipeline.vectorization.VectorEmbeddingProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streaming execution of PARSE → CHUNK → (VECTORIZE, LLM_PROCESSING → ONTOLOGY).
+ *
+ * <p>
+ * Instead of waiting for each stage to finish over the whole document, pages
+ * flow to CHUNK as soon as a parse batch is committed, chunks flow to
+ * VECTORIZE and LLM_PROCESSING as soon as they are saved, and on to ONTOLOGY
+ * as soon as their LLM results are committed. Stages are connected
+ * by bounded {@link StageQueue}s, so a slow consumer throttles its producers
+ * rather than letting pages or chunks pile up in memory.
+ * </p>
+ *
+ * <p>
+ * PARSE runs on the calling (pipeline) thread; the four consumers run on the
+ * {@code pipelineStreamExecutor}. ONTOLOGY hands each batch to the shared
+ * {@code ontologyExecutor} and keeps taking chunks while earlier batches are
+ * still being written. Enabled with {@code pipeline.streaming.enabled=true}.
+ * Per-stage counters are published in the context metadata under
+ * {@code stream_pages_parsed}, {@code stream_chunks_created},
+ * {@code stream_chunks_embedded}, {@code stream_chunks_llm_processed} and
+ * {@code stream_chunks_ontology}.
+ * </p>
+ */
+@Service
+@Slf4j
+public class StreamingStageRunner {
+
+    /**
+     * Stages executed by this runner; the orchestrator skips them in its normal loop.
+     */
+    public static final Set<PipelineStage> STREAMED_STAGES = EnumSet.of(
+            PipelineStage.PARSE, PipelineStage.CHUNK, PipelineStage.VECTORIZE, PipelineStage.LLM_PROCESSING,
+            PipelineStage.ONTOLOGY);
+
+    /**
+     * Stream-executor threads one execution holds (every streamed stage except PARSE).
+     */
+    public static final int CONSUMER_THREADS = 4;
+
+    private final PdfParserProcessor pdfParserProcessor;
+    private final LlmChunkingProcessor llmChunkingProcessor;
+    private final ChunkReuseService chunkReuseService;
+    private final VectorEmbeddingProcessor vectorEmbeddingProcessor;
+    private final LlmProcessingProcessor llmProcessingProcessor;
+    private final OntologyExtractionProcessor ontologyExtractionProcessor;
+    private final DocumentRepository documentRepository;
+    private final PipelineMonitor pipelineMonitor;
+    private final Executor streamExecutor;
+
+    @Value("${pipeline.streaming.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${pipeline.streaming.chunk-batch-pages:10}")
+    private int chunkBatchPages;
+
+    @Value("${pipeline.streaming.vector-batch-size:64}")
+    private int vectorBatchSize;
+
+    @Value("${pipeline.streaming.llm-batch-size:20}")
+    private int llmBatchSize;
+
+    @Value("${pipeline.ontology.batch-size:50}")
+    private int ontologyBatchSize;
+
+    @Value("${pipeline.streaming.linger-ms:500}")
+    private long lingerMillis;
+
+    public StreamingStageRunner(PdfParserProcessor pdfParserProcessor,
+            LlmChunkingProcessor llmChunkingProcessor,
+            ChunkReuseService chunkReuseService,
+            VectorEmbeddingProcessor vectorEmbeddingProcessor,
+            LlmProcessingProcessor llmProcessingProcessor,
+            OntologyExtractionProcessor ontologyExtractionProcessor,
+            DocumentRepository documentRepository,
+            PipelineMonitor pipelineMonitor,
+            @Qualifier("pipelineStreamExecutor") Executor streamExecutor) {
+        this.pdfParserProcessor = pdfParserProcessor;
+        this.llmChunkingProcessor = llmChunkingProcessor;
+        this.chunkReuseService = chunkReuseService;
+        this.vectorEmbeddingProcessor = vectorEmbeddingProcessor;
+        this.llmProcessingProcessor = llmProcessingProcessor;
+        this.ontologyExtractionProcessor = ontologyExtractionProcessor;
+        this.documentRepository = documentRepository;
+        this.pipelineMonitor = pipelineMonitor;
+        this.streamExecutor = streamExecutor;
+    }
+
+    /**
+     * Callbacks for the start and end of each streamed stage (e.g. timing).
+     */
+    public interface StageListener {
+        void onStart(PipelineStage stage);
+
+        void onComplete(PipelineStage stage);
+
+        void onFailure(PipelineStage stage, Exception error);
+    }
+
+    /**
+     * Runs the streamed stages to completion.
+     *
+     * @throws PipelineException from the first stage that failed
+     */
+    public void run(PipelineContext context, StageListener listener) throws PipelineException {
+        log.info(">>> Executing Streamed Stages: {}", STREAMED_STAGES);
+
+        Stream stream = new Stream(context, queueCapacity, listener);
+
+        List<CompletableFuture<Void>> consumers = new ArrayList<>(CONSUMER_THREADS);
+        try {
+            consumers.add(launch(PipelineStage.CHUNK, stream, () -> chunk(stream)));
+            consumers.add(launch(PipelineStage.VECTORIZE, stream, () -> vectorize(stream)));
+            consumers.add(launch(PipelineStage.LLM_PROCESSING, stream, () -> processWithLlm(stream)));
+            consumers.add(launch(PipelineStage.ONTOLOGY, stream, () -> extractOntology(stream)));
+        } catch (RejectedExecutionException e) {
+            // 이미 시작된 소비자가 끝없이 기다리지 않도록 중단
+            stream.abort();
+            throw new PipelineException("No thread available for streamed stages", PipelineStage.PARSE, e, true);
+        }
+
+        // PARSE: 호출 스레드에서 실행, 배치 커밋마다 CHUNK로 전달
+        runStage(PipelineStage.PARSE, stream, () -> parse(stream));
+
+        CompletableFuture.allOf(consumers.toArray(new CompletableFuture[0])).join();
+
+        if (stream.failure.get() != null) {
+            throw stream.failure.get();
+        }
+        context.setProgress(90);
+        log.info(">>> Streamed Stages Completed: {} pages, {} chunks",
+                stream.pagesParsed.get(), stream.chunksCreated.get());
+    }
+
+    private void parse(Stream stream) throws PipelineException {
+        PipelineContext context = stream.context;
+        pdfParserProcessor.parse(context, batch -> {
+            try {
+                for (DocumentPage page : batch) {
+                    stream.pages.put(page);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while handing pages to CHUNK");
+            }
+            context.addMetadata("stream_pages_parsed", stream.pagesParsed.addAndGet(batch.size()));
+        });
+        stream.pages.close();
+        context.setProgress(25);
+    }
+
+    private void chunk(Stream stream) throws Exception {
+        PipelineContext context = stream.context;
+        DocumentEntity document = documentRepository.findById(context.getDocumentId())
+                .orElseThrow(() -> new PipelineException(
+                        "Document not found: " + context.getDocumentId(), PipelineStage.CHUNK, false));
+        llmChunkingProcessor.clearChunks(context.getWorkspaceId(), context.getDocumentId());
+
+        ChunkReuseReport reuse = ChunkReuseReport.EMPTY;
+        List<DocumentPage> batch;
+        while (!(batch = stream.pages.takeBatch(chunkBatchPages, lingerMillis)).isEmpty()) {
+            List<DocumentChunk> chunks = llmChunkingProcessor.chunkAndSave(batch, document,
+                    stream.chunksCreated.get());
+            // 재사용은 큐에 넣기 전에 (이후 단계가 결과가 채워진 청크를 건너뛰도록)
+            reuse = reuse.plus(chunkReuseService.reuse(context.getWorkspaceId(), context.getDocumentId(), chunks));
+            for (DocumentChunk chunk : chunks) {
+                stream.toVectorize.put(chunk);
+                stream.toLlm.put(chunk);
+            }
+            context.addMetadata("stream_chunks_created", stream.chunksCreated.addAndGet(chunks.size()));
+        }
+        stream.toVectorize.close();
+        stream.toLlm.close();
+
+        if (stream.pagesParsed.get() == 0) {
+            throw new PipelineException("No pages found for document: " + context.getDocumentId(),
+                    PipelineStage.CHUNK, false);
+        }
+        context.addMetadata("chunks_created", true);
+        context.addMetadata("chunk_count", stream.chunksCreated.get());
+        context.addMetadata("chunk_reuse", reuse.toMap());
+    }
+
+    private void vectorize(Stream stream) throws Exception {
+        PipelineContext context = stream.context;
+        int embedded = 0;
+        int skipped = 0;
+
+        List<DocumentChunk> batch;
+        while (!(batch = stream.toVectorize.takeBatch(vectorBatchSize, lingerMillis)).isEmpty()) {
+            VectorEmbeddingProcessor.EmbeddingResult result = vectorEmbeddingProcessor
+                    .embedChunks(context.getWorkspaceId(), batch, (done, total) -> {
+                    });
+            embedded += result.embedded();
+            skipped += result.skipped();
+            context.addMetadata("stream_chunks_embedded", stream.chunksEmbedded.addAndGet(batch.size()));
+            stream.updateProgress();
+        }
+
+        context.addMetadata("vectors_created", true);
+        context.addMetadata("vectors_embedded", embedded);
+        context.addMetadata("vectors_skipped", skipped);
+    }
+
+    private void processWithLlm(Stream stream) throws Exception {
+        PipelineContext context = stream.context;
+        int failed = 0;
+
+        List<DocumentChunk> batch;
+        while (!(batch = stream.toLlm.takeBatch(llmBatchSize, lingerMillis)).isEmpty()) {
+            int batchFailed = llmProcessingProcessor.processChunks(batch);
+            failed += batchFailed;
+            context.addMetadata("stream_chunks_llm_processed",
+                    stream.chunksLlmProcessed.addAndGet(batch.size() - batchFailed));
+            stream.updateProgress();
+            // LLM 결과가 커밋된 청크만 ONTOLOGY에서 처리 (실패 청크는 ONTOLOGY가 건너뜀)
+            for (DocumentChunk chunk : batch) {
+                stream.toOntology.put(chunk);
+            }
+        }
+        stream.toOntology.close();
+
+        // 실패한 청크가 있어도 나머지는 끝까지 처리한 뒤 실패 처리 (staged 모드와 동일한 판정)
+        if (failed > 0) {
+            throw new PipelineException(failed + " chunks failed LLM processing", PipelineStage.LLM_PROCESSING,
+                    true);
+        }
+        context.addMetadata("llm_processed", true);
+    }
+
+    private void extractOntology(Stream stream) throws Exception {
+        PipelineContext context = stream.context;
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<OntologyIngestionReport>> pending = new ArrayList<>();
+
+        List<DocumentChunk> batch;
+        while (!(batch = stream.toOntology.takeBatch(ontologyBatchSize, lingerMillis)).isEmpty()) {
+            pending.add(ontologyExtractionProcessor.extractChunks(context, batch)
+                    .whenComplete((report, error) -> {
+                        if (report != null) {
+                            context.addMetadata("stream_chunks_ontology",
+                                    stream.chunksOntology.addAndGet(report.succeeded()));
+                        }
+                    }));
+        }
+
+        OntologyIngestionReport report = OntologyIngestionReport.EMPTY;
+        for (CompletableFuture<OntologyIngestionReport> future : pending) {
+            report = report.plus(future.join());
+        }
+        ontologyExtractionProcessor.recordResult(context, report.withElapsedMs(System.currentTimeMillis() - start));
+    }
+
+    /**
+     * Queues and counters shared by the stages of one streamed execution.
+     */
+    private static final class Stream {
+        private final PipelineContext context;
+        private final StageListener listener;
+        private final StageQueue<DocumentPage> pages;
+        private final StageQueue<DocumentChunk> toVectorize;
+        private final StageQueue<DocumentChunk> toLlm;
+        private final StageQueue<DocumentChunk> toOntology;
+        private final AtomicReference<PipelineException> failure = new AtomicReference<>();
+        private final AtomicInteger pagesParsed = new AtomicInteger();
+        private final AtomicInteger chunksCreated = new AtomicInteger();
+        private final AtomicInteger chunksEmbedded = new AtomicInteger();
+        private final AtomicInteger chunksLlmProcessed = new AtomicInteger();
+        private final AtomicInteger chunksOntology = new AtomicInteger();
+
+        private Stream(PipelineContext context, int queueCapacity, StageListener listener) {
+            this.context = context;
+            this.listener = listener;
+            this.pages = new StageQueue<>("pages", queueCapacity);
+            this.toVectorize = new StageQueue<>("chunks->vectorize", queueCapacity);
+            this.toLlm = new StageQueue<>("chunks->llm", queueCapacity);
+            this.toOntology = new StageQueue<>("chunks->ontology", queueCapacity);
+        }
+
+        private void abort() {
+            pages.abort();
+            toVectorize.abort();
+            toLlm.abort();
+            toOntology.abort();
+        }
+
+        /**
+         * Overall progress 25~90 from the slower of the two chunk consumers.
+         */
+        private void updateProgress() {
+            int total = chunksCreated.get();
+            if (total == 0) {
+                return;
+            }
+            double done = Math.min(chunksEmbedded.get(), chunksLlmProcessed.get()) / (double) total;
+            context.setProgress(25 + (int) (Math.min(done, 1.0) * 65));
+        }
+    }
+
+    @FunctionalInterface
+    private interface StageBody {
+        void run() throws Exception;
+    }
+
+    private CompletableFuture<Void> launch(PipelineStage stage, Stream stream, StageBody body) {
+        return CompletableFuture.runAsync(() -> runStage(stage, stream, body), streamExecutor);
+    }
+
+    /**
+     * Runs one stage body with monitor events; on failure records the first
+     * error and aborts every queue so the other stages stop.
+     */
+    private void runStage(PipelineStage stage, Stream stream, StageBody body) {
+        PipelineContext context = stream.context;
+        stream.listener.onStart(stage);
+        pipelineMonitor.publishStageStart(context, stage);
+        try {
+            body.run();
+            log.info(">>> Streamed Stage Completed: {}", stage.getDisplayName());
+            stream.listener.onComplete(stage);
+            pipelineMonitor.publishStageComplete(context, stage);
+        } catch (Exception e) {
+            stream.listener.onFailure(stage, e);
+            if (isCancellation(e)) {
+                // 다른 스테이지 실패로 중단됨 - 원인은 해당 스테이지에서 기록
+                log.info(">>> Streamed Stage Cancelled: {}", stage.getDisplayName());
+                return;
+            }
+            log.error("Streamed stage failed: {}", stage.getDisplayName(), e);
+            pipelineMonitor.publishStageFailure(context, stage, e);
+            stream.failure.compareAndSet(null, e instanceof PipelineException pe
+                    ? pe
+                    : new PipelineException("Stage failed: " + stage.getDisplayName(), stage, e, true));
+            context.setCurrentStage(stage);
+            stream.abort();
+        }
+    }
+
+    private static boolean isCancellation(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof CancellationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,17 +1,27 @@
 package com.knowlearnmap.pipeline.vectorization;
 
 import com.knowlearnmap.ai.service.EmbeddingService;
+import com.knowlearnmap.ai.service.TokenEstimator;
+import com.knowlearnmap.common.util.HashUtils;
 import com.knowlearnmap.document.domain.DocumentChunk;
 import com.knowlearnmap.document.repository.DocumentChunkRepository;
 import com.knowlearnmap.pipeline.core.PipelineContext;
 import com.knowlearnmap.pipeline.core.PipelineException;
 import com.knowlearnmap.pipeline.core.PipelineStage;
 import com.knowlearnmap.pipeline.core.StageProcessor;
-import lombok.RequiredArgsConstructor;
+import com.knowlearnmap.search.index.ChunkVectorStore;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 /**
  * Vector embedding stage processor.
@@ -22,18 +32,47 @@ import java.util.List;
  * </p>
  * 
  * <p>
+ * Chunks are packed into token-budgeted batches and sent through
+ * {@link EmbeddingService#embedBatch(List)}; up to
+ * {@code pipeline.embedding.max-concurrency} batches run at once on the
+ * {@code embeddingExecutor}. Each batch is persisted as soon as it returns, so
+ * a failure or restart only loses in-flight batches. Chunks whose content hash
+ * matches the hash stored with their embedding are skipped.
+ * </p>
+ * 
+ * <p>
  * <strong>Terminal Stage:</strong> This is the end of the vector path.
  * After completion, this branch of the pipeline terminates (does not proceed to
  * ArangoDB stages).
  * </p>
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class VectorEmbeddingProcessor implements StageProcessor {
 
     private final EmbeddingService embeddingService;
     private final DocumentChunkRepository chunkRepository;
+    private final ChunkVectorStore chunkVectorStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor embeddingExecutor;
+
+    @Value("${pipeline.embedding.max-batch-tokens:50000}")
+    private int maxBatchTokens;
+
+    @Value("${pipeline.embedding.max-batch-size:256}")
+    private int maxBatchSize;
+
+    public VectorEmbeddingProcessor(EmbeddingService embeddingService,
+            DocumentChunkRepository chunkRepository,
+            ChunkVectorStore chunkVectorStore,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("embeddingExecutor") Executor embeddingExecutor) {
+        this.embeddingService = embeddingService;
+        this.chunkRepository = chunkRepository;
+        this.chunkVectorStore = chunkVectorStore;
+        this.transactionTemplate = transactionTemplate;
+        this.embeddingExecutor = embeddingExecutor;
+    }
 
     @Override
     public void process(PipelineContext context) throws PipelineException {
@@ -49,42 +88,133 @@ public class VectorEmbeddingProcessor implements StageProcessor {
                 return;
             }
 
-            int totalChunks = chunks.size();
-            log.info("Found {} chunks to embed", totalChunks);
+            // 2~3. 임베딩 및 배치별 저장, 진행률 업데이트 (60% ~ 90%)
+            EmbeddingResult result = embedChunks(context.getWorkspaceId(), chunks,
+                    (done, total) -> context.setProgress(60 + (int) ((double) done / total * 30)));
 
-            // 2. 각 청크에 대해 임베딩 생성 및 저장
-            for (int i = 0; i < totalChunks; i++) {
-                DocumentChunk chunk = chunks.get(i);
+            context.addMetadata("vectors_created", true);
+            context.addMetadata("chunk_count", chunks.size());
+            context.addMetadata("vectors_embedded", result.embedded());
+            context.addMetadata("vectors_skipped", result.skipped());
 
-                // 이미 임베딩이 있으면 스킵할 수도 있으나, 여기서는 재처리로 간주 (필요 시 로직 추가)
+            log.info("Vector embedding completed successfully for document={} ({} embedded, {} skipped)",
+                    documentId, result.embedded(), result.skipped());
 
-                String content = chunk.getContent();
-                if (content != null && !content.trim().isEmpty()) {
-                    List<Double> vector = embeddingService.embed(content);
-                    chunk.setEmbedding(vector);
-                }
+        } catch (PipelineException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new PipelineException("Vector embedding failed", getStage(), e, true);
+        }
+    }
+
+    /**
+     * Number of chunks embedded and skipped (content unchanged) by {@link #embedChunks}.
+     */
+    public record EmbeddingResult(int embedded, int skipped) {
+    }
 
-                // 진행률 업데이트 (60% ~ 90%)
-                int progress = 60 + (int) ((double) (i + 1) / totalChunks * 30);
-                context.setProgress(progress);
+    /**
+     * Embeds the given chunks and persists each batch as it returns.
+     * Also used by streaming execution for each incoming batch of chunks.
+     *
+     * @param onProgress receives (embedded so far, chunks to embed) after each batch
+     * @throws PipelineException if any batch failed (already saved batches are kept)
+     */
+    public EmbeddingResult embedChunks(Long workspaceId, List<DocumentChunk> chunks,
+            BiConsumer<Integer, Integer> onProgress) throws PipelineException {
+        // 내용이 바뀌지 않은 기존 임베딩은 스킵
+        List<PendingChunk> pending = new ArrayList<>();
+        for (DocumentChunk chunk : chunks) {
+            String content = chunk.getContent();
+            if (content == null || content.trim().isEmpty()) {
+                continue;
             }
+            String hash = HashUtils.sha256Hex(content);
+            if (chunk.getEmbedding() != null && chunk.getEmbedding().length > 0
+                    && hash.equals(chunk.getEmbeddingContentHash())) {
+                continue;
+            }
+            pending.add(new PendingChunk(chunk, hash, TokenEstimator.estimate(content)));
+        }
 
-            // 3. 변경사항 저장
-            chunkRepository.saveAll(chunks);
+        int skipped = chunks.size() - pending.size();
+        log.info("{} chunks, {} to embed ({} unchanged, skipped)", chunks.size(), pending.size(), skipped);
+
+        // 토큰 예산 기준 배치 구성 후 제한된 동시성으로 임베딩 및 배치별 저장
+        List<List<PendingChunk>> batches = buildBatches(pending);
+        AtomicInteger embedded = new AtomicInteger(0);
+        AtomicInteger failedBatches = new AtomicInteger(0);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(batches.size());
+        for (List<PendingChunk> batch : batches) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    embedAndSaveBatch(workspaceId, batch);
+                    onProgress.accept(embedded.addAndGet(batch.size()), pending.size());
+                } catch (Exception e) {
+                    failedBatches.incrementAndGet();
+                    log.error("Embedding batch failed (first chunk id={}, size={}): {}",
+                            batch.get(0).chunk().getId(), batch.size(), e.getMessage());
+                }
+            }, embeddingExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
 
-            context.addMetadata("vectors_created", true);
-            context.addMetadata("chunk_count", totalChunks);
-            context.setProgress(100); // 이 스테이지 완료 시 100%? 아니면 전체 파이프라인 상의 진행률?
-                                      // PipelineOrchestrator 주석을 보면 스테이지 완료 시 업데이트 함.
-                                      // 일단 스테이지 내부 진행률은 의미가 덜할 수 있으므로, 완료 시점에만 맞춰도 됨.
-                                      // 하지만 process() 종료 시점에는 PipelineOrchestrator가 관리할 수 있음.
-                                      // 여기서는 context에 진행률을 기록해두면 Orchestrator가 DB 업데이트 함.
+        if (failedBatches.get() > 0) {
+            throw new PipelineException(String.format("%d/%d embedding batches failed (%d chunks embedded)",
+                    failedBatches.get(), batches.size(), embedded.get()), getStage(), true);
+        }
+        return new EmbeddingResult(embedded.get(), skipped);
+    }
 
-            log.info("Vector embedding completed successfully for document={} ({} chunks)", documentId, totalChunks);
+    private record PendingChunk(DocumentChunk chunk, String contentHash, int tokens) {
+    }
 
-        } catch (Exception e) {
-            throw new PipelineException("Vector embedding failed", getStage(), e, true);
+    /**
+     * 토큰 예산(maxBatchTokens)과 입력 개수(maxBatchSize)를 넘지 않도록 순서대로 묶음
+     */
+    private List<List<PendingChunk>> buildBatches(List<PendingChunk> pending) {
+        List<List<PendingChunk>> batches = new ArrayList<>();
+        List<PendingChunk> current = new ArrayList<>();
+        int currentTokens = 0;
+
+        for (PendingChunk p : pending) {
+            if (!current.isEmpty()
+                    && (currentTokens + p.tokens() > maxBatchTokens || current.size() >= maxBatchSize)) {
+                batches.add(current);
+                current = new ArrayList<>();
+                currentTokens = 0;
+            }
+            current.add(p);
+            currentTokens += p.tokens();
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
         }
+        return batches;
+    }
+
+    private void embedAndSaveBatch(Long workspaceId, List<PendingChunk> batch) {
+        List<String> texts = batch.stream().map(p -> p.chunk().getContent()).toList();
+        List<float[]> vectors = embeddingService.embedBatch(texts);
+
+        if (vectors.size() != batch.size()) {
+            throw new IllegalStateException(
+                    "Embedding count mismatch: expected=" + batch.size() + ", actual=" + vectors.size());
+        }
+
+        List<DocumentChunk> saved = new ArrayList<>(batch.size());
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < batch.size(); i++) {
+                PendingChunk p = batch.get(i);
+                chunkRepository.updateEmbedding(p.chunk().getId(), vectors.get(i), p.contentHash());
+                p.chunk().setEmbedding(vectors.get(i));
+                p.chunk().setEmbeddingContentHash(p.contentHash());
+                saved.add(p.chunk());
+            }
+        });
+
+        chunkVectorStore.addChunks(workspaceId, saved);
     }
 
     @Override
@@ -0,0 +1,52 @@
+package com.knowlearnmap.prompt.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 배포 프롬프트 LLM 응답 캐시 (영구 계층)
+ *
+ * cache_key = "v" + 프롬프트 버전 ID + ":" + SHA-256(LLM 설정 + 변수 치환된 프롬프트)
+ */
+@Entity
+@Table(name = "llm_response_cache", indexes = {
+        @Index(name = "idx_llm_response_cache_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_llm_response_cache_version", columnList = "version_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class LlmResponseCacheEntry {
+
+    @Id
+    @Column(name = "cache_key", length = 100)
+    private String cacheKey;
+
+    @Column(name = "prompt_code", length = 100, nullable = false)
+    private String promptCode;
+
+    @Column(name = "version_id", nullable = false)
+    private Long versionId;
+
+    @Column(name = "model", length = 100)
+    private String model;
+
+    @Column(name = "response_text", columnDefinition = "TEXT", nullable = false)
+    private String responseText;
+
+    @Column(name = "hit_count", nullable = false)
+    private long hitCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "last_hit_at")
+    private LocalDateTime lastHitAt;
+}
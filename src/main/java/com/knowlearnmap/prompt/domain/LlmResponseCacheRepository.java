@@ -0,0 +1,36 @@
+package com.knowlearnmap.prompt.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface LlmResponseCacheRepository extends JpaRepository<LlmResponseCacheEntry, String> {
+
+        /**
+         * 같은 키를 동시에 저장하거나 캐시 우회 후 갱신하는 경우를 위해 upsert 사용
+         */
+        @Modifying
+        @Query(value = "INSERT INTO llm_response_cache (cache_key, prompt_code, version_id, model, response_text, " +
+                        "hit_count, created_at, expires_at) " +
+                        "VALUES (:cacheKey, :promptCode, :versionId, :model, :responseText, 0, now(), :expiresAt) " +
+                        "ON CONFLICT (cache_key) DO UPDATE SET response_text = EXCLUDED.response_text, " +
+                        "model = EXCLUDED.model, created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at",
+                        nativeQuery = true)
+        int upsert(@Param("cacheKey") String cacheKey, @Param("promptCode") String promptCode,
+                        @Param("versionId") Long versionId, @Param("model") String model,
+                        @Param("responseText") String responseText, @Param("expiresAt") LocalDateTime expiresAt);
+
+        @Modifying
+        @Query("UPDATE LlmResponseCacheEntry e SET e.hitCount = e.hitCount + 1, e.lastHitAt = :now " +
+                        "WHERE e.cacheKey = :cacheKey")
+        int recordHit(@Param("cacheKey") String cacheKey, @Param("now") LocalDateTime now);
+
+        @Modifying
+        @Query("DELETE FROM LlmResponseCacheEntry e WHERE e.expiresAt < :now")
+        int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -15,4 +15,5 @@ public class LlmDirectCallResponse {
     private Long snapshotId;  // ?ㅻ깄??ID (??λ맂 寃쎌슦)
     private Integer tokensUsed;
     private Long latencyMs;
+    private Boolean cached; // 응답 캐시 적중 여부 (배포 프롬프트 호출)
 }
@@ -11,4 +11,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class SimpleLlmCallRequest {
     private java.util.Map<String, Object> variables; // ?꾨＼?꾪듃 蹂??
+
+    /**
+     * true이면 응답 캐시를 조회하지 않고 LLM을 호출 (새 응답으로 캐시 갱신)
+     */
+    private Boolean bypassCache;
 }
@@ -2,16 +2,19 @@ package com.knowlearnmap.prompt.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.knowlearnmap.ai.client.LlmClientRegistry;
+import com.knowlearnmap.ai.limiter.LlmConcurrencyLimiterRegistry;
+import com.knowlearnmap.ai.limiter.LlmHttpException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
+import okio.BufferedSource;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
@@ -20,6 +23,8 @@ public class DirectLlmCallService {
 
     private final ObjectMapper objectMapper;
     private final GeminiSdkService geminiSdkService;
+    private final LlmConcurrencyLimiterRegistry limiterRegistry;
+    private final LlmClientRegistry clientRegistry;
 
     // Google AI Studio (Gemini)
     @Value("${spring.ai.aistudio.api-key:}")
@@ -33,63 +38,72 @@ public class DirectLlmCallService {
     @Value("${spring.ai.anthropic.api-key:}")
     private String anthropicApiKey;
 
-    private static final int MAX_RETRY = 3;
-    private static final int RETRY_DELAY_MS = 1000;
-
     private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final String GEMINI_ENDPOINT = "https://generativelanguage.googleapis.com/v1beta/models/";
+    private static final String AISTUDIO_MODEL = "gemini-1.5-flash-001";
 
     /**
      * LLM 호출 (모델에 따라 자동 분기)
+     * 공급자별 적응형 동시성 제한과 재시도(429/5xx는 Retry-After 반영)는 LlmConcurrencyLimiterRegistry가 담당
      */
     public String callLlm(String llmModel, String prompt, double temperature, double topP,
             int maxOutputTokens, int topK, int n) {
         if ("AISTUDIO".equalsIgnoreCase(llmModel)) {
-            return callAistudioWithRetry(prompt, temperature, topP, maxOutputTokens, topK);
+            return limiterRegistry.execute("AISTUDIO",
+                    () -> callAistudio(prompt, temperature, topP, maxOutputTokens, topK));
         } else if (llmModel.toUpperCase().startsWith("GEMINI")) {
             // LangChain4j SDK를 통한 Gemini 호출 (Generic)
-            // GEMINI-2.5-PRO -> gemini-1.5-pro (자동 보정)
-            String targetModel = llmModel.toLowerCase().replace("_", "-");
-            if (targetModel.contains("2-5")) {
-                targetModel = targetModel.replace("2-5", "2.5");
-            }
-            log.info("Gemini SDK 호출 -> 모델명: {}", targetModel);
-            return geminiSdkService.callGemini25Pro(targetModel, prompt, temperature, topP, maxOutputTokens, topK);
+            String model = geminiModelName(llmModel);
+            log.info("Gemini SDK 호출 -> 모델명: {}", model);
+            return limiterRegistry.execute("GEMINI",
+                    () -> geminiSdkService.callGemini25Pro(model, prompt, temperature, topP, maxOutputTokens, topK));
         } else if ("OPENAI".equalsIgnoreCase(llmModel) || "GPT4".equalsIgnoreCase(llmModel)) {
-            return callOpenAiWithRetry(prompt, temperature, maxOutputTokens, n);
+            return limiterRegistry.execute("OPENAI", () -> callOpenAi(prompt, temperature, maxOutputTokens, n));
         } else if ("ANTHROPIC".equalsIgnoreCase(llmModel)) {
-            return callAnthropicWithRetry(prompt, temperature, maxOutputTokens);
+            return limiterRegistry.execute("ANTHROPIC", () -> callAnthropic(prompt, temperature, maxOutputTokens));
         } else {
             throw new RuntimeException("지원하지 않는 LLM 모델입니다: " + llmModel);
         }
     }
 
     /**
-     * AISTUDIO 호출 (재시도 포함)
+     * LLM 스트리밍 호출 (SSE). 응답 조각이 도착할 때마다 listener.onDelta 호출
+     *
+     * <p>
+     * 제한기가 재시도하면 응답을 처음부터 다시 받으므로, 매 시도 시작 시 listener.onRestart 호출.
+     * GEMINI 모델도 SDK 대신 REST streamGenerateContent(SSE)로 호출
+     * </p>
+     *
+     * @return 전체 응답 텍스트
      */
-    private String callAistudioWithRetry(String prompt, double temperature, double topP,
-            int maxOutputTokens, int topK) {
-        Exception lastException = null;
-
-        for (int attempt = 1; attempt <= MAX_RETRY; attempt++) {
-            try {
-                log.info("AISTUDIO 호출 시도 {}/{}", attempt, MAX_RETRY);
-                return callAistudio(prompt, temperature, topP, maxOutputTokens, topK);
-            } catch (Exception e) {
-                log.warn("AISTUDIO 호출 실패 (시도 {}/{}): {}", attempt, MAX_RETRY, e.getMessage());
-                lastException = e;
-
-                if (attempt < MAX_RETRY) {
-                    try {
-                        Thread.sleep(RETRY_DELAY_MS * attempt); // 지수 백오프
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("재시도 대기 중 인터럽트 발생", ie);
-                    }
-                }
-            }
+    public String streamLlm(String llmModel, String prompt, double temperature, double topP,
+            int maxOutputTokens, int topK, LlmStreamListener listener) {
+        if ("AISTUDIO".equalsIgnoreCase(llmModel)) {
+            return limiterRegistry.execute("AISTUDIO", () -> streamGemini("AISTUDIO", AISTUDIO_MODEL, prompt,
+                    temperature, topP, maxOutputTokens, topK, listener));
+        } else if (llmModel.toUpperCase().startsWith("GEMINI")) {
+            String model = geminiModelName(llmModel);
+            return limiterRegistry.execute("GEMINI", () -> streamGemini("GEMINI", model, prompt,
+                    temperature, topP, maxOutputTokens, topK, listener));
+        } else if ("OPENAI".equalsIgnoreCase(llmModel) || "GPT4".equalsIgnoreCase(llmModel)) {
+            return limiterRegistry.execute("OPENAI", () -> streamOpenAi(prompt, temperature, maxOutputTokens, listener));
+        } else if ("ANTHROPIC".equalsIgnoreCase(llmModel)) {
+            return limiterRegistry.execute("ANTHROPIC",
+                    () -> streamAnthropic(prompt, temperature, maxOutputTokens, listener));
+        } else {
+            throw new RuntimeException("지원하지 않는 LLM 모델입니다: " + llmModel);
         }
+    }
 
-        throw new RuntimeException("AISTUDIO 호출 실패 (" + MAX_RETRY + "회 시도)", lastException);
+    /**
+     * GEMINI-2.5-PRO -> gemini-2.5-pro (자동 보정)
+     */
+    private String geminiModelName(String llmModel) {
+        String targetModel = llmModel.toLowerCase().replace("_", "-");
+        if (targetModel.contains("2-5")) {
+            targetModel = targetModel.replace("2-5", "2.5");
+        }
+        return targetModel;
     }
 
     /**
@@ -97,32 +111,10 @@ public class DirectLlmCallService {
      */
     private String callAistudio(String prompt, double temperature, double topP,
             int maxOutputTokens, int topK) throws IOException {
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .build();
+        OkHttpClient client = clientRegistry.httpClient("AISTUDIO");
 
-        // API 요청 바디 구성
-        Map<String, Object> requestBody = new HashMap<>();
-
-        Map<String, Object> contents = new HashMap<>();
-        contents.put("role", "user");
-
-        Map<String, String> parts = new HashMap<>();
-        parts.put("text", prompt);
-        contents.put("parts", new Map[] { parts });
-
-        requestBody.put("contents", new Map[] { contents });
-
-        Map<String, Object> generationConfig = new HashMap<>();
-        generationConfig.put("temperature", temperature);
-        generationConfig.put("topP", topP);
-        generationConfig.put("topK", topK);
-        generationConfig.put("maxOutputTokens", maxOutputTokens);
-        requestBody.put("generationConfig", generationConfig);
-
-        String jsonBody = objectMapper.writeValueAsString(requestBody);
+        String jsonBody = objectMapper.writeValueAsString(
+                geminiRequestBody(prompt, temperature, topP, maxOutputTokens, topK));
 
         // API 키 확인
         if (aistudioApiKey == null || aistudioApiKey.isEmpty()) {
@@ -130,8 +122,7 @@ public class DirectLlmCallService {
         }
 
         // Google AI Studio API 엔드포인트 (v1beta + gemini-1.5-flash-001)
-        String url = "https://generativelanguage.googleapis.com/v1beta/models/gemini-1.5-flash-001:generateContent?key="
-                + aistudioApiKey;
+        String url = GEMINI_ENDPOINT + AISTUDIO_MODEL + ":generateContent?key=" + aistudioApiKey;
 
         log.info("AISTUDIO 요청 URL: {}", url.replace(aistudioApiKey, "***"));
         log.info("AISTUDIO 요청 Body: {}", jsonBody);
@@ -146,7 +137,9 @@ public class DirectLlmCallService {
             if (!response.isSuccessful()) {
                 String errorBody = response.body() != null ? response.body().string() : "No error body";
                 log.error("AISTUDIO API 호출 실패: {} - {} | Body: {}", response.code(), response.message(), errorBody);
-                throw new IOException("AISTUDIO API 호출 실패: " + response.code() + " - " + response.message());
+                throw new LlmHttpException("AISTUDIO API 호출 실패: " + response.code() + " - " + response.message(),
+                        response.code(),
+                        LlmHttpException.parseRetryAfter(response.header("retry-after-ms"), response.header("Retry-After")));
             }
 
             String responseBody = response.body().string();
@@ -188,43 +181,11 @@ public class DirectLlmCallService {
         }
     }
 
-    /**
-     * OPENAI 호출 (재시도 포함)
-     */
-    private String callOpenAiWithRetry(String prompt, double temperature, int maxTokens, int n) {
-        Exception lastException = null;
-
-        for (int attempt = 1; attempt <= MAX_RETRY; attempt++) {
-            try {
-                log.info("OPENAI 호출 시도 {}/{}", attempt, MAX_RETRY);
-                return callOpenAi(prompt, temperature, maxTokens, n);
-            } catch (Exception e) {
-                log.warn("OPENAI 호출 실패 (시도 {}/{}): {}", attempt, MAX_RETRY, e.getMessage());
-                lastException = e;
-
-                if (attempt < MAX_RETRY) {
-                    try {
-                        Thread.sleep(RETRY_DELAY_MS * attempt);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("재시도 대기 중 인터럽트 발생", ie);
-                    }
-                }
-            }
-        }
-
-        throw new RuntimeException("OPENAI 호출 실패 (" + MAX_RETRY + "회 시도)", lastException);
-    }
-
     /**
      * OPENAI 직접 호출
      */
     private String callOpenAi(String prompt, double temperature, int maxTokens, int n) throws IOException {
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .build();
+        OkHttpClient client = clientRegistry.httpClient("OPENAI");
 
         // API 요청 바디 구성
         Map<String, Object> requestBody = new HashMap<>();
@@ -259,7 +220,9 @@ public class DirectLlmCallService {
             if (!response.isSuccessful()) {
                 String errorBody = response.body() != null ? response.body().string() : "No error body";
                 log.error("OPENAI API 호출 실패: {} - {} | Body: {}", response.code(), response.message(), errorBody);
-                throw new IOException("OPENAI API 호출 실패: " + response.code() + " - " + response.message());
+                throw new LlmHttpException("OPENAI API 호출 실패: " + response.code() + " - " + response.message(),
+                        response.code(),
+                        LlmHttpException.parseRetryAfter(response.header("retry-after-ms"), response.header("Retry-After")));
             }
 
             String responseBody = response.body().string();
@@ -284,43 +247,11 @@ public class DirectLlmCallService {
         }
     }
 
-    /**
-     * ANTHROPIC 호출 (재시도 포함)
-     */
-    private String callAnthropicWithRetry(String prompt, double temperature, int maxTokens) {
-        Exception lastException = null;
-
-        for (int attempt = 1; attempt <= MAX_RETRY; attempt++) {
-            try {
-                log.info("ANTHROPIC 호출 시도 {}/{}", attempt, MAX_RETRY);
-                return callAnthropic(prompt, temperature, maxTokens);
-            } catch (Exception e) {
-                log.warn("ANTHROPIC 호출 실패 (시도 {}/{}): {}", attempt, MAX_RETRY, e.getMessage());
-                lastException = e;
-
-                if (attempt < MAX_RETRY) {
-                    try {
-                        Thread.sleep(RETRY_DELAY_MS * attempt);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("재시도 대기 중 인터럽트 발생", ie);
-                    }
-                }
-            }
-        }
-
-        throw new RuntimeException("ANTHROPIC 호출 실패 (" + MAX_RETRY + "회 시도)", lastException);
-    }
-
     /**
      * ANTHROPIC 직접 호출
      */
     private String callAnthropic(String prompt, double temperature, int maxTokens) throws IOException {
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .build();
+        OkHttpClient client = clientRegistry.httpClient("ANTHROPIC");
 
         // API 요청 바디 구성
         Map<String, Object> requestBody = new HashMap<>();
@@ -354,7 +285,9 @@ public class DirectLlmCallService {
             if (!response.isSuccessful()) {
                 String errorBody = response.body() != null ? response.body().string() : "No error body";
                 log.error("ANTHROPIC API 호출 실패: {} - {} | Body: {}", response.code(), response.message(), errorBody);
-                throw new IOException("ANTHROPIC API 호출 실패: " + response.code() + " - " + response.message());
+                throw new LlmHttpException("ANTHROPIC API 호출 실패: " + response.code() + " - " + response.message(),
+                        response.code(),
+                        LlmHttpException.parseRetryAfter(response.header("retry-after-ms"), response.header("Retry-After")));
             }
 
             String responseBody = response.body().string();
@@ -375,4 +308,172 @@ public class DirectLlmCallService {
             throw new IOException("ANTHROPIC 응답 파싱 실패");
         }
     }
+
+    private Map<String, Object> geminiRequestBody(String prompt, double temperature, double topP,
+            int maxOutputTokens, int topK) {
+        Map<String, Object> requestBody = new HashMap<>();
+
+        Map<String, Object> contents = new HashMap<>();
+        contents.put("role", "user");
+
+        Map<String, String> parts = new HashMap<>();
+        parts.put("text", prompt);
+        contents.put("parts", new Map[] { parts });
+
+        requestBody.put("contents", new Map[] { contents });
+
+        Map<String, Object> generationConfig = new HashMap<>();
+        generationConfig.put("temperature", temperature);
+        generationConfig.put("topP", topP);
+        generationConfig.put("topK", topK);
+        generationConfig.put("maxOutputTokens", maxOutputTokens);
+        requestBody.put("generationConfig", generationConfig);
+        return requestBody;
+    }
+
+    /**
+     * Gemini 스트리밍 호출 (AISTUDIO, GEMINI 공통)
+     */
+    private String streamGemini(String provider, String model, String prompt, double temperature, double topP,
+            int maxOutputTokens, int topK, LlmStreamListener listener) throws IOException {
+        if (aistudioApiKey == null || aistudioApiKey.isEmpty()) {
+            throw new IOException(provider + " API 키가 설정되지 않았습니다. spring.ai.aistudio.api-key를 설정해주세요.");
+        }
+
+        String jsonBody = objectMapper.writeValueAsString(
+                geminiRequestBody(prompt, temperature, topP, maxOutputTokens, topK));
+        Request request = new Request.Builder()
+                .url(GEMINI_ENDPOINT + model + ":streamGenerateContent?alt=sse&key=" + aistudioApiKey)
+                .post(RequestBody.create(jsonBody, JSON))
+                .addHeader("Content-Type", "application/json")
+                .build();
+
+        log.info("{} 스트리밍 요청 - model: {}", provider, model);
+        try (Response response = clientRegistry.httpClient(provider).newCall(request).execute()) {
+            checkResponse(provider, response);
+            return readSse(response, listener, event -> {
+                if (event.has("error")) {
+                    throw new IOException(provider + " 스트림 오류: " + event.get("error"));
+                }
+                JsonNode candidate = event.path("candidates").path(0);
+                if ("MAX_TOKENS".equals(candidate.path("finishReason").asText())) {
+                    log.warn("{} 응답이 토큰 제한으로 잘렸습니다 (MAX_TOKENS). maxOutputTokens를 늘려보세요.", provider);
+                }
+                return candidate.path("content").path("parts").path(0).path("text").asText(null);
+            });
+        }
+    }
+
+    /**
+     * OPENAI 스트리밍 호출 (stream=true, n=1)
+     */
+    private String streamOpenAi(String prompt, double temperature, int maxTokens, LlmStreamListener listener)
+            throws IOException {
+        if (openaiApiKey == null || openaiApiKey.isEmpty()) {
+            throw new IOException("OPENAI API 키가 설정되지 않았습니다. application.properties에 api.key.openai를 설정해주세요.");
+        }
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", "gpt-4");
+        requestBody.put("messages", new Map[] { Map.of("role", "user", "content", prompt) });
+        requestBody.put("temperature", temperature);
+        requestBody.put("max_tokens", maxTokens);
+        requestBody.put("stream", true);
+
+        Request request = new Request.Builder()
+                .url("https://api.openai.com/v1/chat/completions")
+                .post(RequestBody.create(objectMapper.writeValueAsString(requestBody), JSON))
+                .addHeader("Content-Type", "application/json")
+                .addHeader("Authorization", "Bearer " + openaiApiKey)
+                .build();
+
+        try (Response response = clientRegistry.httpClient("OPENAI").newCall(request).execute()) {
+            checkResponse("OPENAI", response);
+            return readSse(response, listener,
+                    event -> event.path("choices").path(0).path("delta").path("content").asText(null));
+        }
+    }
+
+    /**
+     * ANTHROPIC 스트리밍 호출 (content_block_delta 이벤트의 text만 사용)
+     */
+    private String streamAnthropic(String prompt, double temperature, int maxTokens, LlmStreamListener listener)
+            throws IOException {
+        if (anthropicApiKey == null || anthropicApiKey.isEmpty()) {
+            throw new IOException("ANTHROPIC API 키가 설정되지 않았습니다. application.yml에 spring.ai.anthropic.api-key를 설정해주세요.");
+        }
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", "claude-3-haiku-20240307");
+        requestBody.put("max_tokens", maxTokens);
+        requestBody.put("temperature", temperature);
+        requestBody.put("messages", new Map[] { Map.of("role", "user", "content", prompt) });
+        requestBody.put("stream", true);
+
+        Request request = new Request.Builder()
+                .url("https://api.anthropic.com/v1/messages")
+                .post(RequestBody.create(objectMapper.writeValueAsString(requestBody), JSON))
+                .addHeader("Content-Type", "application/json")
+                .addHeader("x-api-key", anthropicApiKey)
+                .addHeader("anthropic-version", "2023-06-01")
+                .build();
+
+        try (Response response = clientRegistry.httpClient("ANTHROPIC").newCall(request).execute()) {
+            checkResponse("ANTHROPIC", response);
+            return readSse(response, listener, event -> {
+                String type = event.path("type").asText();
+                if ("error".equals(type)) {
+                    // 스트림 도중 과부하는 HTTP 529와 같게 취급하여 제한기가 재시도
+                    String errorType = event.path("error").path("type").asText();
+                    int status = "overloaded_error".equals(errorType) ? 529 : 500;
+                    throw new LlmHttpException("ANTHROPIC 스트림 오류: " + event.path("error"), status, null);
+                }
+                return "content_block_delta".equals(type) ? event.path("delta").path("text").asText(null) : null;
+            });
+        }
+    }
+
+    private void checkResponse(String provider, Response response) throws IOException {
+        if (!response.isSuccessful()) {
+            String errorBody = response.body() != null ? response.body().string() : "No error body";
+            log.error("{} API 호출 실패: {} - {} | Body: {}", provider, response.code(), response.message(), errorBody);
+            throw new LlmHttpException(provider + " API 호출 실패: " + response.code() + " - " + response.message(),
+                    response.code(),
+                    LlmHttpException.parseRetryAfter(response.header("retry-after-ms"), response.header("Retry-After")));
+        }
+    }
+
+    /**
+     * SSE 응답을 줄 단위로 읽어 data 이벤트마다 텍스트 조각을 추출
+     */
+    private String readSse(Response response, LlmStreamListener listener, SseDeltaExtractor extractor)
+            throws IOException {
+        listener.onRestart();
+        StringBuilder text = new StringBuilder();
+        BufferedSource source = response.body().source();
+        String line;
+        while ((line = source.readUtf8Line()) != null) {
+            if (!line.startsWith("data:")) {
+                continue;
+            }
+            String data = line.substring(5).trim();
+            if (data.isEmpty()) {
+                continue;
+            }
+            if ("[DONE]".equals(data)) {
+                break;
+            }
+            String delta = extractor.extract(objectMapper.readTree(data));
+            if (delta != null && !delta.isEmpty()) {
+                text.append(delta);
+                listener.onDelta(delta);
+            }
+        }
+        return text.toString();
+    }
+
+    @FunctionalInterface
+    private interface SseDeltaExtractor {
+        String extract(JsonNode event) throws IOException;
+    }
 }
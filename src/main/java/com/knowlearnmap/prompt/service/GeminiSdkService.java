@@ -1,21 +1,24 @@
 package com.knowlearnmap.prompt.service;
 
+import com.knowlearnmap.ai.client.LlmClientRegistry;
 import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-
 /**
  * Gemini SDK를 사용한 LLM 호출 서비스
  * LangChain4j의 GoogleAiGeminiChatModel을 활용
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class GeminiSdkService {
 
+    private final LlmClientRegistry clientRegistry;
+
     @Value("${spring.ai.aistudio.api-key}")
     private String apiKey;
 
@@ -35,16 +38,9 @@ public class GeminiSdkService {
             log.info("Gemini SDK 호출 시작 - model: {}, temperature: {}, topP: {}, maxTokens: {}, topK: {}",
                     modelName, temperature, topP, maxTokens, topK);
 
-            // 파라미터를 반영한 모델 생성
-            GoogleAiGeminiChatModel model = GoogleAiGeminiChatModel.builder()
-                    .apiKey(apiKey)
-                    .modelName(modelName)
-                    .temperature(temperature)
-                    .topP(topP)
-                    .topK(topK)
-                    .maxOutputTokens(maxTokens)
-                    .timeout(Duration.ofMinutes(5))
-                    .build();
+            // 같은 모델/파라미터 조합은 캐시된 인스턴스 재사용 (내부 HTTP 연결 유지)
+            GoogleAiGeminiChatModel model = clientRegistry.geminiModel(modelName, temperature, topP, topK,
+                    maxTokens);
 
             String response = model.generate(prompt);
 
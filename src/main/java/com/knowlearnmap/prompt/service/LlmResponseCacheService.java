@@ -0,0 +1,148 @@
+package com.knowlearnmap.prompt.service;
+
+import com.knowlearnmap.common.util.HashUtils;
+import com.knowlearnmap.prompt.domain.LlmResponseCacheEntry;
+import com.knowlearnmap.prompt.domain.LlmResponseCacheRepository;
+import com.knowlearnmap.prompt.dto.LlmConfigDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 배포 프롬프트 호출(callLlmWithPublishedPrompt) 응답 캐시
+ *
+ * <ul>
+ * <li>키: 프롬프트 버전 ID + 최종 LLM 설정(model, temperature, topP, maxOutputTokens, topK, n) +
+ * 변수 치환된 프롬프트의 SHA-256. 새 버전을 배포하면 버전 ID가 바뀌므로 자연히 미스</li>
+ * <li>저장: Postgres llm_response_cache, app.ai.llm.response-cache.ttl-hours 경과 시 만료
+ * (만료 행은 주기적으로 삭제)</li>
+ * <li>우회: 요청별 bypassCache=true이면 조회하지 않고 새 응답으로 갱신,
+ * app.ai.llm.response-cache.enabled=false이면 조회/저장 모두 하지 않음</li>
+ * <li>지표: llm.response.cache.requests{result=hit|miss|expired|bypass} (counter),
+ * llm.response.cache.hit.ratio (gauge)</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class LlmResponseCacheService {
+
+    private final LlmResponseCacheRepository cacheRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final Duration ttl;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter expired;
+    private final Counter bypassed;
+
+    public LlmResponseCacheService(LlmResponseCacheRepository cacheRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.ai.llm.response-cache.enabled:true}") boolean enabled,
+            @Value("${app.ai.llm.response-cache.ttl-hours:168}") long ttlHours) {
+        this.cacheRepository = cacheRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.ttl = Duration.ofHours(ttlHours);
+
+        this.hits = Counter.builder("llm.response.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("llm.response.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.expired = Counter.builder("llm.response.cache.requests").tag("result", "expired")
+                .register(meterRegistry);
+        this.bypassed = Counter.builder("llm.response.cache.requests").tag("result", "bypass")
+                .register(meterRegistry);
+        Gauge.builder("llm.response.cache.hit.ratio", this, LlmResponseCacheService::hitRatio)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String cacheKey(Long versionId, LlmConfigDto config, String renderedPrompt) {
+        String material = String.join("\u0000",
+                String.valueOf(config.getModel()),
+                String.valueOf(config.getTemperature()),
+                String.valueOf(config.getTopP()),
+                String.valueOf(config.getMaxOutputTokens()),
+                String.valueOf(config.getTopK()),
+                String.valueOf(config.getN()),
+                renderedPrompt);
+        return "v" + versionId + ":" + HashUtils.sha256Hex(material);
+    }
+
+    /**
+     * 유효한 캐시 응답 조회 (비활성화, 우회, 만료, DB 오류는 모두 empty)
+     */
+    public Optional<String> find(String cacheKey, boolean bypass) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        if (bypass) {
+            bypassed.increment();
+            return Optional.empty();
+        }
+
+        try {
+            Optional<LlmResponseCacheEntry> entry = cacheRepository.findById(cacheKey);
+            if (entry.isEmpty()) {
+                misses.increment();
+                return Optional.empty();
+            }
+            if (entry.get().getExpiresAt().isBefore(LocalDateTime.now())) {
+                expired.increment();
+                return Optional.empty();
+            }
+
+            hits.increment();
+            transactionTemplate.executeWithoutResult(
+                    status -> cacheRepository.recordHit(cacheKey, LocalDateTime.now()));
+            return Optional.of(entry.get().getResponseText());
+        } catch (Exception e) {
+            log.warn("LLM 응답 캐시 조회 실패, 미스로 처리: {}", e.getMessage());
+            misses.increment();
+            return Optional.empty();
+        }
+    }
+
+    public void put(String cacheKey, String promptCode, Long versionId, String model, String responseText) {
+        if (!enabled || responseText == null || responseText.isBlank()) {
+            return;
+        }
+        try {
+            LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+            transactionTemplate.executeWithoutResult(status -> cacheRepository.upsert(cacheKey, promptCode,
+                    versionId, model, responseText, expiresAt));
+        } catch (Exception e) {
+            log.warn("LLM 응답 캐시 저장 실패 (응답은 정상 반환): {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.ai.llm.response-cache.purge-interval-ms:3600000}",
+            initialDelayString = "${app.ai.llm.response-cache.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        Integer removed = transactionTemplate.execute(status -> cacheRepository.deleteExpired(LocalDateTime.now()));
+        if (removed != null && removed > 0) {
+            log.info("만료된 LLM 응답 캐시 {}건 삭제", removed);
+        }
+    }
+
+    private double hitRatio() {
+        double lookups = hits.count() + misses.count() + expired.count();
+        return lookups == 0 ? 0.0 : hits.count() / lookups;
+    }
+}
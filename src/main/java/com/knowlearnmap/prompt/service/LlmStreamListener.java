@@ -0,0 +1,18 @@
+package com.knowlearnmap.prompt.service;
+
+/**
+ * LLM 스트리밍 응답 수신 콜백 ({@link DirectLlmCallService#streamLlm})
+ */
+public interface LlmStreamListener {
+
+    /**
+     * 응답 텍스트 조각 수신 (도착 순서대로, 호출 스레드에서 호출)
+     */
+    void onDelta(String text);
+
+    /**
+     * 응답 수신 시작. 재시도 시 응답을 처음부터 다시 받으므로 누적한 텍스트를 버려야 함
+     */
+    default void onRestart() {
+    }
+}
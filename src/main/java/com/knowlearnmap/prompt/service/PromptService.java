@@ -30,6 +30,7 @@ public class PromptService {
     private final PromptTestSnapshotRepository snapshotRepository;
     private final com.knowlearnmap.prompt.domain.PromptLlmConfigRepository llmConfigRepository;
     private final ObjectMapper objectMapper;
+    private final PublishedPromptCache publishedPromptCache;
 
     // ============================================
     // 1. 프롬프트 관리
@@ -148,6 +149,7 @@ public class PromptService {
 
         // 4. 프롬프트 삭제
         promptRepository.delete(prompt);
+        publishedPromptCache.invalidate(code);
     }
 
     /**
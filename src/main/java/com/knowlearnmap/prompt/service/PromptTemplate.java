@@ -0,0 +1,96 @@
+package com.knowlearnmap.prompt.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 프롬프트 본문을 한 번 파싱해 둔 불변 템플릿 (고정 텍스트 조각 + {{변수}} 자리)
+ *
+ * <ul>
+ * <li>자리 표기: {@code {{name}}}, 중괄호 안쪽 앞뒤 공백 허용 ({@code {{ name }}})</li>
+ * <li>렌더링: 값이 주어진 자리만 치환하고, 값이 없는 자리는 원문 표기를 그대로 남김.
+ * 치환 결과를 다시 해석하지 않으므로 값에 {{..}}가 들어 있어도 그대로 출력</li>
+ * <li>출력 길이를 미리 계산해 버퍼를 한 번만 할당</li>
+ * </ul>
+ */
+public final class PromptTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    /**
+     * literals.length == slots.length + 1 (literal, slot, literal, ..., literal)
+     */
+    private final String[] literals;
+    private final Slot[] slots;
+    private final int literalLength;
+
+    private PromptTemplate(String[] literals, Slot[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static PromptTemplate compile(String content) {
+        if (content == null) {
+            return new PromptTemplate(new String[] { "" }, new Slot[0]);
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<Slot> slots = new ArrayList<>();
+        int literalStart = 0;
+        int open = content.indexOf(OPEN);
+        while (open >= 0) {
+            int close = content.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                break;
+            }
+            String name = content.substring(open + OPEN.length(), close).strip();
+            if (name.isEmpty() || name.contains(OPEN)) {
+                // "{{ {{name}}" 같은 경우 안쪽 '{{'부터 다시 찾음
+                open = content.indexOf(OPEN, open + 1);
+                continue;
+            }
+            literals.add(content.substring(literalStart, open));
+            slots.add(new Slot(name, content.substring(open, close + CLOSE.length())));
+            literalStart = close + CLOSE.length();
+            open = content.indexOf(OPEN, literalStart);
+        }
+        literals.add(content.substring(literalStart));
+
+        return new PromptTemplate(literals.toArray(String[]::new), slots.toArray(Slot[]::new));
+    }
+
+    public String render(Map<String, Object> variables) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+
+        String[] values = new String[slots.length];
+        int length = literalLength;
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = slots[i];
+            values[i] = variables != null && variables.containsKey(slot.name())
+                    ? String.valueOf(variables.get(slot.name()))
+                    : slot.raw();
+            length += values[i].length();
+        }
+
+        StringBuilder out = new StringBuilder(length);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]).append(values[i]);
+        }
+        return out.append(literals[slots.length]).toString();
+    }
+
+    /**
+     * @param raw 값이 없을 때 그대로 남길 원문 표기 (예: "{{ name }}")
+     */
+    private record Slot(String name, String raw) {
+    }
+}
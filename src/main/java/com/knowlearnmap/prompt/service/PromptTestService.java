@@ -14,7 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Map;
-import java.util.regex.Matcher;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -27,6 +27,8 @@ public class PromptTestService {
     private final DirectLlmCallService directLlmCallService;
     private final ObjectMapper objectMapper;
     private final org.springframework.transaction.support.TransactionTemplate transactionTemplate;
+    private final LlmResponseCacheService responseCacheService;
+    private final PublishedPromptCache publishedPromptCache;
 
     /**
      * 테스트 실행 (단건)
@@ -97,6 +99,8 @@ public class PromptTestService {
         llmConfig.setLlmConfig(convertLlmConfigToJson(request.getLlmConfig()));
 
         PromptLlmConfig savedConfig = llmConfigRepository.save(llmConfig);
+        // 스냅샷 설정이 없는 배포 버전은 이 환경 설정을 사용하므로 캐시 무효화
+        publishedPromptCache.invalidate(version.getPromptCode());
         return convertToTestSetResponse(savedConfig);
     }
 
@@ -111,6 +115,7 @@ public class PromptTestService {
         PromptLlmConfig llmConfig = llmConfigRepository.findById(llmConfigId)
                 .orElseThrow(() -> new RuntimeException("환경 설정을 찾을 수 없습니다: " + llmConfigId));
         llmConfigRepository.delete(llmConfig);
+        publishedPromptCache.invalidateAll();
     }
 
     public Page<TestSnapshotResponse> getSnapshots(String promptCode, Long versionId, Integer minSatisfaction,
@@ -180,27 +185,8 @@ public class PromptTestService {
 
     public LlmDirectCallResponse callLlmWithPublishedPrompt(String code, SimpleLlmCallRequest request,
             LlmConfigDto configOverride) {
-        PromptVersion version = versionRepository.findByPromptCodeAndIsActive(code, true)
-                .orElseThrow(() -> new RuntimeException("배포된 프롬프트 버전을 찾을 수 없습니다: " + code));
-
-        LlmConfigDto config;
-
-        if (version.getLlmConfig() != null && !version.getLlmConfig().isEmpty()) {
-            config = convertJsonToLlmConfig(version.getLlmConfig());
-            // 버전 생성 시점의 스냅샷 Config를 최우선 사용 (Production Logic)
-        } else {
-            // 스냅샷이 없는 경우에만 환경 설정(Test Config) 조회
-            config = llmConfigRepository.findByVersionId(version.getId())
-                    .map(this::convertToLlmConfigDto)
-                    .orElse(null);
-
-            if (config == null) {
-                config = LlmConfigDto.builder()
-                        .model("AISTUDIO")
-                        .temperature(0.7)
-                        .build();
-            }
-        }
+        PublishedPromptCache.PublishedPrompt published = publishedPromptCache.get(code, this::loadPublishedPrompt);
+        LlmConfigDto config = published.config();
 
         // Apply Override
         if (configOverride != null) {
@@ -214,45 +200,127 @@ public class PromptTestService {
                 config.setMaxOutputTokens(configOverride.getMaxOutputTokens());
         }
 
-        String processedContent = resolveVariables(version.getContent(), request.getVariables());
-        TestResponseDto response = callLlmDirect(processedContent, config);
+        String processedContent = published.template().render(request.getVariables());
+        return callPublishedWithCache(code, published.versionId(), config, processedContent, request, null);
+    }
+
+    /**
+     * 배포된 프롬프트로 스트리밍 호출. 응답 조각은 listener로 전달되고, 완료 시 전체 텍스트 반환
+     * (캐시 적중 시 캐시된 응답 전체를 한 조각으로 전달)
+     */
+    public LlmDirectCallResponse streamLlmWithPublishedPrompt(String code, SimpleLlmCallRequest request,
+            LlmStreamListener listener) {
+        PublishedPromptCache.PublishedPrompt published = publishedPromptCache.get(code, this::loadPublishedPrompt);
+
+        String processedContent = published.template().render(request.getVariables());
+        return callPublishedWithCache(code, published.versionId(), published.config(), processedContent, request,
+                listener);
+    }
+
+    /**
+     * 응답 캐시 조회 후 미스일 때만 LLM 호출, 성공 응답은 캐시에 저장
+     */
+    private LlmDirectCallResponse callPublishedWithCache(String code, Long versionId, LlmConfigDto config,
+            String processedContent, SimpleLlmCallRequest request, LlmStreamListener streamListener) {
+        String cacheKey = responseCacheService.isEnabled()
+                ? responseCacheService.cacheKey(versionId, config, processedContent)
+                : null;
+
+        if (cacheKey != null) {
+            long startTime = System.currentTimeMillis();
+            Optional<String> cached = responseCacheService.find(cacheKey,
+                    Boolean.TRUE.equals(request.getBypassCache()));
+            if (cached.isPresent()) {
+                if (streamListener != null) {
+                    streamListener.onRestart();
+                    streamListener.onDelta(cached.get());
+                }
+                return LlmDirectCallResponse.builder()
+                        .success(true)
+                        .text(cached.get())
+                        .tokensUsed(0)
+                        .latencyMs(System.currentTimeMillis() - startTime)
+                        .cached(true)
+                        .build();
+            }
+        }
+
+        TestResponseDto response = callLlmDirect(processedContent, config, streamListener);
+        if (cacheKey != null) {
+            responseCacheService.put(cacheKey, code, versionId, config.getModel(), response.getText());
+        }
 
         return LlmDirectCallResponse.builder()
                 .success(true)
                 .text(response.getText())
                 .tokensUsed(response.getTokensUsed())
                 .latencyMs(response.getLatencyMs())
+                .cached(false)
                 .build();
     }
 
+    /**
+     * 배포된 프롬프트 버전의 LLM 설정 (배치 크기 산정용)
+     */
+    public LlmConfigDto getPublishedLlmConfig(String code) {
+        return publishedPromptCache.get(code, this::loadPublishedPrompt).config();
+    }
+
+    /**
+     * 배포된 프롬프트 본문 (변수 치환 전)
+     */
+    public String getPublishedContent(String code) {
+        return publishedPromptCache.get(code, this::loadPublishedPrompt).content();
+    }
+
     // Private helpers
-    private String resolveVariables(String content, Map<String, Object> variables) {
-        if (content == null)
-            return "";
-        String resolved = content;
-        if (variables != null) {
-            for (Map.Entry<String, Object> entry : variables.entrySet()) {
-                String key = entry.getKey();
-                Object value = entry.getValue();
-                resolved = resolved.replaceAll("\\{\\{\\s*" + key + "\\s*\\}\\}",
-                        Matcher.quoteReplacement(String.valueOf(value)));
-            }
+    private PublishedPromptCache.PublishedPrompt loadPublishedPrompt(String code) {
+        PromptVersion version = versionRepository.findByPromptCodeAndIsActive(code, true)
+                .orElseThrow(() -> new RuntimeException("배포된 프롬프트 버전을 찾을 수 없습니다: " + code));
+        return new PublishedPromptCache.PublishedPrompt(code, version.getId(), version.getContent(),
+                PromptTemplate.compile(version.getContent()), resolveLlmConfig(version));
+    }
+
+    private LlmConfigDto resolveLlmConfig(PromptVersion version) {
+        if (version.getLlmConfig() != null && !version.getLlmConfig().isEmpty()) {
+            // 버전 생성 시점의 스냅샷 Config를 최우선 사용 (Production Logic)
+            return convertJsonToLlmConfig(version.getLlmConfig());
         }
-        return resolved;
+        // 스냅샷이 없는 경우에만 환경 설정(Test Config) 조회
+        return llmConfigRepository.findByVersionId(version.getId())
+                .map(this::convertToLlmConfigDto)
+                .orElseGet(() -> LlmConfigDto.builder()
+                        .model("AISTUDIO")
+                        .temperature(0.7)
+                        .build());
+    }
+
+    private String resolveVariables(String content, Map<String, Object> variables) {
+        return PromptTemplate.compile(content).render(variables);
     }
 
     private TestResponseDto callLlmDirect(String content, LlmConfigDto config) {
+        return callLlmDirect(content, config, null);
+    }
+
+    /**
+     * @param streamListener null이면 일반 호출, 아니면 스트리밍 호출 (n은 1로 고정)
+     */
+    private TestResponseDto callLlmDirect(String content, LlmConfigDto config, LlmStreamListener streamListener) {
         try {
             long startTime = System.currentTimeMillis();
 
-            String responseText = directLlmCallService.callLlm(
-                    config.getModel() != null ? config.getModel() : "AISTUDIO",
-                    content,
-                    config.getTemperature() != null ? config.getTemperature() : 0.7,
-                    config.getTopP() != null ? config.getTopP() : 0.95,
-                    config.getMaxOutputTokens() != null ? config.getMaxOutputTokens() : 2000,
-                    config.getTopK() != null ? config.getTopK() : 40,
-                    config.getN() != null ? config.getN() : 1);
+            String model = config.getModel() != null ? config.getModel() : "AISTUDIO";
+            double temperature = config.getTemperature() != null ? config.getTemperature() : 0.7;
+            double topP = config.getTopP() != null ? config.getTopP() : 0.95;
+            int maxOutputTokens = config.getMaxOutputTokens() != null ? config.getMaxOutputTokens() : 2000;
+            int topK = config.getTopK() != null ? config.getTopK() : 40;
+
+            String responseText = streamListener != null
+                    ? directLlmCallService.streamLlm(model, content, temperature, topP, maxOutputTokens, topK,
+                            streamListener)
+                    : directLlmCallService.callLlm(model, content, temperature, topP, maxOutputTokens, topK,
+                            config.getN() != null ? config.getN() : 1);
 
             long latency = System.currentTimeMillis() - startTime;
 
@@ -263,7 +331,7 @@ public class PromptTestService {
                     .build();
         } catch (Exception e) {
             log.error("LLM Call Failed", e);
-            throw new RuntimeException("LLM 호출 중 오류가 발생했습니다: " + e.getMessage());
+            throw new RuntimeException("LLM 호출 중 오류가 발생했습니다: " + e.getMessage(), e);
         }
     }
 
@@ -25,6 +25,7 @@ public class PromptVersionService {
     private final PromptRepository promptRepository;
     private final PromptVersionRepository versionRepository;
     private final ObjectMapper objectMapper;
+    private final PublishedPromptCache publishedPromptCache;
 
     /**
      * 踰꾩쟾 紐⑸줉 議고쉶
@@ -113,6 +114,9 @@ public class PromptVersionService {
         }
 
         version = versionRepository.save(version);
+        if (Boolean.TRUE.equals(version.getIsActive())) {
+            publishedPromptCache.invalidate(promptCode);
+        }
         return convertToVersionResponse(version);
     }
 
@@ -150,6 +154,7 @@ public class PromptVersionService {
         // ?꾨＼?꾪듃??publishVersionId ?낅뜲?댄듃
         prompt.setPublishVersionId(version.getId());
         promptRepository.save(prompt);
+        publishedPromptCache.invalidate(promptCode);
 
         return convertToVersionResponse(version);
     }
@@ -179,6 +184,7 @@ public class PromptVersionService {
 
         // 踰꾩쟾 ??젣
         versionRepository.delete(version);
+        publishedPromptCache.invalidate(promptCode);
 
         // 踰꾩쟾??1媛쒕쭔 ?덉뿀?ㅻ㈃ ?꾨＼?꾪듃????젣
         if (totalVersionCount != null && totalVersionCount == 1) {
@@ -0,0 +1,82 @@
+package com.knowlearnmap.prompt.service;
+
+import com.knowlearnmap.prompt.dto.LlmConfigDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 프롬프트 코드별 배포 버전 캐시 (컴파일된 템플릿 + 해석된 LLM 설정)
+ *
+ * <ul>
+ * <li>배포 프롬프트 호출마다 PromptVersion / PromptLlmConfig를 다시 조회하지 않도록 보관</li>
+ * <li>무효화: 배포, 버전 수정/삭제, 프롬프트 삭제, 환경 설정 변경 시 evict.
+ * 트랜잭션 안에서 호출되면 커밋 후 한 번 더 evict하여 커밋 전 값이 다시 캐시되지 않게 함</li>
+ * <li>다른 인스턴스에서 배포한 변경은 app.ai.llm.published-prompt-cache.ttl-seconds 경과 후 반영</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class PublishedPromptCache {
+
+    /**
+     * @param config 호출 측이 수정하지 않도록 {@link PublishedPromptCache#get}에서 복사본으로 반환
+     */
+    public record PublishedPrompt(String code, Long versionId, String content, PromptTemplate template,
+            LlmConfigDto config) {
+    }
+
+    private record Entry(PublishedPrompt prompt, long loadedAtNanos) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    public PublishedPromptCache(@Value("${app.ai.llm.published-prompt-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+    }
+
+    /**
+     * 캐시된 배포 버전 (없거나 만료되면 loader로 적재)
+     */
+    public PublishedPrompt get(String code, Function<String, PublishedPrompt> loader) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(code);
+        if (entry == null || now - entry.loadedAtNanos() > ttlNanos) {
+            entry = new Entry(loader.apply(code), now);
+            entries.put(code, entry);
+        }
+        PublishedPrompt prompt = entry.prompt();
+        return new PublishedPrompt(prompt.code(), prompt.versionId(), prompt.content(), prompt.template(),
+                prompt.config().toBuilder().build());
+    }
+
+    public void invalidate(String code) {
+        entries.remove(code);
+        afterCommit(() -> entries.remove(code));
+        log.debug("배포 프롬프트 캐시 무효화: {}", code);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+        afterCommit(entries::clear);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -1,33 +1,61 @@
 package com.knowlearnmap.rag.service;
 
+import com.knowlearnmap.common.util.TextNormalizer;
 import com.knowlearnmap.document.domain.DocumentEntity;
 import com.knowlearnmap.document.domain.DocumentPage;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * PDF 파싱 서비스
+ *
+ * <ul>
+ * <li>PDFBox 스크래치 파일(mixed memory) 사용으로 대용량 PDF 로드 시 힙 사용량 제한</li>
+ * <li>페이지 수가 parallel-threshold-pages 이상이면 pages-per-range 단위로 나눠
+ * 범위마다 별도 PDDocument 인스턴스로 병렬 추출</li>
+ * <li>추출된 페이지는 페이지 순서대로 batch-size 단위로 consumer에 전달 (전체 목록을 보관하지 않음)</li>
+ * </ul>
  */
 @Service
 @Slf4j
 public class PdfParsingService {
 
-    /**
-     * PDF 파일에서 페이지별로 텍스트 추출
-     * 
-     * @param document 문서 엔티티
-     * @return 추출된 페이지 목록
-     * @throws IOException PDF 파싱 실패 시
-     */
+    private final Executor pdfParseExecutor;
+    private final int parallelThresholdPages;
+    private final int pagesPerRange;
+    private final int parseConcurrency;
+    private final long maxMainMemoryBytes;
+
+    public PdfParsingService(@Qualifier("pdfParseExecutor") Executor pdfParseExecutor,
+            @Value("${pipeline.pdf.parallel-threshold-pages:100}") int parallelThresholdPages,
+            @Value("${pipeline.pdf.pages-per-range:50}") int pagesPerRange,
+            @Value("${pipeline.pdf.parse-concurrency:4}") int parseConcurrency,
+            @Value("${pipeline.pdf.max-main-memory-mb:32}") long maxMainMemoryMb) {
+        this.pdfParseExecutor = pdfParseExecutor;
+        this.parallelThresholdPages = parallelThresholdPages;
+        this.pagesPerRange = Math.max(1, pagesPerRange);
+        this.parseConcurrency = Math.max(1, parseConcurrency);
+        this.maxMainMemoryBytes = maxMainMemoryMb * 1024 * 1024;
+    }
+
     /**
      * PDF 파일에서 페이지별로 텍스트 추출 (페이지 제한 포함)
      *
@@ -37,48 +65,164 @@ public class PdfParsingService {
      * @throws IOException PDF 파싱 실패 시
      */
     public List<DocumentPage> extractPages(DocumentEntity document, int maxPages) throws IOException {
+        List<DocumentPage> pages = new ArrayList<>();
+        extractPages(document, maxPages, Integer.MAX_VALUE, pages::addAll);
+        return pages;
+    }
+
+    /**
+     * PDF 파일에서 페이지별로 텍스트를 추출하여 batchSize 단위로 전달 (스트리밍)
+     *
+     * @param document      문서 엔티티
+     * @param maxPages      최대 페이지 수 (0 이하인 경우 제한 없음)
+     * @param batchSize     consumer 호출당 최대 페이지 수
+     * @param batchConsumer 페이지 순서대로 호출됨 (호출 스레드에서 실행)
+     * @return 추출된 페이지 수 (빈 페이지 제외)
+     * @throws IOException PDF 파싱 실패 시
+     */
+    public int extractPages(DocumentEntity document, int maxPages, int batchSize,
+            Consumer<List<DocumentPage>> batchConsumer) throws IOException {
         log.info("PDF 파싱 시작: {}, Limit: {}", document.getFilePath(), maxPages);
 
-        List<DocumentPage> pages = new ArrayList<>();
         File pdfFile = new File(document.getFilePath());
+        PageBatcher batcher = new PageBatcher(Math.max(1, batchSize), batchConsumer);
 
-        try (PDDocument pdDocument = Loader.loadPDF(pdfFile)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            int totalPages = pdDocument.getNumberOfPages();
+        try {
+            int pagesToProcess = 0;
+            boolean parallel = false;
 
-            log.info("총 페이지 수: {}", totalPages);
+            try (PDDocument pdDocument = load(pdfFile)) {
+                int totalPages = pdDocument.getNumberOfPages();
+                log.info("총 페이지 수: {}", totalPages);
 
-            int pagesToProcess = totalPages;
-            if (maxPages > 0 && maxPages < totalPages) {
-                pagesToProcess = maxPages;
-                log.info("등급 제한으로 인해 {} 페이지만 처리합니다.", pagesToProcess);
-            }
+                pagesToProcess = totalPages;
+                if (maxPages > 0 && maxPages < totalPages) {
+                    pagesToProcess = maxPages;
+                    log.info("등급 제한으로 인해 {} 페이지만 처리합니다.", pagesToProcess);
+                }
 
-            for (int pageNum = 1; pageNum <= pagesToProcess; pageNum++) {
-                stripper.setStartPage(pageNum);
-                stripper.setEndPage(pageNum);
+                parallel = parseConcurrency > 1 && pagesToProcess >= parallelThresholdPages;
+                if (!parallel) {
+                    for (DocumentPage page : extractRange(document, pdDocument, 1, pagesToProcess)) {
+                        batcher.add(page);
+                    }
+                }
+            }
 
-                String rawText = stripper.getText(pdDocument);
-                String cleanedText = cleanText(rawText);
+            // 병렬 모드에서는 범위마다 문서를 따로 연다
+            if (parallel) {
+                extractParallel(document, pdfFile, pagesToProcess, batcher);
+            }
+        } catch (IOException e) {
+            log.error("PDF 파싱 실패: {}", document.getFilePath(), e);
+            throw e;
+        }
 
-                if (cleanedText != null && !cleanedText.trim().isEmpty()) {
-                    DocumentPage page = new DocumentPage();
-                    page.setDocument(document);
-                    page.setPageNumber(pageNum);
-                    page.setContent(cleanedText);
-                    page.setStatus(DocumentPage.PageStatus.COMPLETED);
+        batcher.flush();
+        log.info("PDF 파싱 완료: {} 페이지 추출", batcher.count);
+        return batcher.count;
+    }
 
-                    pages.add(page);
-                    log.debug("페이지 {} 추출 완료", pageNum);
+    /**
+     * 페이지 범위를 병렬 추출하되 동시에 parseConcurrency개 범위만 진행 (슬라이딩 윈도우)
+     * 앞 범위부터 순서대로 완료를 기다리므로 페이지 순서가 유지되고 메모리 사용량이 제한됨
+     */
+    private void extractParallel(DocumentEntity document, File pdfFile, int pagesToProcess, PageBatcher batcher)
+            throws IOException {
+        log.info("PDF 병렬 파싱: {}페이지, 범위 {}페이지, 동시 {}개", pagesToProcess, pagesPerRange, parseConcurrency);
+
+        Deque<CompletableFuture<List<DocumentPage>>> inFlight = new ArrayDeque<>();
+        int nextStart = 1;
+        try {
+            while (nextStart <= pagesToProcess || !inFlight.isEmpty()) {
+                while (nextStart <= pagesToProcess && inFlight.size() < parseConcurrency) {
+                    int start = nextStart;
+                    int end = Math.min(start + pagesPerRange - 1, pagesToProcess);
+                    inFlight.add(CompletableFuture.supplyAsync(() -> extractRange(document, pdfFile, start, end),
+                            pdfParseExecutor));
+                    nextStart = end + 1;
+                }
+                for (DocumentPage page : inFlight.poll().join()) {
+                    batcher.add(page);
                 }
             }
+        } catch (CompletionException e) {
+            inFlight.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+    }
 
-            log.info("PDF 파싱 완료: {} 페이지 추출", pages.size());
-            return pages;
-
+    private List<DocumentPage> extractRange(DocumentEntity document, File pdfFile, int startPage, int endPage) {
+        try (PDDocument pdDocument = load(pdfFile)) {
+            return extractRange(document, pdDocument, startPage, endPage);
         } catch (IOException e) {
-            log.error("PDF 파싱 실패: {}", document.getFilePath(), e);
-            throw e;
+            throw new UncheckedIOException("페이지 " + startPage + "-" + endPage + " 추출 실패", e);
+        }
+    }
+
+    private List<DocumentPage> extractRange(DocumentEntity document, PDDocument pdDocument, int startPage,
+            int endPage) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        List<DocumentPage> pages = new ArrayList<>();
+
+        for (int pageNum = startPage; pageNum <= endPage; pageNum++) {
+            stripper.setStartPage(pageNum);
+            stripper.setEndPage(pageNum);
+
+            String rawText = stripper.getText(pdDocument);
+            String cleanedText = cleanText(rawText);
+
+            if (cleanedText != null && !cleanedText.trim().isEmpty()) {
+                DocumentPage page = new DocumentPage();
+                page.setDocument(document);
+                page.setPageNumber(pageNum);
+                page.setContent(cleanedText);
+                page.setStatus(DocumentPage.PageStatus.COMPLETED);
+
+                pages.add(page);
+                log.debug("페이지 {} 추출 완료", pageNum);
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * 힙은 maxMainMemoryBytes까지만 쓰고 나머지는 임시 파일(스크래치)로
+     */
+    private PDDocument load(File pdfFile) throws IOException {
+        return Loader.loadPDF(pdfFile, MemoryUsageSetting.setupMixed(maxMainMemoryBytes).streamCache);
+    }
+
+    /**
+     * 페이지를 batchSize 단위로 모아 consumer에 전달
+     */
+    private static final class PageBatcher {
+        private final int batchSize;
+        private final Consumer<List<DocumentPage>> consumer;
+        private List<DocumentPage> buffer = new ArrayList<>();
+        private int count;
+
+        private PageBatcher(int batchSize, Consumer<List<DocumentPage>> consumer) {
+            this.batchSize = batchSize;
+            this.consumer = consumer;
+        }
+
+        private void add(DocumentPage page) {
+            buffer.add(page);
+            count++;
+            if (buffer.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!buffer.isEmpty()) {
+                consumer.accept(buffer);
+                buffer = new ArrayList<>();
+            }
         }
     }
 
@@ -93,16 +237,9 @@ public class PdfParsingService {
     }
 
     /**
-     * 텍스트 정제 (간단한 처리)
+     * 텍스트 정제 (연속 공백/줄바꿈을 공백 1칸으로, 앞뒤 공백 제거)
      */
     private String cleanText(String text) {
-        if (text == null) {
-            return "";
-        }
-
-        return text
-                .replaceAll("\\s+", " ") // 여러 공백을 하나로
-                .replaceAll("[\\r\\n]+", "\n") // 여러 줄바꿈을 하나로
-                .trim();
+        return TextNormalizer.collapseWhitespace(text);
     }
 }
@@ -1,6 +1,8 @@
 package com.knowlearnmap.rag.service;
 
+import com.knowlearnmap.common.util.HashUtils;
 import com.knowlearnmap.document.domain.DocumentChunk;
+import com.knowlearnmap.document.domain.DocumentEntity;
 import com.knowlearnmap.document.domain.DocumentPage;
 import com.knowlearnmap.document.repository.DocumentRepository;
 import lombok.RequiredArgsConstructor;
@@ -40,8 +42,23 @@ public class SimpleChunkingService {
                 .orElseThrow(() -> new RuntimeException("Document not found: " + documentId));
         log.debug("Document 조회 완료: documentId={}", documentId);
 
+        List<DocumentChunk> chunks = chunkPages(pages, document, 0);
+        log.info("청킹 완료: {} 청크 생성", chunks.size());
+        return chunks;
+    }
+
+    /**
+     * 페이지들을 청크로 나눔 (스트리밍 처리용: 페이지가 도착하는 대로 호출)
+     * 청크는 페이지 경계를 넘지 않으므로 페이지 묶음 단위로 나눠 호출해도 결과가 동일함
+     *
+     * @param pages      문서 페이지 목록 (페이지 번호 순)
+     * @param document   문서 엔티티
+     * @param startIndex 첫 청크에 부여할 chunkIndex
+     * @return 생성된 청크 목록
+     */
+    public List<DocumentChunk> chunkPages(List<DocumentPage> pages, DocumentEntity document, int startIndex) {
         List<DocumentChunk> chunks = new ArrayList<>();
-        int chunkIndex = 0;
+        int chunkIndex = startIndex;
 
         log.debug("페이지 순회 시작: {} 페이지", pages.size());
         for (DocumentPage page : pages) {
@@ -90,6 +107,7 @@ public class SimpleChunkingService {
                     chunk.setPageNumber(page.getPageNumber());
                     chunk.setChunkIndex(chunkIndex++);
                     chunk.setContent(chunkContent);
+                    chunk.setContentHash(HashUtils.sha256Hex(chunkContent));
 
                     chunks.add(chunk);
                     pageChunkCount++;
@@ -109,7 +127,6 @@ public class SimpleChunkingService {
             log.debug("페이지 {} 청킹 완료: {} 청크 생성", page.getPageNumber(), pageChunkCount);
         }
 
-        log.info("청킹 완료: {} 청크 생성", chunks.size());
         return chunks;
     }
 }
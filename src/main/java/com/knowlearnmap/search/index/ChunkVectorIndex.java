@@ -0,0 +1,418 @@
+package com.knowlearnmap.search.index;
+
+import com.knowlearnmap.common.util.VectorMath;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 워크스페이스 단위 청크 임베딩 HNSW(Hierarchical Navigable Small World) 인덱스
+ *
+ * <ul>
+ * <li>벡터는 L2 정규화된 float[]로 보관하므로 내적 = 코사인 유사도</li>
+ * <li>삽입은 증분 방식 (같은 chunkId 재삽입 시 기존 노드는 삭제 표시 후 교체)</li>
+ * <li>삭제는 tombstone 방식: 그래프 탐색에는 사용하되 결과에서는 제외</li>
+ * <li>동시성: 검색은 read lock, 삽입/삭제는 write lock</li>
+ * </ul>
+ */
+public class ChunkVectorIndex {
+
+    private final int dimension;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<Long, Integer> nodeByChunkId = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int deletedCount = 0;
+
+    public ChunkVectorIndex(int dimension, int m, int efConstruction) {
+        this.dimension = dimension;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.levelMultiplier = 1.0 / Math.log(m);
+    }
+
+    private static final class Node {
+        final long chunkId;
+        final long documentId;
+        final float[] vector;
+        final int[][] neighbors;
+        final int[] neighborCounts;
+        boolean deleted;
+
+        Node(long chunkId, long documentId, float[] vector, int level, int m, int maxM0) {
+            this.chunkId = chunkId;
+            this.documentId = documentId;
+            this.vector = vector;
+            this.neighbors = new int[level + 1][];
+            this.neighborCounts = new int[level + 1];
+            for (int l = 0; l <= level; l++) {
+                neighbors[l] = new int[(l == 0 ? maxM0 : m) + 1];
+            }
+        }
+
+        int level() {
+            return neighbors.length - 1;
+        }
+    }
+
+    private record Candidate(int node, float score) {
+    }
+
+    private static final Comparator<Candidate> BEST_FIRST = (a, b) -> Float.compare(b.score, a.score);
+    private static final Comparator<Candidate> WORST_FIRST = (a, b) -> Float.compare(a.score, b.score);
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * 살아있는(삭제되지 않은) 벡터 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size() - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 삭제 표시된 노드 비율 (재구축 판단용)
+     */
+    public double deletedRatio() {
+        lock.readLock().lock();
+        try {
+            return nodes.isEmpty() ? 0.0 : (double) deletedCount / nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 벡터 추가 (이미 존재하는 chunkId면 교체)
+     *
+     * @param vector 정규화된 벡터 (길이 = dimension)
+     */
+    public void add(long chunkId, long documentId, float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException(
+                    "벡터 차원 불일치: expected=" + dimension + ", actual=" + vector.length);
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = nodeByChunkId.get(chunkId);
+            if (existing != null) {
+                markDeleted(existing);
+            }
+
+            int level = randomLevel();
+            int nodeId = nodes.size();
+            Node node = new Node(chunkId, documentId, vector, level, m, maxM0);
+            nodes.add(node);
+            nodeByChunkId.put(chunkId, nodeId);
+
+            if (entryPoint < 0) {
+                entryPoint = nodeId;
+                maxLevel = level;
+                return;
+            }
+
+            int current = entryPoint;
+            for (int l = maxLevel; l > level; l--) {
+                current = greedySearch(vector, current, l);
+            }
+
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                List<Candidate> candidates = searchLayer(vector, current, efConstruction, l);
+                int maxConnections = l == 0 ? maxM0 : m;
+                List<Candidate> selected = selectNeighbors(candidates, maxConnections);
+
+                for (Candidate c : selected) {
+                    addLink(nodeId, c.node, l);
+                    addLink(c.node, nodeId, l);
+                }
+                current = candidates.get(0).node;
+            }
+
+            if (level > maxLevel) {
+                maxLevel = level;
+                entryPoint = nodeId;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * chunkId 삭제 표시
+     */
+    public void remove(long chunkId) {
+        lock.writeLock().lock();
+        try {
+            Integer nodeId = nodeByChunkId.remove(chunkId);
+            if (nodeId != null) {
+                markDeleted(nodeId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 문서에 속한 모든 청크 삭제 표시
+     */
+    public void removeDocument(long documentId) {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < nodes.size(); i++) {
+                Node node = nodes.get(i);
+                if (!node.deleted && node.documentId == documentId) {
+                    nodeByChunkId.remove(node.chunkId);
+                    markDeleted(i);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 근사 최근접 이웃 검색
+     *
+     * @param query       정규화된 쿼리 벡터
+     * @param k           반환 개수
+     * @param ef          탐색 폭 (k 이상)
+     * @param documentIds 문서 필터 (null 또는 empty면 전체)
+     * @return 유사도 내림차순 결과
+     */
+    public List<ScoredChunk> search(float[] query, int k, int ef, Set<Long> documentIds) {
+        if (query.length != dimension || k <= 0) {
+            return List.of();
+        }
+        boolean filtered = documentIds != null && !documentIds.isEmpty();
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) {
+                return List.of();
+            }
+
+            // 필터가 있으면 통과 노드가 적을 수 있으므로 탐색 폭을 넓힘
+            int searchEf = Math.max(ef, k);
+            if (filtered) {
+                searchEf = Math.min(Math.max(searchEf * 4, k * 10), nodes.size());
+            }
+
+            int current = entryPoint;
+            for (int l = maxLevel; l > 0; l--) {
+                current = greedySearch(query, current, l);
+            }
+
+            List<ScoredChunk> results = new ArrayList<>(k);
+            for (Candidate c : searchLayer(query, current, searchEf, 0)) {
+                Node node = nodes.get(c.node);
+                if (node.deleted || (filtered && !documentIds.contains(node.documentId))) {
+                    continue;
+                }
+                results.add(new ScoredChunk(node.chunkId, node.documentId, c.score));
+                if (results.size() == k) {
+                    break;
+                }
+            }
+
+            // 필터 통과 노드가 부족하면 해당 문서 범위에서 정확 탐색
+            if (filtered && results.size() < k) {
+                return exactSearch(query, k, documentIds);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<ScoredChunk> exactSearch(float[] query, int k, Set<Long> documentIds) {
+        PriorityQueue<Candidate> top = new PriorityQueue<>(k + 1, WORST_FIRST);
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            if (node.deleted || !documentIds.contains(node.documentId)) {
+                continue;
+            }
+            top.add(new Candidate(i, VectorMath.dot(query, node.vector)));
+            if (top.size() > k) {
+                top.poll();
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(top);
+        sorted.sort(BEST_FIRST);
+        List<ScoredChunk> results = new ArrayList<>(sorted.size());
+        for (Candidate c : sorted) {
+            Node node = nodes.get(c.node);
+            results.add(new ScoredChunk(node.chunkId, node.documentId, c.score));
+        }
+        return results;
+    }
+
+    private int greedySearch(float[] query, int start, int level) {
+        int current = start;
+        float currentScore = VectorMath.dot(query, nodes.get(current).vector);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            Node node = nodes.get(current);
+            int[] links = node.neighbors[level];
+            for (int i = 0; i < node.neighborCounts[level]; i++) {
+                float score = VectorMath.dot(query, nodes.get(links[i]).vector);
+                if (score > currentScore) {
+                    currentScore = score;
+                    current = links[i];
+                    changed = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 단일 레이어 beam search. 유사도 내림차순으로 최대 ef개 반환.
+     */
+    private List<Candidate> searchLayer(float[] query, int start, int ef, int level) {
+        BitSet visited = new BitSet(nodes.size());
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(BEST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(WORST_FIRST);
+
+        Candidate first = new Candidate(start, VectorMath.dot(query, nodes.get(start).vector));
+        visited.set(start);
+        candidates.add(first);
+        results.add(first);
+
+        while (!candidates.isEmpty()) {
+            Candidate current = candidates.poll();
+            if (results.size() >= ef && current.score < results.peek().score) {
+                break;
+            }
+
+            Node node = nodes.get(current.node);
+            if (node.level() < level) {
+                continue;
+            }
+            int[] links = node.neighbors[level];
+            for (int i = 0; i < node.neighborCounts[level]; i++) {
+                int neighbor = links[i];
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+
+                float score = VectorMath.dot(query, nodes.get(neighbor).vector);
+                if (results.size() < ef || score > results.peek().score) {
+                    Candidate c = new Candidate(neighbor, score);
+                    candidates.add(c);
+                    results.add(c);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(results);
+        sorted.sort(BEST_FIRST);
+        return sorted;
+    }
+
+    /**
+     * HNSW 논문의 이웃 선택 휴리스틱: 이미 선택된 이웃보다 후보에 더 가까운 경우만 채택하여
+     * 그래프가 여러 방향으로 퍼지도록 하고, 모자라면 남은 후보로 채움.
+     */
+    private List<Candidate> selectNeighbors(List<Candidate> candidatesBestFirst, int maxConnections) {
+        if (candidatesBestFirst.size() <= maxConnections) {
+            return candidatesBestFirst;
+        }
+
+        List<Candidate> selected = new ArrayList<>(maxConnections);
+        List<Candidate> skipped = new ArrayList<>();
+        for (Candidate c : candidatesBestFirst) {
+            if (selected.size() >= maxConnections) {
+                break;
+            }
+            float[] vector = nodes.get(c.node).vector;
+            boolean diverse = true;
+            for (Candidate s : selected) {
+                if (VectorMath.dot(vector, nodes.get(s.node).vector) > c.score) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(c);
+            } else {
+                skipped.add(c);
+            }
+        }
+
+        for (int i = 0; i < skipped.size() && selected.size() < maxConnections; i++) {
+            selected.add(skipped.get(i));
+        }
+        return selected;
+    }
+
+    private void addLink(int from, int to, int level) {
+        Node node = nodes.get(from);
+        int maxConnections = level == 0 ? maxM0 : m;
+        int[] links = node.neighbors[level];
+        int count = node.neighborCounts[level];
+
+        links[count++] = to;
+        if (count <= maxConnections) {
+            node.neighborCounts[level] = count;
+            return;
+        }
+
+        // 연결 수 초과 시 가장 먼 이웃 하나를 제거 (역방향 링크는 휴리스틱 대신 거리 기준으로 유지)
+        int worst = 0;
+        float worstScore = Float.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            float score = VectorMath.dot(node.vector, nodes.get(links[i]).vector);
+            if (score < worstScore) {
+                worstScore = score;
+                worst = i;
+            }
+        }
+        links[worst] = links[count - 1];
+        links[count - 1] = 0;
+        node.neighborCounts[level] = count - 1;
+    }
+
+    private void markDeleted(int nodeId) {
+        Node node = nodes.get(nodeId);
+        if (!node.deleted) {
+            node.deleted = true;
+            deletedCount++;
+        }
+    }
+
+    private int randomLevel() {
+        double r = ThreadLocalRandom.current().nextDouble();
+        return (int) (-Math.log(Math.max(r, Double.MIN_VALUE)) * levelMultiplier);
+    }
+}
@@ -0,0 +1,218 @@
+package com.knowlearnmap.search.index;
+
+import com.knowlearnmap.common.util.VectorMath;
+import com.knowlearnmap.document.domain.DocumentChunk;
+import com.knowlearnmap.document.repository.DocumentChunkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * 워크스페이스별 청크 벡터 ANN 인덱스 관리 서비스
+ *
+ * <ul>
+ * <li>최초 검색 또는 VECTORIZE 완료 시 DB에서 (chunkId, documentId, embedding)만 조회하여 인덱스 구축</li>
+ * <li>VECTORIZE 스테이지가 새 벡터를 저장하면 이미 로드된 인덱스에 증분 반영</li>
+ * <li>문서 삭제 시 해당 청크를 삭제 표시, 삭제 비율이 높아지면 인덱스를 버리고 다음 검색 때 재구축</li>
+ * </ul>
+ * app.search.vector-store=memory 설정 시 활성화 (기본값)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.vector-store", havingValue = "memory", matchIfMissing = true)
+public class ChunkVectorIndexService implements ChunkVectorStore {
+
+    private final DocumentChunkRepository documentChunkRepository;
+
+    @Value("${app.search.vector-index.m:16}")
+    private int m;
+
+    @Value("${app.search.vector-index.ef-construction:100}")
+    private int efConstruction;
+
+    @Value("${app.search.vector-index.ef-search:100}")
+    private int efSearch;
+
+    @Value("${app.search.vector-index.rebuild-deleted-ratio:0.3}")
+    private double rebuildDeletedRatio;
+
+    private final Map<Long, ChunkVectorIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * 진행 중인 워크스페이스 로드 (같은 워크스페이스 동시 요청은 하나의 DB 조회 결과를 기다림)
+     */
+    private final Map<Long, FutureTask<ChunkVectorIndex>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 워크스페이스 인덱스에서 top-k 검색
+     *
+     * @param workspaceId 워크스페이스 ID
+     * @param queryVector 쿼리 임베딩 (정규화 전)
+     * @param k           반환 개수
+     * @param documentIds 문서 필터 (null 또는 empty면 워크스페이스 전체)
+     */
+    @Override
+    public List<ScoredChunk> search(Long workspaceId, float[] queryVector, int k, Collection<Long> documentIds) {
+        float[] query = VectorMath.normalize(queryVector);
+        if (query == null) {
+            return List.of();
+        }
+
+        ChunkVectorIndex index = getOrLoad(workspaceId);
+        if (index == null || index.getDimension() != query.length) {
+            return List.of();
+        }
+
+        return index.search(query, k, efSearch,
+                documentIds != null && !documentIds.isEmpty() ? new HashSet<>(documentIds) : null);
+    }
+
+    /**
+     * 새로 임베딩된 청크를 인덱스에 반영
+     * 인덱스가 아직 로드되지 않았다면 호출 스레드(파이프라인)에서 DB 기준으로 구축하여
+     * 첫 채팅 요청이 구축 비용을 부담하지 않도록 함.
+     * 로드 시점의 DB 스냅샷에 방금 저장된 청크가 없을 수 있으므로 로드 후에도 반영 (같은 chunkId는 교체됨)
+     */
+    @Override
+    public void addChunks(Long workspaceId, Collection<DocumentChunk> chunks) {
+        ChunkVectorIndex index = getOrLoad(workspaceId);
+        if (index == null) {
+            // 임베딩이 아직 조회되지 않는 워크스페이스: 다음 검색 때 DB 기준으로 구축
+            return;
+        }
+
+        int added = 0;
+        for (DocumentChunk chunk : chunks) {
+            if (chunk.getId() == null || chunk.getEmbedding() == null || chunk.getEmbedding().length == 0) {
+                continue;
+            }
+            float[] vector = VectorMath.normalize(chunk.getEmbedding());
+            if (vector == null || vector.length != index.getDimension()) {
+                continue;
+            }
+            index.add(chunk.getId(), chunk.getDocument().getId(), vector);
+            added++;
+        }
+        log.debug("벡터 인덱스 증분 반영: workspaceId={}, added={}", workspaceId, added);
+    }
+
+    /**
+     * 문서 삭제 시 인덱스에서 제거
+     */
+    @Override
+    public void removeDocument(Long workspaceId, Long documentId) {
+        ChunkVectorIndex index = indexes.get(workspaceId);
+        if (index == null) {
+            // 진행 중인 로드는 삭제 전 스냅샷일 수 있으므로 캐시하지 않도록 함
+            loading.remove(workspaceId);
+            return;
+        }
+
+        index.removeDocument(documentId);
+        if (index.deletedRatio() > rebuildDeletedRatio) {
+            log.info("벡터 인덱스 삭제 비율 초과로 폐기 (다음 검색 시 재구축): workspaceId={}", workspaceId);
+            indexes.remove(workspaceId, index);
+        }
+    }
+
+    /**
+     * 워크스페이스 인덱스 폐기
+     */
+    public void invalidate(Long workspaceId) {
+        loading.remove(workspaceId);
+        indexes.remove(workspaceId);
+    }
+
+    /**
+     * 캐시된 인덱스 또는 DB에서 구축한 인덱스.
+     * DB 조회는 computeIfAbsent 밖에서 수행 (조회 중 다른 워크스페이스의 맵 갱신을 막지 않도록)
+     */
+    private ChunkVectorIndex getOrLoad(Long workspaceId) {
+        ChunkVectorIndex index = indexes.get(workspaceId);
+        if (index != null) {
+            return index;
+        }
+
+        FutureTask<ChunkVectorIndex> task = new FutureTask<>(() -> load(workspaceId));
+        FutureTask<ChunkVectorIndex> running = loading.putIfAbsent(workspaceId, task);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            task.run();
+            ChunkVectorIndex loaded = await(task);
+            if (loaded != null) {
+                // 로드 중 invalidate/removeDocument로 취소되지 않았을 때만 캐시
+                loading.computeIfPresent(workspaceId, (id, current) -> {
+                    if (current == task) {
+                        indexes.put(id, loaded);
+                    }
+                    return current;
+                });
+            }
+            return loaded;
+        } finally {
+            loading.remove(workspaceId, task);
+        }
+    }
+
+    private static ChunkVectorIndex await(Future<ChunkVectorIndex> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("벡터 인덱스 로드 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("벡터 인덱스 로드 실패", e.getCause());
+        }
+    }
+
+    private ChunkVectorIndex load(Long workspaceId) {
+        long start = System.currentTimeMillis();
+        List<Object[]> rows = documentChunkRepository.findEmbeddingsByWorkspaceId(workspaceId);
+
+        ChunkVectorIndex index = null;
+        for (Object[] row : rows) {
+            float[] embedding = (float[]) row[2];
+            if (embedding == null || embedding.length == 0) {
+                continue;
+            }
+            float[] vector = VectorMath.normalize(embedding);
+            if (vector == null) {
+                continue;
+            }
+            if (index == null) {
+                index = new ChunkVectorIndex(vector.length, m, efConstruction);
+            } else if (vector.length != index.getDimension()) {
+                log.warn("벡터 차원 불일치로 인덱스에서 제외: chunkId={}, dim={}", row[0], vector.length);
+                continue;
+            }
+            index.add((Long) row[0], (Long) row[1], vector);
+        }
+
+        if (index == null) {
+            // 빈 인덱스는 캐시하지 않음 (임베딩 생성 후 다시 로드)
+            return null;
+        }
+
+        log.info("벡터 인덱스 구축 완료: workspaceId={}, vectors={}, elapsed={}ms",
+                workspaceId, index.size(), System.currentTimeMillis() - start);
+        return index;
+    }
+}
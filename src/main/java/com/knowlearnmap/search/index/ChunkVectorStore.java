@@ -0,0 +1,36 @@
+package com.knowlearnmap.search.index;
+
+import com.knowlearnmap.document.domain.DocumentChunk;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 청크 임베딩 벡터 저장소/검색 인터페이스
+ * - Strategy Pattern 적용: app.search.vector-store 설정으로 구현체 선택
+ * - memory: 애플리케이션 내 HNSW 인덱스 (기본값)
+ * - pgvector: PostgreSQL pgvector 컬럼 + HNSW 인덱스
+ */
+public interface ChunkVectorStore {
+
+    /**
+     * 쿼리 벡터와 가장 유사한 청크 top-k 검색
+     *
+     * @param workspaceId 워크스페이스 ID
+     * @param queryVector 쿼리 임베딩
+     * @param k           반환 개수
+     * @param documentIds 문서 필터 (null 또는 empty면 워크스페이스 전체)
+     * @return 유사도 내림차순 결과
+     */
+    List<ScoredChunk> search(Long workspaceId, float[] queryVector, int k, Collection<Long> documentIds);
+
+    /**
+     * 새로 임베딩된 청크 반영 (VECTORIZE 스테이지에서 저장 직후 호출)
+     */
+    void addChunks(Long workspaceId, Collection<DocumentChunk> chunks);
+
+    /**
+     * 문서 삭제 시 호출
+     */
+    void removeDocument(Long workspaceId, Long documentId);
+}
@@ -0,0 +1,52 @@
+package com.knowlearnmap.search.index;
+
+import com.knowlearnmap.common.util.VectorCodec;
+import com.knowlearnmap.document.repository.DocumentChunkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * embedding_f32(bytea) → embedding_pgvector 이관 작업
+ * 배치 단위로 커밋하므로 중단 후 재실행해도 남은 행만 처리됨.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PgvectorBackfillService {
+
+    private final DocumentChunkRepository documentChunkRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * @param batchSize 배치당 행 수
+     * @return 이관된 전체 행 수
+     */
+    public long backfill(int batchSize) {
+        long total = 0;
+        while (true) {
+            Integer updated = transactionTemplate.execute(status -> backfillBatch(batchSize));
+            if (updated == null || updated == 0) {
+                break;
+            }
+            total += updated;
+            log.info("pgvector 백필 진행: batch={}, total={}", updated, total);
+        }
+        log.info("pgvector 백필 완료: total={}", total);
+        return total;
+    }
+
+    private int backfillBatch(int batchSize) {
+        List<Object[]> rows = documentChunkRepository.findPgvectorBackfillBatch(batchSize);
+        int updated = 0;
+        for (Object[] row : rows) {
+            float[] vector = VectorCodec.decode((byte[]) row[1]);
+            updated += documentChunkRepository.updatePgvector(((Number) row[0]).longValue(),
+                    VectorCodec.toText(vector));
+        }
+        return updated;
+    }
+}
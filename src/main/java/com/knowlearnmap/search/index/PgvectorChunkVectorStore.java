@@ -0,0 +1,74 @@
+package com.knowlearnmap.search.index;
+
+import com.knowlearnmap.common.util.VectorCodec;
+import com.knowlearnmap.document.domain.DocumentChunk;
+import com.knowlearnmap.document.repository.DocumentChunkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * pgvector 기반 청크 벡터 저장소
+ * app.search.vector-store=pgvector 설정 시 활성화
+ *
+ * <ul>
+ * <li>embedding_pgvector vector(1536) 컬럼 + HNSW(vector_cosine_ops) 인덱스 사용</li>
+ * <li>검색은 DB에서 top-k (chunkId, documentId, score)만 반환하여 content/llm_result를 읽지 않음</li>
+ * <li>스키마 생성 및 기존 데이터 이관은 add_pgvector_to_document_chunks.sql,
+ * {@link PgvectorBackfillService} 참고</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.vector-store", havingValue = "pgvector")
+public class PgvectorChunkVectorStore implements ChunkVectorStore {
+
+    private final DocumentChunkRepository documentChunkRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ScoredChunk> search(Long workspaceId, float[] queryVector, int k, Collection<Long> documentIds) {
+        String vector = VectorCodec.toText(queryVector);
+
+        List<Object[]> rows;
+        if (documentIds != null && !documentIds.isEmpty()) {
+            rows = documentChunkRepository.findTopKByPgvectorInDocuments(new ArrayList<>(documentIds), vector, k);
+        } else {
+            rows = documentChunkRepository.findTopKByPgvector(workspaceId, vector, k);
+        }
+
+        List<ScoredChunk> results = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            results.add(new ScoredChunk(
+                    ((Number) row[0]).longValue(),
+                    ((Number) row[1]).longValue(),
+                    ((Number) row[2]).doubleValue()));
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public void addChunks(Long workspaceId, Collection<DocumentChunk> chunks) {
+        int updated = 0;
+        for (DocumentChunk chunk : chunks) {
+            if (chunk.getId() == null || chunk.getEmbedding() == null || chunk.getEmbedding().length == 0) {
+                continue;
+            }
+            updated += documentChunkRepository.updatePgvector(chunk.getId(), VectorCodec.toText(chunk.getEmbedding()));
+        }
+        log.debug("pgvector 컬럼 갱신: workspaceId={}, updated={}", workspaceId, updated);
+    }
+
+    @Override
+    public void removeDocument(Long workspaceId, Long documentId) {
+        // 청크 행이 cascade로 삭제되므로 별도 처리 불필요
+    }
+}
@@ -0,0 +1,7 @@
+package com.knowlearnmap.search.index;
+
+/**
+ * 벡터 검색 결과 (chunkId + 코사인 유사도)
+ */
+public record ScoredChunk(long chunkId, long documentId, double score) {
+}
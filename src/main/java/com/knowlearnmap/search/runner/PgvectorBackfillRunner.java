@@ -0,0 +1,35 @@
+package com.knowlearnmap.search.runner;
+
+import com.knowlearnmap.search.index.PgvectorBackfillService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * pgvector 백필 실행 (ACTIVE_PROFILE에 pgvector-backfill 추가 시 기동 시점에 1회 실행)
+ */
+@Component
+@Profile("pgvector-backfill")
+@RequiredArgsConstructor
+@Slf4j
+public class PgvectorBackfillRunner implements CommandLineRunner {
+
+    private final PgvectorBackfillService pgvectorBackfillService;
+
+    @Value("${app.search.pgvector.backfill-batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void run(String... args) throws Exception {
+        log.info("Starting pgvector backfill (batchSize={})...", batchSize);
+        try {
+            long total = pgvectorBackfillService.backfill(batchSize);
+            log.info("pgvector backfill completed successfully: {} rows.", total);
+        } catch (Exception e) {
+            log.error("pgvector backfill failed.", e);
+        }
+    }
+}
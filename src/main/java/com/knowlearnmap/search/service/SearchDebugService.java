@@ -8,6 +8,8 @@ import com.knowlearnmap.document.domain.DocumentChunk;
 import com.knowlearnmap.document.repository.DocumentChunkRepository;
 import com.knowlearnmap.search.dto.SearchDebugDto;
 import com.knowlearnmap.search.dto.SearchDebugDto.SearchResult;
+import com.knowlearnmap.search.index.ChunkVectorStore;
+import com.knowlearnmap.search.index.ScoredChunk;
 import com.knowlearnmap.workspace.domain.WorkspaceEntity;
 import com.knowlearnmap.workspace.repository.WorkspaceRepository;
 import lombok.RequiredArgsConstructor;
@@ -27,13 +29,16 @@ public class SearchDebugService {
     private final EmbeddingService embeddingService;
     private final ArangoDB arangoDB;
     private final WorkspaceRepository workspaceRepository;
+    private final ChunkVectorStore chunkVectorStore;
+
+    private static final int RAG_TOP_K = 5;
 
     @Transactional(readOnly = true)
     public SearchDebugDto searchDebug(String query, Long workspaceId, List<Long> documentIds) {
         // 1. Generate Embedding for Query
-        List<Double> queryVector = embeddingService.embed(query);
+        float[] queryVector = embeddingService.embed(query);
 
-        // 2. RAG Search (Postgres In-Memory)
+        // 2. RAG Search (ChunkVectorStore: in-process ANN or pgvector)
         List<SearchResult> ragResults = searchRag(queryVector, workspaceId, documentIds);
 
         // 3. AQL Search (ArangoDB Text)
@@ -49,33 +54,35 @@ public class SearchDebugService {
                 .build();
     }
 
-    private List<SearchResult> searchRag(List<Double> queryVector, Long workspaceId, List<Long> documentIds) {
-        List<DocumentChunk> chunks;
-        if (documentIds != null && !documentIds.isEmpty()) {
-            chunks = documentChunkRepository.findByDocumentIdIn(documentIds);
-        } else {
-            chunks = documentChunkRepository.findByDocumentWorkspaceId(workspaceId);
+    private List<SearchResult> searchRag(float[] queryVector, Long workspaceId, List<Long> documentIds) {
+        // 벡터 저장소(ANN 인덱스 또는 pgvector)에서 top-k chunk id만 구한 뒤 해당 청크만 조회
+        List<ScoredChunk> hits = chunkVectorStore.search(workspaceId, queryVector, RAG_TOP_K, documentIds);
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        return chunks.stream()
-                .filter(chunk -> chunk.getEmbedding() != null && !chunk.getEmbedding().isEmpty())
-                .map(chunk -> {
-                    double similarity = cosineSimilarity(queryVector, chunk.getEmbedding());
-                    return new AbstractMap.SimpleEntry<>(chunk, similarity);
-                })
-                .sorted(Map.Entry.<DocumentChunk, Double>comparingByValue().reversed())
-                .limit(5)
-                .map(entry -> SearchResult.builder()
-                        .content(entry.getKey().getContent())
-                        .score(entry.getValue())
-                        .metadata(Map.of("page",
-                                entry.getKey().getPageNumber() != null ? entry.getKey().getPageNumber() : 0,
-                                "filename", entry.getKey().getDocument().getFilename(),
-                                "chunk_id", entry.getKey().getId(),
-                                "document_id", entry.getKey().getDocument().getId(),
-                                "workspace_id", entry.getKey().getDocument().getWorkspace().getId()))
-                        .build())
-                .collect(Collectors.toList());
+        Map<Long, DocumentChunk> chunkMap = documentChunkRepository
+                .findAllById(hits.stream().map(ScoredChunk::chunkId).toList()).stream()
+                .collect(Collectors.toMap(DocumentChunk::getId, c -> c));
+
+        List<SearchResult> results = new ArrayList<>();
+        for (ScoredChunk hit : hits) {
+            DocumentChunk chunk = chunkMap.get(hit.chunkId());
+            if (chunk == null) {
+                continue; // 인덱스 반영 이후 삭제된 청크
+            }
+            results.add(SearchResult.builder()
+                    .content(chunk.getContent())
+                    .score(hit.score())
+                    .metadata(Map.of("page",
+                            chunk.getPageNumber() != null ? chunk.getPageNumber() : 0,
+                            "filename", chunk.getDocument().getFilename(),
+                            "chunk_id", chunk.getId(),
+                            "document_id", chunk.getDocument().getId(),
+                            "workspace_id", chunk.getDocument().getWorkspace().getId()))
+                    .build());
+        }
+        return results;
     }
 
     private List<SearchResult> searchAql(String query, Long workspaceId, List<Long> documentIds) {
@@ -124,7 +131,7 @@ public class SearchDebugService {
         }
     }
 
-    private List<SearchResult> searchKnowlearn(List<Double> queryVector, Long workspaceId, List<Long> documentIds) {
+    private List<SearchResult> searchKnowlearn(float[] queryVector, Long workspaceId, List<Long> documentIds) {
         ArangoDatabase db = getArangoDb(workspaceId);
         if (db == null)
             return Collections.emptyList();
@@ -176,9 +183,6 @@ public class SearchDebugService {
                 String type = (String) doc.get("type");
                 String prefix = type.equals("Edge") ? "[Fact] " : "[Entity] ";
 
-                results.add(SearchResult.builder()
-                        .content(prefix + doc.get("content"))
-                        .score(((Number) doc.get("score")).doubleValue())
                 Map<String, Object> metadata = new HashMap<>();
                 metadata.put("id", doc.get("id"));
                 metadata.put("type", type);
@@ -213,18 +217,4 @@ public class SearchDebugService {
             return null;
         return arangoDB.db(dbName);
     }
-
-    private double cosineSimilarity(List<Double> v1, List<Double> v2) {
-        if (v1.size() != v2.size())
-            return 0.0;
-        double dotProduct = 0.0;
-        double normA = 0.0;
-        double normB = 0.0;
-        for (int i = 0; i < v1.size(); i++) {
-            dotProduct += v1.get(i) * v2.get(i);
-            normA += Math.pow(v1.get(i), 2);
-            normB += Math.pow(v2.get(i), 2);
-        }
-        return dotProduct / (Math.sqrt(normA) * Math.sqrt(normB));
-    }
 }
@@ -0,0 +1,128 @@
+package com.knowlearnmap.ai.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdaptiveConcurrencyLimiter limiter(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimiter(initial, min, max, 2.0, clock::get);
+    }
+
+    @Test
+    void saturatedSuccessesIncreaseLimitAdditivelyUpToMax() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 6);
+
+        int[] limits = new int[8];
+        for (int round = 0; round < limits.length; round++) {
+            int slots = limiter.getLimit();
+            for (int i = 0; i < slots; i++) {
+                limiter.acquire();
+            }
+            for (int i = 0; i < slots; i++) {
+                limiter.onSuccess(100);
+            }
+            limits[round] = limiter.getLimit();
+        }
+
+        // 한도만큼 성공해도 +1을 넘지 않고, 최대 한도에서 멈춤
+        for (int round = 1; round < limits.length; round++) {
+            assertThat(limits[round] - limits[round - 1]).isBetween(0, 1);
+        }
+        assertThat(limits[limits.length - 1]).isEqualTo(6);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void underusedLimitDoesNotGrow() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 1, 20);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire();
+            limiter.onSuccess(100);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void latencyAboveToleranceDecreasesSlightly() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 20);
+        limiter.acquire();
+        limiter.onSuccess(100);
+
+        limiter.acquire();
+        limiter.onSuccess(250);
+
+        assertThat(limiter.getLimit()).isEqualTo(9); // 10 × 0.95
+    }
+
+    @Test
+    void overloadHalvesLimitOncePerWindowAndNotBelowMin() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(16, 3, 20);
+
+        advance(1001);
+        limiter.acquire();
+        limiter.onOverload(null);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+
+        // 같은 폭주로 연달아 받은 429는 1초 창 안에서 무시
+        limiter.acquire();
+        limiter.onOverload(null);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+
+        for (int i = 0; i < 3; i++) {
+            advance(1001);
+            limiter.acquire();
+            limiter.onOverload(null);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void retryAfterPausesNewCallsUntilItElapses() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 20);
+        limiter.acquire();
+        limiter.onOverload(Duration.ofMillis(500));
+
+        Thread waiter = new Thread(() -> {
+            try {
+                limiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+        waiter.join(200);
+        assertThat(waiter.isAlive()).isTrue();
+
+        advance(501);
+        waiter.join(5000);
+        assertThat(waiter.isAlive()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void unrelatedFailureKeepsLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 20);
+        advance(5000);
+
+        limiter.acquire();
+        limiter.onFailure();
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private void advance(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
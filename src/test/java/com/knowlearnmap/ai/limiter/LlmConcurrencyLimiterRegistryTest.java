@@ -0,0 +1,57 @@
+package com.knowlearnmap.ai.limiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmConcurrencyLimiterRegistryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LlmConcurrencyLimiterRegistry registry = new LlmConcurrencyLimiterRegistry(meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(registry, "initialLimit", 4);
+        ReflectionTestUtils.setField(registry, "minLimit", 1);
+        ReflectionTestUtils.setField(registry, "maxLimit", 20);
+        ReflectionTestUtils.setField(registry, "latencyTolerance", 2.0);
+        ReflectionTestUtils.setField(registry, "maxRetries", 0);
+    }
+
+    @Test
+    void errorReleasesSlot() {
+        assertThatThrownBy(() -> registry.execute("gemini", () -> {
+            throw new StackOverflowError();
+        })).isInstanceOf(StackOverflowError.class);
+
+        assertThat(registry.limiter("GEMINI").getInFlight()).isZero();
+    }
+
+    @Test
+    void numbersInMessageAreNotOverload() {
+        assertThatThrownBy(() -> registry.execute("gemini", () -> {
+            throw new IllegalStateException("max tokens 4290 exceeded for request 503-17");
+        })).isInstanceOf(RuntimeException.class);
+
+        assertThat(meterRegistry.find("llm.limiter.throttled").counters()).isEmpty();
+        assertThat(registry.limiter("GEMINI").getInFlight()).isZero();
+    }
+
+    @Test
+    void sdkStatusNamesAreOverload() {
+        assertThatThrownBy(() -> registry.execute("gemini", () -> {
+            throw new RuntimeException("{\"error\": {\"code\": 429, \"status\": \"RESOURCE_EXHAUSTED\"}}");
+        })).isInstanceOf(RuntimeException.class);
+
+        assertThat(meterRegistry.get("llm.limiter.throttled").tag("reason", "rate_limited").counter().count())
+                .isEqualTo(1.0);
+        assertThat(LlmConcurrencyLimiterRegistry.findOverloadStatus(new RuntimeException("UNAVAILABLE: overloaded")))
+                .isEqualTo("UNAVAILABLE");
+        assertThat(LlmConcurrencyLimiterRegistry.findOverloadStatus(new RuntimeException("HTTP 503")))
+                .isNull();
+    }
+}
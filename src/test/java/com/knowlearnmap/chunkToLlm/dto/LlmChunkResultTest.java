@@ -0,0 +1,55 @@
+package com.knowlearnmap.chunkToLlm.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LlmChunkResultTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void malformedItemsAreSkippedInsteadOfFailingTheResult() throws Exception {
+        String json = """
+                {"id": 7,
+                 "objects_to_add": [
+                   "not an object",
+                   null,
+                   {"category": "Concept", "term_en": {"nested": true}},
+                   {"category": "Concept", "term_en": "Ontology", "term_ko": "온톨로지", "source": "p.3"}
+                 ],
+                 "relations_to_add": "none",
+                 "knowlearns_to_add": [
+                   42,
+                   {"subject_term_en": "Ontology", "confidence_score": "0.8"},
+                   {"subject_term_en": "Graph", "confidence_score": "high"}
+                 ]}
+                """;
+
+        LlmChunkResult result = objectMapper.readValue(json, LlmChunkResult.class);
+
+        assertThat(result.getId()).isEqualTo(7L);
+        assertThat(result.getObjectsToAdd()).singleElement()
+                .satisfies(item -> {
+                    assertThat(item.getTermKo()).isEqualTo("온톨로지");
+                    assertThat(item.getExtra()).containsEntry("source", "p.3");
+                });
+        assertThat(result.getRelationsToAdd()).isNull();
+        assertThat(result.getKnowlearnsToAdd())
+                .extracting(LlmChunkResult.KnowlearnItem::getConfidenceScore)
+                .containsExactly(new BigDecimal("0.8"), BigDecimal.ZERO);
+    }
+
+    @Test
+    void unknownItemFieldsSurviveSerialization() throws Exception {
+        LlmChunkResult result = objectMapper.readValue(
+                "{\"id\": 1, \"objects_to_add\": [{\"term_en\": \"Entity\", \"page\": 12}]}", LlmChunkResult.class);
+
+        String stored = objectMapper.writeValueAsString(result);
+
+        assertThat(stored).contains("\"term_en\":\"Entity\"", "\"page\":12").doesNotContain("term_ko");
+    }
+}
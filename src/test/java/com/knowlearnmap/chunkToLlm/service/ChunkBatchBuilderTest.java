@@ -0,0 +1,118 @@
+package com.knowlearnmap.chunkToLlm.service;
+
+import com.knowlearnmap.ai.limiter.LlmHttpException;
+import com.knowlearnmap.chunkToLlm.service.ChunkBatchBuilder.Batch;
+import com.knowlearnmap.chunkToLlm.service.ChunkBatchBuilder.Budget;
+import com.knowlearnmap.document.domain.DocumentChunk;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChunkBatchBuilderTest {
+
+    /**
+     * 프롬프트 100 + 청크 입력 300까지, 출력 800(1000 × 0.8)까지, 청크 10개까지
+     */
+    private static final Budget BUDGET = new Budget(100, 400, 1000, 0.8, 0.5, 20, 10);
+
+    @Test
+    void packsChunksUpToInputBudget() {
+        // 청크 1개 = 본문 88 + 래핑 12 = 입력 100토큰, 예상 출력 50 + 20 = 70토큰
+        List<Batch> batches = ChunkBatchBuilder.build(chunks(5, "a".repeat(352)), BUDGET);
+
+        assertThat(batches).extracting(b -> b.chunks().size()).containsExactly(3, 2);
+        assertThat(batches.get(0).inputTokens()).isEqualTo(400);
+        assertThat(batches.get(0).expectedOutputTokens()).isEqualTo(210);
+        assertThat(batches.get(1).inputTokens()).isEqualTo(300);
+    }
+
+    @Test
+    void countsKoreanCharactersAsOneTokenEach() {
+        List<Batch> batches = ChunkBatchBuilder.build(chunks(4, "가".repeat(88)), BUDGET);
+
+        assertThat(batches).extracting(b -> b.chunks().size()).containsExactly(3, 1);
+    }
+
+    @Test
+    void closesBatchWhenExpectedOutputWouldBeTruncated() {
+        // 입력 100토큰당 예상 출력 320토큰 → 출력 한도 800에 2개까지
+        Budget outputBound = new Budget(100, 10_000, 1000, 0.8, 3.0, 20, 10);
+
+        List<Batch> batches = ChunkBatchBuilder.build(chunks(5, "a".repeat(352)), outputBound);
+
+        assertThat(batches).extracting(b -> b.chunks().size()).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    void respectsMaxChunksPerBatch() {
+        Budget twoPerBatch = new Budget(100, 10_000, 10_000, 0.8, 0.5, 20, 2);
+
+        List<Batch> batches = ChunkBatchBuilder.build(chunks(5, "short"), twoPerBatch);
+
+        assertThat(batches).extracting(b -> b.chunks().size()).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    void oversizedChunkGetsItsOwnBatch() {
+        List<DocumentChunk> chunks = chunks(3, "a".repeat(352));
+        chunks.get(1).setContent("a".repeat(4000));
+
+        List<Batch> batches = ChunkBatchBuilder.build(chunks, BUDGET);
+
+        assertThat(batches).extracting(b -> b.chunks().stream().map(DocumentChunk::getId).toList())
+                .containsExactly(List.of(1L), List.of(2L), List.of(3L));
+    }
+
+    @Test
+    void splitHalvesBatchAndRecomputesTokens() {
+        Batch batch = ChunkBatchBuilder.of(chunks(5, "a".repeat(352)), BUDGET);
+
+        List<Batch> halves = ChunkBatchBuilder.split(batch, BUDGET);
+
+        assertThat(halves).extracting(b -> b.chunks().stream().map(DocumentChunk::getId).toList())
+                .containsExactly(List.of(1L, 2L), List.of(3L, 4L, 5L));
+        assertThat(halves).extracting(Batch::inputTokens).containsExactly(300, 400);
+        assertThat(halves).extracting(Batch::expectedOutputTokens).containsExactly(140, 210);
+    }
+
+    @Test
+    void doesNotSplitWhenLimiterGaveUpOnOverload() {
+        Batch batch = ChunkBatchBuilder.of(chunks(4, "short"), BUDGET);
+        // DirectLlmCallService → LlmConcurrencyLimiterRegistry → callLlm 래핑 순서 그대로
+        Exception rateLimited = new RuntimeException("LLM API 호출 실패",
+                new RuntimeException("OPENAI 호출 실패", new LlmHttpException("rate limited", 429, null)));
+        Exception unavailable = new RuntimeException("LLM API 호출 실패",
+                new RuntimeException("GEMINI 호출 실패", new IllegalStateException("503 UNAVAILABLE")));
+
+        assertThat(ChunkBatchBuilder.shouldSplit(batch, rateLimited)).isFalse();
+        assertThat(ChunkBatchBuilder.shouldSplit(batch, unavailable)).isFalse();
+    }
+
+    @Test
+    void splitsOnSizeOrContentFailures() {
+        Batch batch = ChunkBatchBuilder.of(chunks(4, "short"), BUDGET);
+        Exception truncated = new RuntimeException("LLM API 호출 실패", new RuntimeException("AISTUDIO 호출 실패",
+                new IOException("AISTUDIO 응답 실패: 토큰 제한 초과 (MAX_TOKENS)")));
+
+        assertThat(ChunkBatchBuilder.shouldSplit(batch, truncated)).isTrue();
+        assertThat(ChunkBatchBuilder.shouldSplit(batch, new RuntimeException("배치 응답에 요청한 청크 결과가 없습니다.")))
+                .isTrue();
+        assertThat(ChunkBatchBuilder.shouldSplit(ChunkBatchBuilder.of(chunks(1, "short"), BUDGET), truncated))
+                .isFalse();
+    }
+
+    private static List<DocumentChunk> chunks(int count, String content) {
+        List<DocumentChunk> chunks = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            DocumentChunk chunk = new DocumentChunk();
+            chunk.setId((long) i);
+            chunk.setContent(content);
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,65 @@
+package com.knowlearnmap.chunkToLlm.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonArrayElementStreamParserTest {
+
+    private final List<String> elements = new ArrayList<>();
+    private final JsonArrayElementStreamParser parser = new JsonArrayElementStreamParser("chunks", elements::add);
+
+    @Test
+    void emitsElementsOfNamedArrayAcrossSplitDeltas() {
+        String response = "```json\n{\"model\": {\"chunks\": [0]}, \"chunks\": [{\"id\": 1, \"objects_to_add\": [{\"term_en\": \"A\"}]},"
+                + " {\"id\": 2, \"objects_to_add\": []}]}\n```";
+
+        for (int i = 0; i < response.length(); i++) {
+            parser.feed(response.substring(i, i + 1));
+        }
+
+        assertThat(elements).containsExactly(
+                "{\"id\": 1, \"objects_to_add\": [{\"term_en\": \"A\"}]}",
+                "{\"id\": 2, \"objects_to_add\": []}");
+        assertThat(parser.elementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void ignoresBracketsAndEscapedQuotesInsideStrings() {
+        String first = "{\"id\": 1, \"description_ko\": \"괄호 } ] { [ 와 \\\"따옴표\\\" 그리고 \\\\\"}";
+        parser.feed("{\"note\": \"chunks: [ {\", \"chunks\": [" + first.substring(0, 30));
+        parser.feed(first.substring(30) + ", {\"id\": 2}]}");
+
+        assertThat(elements).containsExactly(first, "{\"id\": 2}");
+    }
+
+    @Test
+    void readsTopLevelArray() {
+        parser.feed("[{\"id\": 1}, {\"id\": 2}]");
+
+        assertThat(elements).containsExactly("{\"id\": 1}", "{\"id\": 2}");
+    }
+
+    @Test
+    void stopsAfterTopLevelValueCloses() {
+        parser.feed("{\"chunks\": [{\"id\": 1}]} trailing {\"chunks\": [{\"id\": 9}]}");
+
+        assertThat(elements).containsExactly("{\"id\": 1}");
+    }
+
+    @Test
+    void truncatedResponseKeepsClosedElementsAndRestartStartsClean() {
+        parser.feed("{\"chunks\": [{\"id\": 1}, {\"id\": 2, \"objects_to_add\": [{\"term_en\": \"cut");
+
+        assertThat(elements).containsExactly("{\"id\": 1}");
+
+        // 재시도 응답은 처음부터 다시 오므로 새 파서로 읽음 (ChunkToLlmService.StreamedBatchResults.onRestart)
+        JsonArrayElementStreamParser restarted = new JsonArrayElementStreamParser("chunks", elements::add);
+        restarted.feed("{\"chunks\": [{\"id\": 1}, {\"id\": 2}]}");
+
+        assertThat(elements).containsExactly("{\"id\": 1}", "{\"id\": 1}", "{\"id\": 2}");
+    }
+}
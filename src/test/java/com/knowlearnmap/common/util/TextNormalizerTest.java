@@ -0,0 +1,53 @@
+package com.knowlearnmap.common.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 골든 출력 비교: textnormalizer/*.collapsed.txt, *.cleaned.txt는 기존 정규식 체인
+ * (PdfParsingService.cleanText, TextCleaningService.cleanText)이 같은 입력에 대해 낸 결과
+ */
+class TextNormalizerTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = { "ko-page", "en-page" })
+    void collapseWhitespaceMatchesGoldenOutput(String name) throws IOException {
+        assertThat(TextNormalizer.collapseWhitespace(fixture(name + ".txt")))
+                .isEqualTo(fixture(name + ".collapsed.txt"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "ko-page", "en-page" })
+    void cleanExtractedTextMatchesGoldenOutput(String name) throws IOException {
+        assertThat(TextNormalizer.cleanExtractedText(fixture(name + ".txt")))
+                .isEqualTo(fixture(name + ".cleaned.txt"));
+    }
+
+    @Test
+    void nullBecomesEmpty() {
+        assertThat(TextNormalizer.collapseWhitespace(null)).isEmpty();
+        assertThat(TextNormalizer.cleanExtractedText(null)).isEmpty();
+    }
+
+    @Test
+    void onlyCleanExtractedTextDropsNulAndUnicodeLineSeparators() {
+        String text = " 지식\0그래프\u2028온톨로지 ";
+
+        assertThat(TextNormalizer.collapseWhitespace(text)).isEqualTo("지식\0그래프\u2028온톨로지");
+        assertThat(TextNormalizer.cleanExtractedText(text)).isEqualTo("지식그래프 온톨로지");
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = TextNormalizerTest.class.getResourceAsStream("/textnormalizer/" + name)) {
+            assertThat(in).as("fixture %s", name).isNotNull();
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.knowlearnmap.llmToOntology.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.knowlearnmap.llmToOntology.domain.OntologyObjectDict;
+import com.knowlearnmap.llmToOntology.domain.OntologyRelationDict;
+import com.knowlearnmap.llmToOntology.service.OntologyLlmResultParser.ParsedOntology;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OntologyLlmResultParserTest {
+
+    private final OntologyLlmResultParser parser = new OntologyLlmResultParser(new ObjectMapper());
+
+    @Test
+    void readsEveryChunkOfABatchResult() throws JsonProcessingException {
+        ParsedOntology parsed = parser.parse("""
+                {"objects_to_add": [{"term_en": "Ignored"}],
+                 "chunks": [
+                   {"id": 1, "objects_to_add": [{"term_en": "Entity", "term_ko": ""}]},
+                   {"id": 2, "relations_to_add": [{"relation_en": null}], "knowlearns_to_add": [{"relation_en": "uses"}]}
+                 ]}
+                """);
+
+        assertThat(parsed.objects()).extracting(OntologyObjectDict::getTermKo).containsExactly("Entity");
+        assertThat(parsed.relations()).extracting(OntologyRelationDict::getRelationKo).containsExactly("Unknown");
+        assertThat(parsed.knowlearns()).singleElement()
+                .satisfies(dto -> assertThat(dto.getConfidenceScore()).isNull());
+    }
+
+    @Test
+    void skipsNonObjectItemsOfPreviouslyStoredResults() throws JsonProcessingException {
+        ParsedOntology parsed = parser.parse(
+                "{\"id\": 3, \"objects_to_add\": [\"text\", 1, {\"term_en\": \"Graph\", \"term_ko\": \"그래프\"}]}");
+
+        assertThat(parsed.objects()).extracting(OntologyObjectDict::getTermKo).containsExactly("그래프");
+    }
+
+    @Test
+    void skipsItemsWithWrongTypedFieldsLikeTheLlmStage() throws JsonProcessingException {
+        ParsedOntology parsed = parser.parse("""
+                {"chunks": [
+                  {"id": 1, "objects_to_add": [{"term_en": "Graph", "term_ko": ["그래프"]}, {"term_en": "Node"}],
+                   "knowlearns_to_add": [{"relation_en": {"en": "uses"}}, {"relation_en": "has"}]}
+                ]}
+                """);
+
+        assertThat(parsed.objects()).extracting(OntologyObjectDict::getTermEn).containsExactly("Node");
+        assertThat(parsed.knowlearns()).singleElement()
+                .satisfies(dto -> assertThat(dto.getRelationEn()).isEqualTo("has"));
+    }
+
+    @Test
+    void rejectsMalformedJson() {
+        assertThatThrownBy(() -> parser.parse("{\"objects_to_add\": [")).isInstanceOf(JsonProcessingException.class);
+        assertThatThrownBy(() -> parser.parse("[]")).isInstanceOf(IllegalStateException.class);
+    }
+}
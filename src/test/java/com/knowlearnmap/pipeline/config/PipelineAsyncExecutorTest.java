@@ -0,0 +1,49 @@
+package com.knowlearnmap.pipeline.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.scheduling.annotation.Async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unqualified {@code @Async} must run on {@code pipelineExecutor} in both executor modes,
+ * alongside Boot's task scheduler and the other executor beans.
+ */
+class PipelineAsyncExecutorTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class,
+                    TaskSchedulingAutoConfiguration.class))
+            .withUserConfiguration(PipelineConfig.class)
+            .withBean(AsyncProbe.class);
+
+    @Test
+    void asyncRunsOnPipelineThreadPool() {
+        runner.run(context -> assertThat(context.getBean(AsyncProbe.class).threadName()
+                .get(5, TimeUnit.SECONDS)).startsWith("pipeline-").doesNotStartWith("pipeline-vt-"));
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void asyncRunsOnPipelineVirtualThreads() {
+        runner.withPropertyValues("pipeline.virtual-threads.enabled=true", "spring.threads.virtual.enabled=true")
+                .run(context -> assertThat(context.getBean(AsyncProbe.class).threadName()
+                        .get(5, TimeUnit.SECONDS)).startsWith("pipeline-vt-"));
+    }
+
+    static class AsyncProbe {
+        @Async
+        public CompletableFuture<String> threadName() {
+            return CompletableFuture.completedFuture(Thread.currentThread().getName());
+        }
+    }
+}
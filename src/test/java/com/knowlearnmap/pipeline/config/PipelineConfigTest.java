@@ -0,0 +1,29 @@
+package com.knowlearnmap.pipeline.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PipelineConfigTest {
+
+    private final PipelineConfig config = new PipelineConfig();
+
+    @Test
+    void streamExecutorDefaultsToFourThreadsPerConcurrentDocument() {
+        ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor) config.pipelineStreamExecutor(0, 8);
+        try {
+            assertThat(executor.getMaxPoolSize()).isEqualTo(32);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void streamExecutorRejectsPoolTooSmallForSchedulerConcurrency() {
+        assertThatThrownBy(() -> config.pipelineStreamExecutor(30, 8))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("max-stage-threads=30");
+    }
+}
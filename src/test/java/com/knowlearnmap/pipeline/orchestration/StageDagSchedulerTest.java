@@ -0,0 +1,54 @@
+package com.knowlearnmap.pipeline.orchestration;
+
+import com.knowlearnmap.pipeline.core.PipelineException;
+import com.knowlearnmap.pipeline.core.PipelineStage;
+import com.knowlearnmap.pipeline.orchestration.StageDagScheduler.StageNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class StageDagSchedulerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final StageDagScheduler scheduler = new StageDagScheduler(executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void errorInStageFailsExecutionInsteadOfHanging() {
+        AtomicBoolean dependentRan = new AtomicBoolean();
+        List<StageNode> nodes = List.of(
+                new StageNode("llm", PipelineStage.LLM_PROCESSING, Set.of(), () -> {
+                    throw new StackOverflowError("boom");
+                }),
+                new StageNode("ontology", PipelineStage.ONTOLOGY, Set.of("llm"), () -> dependentRan.set(true)));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThatThrownBy(() -> scheduler.run(nodes))
+                .isInstanceOf(PipelineException.class)
+                .hasCauseInstanceOf(StackOverflowError.class));
+        assertThat(dependentRan).isFalse();
+    }
+
+    @Test
+    void runsDependentsAfterDependencies() throws PipelineException {
+        StringBuffer order = new StringBuffer();
+        scheduler.run(List.of(
+                new StageNode("parse", PipelineStage.PARSE, Set.of(), () -> order.append("P")),
+                new StageNode("chunk", PipelineStage.CHUNK, Set.of("parse"), () -> order.append("C"))));
+
+        assertThat(order).hasToString("PC");
+    }
+}
@@ -0,0 +1,50 @@
+package com.knowlearnmap.prompt.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptTemplateTest {
+
+    @Test
+    void replacesNamedSlotsAllowingInnerWhitespace() {
+        PromptTemplate template = PromptTemplate.compile("도메인: {{domain}}\n청크: {{ chunks }} / {{domain}}");
+
+        assertThat(template.render(Map.of("domain", "법률", "chunks", "[{\"id\":1}]")))
+                .isEqualTo("도메인: 법률\n청크: [{\"id\":1}] / 법률");
+    }
+
+    @Test
+    void keepsRawPlaceholderWhenValueIsMissing() {
+        PromptTemplate template = PromptTemplate.compile("A {{ known }} B {{ unknown }} C");
+
+        assertThat(template.render(Map.of("known", 1))).isEqualTo("A 1 B {{ unknown }} C");
+        assertThat(template.render(null)).isEqualTo("A {{ known }} B {{ unknown }} C");
+    }
+
+    @Test
+    void doesNotReinterpretSubstitutedValues() {
+        PromptTemplate template = PromptTemplate.compile("{{a}}{{b}}");
+
+        assertThat(template.render(Map.of("a", "{{b}}", "b", "x"))).isEqualTo("{{b}}x");
+    }
+
+    @Test
+    void rendersNullValueAsText() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("value", null);
+
+        assertThat(PromptTemplate.compile("[{{value}}]").render(variables)).isEqualTo("[null]");
+    }
+
+    @Test
+    void leavesMalformedBracesAsLiteralText() {
+        assertThat(PromptTemplate.compile("{{ {{name}} {{}} {{open").render(Map.of("name", "N")))
+                .isEqualTo("{{ N {{}} {{open");
+        assertThat(PromptTemplate.compile("no slots").render(Map.of("x", 1))).isEqualTo("no slots");
+        assertThat(PromptTemplate.compile(null).render(Map.of())).isEmpty();
+    }
+}
@@ -0,0 +1,42 @@
+package com.knowlearnmap.common.util;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API(jdk.incubator.vector) 기반 내적 커널
+ * -Pvector-api 빌드에만 포함되며, 모듈이 로드된 경우에만 {@link VectorMath}가 리플렉션으로 생성함
+ */
+final class VectorApiDotProduct implements VectorMath.DotProduct {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public String toString() {
+        return SPECIES.toString();
+    }
+
+    @Override
+    public float dot(float[] a, float[] b) {
+        FloatVector acc0 = FloatVector.zero(SPECIES);
+        FloatVector acc1 = FloatVector.zero(SPECIES);
+        int step = SPECIES.length();
+        int i = 0;
+        int bound2 = a.length - (a.length % (step * 2));
+        for (; i < bound2; i += step * 2) {
+            acc0 = FloatVector.fromArray(SPECIES, a, i).fma(FloatVector.fromArray(SPECIES, b, i), acc0);
+            acc1 = FloatVector.fromArray(SPECIES, a, i + step)
+                    .fma(FloatVector.fromArray(SPECIES, b, i + step), acc1);
+        }
+        int bound = SPECIES.loopBound(a.length);
+        for (; i < bound; i += step) {
+            acc0 = FloatVector.fromArray(SPECIES, a, i).fma(FloatVector.fromArray(SPECIES, b, i), acc0);
+        }
+        float sum = acc0.add(acc1).reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}